@@ -21,7 +21,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
@@ -30,19 +32,38 @@ import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
+import org.jdom2.filter.Filter;
 import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
+import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
 import org.json.JSONException;
 import org.json.XML;
+import org.nexial.core.utils.ContextIntSetting;
+import org.nexial.core.utils.ParsedDocumentCache;
+
+import static org.nexial.core.NexialConst.Data.DEF_XML_CACHE_SIZE_MB;
+import static org.nexial.core.NexialConst.Data.DEF_XPATH_CACHE_SIZE;
+import static org.nexial.core.NexialConst.Data.XML_CACHE_SIZE_MB;
+import static org.nexial.core.NexialConst.Data.XPATH_CACHE_SIZE;
 
 /**
  * @author Mike Liu
  */
 public final class XmlUtils {
-    private static final SAXBuilder SAX_BUILDER = new SAXBuilder();
+    // neither SAXBuilder nor XPathExpression is thread-safe; hence one per thread
+    private static final ThreadLocal<SAXBuilder> SAX_BUILDER = ThreadLocal.withInitial(SAXBuilder::new);
+    private static final ContextIntSetting MAX_XPATHS = new ContextIntSetting(XPATH_CACHE_SIZE, DEF_XPATH_CACHE_SIZE);
+    private static final ThreadLocal<Map<String, XPathExpression<Element>>> ELEMENT_XPATHS =
+        ThreadLocal.withInitial(XmlUtils::newXPathCache);
+    private static final ThreadLocal<Map<String, XPathExpression<Object>>> NODE_XPATHS =
+        ThreadLocal.withInitial(XmlUtils::newXPathCache);
+    private static final ParsedDocumentCache DOCUMENTS =
+        new ParsedDocumentCache(new ContextIntSetting(XML_CACHE_SIZE_MB, DEF_XML_CACHE_SIZE_MB));
+    private static final String XPATH_SOAP_RESPONSE_BODY = "/soap:Envelope/soap:Body/*[position()=1]/*[position()=1]";
+
     private static final XMLOutputter PRETTY_XML_OUTPUTTER = new XMLOutputter(Format.getPrettyFormat());
 
     private XmlUtils() { }
@@ -53,11 +74,31 @@ public final class XmlUtils {
 
     public static Document parse(String xmlText) throws JDOMException, IOException {
         if (StringUtils.isEmpty(xmlText)) { return null; }
-        return SAX_BUILDER.build(new StringReader(xmlText));
+        return SAX_BUILDER.get().build(new StringReader(xmlText));
+    }
+
+    /**
+     * same as {@link #parse(String)}, except that the parsed document is cached (JVM-wide) and shared by all
+     * subsequent parsing of the same XML. Hence the returned document must be treated as <b>read-only</b>; use
+     * {@link #parse(String)} for a document to be modified.
+     */
+    public static Document parseCached(String xmlText) throws JDOMException, IOException {
+        if (StringUtils.isEmpty(xmlText)) { return null; }
+        return DOCUMENTS.get(xmlText, Document.class, XmlUtils::parse);
+    }
+
+    /** compiled (and cached) form of {@code xpath} that only matches on elements */
+    public static XPathExpression<Element> compileElementXPath(String xpath) {
+        return compile(ELEMENT_XPATHS.get(), xpath, Filters.element());
+    }
+
+    /** compiled (and cached) form of {@code xpath} that matches on any node */
+    public static XPathExpression<Object> compileXPath(String xpath) {
+        return compile(NODE_XPATHS.get(), xpath, Filters.fpassthrough());
     }
 
     public static String getSoapRequestOpName(String soapRequest) throws JDOMException, IOException {
-        Document doc = parse(soapRequest);
+        Document doc = parseCached(soapRequest);
         if (doc == null) { return null; }
 
         Element soapOpNode = resolveSoapRequestOpNode(doc);
@@ -116,20 +157,20 @@ public final class XmlUtils {
     }
 
     public static Element findElement(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath, Filters.element()).evaluateFirst(doc);
+        return compileElementXPath(xpath).evaluateFirst(doc);
     }
 
     public static List<Element> findElements(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath, Filters.element()).evaluate(doc);
+        return compileElementXPath(xpath).evaluate(doc);
     }
 
     public static Object findNode(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath).evaluateFirst(doc);
+        return compileXPath(xpath).evaluateFirst(doc);
     }
 
     /** @return a list of the XPath results (XML nodes). */
     public static List findNodes(Document doc, String xpath) {
-        return XPathFactory.instance().compile(xpath).evaluate(doc);
+        return compileXPath(xpath).evaluate(doc);
     }
 
     /**
@@ -139,10 +180,9 @@ public final class XmlUtils {
      */
     public static String parseSoapResponseBody(String rawResponseText, boolean stripNamespaces)
         throws JDOMException, IOException {
-        Document soapResponse = parse(rawResponseText);
+        Document soapResponse = parseCached(rawResponseText);
         // find the element 2 level below soap:Body
-        Element responseContent = findElement(soapResponse,
-                                              "/soap:Envelope/soap:Body/*[position()=1]/*[position()=1]");
+        Element responseContent = findElement(soapResponse, XPATH_SOAP_RESPONSE_BODY);
         String responseBody = toPrettyXml(responseContent);
         return stripNamespaces ? detachNamespaces(responseBody) : responseBody;
     }
@@ -186,10 +226,9 @@ public final class XmlUtils {
         if (doc == null) { return null; }
 
         Element root = doc.getRootElement();
-        XPathFactory xPathFactory = XPathFactory.instance();
-        Element body = xPathFactory.compile("soapenv:Body", Filters.element()).evaluateFirst(root);
+        Element body = compileElementXPath("soapenv:Body").evaluateFirst(root);
         if (body == null) {
-            body = xPathFactory.compile("soap:Body", Filters.element()).evaluateFirst(root);
+            body = compileElementXPath("soap:Body").evaluateFirst(root);
             if (body == null) { return null; }
         }
 
@@ -198,4 +237,23 @@ public final class XmlUtils {
 
         return (Element) children.get(0);
     }
+
+    private static <T> XPathExpression<T> compile(Map<String, XPathExpression<T>> cache, String xpath,
+                                                  Filter<T> filter) {
+        XPathExpression<T> compiled = cache.get(xpath);
+        if (compiled == null) {
+            compiled = XPathFactory.instance().compile(xpath, filter);
+            cache.put(xpath, compiled);
+        }
+        return compiled;
+    }
+
+    private static <T> Map<String, XPathExpression<T>> newXPathCache() {
+        return new LinkedHashMap<String, XPathExpression<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression<T>> eldest) {
+                return size() > MAX_XPATHS.get();
+            }
+        };
+    }
 }
@@ -21,10 +21,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.time.StopWatch;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFRow;
@@ -60,11 +58,24 @@ class ExecutionInputPrep {
 
     public static Excel updateOutputDataSheet(File outputFile) throws IOException {
         Excel excel = new Excel(outputFile);
+        if (!updateOutputDataSheet(excel)) { return null; }
 
+        // save output file with updated data
+        excel.save();
+
+        return excel;
+    }
+
+    /**
+     * sync the {@code #data} sheet of {@code excel} with the current context, in memory only. Return {@code false}
+     * if there's no context to sync with.
+     */
+    public static boolean updateOutputDataSheet(Excel excel) {
         ExecutionContext context = ExecutionThread.get();
-        if (context == null) { return null; }
+        if (context == null) { return false; }
 
         XSSFSheet dataSheet = excel.getWorkbook().getSheet(SHEET_MERGED_DATA);
+        if (dataSheet == null) { return false; }
 
         XSSFWorkbook workbook = dataSheet.getWorkbook();
         XSSFCellStyle styleTestDataValue = StyleDecorator.generate(workbook, TEST_DATA_VALUE);
@@ -85,64 +96,54 @@ class ExecutionInputPrep {
             }
         });
 
-        // save output file with updated data
-        excel.save();
-
-        return excel;
+        return true;
     }
 
-    /** called from {@link ExecutionThread} for each iteration. */
+    /**
+     * called from {@link ExecutionThread} for each iteration. The test script is loaded once and all the
+     * transformations (unused sheet removal, macro expansion, test data merge) are done in memory, after which the
+     * output file is written exactly once.
+     */
     static File prep(String runId, ExecutionDefinition execDef, int iteration, int counter) throws IOException {
         assert StringUtils.isNotBlank(runId);
         assert execDef != null;
 
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Map<String, Long> timings = new LinkedHashMap<>();
+
         // 1. create output directory structure
         String outBase = StringUtils.appendIfMissing(execDef.getOutPath(), separator) + runId;
         createSubdirs(runId, outBase);
 
-        // 2. copy output file to tmp directory for data merge
+        // 2. load test script into memory. The test script itself is never saved.
         File testScript = new File(execDef.getTestScript());
         String filename = testScript.getName();
-
-        // since tmp file is local, the merge work with test data would be faster
-        // add random alphanum to avoid collision in parallel processing
-        String tmpFilePath = SystemUtils.getJavaIoTmpDir().getAbsolutePath() + separator +
-                             RandomStringUtils.randomAlphabetic(5) + separator +
-                             filename;
-        File tmpFile = new File(tmpFilePath);
-        FileUtils.copyFile(testScript, tmpFile);
+        Excel excel = new Excel(testScript);
+        timings.put("open", lap(stopWatch));
 
         // 3. remove unused sheets
         List<String> scenarios = execDef.getScenarios();
-        List<Integer> unusedWorksheetIndices = new ArrayList<>();
-        Excel tmpExcelFile = new Excel(tmpFile);
-        // collect the index of all unused worksheets
-        tmpExcelFile.getWorksheetsStartWith("").forEach(worksheet -> {
-            if (!StringUtils.equals(worksheet.getName(), SHEET_SYSTEM) &&
-                !scenarios.contains(worksheet.getName())) {
-                unusedWorksheetIndices.add(tmpExcelFile.getWorkbook().getSheetIndex(worksheet.getSheet()));
+        excel.getWorksheetsStartWith("").forEach(worksheet -> {
+            String name = worksheet.getName();
+            if (!StringUtils.equals(name, SHEET_SYSTEM) && !scenarios.contains(name)) {
+                excel.removeWorksheet(name);
             }
         });
-        // remove the latter ones first so that we don't need to deal with shift in positions
-        Collections.reverse(unusedWorksheetIndices);
-
-        unusedWorksheetIndices.forEach(index -> tmpExcelFile.getWorkbook().removeSheetAt(index));
-        tmpExcelFile.save();
+        timings.put("remove sheets", lap(stopWatch));
 
         // merge macros
-        // todo: better instantiation so that we can reuse in-class cache (inside MacroMerger)
         MacroMerger macroMerger = new MacroMerger();
         macroMerger.setCurrentIteration(counter);
         macroMerger.setExecDef(execDef);
         macroMerger.setProject(execDef.getProject());
-        macroMerger.setExcel(new Excel(tmpFile));
-        macroMerger.mergeMacro();
+        macroMerger.setExcel(excel);
+        if (macroMerger.expandMacros()) { ConsoleUtils.log(runId, "macro(s) merged for " + filename); }
+        timings.put("merge macros", lap(stopWatch));
 
-        // 4. merge expanded test data to output file
-        // this is necessary since the output directory (and final output file) could be remote
-        // merging test data to remote output file could be time-consuming
-        ConsoleUtils.log(runId, "merging test data to tmp file " + tmpFilePath);
-        mergeTestData(tmpFile, execDef.getTestData(true), iteration);
+        // 4. merge expanded test data
+        mergeTestData(excel, execDef.getTestData(true), iteration);
+        timings.put("merge data", lap(stopWatch));
 
         // 5. decorate file name based on runtime information
         String outputFileName = StringUtils.appendIfMissing(outBase, separator) + filename;
@@ -156,22 +157,24 @@ class ExecutionInputPrep {
         // [test plan file name w/o ext][SEP][test plan sheet name][SEP][sequence#][SEP][test script name w/o ext][SEP][start date yyyyMMdd_HHmmss][SEP][iteration#].xlsx
         outputFileName = OutputFileUtils.addTestPlan(outputFileName, execDef);
 
+        // 6. now write the merged workbook to its final location, once
         File outputFile = new File(outputFileName);
+        excel.saveAs(outputFile);
+        timings.put("write", lap(stopWatch));
         ConsoleUtils.log(runId, "test script and test data merged to " + outputFile);
 
-        // 6. now copy tmp to final location
-        ConsoleUtils.log(runId, "copying tmp file to output file " + outputFile);
-        FileUtils.copyFile(tmpFile, outputFile);
-        FileUtils.deleteQuietly(tmpFile.getParentFile());
+        StringBuilder breakdown = new StringBuilder();
+        timings.forEach((phase, ms) -> breakdown.append(", ").append(phase).append("=").append(ms).append("ms"));
+        ConsoleUtils.log(runId, "iteration " + counter + " prepped in " +
+                                timings.values().stream().mapToLong(Long::longValue).sum() + "ms" + breakdown);
 
         return outputFile;
     }
 
-    private static Excel mergeTestData(File outputFile, TestData testData, int iteration) throws IOException {
+    private static void mergeTestData(Excel excel, TestData testData, int iteration) {
         SortedMap<String, String> data = new TreeMap<>(testData.getAllValue(iteration));
 
-        Excel excel = new Excel(outputFile);
-        XSSFSheet dataSheet = excel.getWorkbook().createSheet(SHEET_MERGED_DATA);
+        XSSFSheet dataSheet = excel.worksheet(SHEET_MERGED_DATA, true).getSheet();
 
         XSSFWorkbook workbook = dataSheet.getWorkbook();
         XSSFCellStyle stylePredefTestDataName = StyleDecorator.generate(workbook, PREDEF_TEST_DATA_NAME);
@@ -195,11 +198,14 @@ class ExecutionInputPrep {
             cellValue.setCellStyle(styleTestDataValue);
 
         });
+    }
 
-        // save output file with expanded data
-        excel.save();
-
-        return excel;
+    /** elapsed time since the last lap, in milliseconds */
+    private static long lap(StopWatch stopWatch) {
+        long elapsed = stopWatch.getTime();
+        stopWatch.reset();
+        stopWatch.start();
+        return elapsed;
     }
 
     private static void createSubdirs(String runId, String base) {
@@ -19,19 +19,33 @@ package org.nexial.core;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
 import org.nexial.commons.logging.LogbackUtils;
+import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.aws.NexialS3Helper;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.model.*;
@@ -39,6 +53,7 @@ import org.nexial.core.reports.ExecutionMailConfig;
 import org.nexial.core.service.EventTracker;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecutionLogger;
+import org.springframework.context.ApplicationContext;
 
 import static org.nexial.core.NexialConst.Data.*;
 import static org.nexial.core.NexialConst.OPT_LAST_OUTCOME;
@@ -61,7 +76,7 @@ import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.SCRIPT;
  * @see Nexial
  * @see ExecutionDefinition
  */
-public final class ExecutionThread extends Thread {
+public class ExecutionThread extends Thread {
     private static final ThreadLocal<ExecutionContext> THREAD_LOCAL = new ThreadLocal<>();
 
     private ExecutionDefinition execDef;
@@ -73,6 +88,19 @@ public final class ExecutionThread extends Thread {
     // capture the data after an execution run (all iteration, all scenarios within 1 file)
     private Map<String, Object> intraExecutionData = new HashMap<>();
 
+    /** the result of one iteration */
+    protected static final class IterationOutcome {
+        private final int iteration;
+        private ExecutionSummary summary;
+        private File testScript;
+        private boolean stop;
+        // data changed (or added) and removed by this iteration, as compared to the data it started with
+        private Map<String, Object> changedData;
+        private Set<String> removedData;
+
+        IterationOutcome(int iteration) { this.iteration = iteration; }
+    }
+
     public static ExecutionContext get() { return THREAD_LOCAL.get(); }
 
     public static void set(ExecutionContext context) { THREAD_LOCAL.set(context); }
@@ -96,6 +124,15 @@ public final class ExecutionThread extends Thread {
         String runId = execDef.getRunId();
         LogbackUtils.registerLogDirectory(appendLog(execDef));
 
+        if (execDef.isLoadTestMode()) {
+            LoadTestExecution loadTest = new LoadTestExecution(execDef, executionSummary);
+            loadTest.setFirstUse(firstUse);
+            loadTest.setLastUse(lastUse);
+            loadTest.execute();
+            MemManager.recordMemoryChanges(execDef.getTestScript() + " load test completed");
+            return;
+        }
+
         StopWatch ticktock = new StopWatch();
         ticktock.start();
 
@@ -141,89 +178,274 @@ public final class ExecutionThread extends Thread {
         executionSummary.setStartTime(System.currentTimeMillis());
         executionSummary.setSourceScript(testScriptLocation);
 
-        for (int currIteration = 1; currIteration <= totalIterations; currIteration++) {
-            // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
+        int parallelIterations =
+            Math.min(context.getIntData(OPT_PARALLEL_ITERATIONS, DEF_PARALLEL_ITERATIONS), totalIterations);
+        if (parallelIterations > 1) {
+            runParallelIterations(context, iterationManager, parallelIterations);
+        } else {
+            for (int currIteration = 1; currIteration <= totalIterations; currIteration++) {
+                // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
 
-            int iteration = iterationManager.getIterationRef(currIteration - 1);
-            File testScript = null;
-            boolean allPass = true;
+                // we need to infuse "between" #default and whatever data sheets is assigned for this test script
+                execDef.infuseIntraExecutionData(intraExecutionData);
 
-            // we need to infuse "between" #default and whatever data sheets is assigned for this test script
-            execDef.infuseIntraExecutionData(intraExecutionData);
+                IterationOutcome outcome =
+                    runIteration(context, iterationManager, currIteration, intraExecutionData, false);
+                executionSummary.addNestSummary(outcome.summary);
+                if (outcome.testScript != null) { completedTests.add(outcome.testScript); }
+                if (outcome.stop) { break; }
+            }
+        }
 
-            ExecutionSummary iterSummary = new ExecutionSummary();
-            iterSummary.setName(currIteration + " of " + totalIterations);
-            iterSummary.setExecutionLevel(ITERATION);
-            iterSummary.setStartTime(System.currentTimeMillis());
-            iterSummary.setSourceScript(testScriptLocation);
+        onScriptComplete(context, executionSummary, iterationManager, ticktock);
 
-            try {
-                testScript = ExecutionInputPrep.prep(runId, execDef, iteration, currIteration);
-                iterSummary.setTestScript(testScript);
-                context.useTestScript(testScript);
+        // handling onExecutionComplete
+        if (lastUse) { context.getExecutionEventListener().onExecutionComplete(); }
 
-                // handling onExecutionStart
-                if (firstUse) { context.getExecutionEventListener().onExecutionStart(); }
+        ExecutionThread.unset();
+        MemManager.recordMemoryChanges(scriptName + " completed");
+    }
 
-                context.setData(CURR_ITERATION, currIteration);
+    public ExecutionSummary getExecutionSummary() { return executionSummary; }
 
-                if (currIteration == 1) { context.getExecutionEventListener().onScriptStart(); }
+    /**
+     * execute iterations concurrently, with up to {@code parallelIterations} workers.  Each worker has its own
+     * {@link ExecutionContext} and its own copy of the execution definition, reused for all the iterations it runs
+     * and terminated once all iterations are done.  Every iteration has its own output file.  To keep the outcome
+     * deterministic, regardless of the order in which iterations complete:
+     * <ul>
+     * <li>every iteration starts off a copy of the same data, i.e. the data as of the start of this script</li>
+     * <li>iteration summaries are nested in iteration order</li>
+     * <li>only the data an iteration has changed, added or removed (as compared to the data it started with) is
+     * merged back, in iteration order. Hence if more than one iteration changes the same data variable, the value of
+     * the last of these iterations wins; data variables left unchanged by an iteration are not overwritten.</li>
+     * </ul>
+     * Iterations not yet started are skipped as soon as one iteration signals to stop (e.g. fail-fast).
+     */
+    protected void runParallelIterations(ExecutionContext context,
+                                         IterationManager iterationManager,
+                                         int parallelIterations) {
+        String runId = execDef.getRunId();
+        int totalIterations = iterationManager.getIterationCount();
+        ConsoleUtils.log(runId, "executing " + totalIterations + " iterations with " + parallelIterations +
+                                " parallel workers");
+
+        execDef.infuseIntraExecutionData(intraExecutionData);
+        Map<String, Object> startData = new HashMap<>();
+        context.fillIntraExecutionData(startData);
+
+        if (firstUse) { context.getExecutionEventListener().onExecutionStart(); }
+        context.getExecutionEventListener().onScriptStart();
+
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicInteger workerCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelIterations, runnable -> {
+            Thread thread = new Thread(runnable, runId + "-iteration-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
-                ExecutionLogger logger = context.getLogger();
-                logger.log(context, "executing iteration #" + currIteration +
-                                    "; Iteration #" + iteration + " of " + totalIterations);
-                allPass = context.execute();
+        // one context per worker thread; its own copy of execDef since test data is re-read for every iteration
+        Map<Thread, ExecutionContext> workers = new ConcurrentHashMap<>();
 
-                onIterationComplete(context, iterSummary, currIteration);
-                if (shouldStopNow(context, allPass)) { break; }
-            } catch (Exception e) {
-                onIterationException(context, iterSummary, currIteration, e);
-                if (shouldStopNow(context, allPass)) { break; }
-            } finally {
-                context.setData(ITERATION_EDNED, true);
+        List<Future<IterationOutcome>> outcomes = new ArrayList<>();
+        for (int currIteration = 1; currIteration <= totalIterations; currIteration++) {
+            int iteration = currIteration;
+            outcomes.add(executor.submit(() -> {
+                if (stopped.get()) { return null; }
 
+                ExecutionContext worker =
+                    workers.computeIfAbsent(Thread.currentThread(), thread -> new ExecutionContext(execDef.copy()));
+                ExecutionThread.set(worker);
                 try {
-                    // sync #data sheet with context
-                    ExecutionInputPrep.updateOutputDataSheet(testScript);
-                } catch (IOException e) {
-                    ConsoleUtils.error("Error when updating data variables in #data: " + e.getMessage());
+                    // nothing is carried over from the previous iteration of this worker
+                    worker.resetData(copyIntraExecutionData(startData));
+                    Map<String, Object> iterationData = new HashMap<>();
+                    IterationOutcome outcome = runIteration(worker, iterationManager, iteration, iterationData, true);
+                    outcome.changedData = changedIntraExecutionData(startData, iterationData);
+                    outcome.removedData = removedIntraExecutionData(startData, iterationData);
+                    if (outcome.stop) { stopped.set(true); }
+                    return outcome;
+                } finally {
+                    ExecutionThread.unset();
                 }
+            }));
+        }
+        executor.shutdown();
 
-                // now the execution for this iteration is done. We'll add new execution summary page to its output.
-                iterSummary.setFailedFast(context.isFailFast());
-                iterSummary.setEndTime(System.currentTimeMillis());
-                iterSummary.aggregatedNestedExecutions(context);
-                iterSummary.generateExcelReport(testScript);
-                EventTracker.INSTANCE.track(new NexialIterationCompleteEvent(testScriptLocation,
-                                                                             currIteration,
-                                                                             iterSummary));
-                executionSummary.addNestSummary(iterSummary);
-
-                if (testScript != null) {
-                    if (isAutoOpenResult()) { Excel.openExcel(testScript); }
-                    completedTests.add(testScript);
+        int lastIteration = 0;
+        try {
+            for (Future<IterationOutcome> future : outcomes) {
+                IterationOutcome outcome;
+                try {
+                    outcome = future.get();
+                } catch (ExecutionException e) {
+                    ConsoleUtils.error(runId, "Unable to complete iteration: " + e.getCause().getMessage(), e);
+                    continue;
                 }
 
-                collectIntraExecutionData(context, currIteration);
-                ExecutionMailConfig.configure(context);
-                context.endIteration();
+                // skipped since a previous iteration stopped the execution
+                if (outcome == null) { continue; }
 
-                if (testScript != null) { MemManager.recordMemoryChanges(testScript.getName() + " completed"); }
-
-                context.setData(ITERATION_EDNED, false);
+                executionSummary.addNestSummary(outcome.summary);
+                if (outcome.testScript != null) { completedTests.add(outcome.testScript); }
+                context.mergeIntraExecutionData(outcome.changedData);
+                outcome.removedData.forEach(context::removeData);
+                lastIteration = outcome.iteration;
             }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.values().forEach(ExecutionContext::terminate);
         }
 
-        onScriptComplete(context, executionSummary, iterationManager, ticktock);
+        collectIntraExecutionData(context, lastIteration);
+    }
 
-        // handling onExecutionComplete
-        if (lastUse) { context.getExecutionEventListener().onExecutionComplete(); }
+    /**
+     * copy of {@code intraExecutionData} for a parallel iteration; data values are deep-copied (where serializable)
+     * so that one iteration cannot modify the start data of another. The Spring context and plugins of the source
+     * context are left out, since each parallel iteration has its own.
+     */
+    static Map<String, Object> copyIntraExecutionData(Map<String, Object> intraExecutionData) {
+        Map<String, Object> copy = new HashMap<>();
+        if (MapUtils.isEmpty(intraExecutionData)) { return copy; }
+
+        intraExecutionData.forEach((name, value) -> {
+            if (value instanceof ApplicationContext || value instanceof PluginManager) { return; }
+            copy.put(name, deepCopy(value));
+        });
+        return copy;
+    }
 
-        ExecutionThread.unset();
-        MemManager.recordMemoryChanges(scriptName + " completed");
+    /**
+     * data variables of {@code endData} that are not in {@code startData}, or of a different value (via
+     * {@code equals()}). The Spring context and plugins are left out, since these are never merged.
+     */
+    static Map<String, Object> changedIntraExecutionData(Map<String, Object> startData, Map<String, Object> endData) {
+        Map<String, Object> changed = new HashMap<>();
+        endData.forEach((name, value) -> {
+            if (value instanceof ApplicationContext || value instanceof PluginManager) { return; }
+            if (!startData.containsKey(name) || !Objects.equals(startData.get(name), value)) {
+                changed.put(name, value);
+            }
+        });
+        return changed;
     }
 
-    public ExecutionSummary getExecutionSummary() { return executionSummary; }
+    /** data variables of {@code startData} no longer found in {@code endData} */
+    static Set<String> removedIntraExecutionData(Map<String, Object> startData, Map<String, Object> endData) {
+        Set<String> removed = new HashSet<>();
+        startData.forEach((name, value) -> {
+            if (value instanceof ApplicationContext || value instanceof PluginManager) { return; }
+            if (!endData.containsKey(name)) { removed.add(name); }
+        });
+        return removed;
+    }
+
+    private static Object deepCopy(Object value) {
+        // immutable; no need to copy
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+
+        if (!(value instanceof Serializable)) { return value; }
+        try {
+            return SerializationUtils.clone((Serializable) value);
+        } catch (SerializationException e) {
+            // serializable type with non-serializable content; share as is
+            return value;
+        }
+    }
+
+    protected IterationOutcome runIteration(ExecutionContext context,
+                                            IterationManager iterationManager,
+                                            int currIteration,
+                                            Map<String, Object> intraData,
+                                            boolean parallel) {
+        String runId = execDef.getRunId();
+        String testScriptLocation = execDef.getTestScript();
+        int totalIterations = iterationManager.getIterationCount();
+        int iteration = iterationManager.getIterationRef(currIteration - 1);
+
+        IterationOutcome outcome = new IterationOutcome(currIteration);
+        File testScript = null;
+        boolean allPass = true;
+
+        ExecutionSummary iterSummary = new ExecutionSummary();
+        iterSummary.setName(currIteration + " of " + totalIterations);
+        iterSummary.setExecutionLevel(ITERATION);
+        iterSummary.setStartTime(System.currentTimeMillis());
+        iterSummary.setSourceScript(testScriptLocation);
+
+        try {
+            // context's own execDef: a parallel worker prepares its input off its own copy
+            testScript = ExecutionInputPrep.prep(runId, context.getExecDef(), iteration, currIteration);
+            iterSummary.setTestScript(testScript);
+            context.useTestScript(testScript);
+
+            // handling onExecutionStart
+            if (firstUse && !parallel) { context.getExecutionEventListener().onExecutionStart(); }
+
+            context.setData(CURR_ITERATION, currIteration);
+
+            if (currIteration == 1 && !parallel) { context.getExecutionEventListener().onScriptStart(); }
+
+            ExecutionLogger logger = context.getLogger();
+            logger.log(context, "executing iteration #" + currIteration +
+                                "; Iteration #" + iteration + " of " + totalIterations);
+            allPass = context.execute();
+
+            onIterationComplete(context, iterSummary, currIteration);
+            outcome.stop = shouldStopNow(context, allPass);
+        } catch (Exception e) {
+            onIterationException(context, iterSummary, currIteration, e);
+            outcome.stop = shouldStopNow(context, allPass);
+        } finally {
+            context.setData(ITERATION_EDNED, true);
+
+            // sync #data sheet with context; the output file is opened once for both #data and execution summary
+            Excel outputExcel = null;
+            if (testScript != null && FileUtil.isFileReadable(testScript.getAbsolutePath())) {
+                try {
+                    outputExcel = new Excel(testScript, false);
+                    ExecutionInputPrep.updateOutputDataSheet(outputExcel);
+                } catch (IOException e) {
+                    ConsoleUtils.error("Error when updating data variables in #data: " + e.getMessage());
+                }
+            }
+
+            // now the execution for this iteration is done. We'll add new execution summary page to its output.
+            iterSummary.setFailedFast(context.isFailFast());
+            iterSummary.setEndTime(System.currentTimeMillis());
+            iterSummary.aggregatedNestedExecutions(context);
+            if (outputExcel != null) {
+                iterSummary.generateExcelReport(outputExcel);
+            } else {
+                iterSummary.generateExcelReport(testScript);
+            }
+            EventTracker.INSTANCE.track(new NexialIterationCompleteEvent(testScriptLocation,
+                                                                         currIteration,
+                                                                         iterSummary));
+            outcome.summary = iterSummary;
+
+            if (testScript != null) {
+                if (isAutoOpenResult()) { Excel.openExcel(testScript); }
+                outcome.testScript = testScript;
+            }
+
+            collectIntraExecutionData(context, currIteration, intraData);
+            ExecutionMailConfig.configure(context);
+            context.endIteration();
+
+            if (testScript != null) { MemManager.recordMemoryChanges(testScript.getName() + " completed"); }
+
+            context.setData(ITERATION_EDNED, false);
+        }
+
+        return outcome;
+    }
 
     public List<File> getCompletedTests() { return completedTests; }
 
@@ -236,10 +458,16 @@ public final class ExecutionThread extends Thread {
     }
 
     protected void collectIntraExecutionData(ExecutionContext context, int completeIteration) {
+        collectIntraExecutionData(context, completeIteration, intraExecutionData);
+    }
+
+    protected void collectIntraExecutionData(ExecutionContext context,
+                                             int completeIteration,
+                                             Map<String, Object> intraData) {
         if (context == null) { return; }
         // override, if found, previous "last completed iteration count"
-        intraExecutionData.put(LAST_ITERATION, completeIteration);
-        context.fillIntraExecutionData(intraExecutionData);
+        intraData.put(LAST_ITERATION, completeIteration);
+        context.fillIntraExecutionData(intraData);
     }
 
     protected boolean shouldStopNow(ExecutionContext context, boolean allPass) {
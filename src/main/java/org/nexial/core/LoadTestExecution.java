@@ -0,0 +1,246 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.model.*;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.io.File.separator;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.SCRIPT;
+
+/**
+ * load test for one plan row (i.e. one {@link ExecutionDefinition}) marked as "load test".  The load spec of the
+ * plan row dictates the shape of the load:
+ * <ol>
+ * <li>{@code min} virtual users are started immediately;</li>
+ * <li>the remaining {@code max - min} virtual users are started evenly over {@code ramp up sec} seconds;</li>
+ * <li>after ramp-up, all {@code max} virtual users continue for another {@code hold for sec} seconds.</li>
+ * </ol>
+ * <p>
+ * A virtual user executes the test script repeatedly, iteration after iteration, until the load test ends.  Each
+ * virtual user runs in its own thread with its own {@link ExecutionContext} and its own copy of the test script,
+ * so that no execution state is shared between virtual users.  The only shared state is the
+ * {@link LoadTestMetrics}, which collects per-step latency and error rate.  A virtual user always completes its
+ * current iteration; hence the actual duration of a load test might slightly exceed ramp-up plus hold time.
+ * <p>
+ * Since the executions are concurrent and repeated, intra-execution data is neither consumed nor produced by a
+ * load test.
+ */
+class LoadTestExecution {
+    private static final long USER_TERMINATION_WAIT_MIN = 60;
+
+    private final ExecutionDefinition execDef;
+    private final ExecutionSummary executionSummary;
+    private final LoadTestMetrics metrics;
+    private final String runId;
+    private final AtomicInteger iterationCounter = new AtomicInteger();
+    private volatile boolean stopped;
+    private volatile ExecutionContext primaryContext;
+    private boolean firstUse;
+    private boolean lastUse;
+
+    LoadTestExecution(ExecutionDefinition execDef, ExecutionSummary executionSummary) {
+        this.execDef = execDef;
+        this.executionSummary = executionSummary;
+        this.runId = execDef.getRunId();
+        this.metrics = new LoadTestMetrics(execDef.getTestScript());
+    }
+
+    void setFirstUse(boolean firstUse) { this.firstUse = firstUse; }
+
+    void setLastUse(boolean lastUse) { this.lastUse = lastUse; }
+
+    LoadTestMetrics getMetrics() { return metrics; }
+
+    void execute() {
+        int minUsers = execDef.getMinimumLoad();
+        int maxUsers = execDef.getMaximumLoad();
+        long rampUpMs = TimeUnit.SECONDS.toMillis(execDef.getRampUpSec());
+        long holdForMs = TimeUnit.SECONDS.toMillis(execDef.getHoldForSec());
+
+        String testScriptLocation = execDef.getTestScript();
+        String scriptName = StringUtils.substringBeforeLast(
+            StringUtils.substringAfterLast(StringUtils.replace(testScriptLocation, "\\", "/"), "/"), ".");
+
+        ConsoleUtils.log(runId, "load testing " + testScriptLocation + " with " + minUsers + " to " + maxUsers +
+                                " users; ramp up in " + execDef.getRampUpSec() + " sec, hold for " +
+                                execDef.getHoldForSec() + " sec");
+
+        executionSummary.setName(scriptName + " (load test)");
+        executionSummary.setExecutionLevel(SCRIPT);
+        executionSummary.setStartTime(System.currentTimeMillis());
+        executionSummary.setSourceScript(testScriptLocation);
+
+        ExecutorService executor = Executors.newFixedThreadPool(maxUsers, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(runId + "-user-" + thread.getId());
+            return thread;
+        });
+
+        metrics.start();
+        long startMs = System.currentTimeMillis();
+        try {
+            for (int user = 1; user <= maxUsers; user++) {
+                if (user > minUsers && rampUpMs > 0) {
+                    long startUserAt = startMs + rampUpMs * (user - minUsers) / (maxUsers - minUsers);
+                    if (!sleepUntil(startUserAt)) { break; }
+                }
+
+                int userId = user;
+                executor.submit(() -> runVirtualUser(userId));
+            }
+
+            sleepUntil(startMs + rampUpMs + holdForMs);
+        } finally {
+            stopped = true;
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(USER_TERMINATION_WAIT_MIN, TimeUnit.MINUTES)) {
+                    ConsoleUtils.error(runId, "virtual users did not complete within " + USER_TERMINATION_WAIT_MIN +
+                                              " minutes; terminating now");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            metrics.stop();
+        }
+
+        onLoadTestComplete(scriptName);
+    }
+
+    private void runVirtualUser(int userId) {
+        metrics.userStarted();
+
+        ExecutionContext context = null;
+        File template = null;
+        try {
+            context = newContext();
+            context.setLoadTestMetrics(metrics);
+            ExecutionThread.set(context);
+
+            // each virtual user has its own test script, prepped once and then reused for every iteration
+            File testScript = prepTestScript(userId);
+            template = new File(testScript.getParentFile(), ".load-" + userId + "-" + testScript.getName());
+            FileUtils.copyFile(testScript, template);
+
+            if (userId == 1) {
+                primaryContext = context;
+                if (firstUse) { context.getExecutionEventListener().onExecutionStart(); }
+            }
+
+            while (!stopped) {
+                // test script is modified during execution (results, nested messages); start anew every iteration
+                FileUtils.copyFile(template, testScript);
+                context.useTestScript(testScript);
+                context.setData(CURR_ITERATION, iterationCounter.incrementAndGet());
+
+                long startMs = System.currentTimeMillis();
+                boolean allPass = false;
+                try {
+                    allPass = context.execute();
+                } catch (Throwable e) {
+                    ConsoleUtils.error(runId, "virtual user #" + userId + " failed: " + e.getMessage(), e);
+                } finally {
+                    metrics.recordIteration(System.currentTimeMillis() - startMs, allPass);
+                    context.endIteration();
+                    // flow controls only apply to the iteration in which they occur
+                    context.setFailImmediate(false);
+                    context.setEndImmediate(false);
+                    context.removeData(BREAK_CURRENT_ITERATION);
+                }
+            }
+        } catch (Throwable e) {
+            ConsoleUtils.error(runId, "Unable to start virtual user #" + userId + ": " + e.getMessage(), e);
+        } finally {
+            metrics.userStopped();
+            FileUtils.deleteQuietly(template);
+            ExecutionThread.unset();
+            // the context of virtual user #1 is still needed for the completion events; ended thereafter
+            if (context != null && context != primaryContext) { context.terminate(); }
+        }
+    }
+
+    ExecutionContext newContext() { return new ExecutionContext(execDef); }
+
+    File prepTestScript(int userId) throws IOException {
+        IterationManager iterationManager = execDef.getTestData().getIterationManager();
+        int iteration = iterationManager.getIterationRef((userId - 1) % iterationManager.getIterationCount());
+        return ExecutionInputPrep.prep(runId, execDef, iteration, userId);
+    }
+
+    private void onLoadTestComplete(String scriptName) {
+        long totalSteps = metrics.getTotalSteps();
+        long failCount = metrics.getTotalErrors();
+        executionSummary.setEndTime(System.currentTimeMillis());
+        executionSummary.setTotalSteps((int) totalSteps);
+        executionSummary.setExecuted((int) totalSteps);
+        executionSummary.setPassCount((int) (totalSteps - failCount));
+        executionSummary.setFailCount((int) failCount);
+
+        File report = new File(StringUtils.appendIfMissing(execDef.getOutPath(), separator) + runId + separator +
+                               "load-test." + scriptName + ".json");
+        try {
+            metrics.generateJson(report);
+        } catch (IOException e) {
+            ConsoleUtils.error(runId, "Unable to generate load test report " + report + ": " + e.getMessage(), e);
+        }
+
+        ConsoleUtils.log(runId,
+                         "\n" +
+                         "/-LOAD TEST COMPLETE------------------------------------------------------------\n" +
+                         "| Test Script:    " + execDef.getTestScript() + "\n" +
+                         "| Report:         " + report + "\n" +
+                         "\\-------------------------------------------------------------------------------\n" +
+                         metrics + "\n\n");
+
+        ExecutionContext context = primaryContext;
+        if (context != null) {
+            ExecutionThread.set(context);
+            context.getExecutionEventListener().onScriptComplete();
+            if (lastUse) { context.getExecutionEventListener().onExecutionComplete(); }
+            ExecutionThread.unset();
+            context.terminate();
+            primaryContext = null;
+        }
+    }
+
+    /** return false if interrupted */
+    private static boolean sleepUntil(long timestamp) {
+        long waitMs = timestamp - System.currentTimeMillis();
+        if (waitMs <= 0) { return true; }
+        try {
+            Thread.sleep(waitMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
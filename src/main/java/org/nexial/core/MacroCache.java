@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.Excel.Worksheet;
+import org.nexial.core.excel.ExcelAddress;
+import org.nexial.core.excel.ExcelArea;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static org.nexial.core.excel.ExcelConfig.ADDR_MACRO_COMMAND_START;
+
+/**
+ * thread-safe, size-bounded cache of macro libraries. Each macro library sheet is parsed once (all of its macros at
+ * once) and kept until the underlying file is modified, or until it is evicted as the least recently used sheet.
+ * <p>
+ * Since the cache is shared across executions (parallel and consecutive ones, as in listen mode), the cached test
+ * steps are read-only.
+ */
+final class MacroCache {
+    private final int maxSize;
+    private final Map<String, MacroSheet> sheets;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    /** all the macros of a macro library sheet, as of the file version (modification time and size) parsed */
+    private static final class MacroSheet {
+        private final long lastModified;
+        private final long length;
+        private final Map<String, List<List<String>>> macros;
+
+        private MacroSheet(long lastModified, long length, Map<String, List<List<String>>> macros) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.macros = macros;
+        }
+
+        private boolean isCurrent(File macroFile) {
+            return lastModified == macroFile.lastModified() && length == macroFile.length();
+        }
+    }
+
+    MacroCache(int maxSize) {
+        this.maxSize = Math.max(maxSize, 1);
+        // access-ordered so that the least recently used sheet is evicted first
+        this.sheets = new LinkedHashMap<String, MacroSheet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MacroSheet> eldest) {
+                return size() > MacroCache.this.maxSize;
+            }
+        };
+    }
+
+    /** test steps of {@code macro} found in {@code macroFile}/{@code sheet}, or null if no such macro exists. */
+    List<List<String>> getMacro(File macroFile, String sheet, String macro) throws IOException {
+        return resolve(macroFile, sheet).macros.get(macro);
+    }
+
+    long getHits() { return hits.get(); }
+
+    long getMisses() { return misses.get(); }
+
+    /** number of times a cached sheet was re-parsed because its file was modified */
+    long getReloads() { return reloads.get(); }
+
+    synchronized int size() { return sheets.size(); }
+
+    synchronized void clear() { sheets.clear(); }
+
+    @Override
+    public String toString() {
+        return "macro cache: " + size() + " sheet(s), " + hits.get() + " hit(s), " + misses.get() + " miss(es), " +
+               reloads.get() + " reload(s)";
+    }
+
+    /**
+     * parsing is done while holding the lock so that the same sheet is only parsed once, even when referenced by
+     * parallel executions at the same time.
+     */
+    private synchronized MacroSheet resolve(File macroFile, String sheet) throws IOException {
+        String key = macroFile.getAbsolutePath() + ":" + sheet;
+
+        MacroSheet macroSheet = sheets.get(key);
+        if (macroSheet != null && macroSheet.isCurrent(macroFile)) {
+            hits.incrementAndGet();
+            return macroSheet;
+        }
+
+        misses.incrementAndGet();
+        if (macroSheet != null) { reloads.incrementAndGet(); }
+
+        // file version is determined before parsing, so that a concurrent modification is picked up next time
+        long lastModified = macroFile.lastModified();
+        long length = macroFile.length();
+        macroSheet = new MacroSheet(lastModified, length, parse(macroFile, sheet));
+        sheets.put(key, macroSheet);
+        ConsoleUtils.log("parsed " + macroSheet.macros.size() + " macro(s) from " + key + "; " + this);
+        return macroSheet;
+    }
+
+    private static Map<String, List<List<String>>> parse(File macroFile, String sheet) throws IOException {
+        Map<String, List<List<String>>> macros = new HashMap<>();
+
+        Excel macroExcel = new Excel(macroFile, false, false);
+        try {
+            Worksheet macroSheet = macroExcel.worksheet(sheet);
+            if (macroSheet == null) {
+                ConsoleUtils.error("Unable to find macro sheet '" + sheet + "' in " + macroFile);
+                return macros;
+            }
+
+            int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
+            ExcelArea macroArea = new ExcelArea(macroSheet, new ExcelAddress("A2:L" + lastMacroRow), false);
+
+            // a macro starts at the row with its name, and continues until the next row with a different name
+            String currentMacro = null;
+            List<List<String>> currentSteps = null;
+            for (List<XSSFCell> macroRow : macroArea.getWholeArea()) {
+                String macroName = macroRow.get(0).getStringCellValue();
+                if (StringUtils.isNotBlank(macroName) && !StringUtils.equals(macroName, currentMacro)) {
+                    currentMacro = macroName;
+                    currentSteps = new ArrayList<>();
+                    // in case of duplicate macro name, the first one wins
+                    macros.putIfAbsent(macroName, currentSteps);
+                }
+
+                if (currentSteps != null) { currentSteps.add(collectMacroStep(macroRow)); }
+            }
+        } finally {
+            macroExcel.getWorkbook().close();
+        }
+
+        macros.replaceAll((name, steps) -> Collections.unmodifiableList(steps));
+        return macros;
+    }
+
+    private static List<String> collectMacroStep(List<XSSFCell> macroRow) {
+        List<String> oneStep = new ArrayList<>();
+        for (int i = 1; i <= 11; i++) { oneStep.add(macroRow.get(i).getStringCellValue()); }
+        return Collections.unmodifiableList(oneStep);
+    }
+}
@@ -20,12 +20,12 @@ package org.nexial.core;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFRow;
@@ -51,7 +51,9 @@ import static org.nexial.core.excel.ExcelConfig.*;
 public class MacroMerger {
     private static final String TEST_STEPS_PREFIX =
         "" + COL_TEST_CASE + (ADDR_COMMAND_START.getRowStartIndex() + 1) + ":" + COL_REASON;
-    private static final Map<String, List<List<String>>> MACRO_CACHE = new HashMap<>();
+    // shared by all executions; macro library sheets are parsed once per file modification
+    private static final MacroCache MACRO_CACHE =
+        new MacroCache(NumberUtils.toInt(System.getProperty(MACRO_CACHE_SIZE), DEF_MACRO_CACHE_SIZE));
 
     private Excel excel;
     private ExecutionDefinition execDef;
@@ -67,6 +69,18 @@ public class MacroMerger {
     public void setExcel(Excel excel) { this.excel = excel; }
 
     protected void mergeMacro() throws IOException {
+        // save excel, rinse and repeat.
+        if (expandMacros()) {
+            ConsoleUtils.log("macro(s) merged, saving excel " + excel.getFile());
+            excel.save();
+        }
+    }
+
+    /**
+     * expand all the macro references of the test scenarios in memory, without saving the underlying excel.
+     * Return {@code true} if any macro was expanded.
+     */
+    protected boolean expandMacros() throws IOException {
         excel.getWorkbook().setMissingCellPolicy(CREATE_NULL_AS_BLANK);
 
         // find all scenario sheets
@@ -84,11 +98,7 @@ public class MacroMerger {
             refillExpandedTestSteps(sheet, allTestSteps);
         }
 
-        // save excel, rinse and repeat.
-        if (fileModified) {
-            ConsoleUtils.log("macro(s) merged, saving excel " + excel.getFile());
-            excel.save();
-        }
+        return fileModified;
     }
 
     protected boolean expandTestSteps(List<List<String>> allTestSteps) throws IOException {
@@ -248,54 +258,11 @@ public class MacroMerger {
             macroFile = new File(macroFilePath);
         }
 
-        String macroKey = macroFile + ":" + paramSheet + ":" + paramMacro;
-
-        if (MACRO_CACHE.containsKey(macroKey)) {
-            // shortcircut: in case the same macro is referenced
-            ConsoleUtils.log("reading macro from cache: " + macroKey);
-            return MACRO_CACHE.get(macroKey);
+        List<List<String>> macroSteps = MACRO_CACHE.getMacro(macroFile, paramSheet, paramMacro);
+        if (macroSteps == null) {
+            ConsoleUtils.error("Unable to resolve macro via " + macroFile + ":" + paramSheet + ":" + paramMacro);
         }
 
-        // open specified sheet
-        Excel macroExcel = new Excel(macroFile, false);
-        Worksheet macroSheet = macroExcel.worksheet(paramSheet);
-        int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
-        ExcelArea macroArea = new ExcelArea(macroSheet, new ExcelAddress("A2:L" + lastMacroRow), false);
-        List<List<XSSFCell>> macroStepArea = macroArea.getWholeArea();
-        List<List<String>> macroSteps = new ArrayList<>();
-        boolean macroFound = false;
-
-        // 6. read test steps based on macro name
-        for (List<XSSFCell> macroRow : macroStepArea) {
-            String currentMacroName = macroRow.get(0).getStringCellValue();
-            if (StringUtils.equals(currentMacroName, paramMacro)) {
-                macroFound = true;
-                macroSteps.add(collectMacroStep(macroRow));
-                continue;
-            }
-
-            if (macroFound) {
-                if (StringUtils.isBlank(currentMacroName)) {
-                    macroSteps.add(collectMacroStep(macroRow));
-                } else {
-                    MACRO_CACHE.put(macroKey, macroSteps);
-                    macroSteps = new ArrayList<>();
-                    macroFound = false;
-                    break;
-                }
-            }
-        }
-
-        if (macroFound && !macroSteps.isEmpty()) { MACRO_CACHE.put(macroKey, macroSteps); }
-
-        if (!MACRO_CACHE.containsKey(macroKey)) { ConsoleUtils.error("Unable to resolve macro via " + macroKey); }
-
-        return MACRO_CACHE.get(macroKey);
-    }
-
-    protected List<String> collectMacroStep(List<XSSFCell> macroRow) {
-        List<String> oneStep = new ArrayList<>();
-        for (int i = 1; i <= 11; i++) { oneStep.add(macroRow.get(i).getStringCellValue()); }
-        return oneStep;
+        return macroSteps;
     }
 }
@@ -24,8 +24,15 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.mail.MessagingException;
 
 import org.apache.commons.cli.CommandLine;
@@ -53,6 +60,8 @@ import org.nexial.core.aws.NexialS3Helper;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.model.*;
+import org.nexial.core.plugins.db.DataSourceRegistry;
+import org.nexial.core.plugins.ws.HttpClientRegistry;
 import org.nexial.core.reports.ExecutionMailConfig;
 import org.nexial.core.reports.ExecutionNotifier;
 import org.nexial.core.reports.MailNotifier;
@@ -179,12 +188,9 @@ import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.EXECUTION;
  * </ol>
  */
 public class Nexial {
-    private static final int THREAD_WAIT_LOG_INTERVAL = 60;
-
     private ClassPathXmlApplicationContext springContext;
     private TestProject project;
     private List<ExecutionDefinition> executions;
-    private int threadWaitCounter;
     private int listenPort = -1;
     private String listenerHandshake;
 
@@ -345,7 +351,7 @@ public class Nexial {
                     exec.setSerialMode(BooleanUtils.toBoolean(
                         StringUtils.defaultIfBlank(readCellValue(row, COL_IDX_PLAN_WAIT), DEF_PLAN_SERIAL_MODE)));
                     exec.setLoadTestMode(BooleanUtils.toBoolean(readCellValue(row, COL_IDX_PLAN_LOAD_TEST)));
-                    if (exec.isLoadTestMode()) { fail("Sorry... load testing mode not yet ready for use."); }
+                    if (exec.isLoadTestMode()) { deriveLoadTestSpecFromPlan(row, exec, testPlanFile); }
 
                     try {
                         // 3. for each row, parse script (and scenario) and data (and datasheet)
@@ -464,6 +470,30 @@ public class Nexial {
         return StringUtils.isBlank(planDataSheets) ? scenarios : TextUtils.toList(planDataSheets, ",", true);
     }
 
+    /** load test spec is expressed as {@code min, max, ramp up sec, hold for sec} */
+    protected void deriveLoadTestSpecFromPlan(XSSFRow row, ExecutionDefinition exec, File testPlan) {
+        String spec = readCellValue(row, COL_IDX_PLAN_LOAD_TEST_SPEC);
+        List<String> specs = TextUtils.toList(spec, ",", true);
+        String errorPrefix = "Invalid load test spec '" + spec + "' in ROW " + (row.getRowNum() + 1) + " of " +
+                             testPlan + ": ";
+        if (CollectionUtils.size(specs) != 4 || !specs.stream().allMatch(NumberUtils::isDigits)) {
+            fail(errorPrefix + "expects '" + PLAN_HEADER_LOAD_TEST_SPEC + "' as 4 whole numbers");
+        }
+
+        int minimumLoad = NumberUtils.toInt(specs.get(0));
+        int maximumLoad = NumberUtils.toInt(specs.get(1));
+        int rampUpSec = NumberUtils.toInt(specs.get(2));
+        int holdForSec = NumberUtils.toInt(specs.get(3));
+        if (minimumLoad < 1) { fail(errorPrefix + "min must be at least 1"); }
+        if (maximumLoad < minimumLoad) { fail(errorPrefix + "max must not be less than min"); }
+        if (holdForSec < 1) { fail(errorPrefix + "hold for sec must be at least 1"); }
+
+        exec.setMinimumLoad(minimumLoad);
+        exec.setMaximumLoad(maximumLoad);
+        exec.setRampUpSec(rampUpSec);
+        exec.setHoldForSec(holdForSec);
+    }
+
     protected List<ExecutionDefinition> parseScriptExecution(CommandLine cmd) throws IOException {
         // command line option - script
         String testScriptPath = cmd.getOptionValue(SCRIPT);
@@ -600,7 +630,15 @@ public class Nexial {
         summary.setExecutionLevel(EXECUTION);
         summary.setStartTime(System.currentTimeMillis());
 
-        List<ExecutionThread> executionThreads = new ArrayList<>();
+        int maxParallel = NumberUtils.toInt(System.getProperty(OPT_MAX_PARALLEL_EXECUTIONS),
+                                            DEF_MAX_PARALLEL_EXECUTIONS);
+        // no limit: enough workers for every plan step
+        if (maxParallel < 1) { maxParallel = Math.max(executions.size(), 1); }
+        ExecutorService executor = Executors.newFixedThreadPool(maxParallel, new ExecutionThreadFactory(runId));
+        ConsoleUtils.log(runId, "executing up to " + maxParallel + " plan step(s) in parallel");
+
+        // keep track of all submitted executions in plan order so that their summaries nest deterministically
+        Map<ExecutionThread, Future<?>> executionThreads = new LinkedHashMap<>();
         Map<String, Object> intraExecution = null;
 
         int lastUse = executions.size() - 1;
@@ -614,54 +652,30 @@ public class Nexial {
                 String msgPrefix = "[" + exec.getTestScript() + "] ";
                 ConsoleUtils.log(runId, msgPrefix + "resolve RUN ID as " + runId);
 
-                ExecutionThread launcherThread = ExecutionThread.newInstance(exec);
+                ExecutionThread launcherThread = newExecutionThread(exec);
                 if (i == 0) { launcherThread.setFirstUse(true); }
                 if (i == lastUse) { launcherThread.setLastUse(true); }
                 if (MapUtils.isNotEmpty(intraExecution)) { launcherThread.setIntraExecutionData(intraExecution); }
-                executionThreads.add(launcherThread);
 
-                ConsoleUtils.log(runId, msgPrefix + "new thread started");
-                launcherThread.start();
+                // queued until a worker is available
+                Future<?> completion = executor.submit(launcherThread);
+                executionThreads.put(launcherThread, completion);
+                ConsoleUtils.log(runId, msgPrefix + "execution submitted");
 
                 if (exec.isSerialMode()) {
-                    while (true) {
-                        if (launcherThread.isAlive()) {
-                            debugThread(runId, msgPrefix + "awaits execution thread to complete...");
-                            Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
-                        } else {
-                            ConsoleUtils.log(runId, msgPrefix + "now completed");
-                            // pass the post-execution state of data to the next execution
-                            intraExecution = launcherThread.getIntraExecutionData();
-                            executionThreads.remove(launcherThread);
-                            summary.addNestSummary(launcherThread.getExecutionSummary());
-                            launcherThread = null;
-                            break;
-                        }
-                    }
+                    awaitCompletion(runId, msgPrefix, completion);
+                    ConsoleUtils.log(runId, msgPrefix + "now completed");
+                    // pass the post-execution state of data to the next execution
+                    intraExecution = launcherThread.getIntraExecutionData();
                 } else {
                     ConsoleUtils.log(runId, msgPrefix + "in progress, progressing to next execution");
                 }
             }
 
-            while (true) {
-                final boolean[] stillRunning = {false};
-                executionThreads.forEach(t -> {
-                    if (t != null) {
-                        if (t.isAlive()) {
-                            stillRunning[0] = true;
-                        } else {
-                            ExecutionSummary executionSummary = t.getExecutionSummary();
-                            summary.addNestSummary(executionSummary);
-                            t = null;
-                        }
-                    }
-                });
-
-                if (!stillRunning[0]) { break; }
-
-                debugThread(runId, "waiting for execution thread(s) to complete...");
-                Thread.yield();
-                Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
+            for (Map.Entry<ExecutionThread, Future<?>> execution : executionThreads.entrySet()) {
+                ExecutionThread launcherThread = execution.getKey();
+                awaitCompletion(runId, "[" + launcherThread.getExecDef().getTestScript() + "] ", execution.getValue());
+                summary.addNestSummary(launcherThread.getExecutionSummary());
             }
 
             ConsoleUtils.log(runId, "all execution thread(s) have terminated");
@@ -670,6 +684,10 @@ public class Nexial {
             e.printStackTrace();
             summary.setError(e);
         } finally {
+            executor.shutdownNow();
+            // pools are shared by all plan steps of this run; only close them once every plan step is done
+            DataSourceRegistry.close(runId);
+            HttpClientRegistry.close(runId);
             onExecutionComplete(runId, summary);
         }
 
@@ -748,6 +766,10 @@ public class Nexial {
         }
     }
 
+    protected ExecutionThread newExecutionThread(ExecutionDefinition exec) { return ExecutionThread.newInstance(exec); }
+
+    protected void setExecutions(List<ExecutionDefinition> executions) { this.executions = executions; }
+
     protected void initSpringContext() {
         if (springContext == null || !springContext.isActive()) {
             springContext = new ClassPathXmlApplicationContext("classpath:/nexial-main.xml");
@@ -949,19 +971,26 @@ public class Nexial {
     private void trackExecution(NexialEnv nexialEnv) { EventTracker.INSTANCE.track(nexialEnv); }
 
     /**
-     * log {@code msg} to console if the System property {@code nexial.devLogging} is {@code "true"}.
+     * wait for a submitted execution to complete.  Execution error is logged (and reflected in the corresponding
+     * execution summary) so that the remaining executions would still be awaited.
      */
-    private void debugThread(String runId, String msg) {
-        boolean debugOn = BooleanUtils.toBoolean(System.getProperty(OPT_DEVMODE_LOGGING, "false"));
-        if (!debugOn) { return; }
-
-        if (threadWaitCounter < THREAD_WAIT_LOG_INTERVAL) {
-            threadWaitCounter++;
-        } else if (threadWaitCounter == 60) {
-            ConsoleUtils.log(runId, msg);
-            threadWaitCounter++;
-        } else {
-            threadWaitCounter = 0;
+    private void awaitCompletion(String runId, String msgPrefix, Future<?> completion) throws InterruptedException {
+        try {
+            completion.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            ConsoleUtils.error(runId, msgPrefix + "execution terminated abnormally: " + cause.getMessage(), cause);
         }
     }
+
+    /** name the execution worker threads after the current run so that they are traceable in logs/thread dumps */
+    private static class ExecutionThreadFactory implements ThreadFactory {
+        private final String runId;
+        private final AtomicInteger counter = new AtomicInteger(0);
+
+        ExecutionThreadFactory(String runId) { this.runId = runId; }
+
+        @Override
+        public Thread newThread(Runnable r) { return new Thread(r, runId + "-exec-" + counter.incrementAndGet()); }
+    }
 }
@@ -55,7 +55,6 @@ public final class NexialConst {
     public static final int DEF_SLEEP_MS = 250;
     public static final int DEF_UI_RENDER_WAIT_MS = 3000;
     public static final int MIN_STABILITY_WAIT_MS = 400;
-    public static final int LAUNCHER_THREAD_COMPLETION_WAIT_MS = 1000;
     public static final int ELEM_PRESENT_WAIT_MS = 1200;
     public static final int MIN_LOADING_WAIT_MS = 50;
     public static final long ONEDAY = 24 * 60 * 60 * 1000;
@@ -168,6 +167,15 @@ public final class NexialConst {
     public static final String OPT_DB_TYPE = ".type";
     public static final String OPT_DB_AUTOCOMMIT = ".autocommit";
     public static final boolean DEF_AUTOCOMMIT = true;
+    // connection pool, per db profile
+    public static final String OPT_DB_POOL_SIZE = ".poolSize";
+    public static final int DEF_DB_POOL_SIZE = 8;
+    public static final String OPT_DB_VALIDATION_QUERY = ".validationQuery";
+    public static final String OPT_DB_IDLE_EVICT_SEC = ".idleEvictSec";
+    public static final int DEF_DB_IDLE_EVICT_SEC = 300;
+    // number of rows per round trip; 0 means driver default
+    public static final String OPT_DB_FETCH_SIZE = ".fetchSize";
+    public static final int DEF_DB_FETCH_SIZE = 0;
     public static final String OPT_TREAT_NULL_AS = ".treatNullAs";
     public static final String DEF_TREAT_NULL_AS = "";
     public static final String OPT_INCLUDE_PACK_SINGLE_ROW = NAMESPACE + "rdbms.packSingleRow";
@@ -214,6 +222,12 @@ public final class NexialConst {
     public static final boolean DEF_WS_ENABLE_EXPECT_CONTINUE = true;
     public static final boolean DEF_WS_CIRCULAR_REDIRECTS = false;
     public static final boolean DEF_WS_RELATIVE_REDIRECTS = true;
+    public static final String WS_POOL_MAX_TOTAL = WS_NAMESPACE + "pool.maxTotal";
+    public static final int DEF_WS_POOL_MAX_TOTAL = 100;
+    public static final String WS_POOL_MAX_PER_ROUTE = WS_NAMESPACE + "pool.maxPerRoute";
+    public static final int DEF_WS_POOL_MAX_PER_ROUTE = 20;
+    public static final String WS_POOL_IDLE_EVICT_SEC = WS_NAMESPACE + "pool.idleEvictSec";
+    public static final int DEF_WS_POOL_IDLE_EVICT_SEC = 60;
 
     public static final String WS_ASYNC_NAMESPACE = WS_NAMESPACE + "async.";
     public static final String WS_ASYNC_SHUTDOWN_TIMEOUT = WS_ASYNC_NAMESPACE + "shutdownWaitMs";
@@ -596,6 +610,35 @@ public final class NexialConst {
 
         public static final String NULL_VALUE = NAMESPACE + "nullValue";
 
+        // max. number of distinct text whose token replacement plan is cached (JVM-wide)
+        public static final String TOKEN_PLAN_CACHE_SIZE = NAMESPACE + "tokenPlanCacheSize";
+        public static final int DEF_TOKEN_PLAN_CACHE_SIZE = 10000;
+
+        // max. number of macro library sheets whose macros are cached (JVM-wide)
+        public static final String MACRO_CACHE_SIZE = NAMESPACE + "macroCacheSize";
+        public static final int DEF_MACRO_CACHE_SIZE = 64;
+
+        // approx. size (in MB) of the JSON documents whose parsed form is cached (JVM-wide); 0 to disable
+        public static final String JSON_CACHE_SIZE_MB = NAMESPACE + "jsonCacheSizeMB";
+        public static final int DEF_JSON_CACHE_SIZE_MB = 32;
+        // max. number of distinct JSONPath (sub)paths whose parsed form is cached (JVM-wide)
+        public static final String JSONPATH_CACHE_SIZE = NAMESPACE + "jsonPathCacheSize";
+        public static final int DEF_JSONPATH_CACHE_SIZE = 1000;
+        // approx. size (in MB) of the XML documents whose parsed form is cached (JVM-wide); 0 to disable
+        public static final String XML_CACHE_SIZE_MB = NAMESPACE + "xmlCacheSizeMB";
+        public static final int DEF_XML_CACHE_SIZE_MB = 32;
+        // max. number of distinct XPath whose compiled form is cached (per thread)
+        public static final String XPATH_CACHE_SIZE = NAMESPACE + "xpathCacheSize";
+        public static final int DEF_XPATH_CACHE_SIZE = 500;
+
+        // min. number of CSV rows for filter, fetch and removeRows to be evaluated in parallel; 0 to disable
+        public static final String CSV_PARALLEL_FILTER = NAMESPACE + "csvParallelFilter";
+        public static final int DEF_CSV_PARALLEL_FILTER = 100000;
+
+        // number of records read and validated together (in parallel) by io.validate; 1 to validate serially
+        public static final String FILE_VALIDATION_CHUNK_SIZE = NAMESPACE + "fileValidationChunkSize";
+        public static final int DEF_FILE_VALIDATION_CHUNK_SIZE = 10000;
+
         public static final String TEXT_DELIM = NAMESPACE + "textDelim";
         public static final String DEF_TEXT_DELIM = ",";
 
@@ -607,6 +650,13 @@ public final class NexialConst {
         public static final String BREAK_CURRENT_ITERATION = NAMESPACE + "breakCurrentIteration";
         public static final String LAST_PLAN_STEP = NAMESPACE + "lastPlanStep";
         public static final String DEF_LAST_PLAN_STEP = "false";
+        // max. number of plan steps (scripts) to execute concurrently; excess plan steps are queued. 0 (default) means
+        // no limit, i.e. all non-serial plan steps execute concurrently
+        public static final String OPT_MAX_PARALLEL_EXECUTIONS = NAMESPACE + "maxParallelExecutions";
+        public static final int DEF_MAX_PARALLEL_EXECUTIONS = 0;
+        // number of iterations of the same script to execute concurrently; 1 means one iteration at a time
+        public static final String OPT_PARALLEL_ITERATIONS = NAMESPACE + "parallelIterations";
+        public static final int DEF_PARALLEL_ITERATIONS = 1;
 
         public static final String COMMAND_DISCOVERY_MODE = NAMESPACE + "commandDiscovery";
         public static final String DEF_COMMAND_DISCOVERY_MODE = "false";
@@ -675,6 +725,12 @@ public final class NexialConst {
         // pdf
         public static final String PDF_USE_ASCII = NAMESPACE + "pdfUseAscii";
         public static final boolean DEF_PDF_USE_ASCII = true;
+        // approx. memory (in MB) to keep the text and metadata of the PDF files parsed (per execution); 0 to disable
+        public static final String PDF_CACHE_SIZE_MB = NAMESPACE + "pdfCacheSizeMB";
+        public static final int DEF_PDF_CACHE_SIZE_MB = 64;
+        // min. number of pages for the text of a PDF to be extracted in parallel; 0 to extract serially
+        public static final String PDF_PARALLEL_PAGES = NAMESPACE + "pdfParallelPages";
+        public static final int DEF_PDF_PARALLEL_PAGES = 50;
         public static final String PDFFORM_UNMATCHED_TEXT = "__UNMATCHED_TEXT";
         public static final String PDFFORM_PREFIX = NAMESPACE + "pdfFormStrategy.";
         public static final String PDFFORM_BASEDON = "basedOn";
@@ -808,6 +864,30 @@ public final class NexialConst {
         public static final String SSH_HOST_KEY_CHECK = "strictHostKeyChecking";
         public static final String SSH_KNOWN_HOSTS = "knownHosts";
         public static final String DEF_SSH_PORT = "22";
+        // reuse SSH session (and SFTP channel) of the same profile throughout the execution
+        public static final String SSH_REUSE_SESSION = NAMESPACE + "sshReuseSession";
+        public static final boolean DEF_SSH_REUSE_SESSION = true;
+        // interval (in ms) between keep-alive messages of a reused SSH session; also the idle time after which a
+        // reused session is verified before use
+        public static final String SSH_KEEP_ALIVE_MS = NAMESPACE + "sshKeepAliveMs";
+        public static final int DEF_SSH_KEEP_ALIVE_MS = 30000;
+        // number of parallel SFTP channels (each over its own SSH session) of ssh.sftpBulkCopyTo/sftpBulkCopyFrom
+        public static final String SFTP_PARALLEL_CHANNELS = NAMESPACE + "sftpParallelChannels";
+        public static final int DEF_SFTP_PARALLEL_CHANNELS = 4;
+        // resume partially transferred files of ssh.sftpBulkCopyTo/sftpBulkCopyFrom, rather than overwriting them
+        public static final String SFTP_RESUME = NAMESPACE + "sftpResume";
+        public static final boolean DEF_SFTP_RESUME = false;
+
+        // reuse JMS connection (and its session and producers) of the same settings throughout the execution
+        public static final String JMS_REUSE_CONNECTION = NAMESPACE + "jmsReuseConnection";
+        public static final boolean DEF_JMS_REUSE_CONNECTION = true;
+
+        // part size (in MB) of S3 multipart upload and ranged download; S3 requires at least 5 MB per part
+        public static final String S3_PART_SIZE_MB = NAMESPACE + "s3PartSizeMB";
+        public static final int DEF_S3_PART_SIZE_MB = 16;
+        // number of parts transferred in parallel per S3 object
+        public static final String S3_TRANSFER_CONCURRENCY = NAMESPACE + "s3TransferConcurrency";
+        public static final int DEF_S3_TRANSFER_CONCURRENCY = 4;
 
         private Data() { }
 
@@ -22,9 +22,11 @@ import java.util.Map;
 
 import org.apache.commons.collections4.MapUtils;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.plugins.ForcefulTerminate;
 import org.nexial.core.plugins.NexialCommand;
 import org.nexial.core.plugins.RequireBrowser;
 import org.nexial.core.plugins.web.Browser;
+import org.nexial.core.utils.ConsoleUtils;
 
 public class PluginManager {
     protected ExecutionContext context;
@@ -78,6 +80,28 @@ public class PluginManager {
         return nexialCommand;
     }
 
+    /**
+     * destroy the plugins initialized so far, as well as the browser. Only meant for a context that will not be
+     * used again (such as that of a parallel iteration), since these plugins might be shared by subsequent scripts.
+     */
+    public void terminate() {
+        initialized.values().forEach(plugin -> {
+            try {
+                plugin.destroy();
+            } catch (RuntimeException e) {
+                ConsoleUtils.error("Unable to destroy plugin " + plugin.getTarget() + ": " + e.getMessage());
+            }
+            terminateIfNeeded(plugin);
+        });
+        initialized.clear();
+
+        if (browser != null) {
+            terminateIfNeeded(browser);
+            browser = null;
+            browserInitialized = false;
+        }
+    }
+
     protected void initBrowser() {
         if (browser == null) {
             browser = new Browser();
@@ -88,4 +112,16 @@ public class PluginManager {
         browser.ensureWebDriverReady();
         browserInitialized = true;
     }
+
+    private static void terminateIfNeeded(Object plugin) {
+        if (!(plugin instanceof ForcefulTerminate)) { return; }
+
+        ForcefulTerminate terminate = (ForcefulTerminate) plugin;
+        ShutdownAdvisor.removeAdvisor(terminate);
+        try {
+            if (terminate.mustForcefullyTerminate()) { terminate.forcefulTerminate(); }
+        } catch (RuntimeException e) {
+            ConsoleUtils.error("Unable to terminate " + plugin.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
 }
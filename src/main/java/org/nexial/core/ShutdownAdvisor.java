@@ -17,23 +17,27 @@
 
 package org.nexial.core;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.nexial.core.plugins.ForcefulTerminate;
 import org.nexial.core.utils.ConsoleUtils;
 
 public final class ShutdownAdvisor {
-    private static final List<ForcefulTerminate> ADVISORS = new ArrayList<>();
+    // advisors are added and removed by parallel executions
+    private static final CopyOnWriteArrayList<ForcefulTerminate> ADVISORS = new CopyOnWriteArrayList<>();
 
     private ShutdownAdvisor() {}
 
     public static void addAdvisor(ForcefulTerminate advisor) {
-        if (advisor == null || ADVISORS.contains(advisor)) { return; }
-        ADVISORS.add(advisor);
+        if (advisor == null) { return; }
+        ADVISORS.addIfAbsent(advisor);
     }
 
+    public static void removeAdvisor(ForcefulTerminate advisor) { ADVISORS.remove(advisor); }
+
+    public static boolean hasAdvisor(ForcefulTerminate advisor) { return ADVISORS.contains(advisor); }
+
     public static boolean mustForcefullyTerminate() {
         if (ADVISORS.isEmpty()) { return false; }
         for (ForcefulTerminate advisor : ADVISORS) {
@@ -36,6 +36,7 @@ import org.nexial.commons.utils.RegexUtils;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
@@ -47,6 +48,8 @@ import static com.amazonaws.services.s3.model.CannedAccessControlList.PublicRead
 import static com.amazonaws.services.s3.model.StorageClass.ReducedRedundancy;
 import static org.nexial.commons.utils.FilePathFilter.REGEX_FOR_ANY;
 import static org.nexial.commons.utils.FilePathFilter.REGEX_PREFIX;
+import static org.nexial.core.NexialConst.Data.DEF_S3_PART_SIZE_MB;
+import static org.nexial.core.NexialConst.Data.DEF_S3_TRANSFER_CONCURRENCY;
 import static org.nexial.core.NexialConst.S3_PATH_SEPARATOR;
 import static org.nexial.core.NexialConst.S3_PUBLIC_URL;
 
@@ -60,6 +63,10 @@ public class AwsS3Helper {
     private String subDir;
     private Regions region;
     private boolean s3PathStyleAccessEnabled = true;
+    // S3-compatible service other than AWS, if specified
+    private String endpoint;
+    private long partSize = DEF_S3_PART_SIZE_MB * 1024L * 1024L;
+    private int concurrency = DEF_S3_TRANSFER_CONCURRENCY;
 
     public static class PutOption {
         private boolean publicableReadable;
@@ -88,6 +95,14 @@ public class AwsS3Helper {
         this.s3PathStyleAccessEnabled = s3PathStyleAccessEnabled;
     }
 
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    /** part size (in bytes) of multipart upload and ranged download; at least 5 MB */
+    public void setPartSize(long partSize) { this.partSize = partSize; }
+
+    /** number of parts transferred in parallel per object */
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
     public void parseObjectPath(String path) {
         if (StringUtils.isBlank(path)) { return; }
 
@@ -95,7 +110,7 @@ public class AwsS3Helper {
         subDir = StringUtils.substringAfter(path, S3_PATH_SEPARATOR);
     }
 
-    public PutObjectResult copyToS3(File file, PutOption options) {
+    public PutObjectResult copyToS3(File file, PutOption options) throws IOException {
         assert StringUtils.isNotBlank(accessKey);
         assert StringUtils.isNotBlank(secretKey);
         assert StringUtils.isNotBlank(bucketName);
@@ -106,15 +121,19 @@ public class AwsS3Helper {
         AmazonS3 s3Client = region == null ? newS3Client() : newS3Client(region);
 
         String objectPath = (subDir != null ? StringUtils.appendIfMissing(subDir, "/") : "") + file.getName();
-        PutObjectRequest request = new PutObjectRequest(bucketName, objectPath, file);
-        if (options != null) {
-            if (options.isPublicableReadable()) { request = request.withCannedAcl(PublicRead); }
-            if (options.isReducedRedundancy()) { request.setStorageClass(ReducedRedundancy); }
+        CannedAccessControlList acl = options != null && options.isPublicableReadable() ? PublicRead : null;
+        StorageClass storageClass = options != null && options.isReducedRedundancy() ? ReducedRedundancy : null;
+
+        // streamed from file; multipart for large file
+        PutObjectResult result;
+        try {
+            result = newTransfer(s3Client).upload(bucketName, objectPath, file, acl, storageClass);
+        } finally {
+            afterS3Connection();
         }
 
-        PutObjectResult result = s3Client.putObject(request);
         if (result != null) {
-            URL url = s3Client.getUrl(bucketName, request.getKey());
+            URL url = s3Client.getUrl(bucketName, objectPath);
             if (url != null) {
                 String s3url = url.toString();
                 // convert
@@ -129,7 +148,6 @@ public class AwsS3Helper {
             }
         }
 
-        afterS3Connection();
         return result;
     }
 
@@ -170,7 +188,40 @@ public class AwsS3Helper {
     }
 
     /**
-     * Returns the content of the file for the given key name and bucket.
+     * Download the object of the given key name and bucket to {@code target}. The object content is streamed to
+     * {@code target} (via parallel ranged download for large object), hence suitable for object of any size.
+     *
+     * @param bucket           bucket name.
+     * @param key              s3 object key.
+     * @param target           local file to download to; overwritten if exists.
+     * @param removeFromBucket flag to check whether to delete the object after download or not.
+     * @return number of bytes downloaded.
+     * @throws IOException in case of failure in downloading or writing to {@code target}.
+     */
+    public long copyFromS3(@NotNull final String bucket,
+                           @NotNull final String key,
+                           @NotNull final File target,
+                           final boolean removeFromBucket) throws IOException {
+        assert StringUtils.isNotBlank(accessKey);
+        assert StringUtils.isNotBlank(secretKey);
+        assert StringUtils.isNotBlank(bucket);
+        assert StringUtils.isNotBlank(key);
+        assert target != null;
+
+        beforeS3Connection();
+        try {
+            AmazonS3 s3Client = newS3Client();
+            long bytes = newTransfer(s3Client).download(bucket, key, target);
+            if (removeFromBucket) { s3Client.deleteObject(new DeleteObjectRequest(bucket, key)); }
+            return bytes;
+        } finally {
+            afterS3Connection();
+        }
+    }
+
+    /**
+     * Returns the content of the file for the given key name and bucket. The entire content is held in memory; use
+     * {@link #copyFromS3(String, String, File, boolean)} for large object.
      *
      * @param bucket           bucket name.
      * @param key              s3 object key.
@@ -342,15 +393,22 @@ public class AwsS3Helper {
 
     private AmazonS3 newS3Client(@NotNull final Regions region) {
         BasicAWSCredentials credential = new BasicAWSCredentials(accessKey, secretKey);
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard();
+        if (StringUtils.isNotBlank(endpoint)) {
+            builder.withEndpointConfiguration(new EndpointConfiguration(endpoint, region.getName()));
+        } else {
+            builder.withRegion(region);
+        }
+
         // added "PathStyleAccessEnabled() to avoid SSL certificate issue since the adding bucket as subdomain to
         // Amazon's SSL cert would result in cert to domain name mismatch
-        return AmazonS3ClientBuilder.standard()
-                                    .withRegion(region)
-                                    .withCredentials(new AWSStaticCredentialsProvider(credential))
-                                    .withPathStyleAccessEnabled(s3PathStyleAccessEnabled)
-                                    .build();
+        return builder.withCredentials(new AWSStaticCredentialsProvider(credential))
+                      .withPathStyleAccessEnabled(s3PathStyleAccessEnabled)
+                      .build();
     }
 
+    private S3Transfer newTransfer(AmazonS3 s3Client) { return new S3Transfer(s3Client, partSize, concurrency); }
+
     /**
      * Retrieves the content of the s3Object passed in.
      *
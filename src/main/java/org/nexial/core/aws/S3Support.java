@@ -66,7 +66,22 @@ public abstract class S3Support extends AwsSupport {
     }
 
     /**
-     * Download an object from S3.
+     * Download an object from S3 to {@code target}, without holding its content in memory.
+     *
+     * @param bucket           the S3 bucket path.
+     * @param target           local file to download to.
+     * @param removeFromBucket flag which decides whether to remove the file from bucket or not.
+     * @return number of bytes downloaded.
+     * @throws IOException when file failed to download or delete in case of move.
+     */
+    public long downloadFromS3(final @NotNull String bucket, @NotNull final String key, @NotNull final File target,
+                               final @NotNull boolean removeFromBucket) throws IOException {
+        return newAWSS3Helper(bucket + "/" + key).copyFromS3(bucket, key, target, removeFromBucket);
+    }
+
+    /**
+     * Download an object from S3. The entire content is held in memory; use
+     * {@link #downloadFromS3(String, String, File, boolean)} for large object.
      *
      * @param bucket           the S3 bucket path.
      * @param removeFromBucket flag which decides whether to remove the file from bucket or not.
@@ -85,7 +100,7 @@ public abstract class S3Support extends AwsSupport {
     /**
      * @param to S3 bucket + folder
      */
-    protected PutObjectResult copyToS3(File from, String to) {
+    protected PutObjectResult copyToS3(File from, String to) throws IOException {
         PutOption option = new PutOption();
         option.setPublicableReadable(true);
         option.setReducedRedundancy(true);
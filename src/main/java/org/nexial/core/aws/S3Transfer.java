@@ -0,0 +1,224 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.aws;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.nexial.core.utils.ConsoleUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+
+import static com.amazonaws.services.s3.Headers.STORAGE_CLASS;
+
+/**
+ * stream files to and from S3 without holding the object content in memory.
+ * <p>
+ * A file larger than the part size is uploaded via multipart upload, and an object larger than the part size is
+ * downloaded via ranged GETs; either way up to {@code concurrency} parts are transferred in parallel. Memory use is
+ * bounded by the number of parallel parts (each streamed through a small buffer), regardless of the object size.
+ */
+final class S3Transfer {
+    /** S3 rejects multipart upload with a part (other than the last) smaller than 5 MB */
+    static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AmazonS3 s3;
+    private final long partSize;
+    private final int concurrency;
+
+    S3Transfer(AmazonS3 s3, long partSize, int concurrency) {
+        this.s3 = s3;
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.concurrency = Math.max(concurrency, 1);
+    }
+
+    long getPartSize() { return partSize; }
+
+    /** upload {@code file} as {@code key}, in parts if the file is larger than the part size */
+    PutObjectResult upload(String bucket,
+                           String key,
+                           File file,
+                           CannedAccessControlList acl,
+                           StorageClass storageClass) throws IOException {
+        long size = file.length();
+        if (size <= partSize) {
+            PutObjectRequest request = new PutObjectRequest(bucket, key, file);
+            if (acl != null) { request.setCannedAcl(acl); }
+            if (storageClass != null) { request.setStorageClass(storageClass); }
+            return s3.putObject(request);
+        }
+
+        InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucket, key);
+        if (acl != null) { initRequest.setCannedACL(acl); }
+        if (storageClass != null) { initRequest.setStorageClass(storageClass); }
+        String uploadId = s3.initiateMultipartUpload(initRequest).getUploadId();
+
+        try {
+            int partCount = (int) ((size + partSize - 1) / partSize);
+            List<Callable<PartETag>> parts = new ArrayList<>();
+            for (int i = 0; i < partCount; i++) {
+                long offset = i * partSize;
+                UploadPartRequest request = new UploadPartRequest().withBucketName(bucket)
+                                                                   .withKey(key)
+                                                                   .withUploadId(uploadId)
+                                                                   .withPartNumber(i + 1)
+                                                                   .withFile(file)
+                                                                   .withFileOffset(offset)
+                                                                   .withPartSize(Math.min(partSize, size - offset))
+                                                                   .withLastPart(i == partCount - 1);
+                parts.add(() -> s3.uploadPart(request).getPartETag());
+            }
+
+            List<PartETag> etags = runAll(parts, "s3-upload-");
+            CompleteMultipartUploadResult completed =
+                s3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+
+            PutObjectResult result = new PutObjectResult();
+            result.setETag(completed.getETag());
+            result.setVersionId(completed.getVersionId());
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(size);
+            if (storageClass != null) { metadata.setHeader(STORAGE_CLASS, storageClass.toString()); }
+            result.setMetadata(metadata);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            } catch (RuntimeException e1) {
+                ConsoleUtils.error("Unable to abort multipart upload of " + bucket + "/" + key + ": " +
+                                   e1.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * download {@code key} to {@code target}, in ranges if the object is larger than the part size. The object is
+     * first downloaded to a temporary file next to {@code target}, so that a failed download does not leave behind a
+     * partial {@code target}.
+     *
+     * @return number of bytes downloaded
+     */
+    long download(String bucket, String key, File target) throws IOException {
+        ObjectMetadata metadata = s3.getObjectMetadata(bucket, key);
+        long size = metadata.getContentLength();
+        String etag = metadata.getETag();
+
+        FileUtils.forceMkdirParent(target);
+        File temp = new File(target.getAbsolutePath() + ".part");
+        FileUtils.deleteQuietly(temp);
+
+        try {
+            try (RandomAccessFile file = new RandomAccessFile(temp, "rw")) { file.setLength(size); }
+
+            List<Callable<Long>> ranges = new ArrayList<>();
+            for (long start = 0; start < size; start += partSize) {
+                long from = start;
+                long to = Math.min(start + partSize, size) - 1;
+                ranges.add(() -> downloadRange(bucket, key, etag, from, to, temp));
+            }
+            // no range for empty object; nothing to download
+            long bytes = 0;
+            for (Long downloaded : runAll(ranges, "s3-download-")) { bytes += downloaded; }
+
+            if (temp.length() != size) {
+                throw new IOException("Downloaded file size (" + temp.length() + ") is different than object size (" +
+                                      size + ")");
+            }
+
+            FileUtils.deleteQuietly(target);
+            FileUtils.moveFile(temp, target);
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            FileUtils.deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    private long downloadRange(String bucket, String key, String etag, long from, long to, File target)
+        throws IOException {
+        GetObjectRequest request = new GetObjectRequest(bucket, key).withRange(from, to);
+        // fail rather than mixing parts of different versions if the object is modified during download
+        if (etag != null) { request.withMatchingETagConstraint(etag); }
+
+        S3Object object = s3.getObject(request);
+        if (object == null) { throw new IOException("Object " + bucket + "/" + key + " modified during download"); }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long bytes = 0;
+        try (InputStream in = object.getObjectContent();
+             RandomAccessFile file = new RandomAccessFile(target, "rw")) {
+            file.seek(from);
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                file.write(buffer, 0, read);
+                bytes += read;
+            }
+        }
+
+        if (bytes != to - from + 1) {
+            throw new IOException("Incomplete download of " + bucket + "/" + key + " (bytes " + from + "-" + to +
+                                  "): " + bytes + " bytes received");
+        }
+        return bytes;
+    }
+
+    /** run {@code tasks} over up to {@code concurrency} threads; results are in the same order as {@code tasks} */
+    private <T> List<T> runAll(List<Callable<T>> tasks, String threadPrefix) throws IOException {
+        List<T> results = new ArrayList<>();
+        if (tasks.isEmpty()) { return results; }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, tasks.size()), runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) { futures.add(executor.submit(task)); }
+            for (Future<T> future : futures) { results.add(future.get()); }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 transfer interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) { throw (IOException) cause; }
+            if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+            throw new IOException(cause.getMessage(), cause);
+        } finally {
+            // no point continuing with the rest of the parts once one has failed
+            executor.shutdownNow();
+        }
+    }
+}
@@ -691,6 +691,14 @@ public class Excel {
         return worksheet;
     }
 
+    /** remove the worksheet named {@code name}, if found. */
+    public void removeWorksheet(String name) {
+        int index = workbook.getSheetIndex(name);
+        if (index < 0) { return; }
+        allsheets.remove(workbook.getSheetAt(index));
+        workbook.removeSheetAt(index);
+    }
+
     public XSSFCellStyle getStyle(String styleName) { return commonStyles.get(styleName); }
 
     public File getFile() { return file; }
@@ -789,6 +797,12 @@ public class Excel {
 
     public void save() throws IOException { save(file, workbook); }
 
+    /** save to {@code file}, which then becomes the file of this instance. The original file is left untouched. */
+    public void saveAs(File file) throws IOException {
+        this.file = file;
+        save();
+    }
+
     public static void save(File excelFile, XSSFWorkbook excelWorkbook) throws IOException {
         OutputStream out = null;
         try {
@@ -70,7 +70,6 @@ import org.slf4j.MDC;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import static java.io.File.separator;
-import static java.lang.System.lineSeparator;
 import static org.apache.commons.lang3.SystemUtils.IS_OS_WINDOWS;
 import static org.apache.commons.lang3.SystemUtils.USER_NAME;
 import static org.nexial.commons.utils.EnvUtils.enforceUnixEOL;
@@ -142,6 +141,8 @@ public class ExecutionContext {
     protected ExpressionProcessor expression;
     protected ExecutionEventListener executionEventListener;
     protected List<String> readOnlyVars;
+    // only available when running in load test mode
+    protected LoadTestMetrics loadTestMetrics;
 
     static final String KEY_COMPLEX = "__lAIxEn__";
     static final String DOT_LITERAL_REPLACER = "__53n7ry_4h34d__";
@@ -366,6 +367,10 @@ public class ExecutionContext {
 
     public ExecutionEventListener getExecutionEventListener() { return executionEventListener; }
 
+    public LoadTestMetrics getLoadTestMetrics() { return loadTestMetrics; }
+
+    public void setLoadTestMetrics(LoadTestMetrics loadTestMetrics) { this.loadTestMetrics = loadTestMetrics; }
+
     public boolean isScreenshotOnError() { return getBooleanData(OPT_SCREENSHOT_ON_ERROR, false); }
 
     public boolean isInterativeMode() {
@@ -620,16 +625,26 @@ public class ExecutionContext {
         text = treatCommonValueShorthand(text);
         if (text == null) { return null; }
 
-        // for portability
-        text = StringUtils.replace(text, NL, lineSeparator());
+        return replaceTokens(TokenReplacementPlan.of(text));
+    }
+
+    /**
+     * evaluate {@code plan} against current data.  The text of {@code plan} is already treated for portability.
+     */
+    String replaceTokens(TokenReplacementPlan plan) {
+        // nothing to replace; same outcome regardless of data
+        if (plan.isLiteral()) { return plan.getLiteral(); }
+
+        String text = plan.getText();
 
         // first pass: cycle through the dyn var
-        text = handleFunction(text);
+        if (plan.hasFunction()) { text = handleFunction(text); }
 
         // second pass: simple value ONLY
         Map<String, Object> collectionValues = new HashMap<>();
         Map<String, Object> complexValues = new HashMap<>();
-        Set<String> tokens = findTokens(text);
+        // token set can only be pre-parsed when the function pass did not alter text
+        Set<String> tokens = plan.hasFunction() ? findTokens(text) : plan.getTokens();
 
         boolean allTokenResolvedToNull = CollectionUtils.isNotEmpty(tokens);
         for (String token : tokens) {
@@ -797,6 +812,32 @@ public class ExecutionContext {
         intraExecutionData.put(NAME_SPRING_CONTEXT, springContext);
     }
 
+    /**
+     * merge the data of {@link #fillIntraExecutionData(Map)} into this context, without adopting its Spring context
+     * and plugins (i.e. this context remains independent).
+     */
+    public void mergeIntraExecutionData(Map<String, Object> intraExecutionData) {
+        if (MapUtils.isEmpty(intraExecutionData)) { return; }
+        intraExecutionData.forEach((name, value) -> {
+            if (!StringUtils.equals(name, NAME_SPRING_CONTEXT) && !StringUtils.equals(name, NAME_PLUGIN_MANAGER)) {
+                data.put(name, value);
+            }
+        });
+        data.remove(BREAK_CURRENT_ITERATION);
+    }
+
+    /**
+     * replace the data of this context with that of {@code intraExecutionData}, as if this context is newly created
+     * with such data; the Spring context and plugins of this context are retained. Meant for a context reused over
+     * multiple parallel iterations.
+     */
+    public void resetData(Map<String, Object> intraExecutionData) {
+        data.clear();
+        data.put(OPT_LAST_OUTCOME, true);
+        mergeIntraExecutionData(intraExecutionData);
+        setData(ITERATION_EDNED, false);
+    }
+
     public Map<String, String> gatherScenarioReferenceData() { return gatherReferenceData(SCENARIO_REF_PREFIX); }
 
     public Map<String, String> gatherScriptReferenceData() { return gatherReferenceData(SCRIPT_REF_PREFIX); }
@@ -827,6 +868,16 @@ public class ExecutionContext {
         testScenarios = null;
     }
 
+    /**
+     * destroy the plugins, browser and Spring context of this context. Only meant for a context not shared with
+     * other scripts (i.e. not passed on via {@link #fillIntraExecutionData(Map)}), such as that of a parallel
+     * iteration.
+     */
+    public void terminate() {
+        if (plugins != null) { plugins.terminate(); }
+        if (springContext != null) { springContext.close(); }
+    }
+
     public int getScriptStepCount() { return scriptStepCount; }
 
     public int getScriptPassCount() { return scriptPassCount; }
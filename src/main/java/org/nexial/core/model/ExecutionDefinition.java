@@ -140,6 +140,30 @@ public class ExecutionDefinition {
         testData = new TestData(new Excel(new File(dataFile)), dataSheets);
     }
 
+    /** copy of this execution definition, such that its test data can be re-read independently of this one */
+    public ExecutionDefinition copy() {
+        ExecutionDefinition copy = new ExecutionDefinition();
+        copy.description = description;
+        copy.testScript = testScript;
+        copy.scenarios = scenarios;
+        copy.dataFile = dataFile;
+        copy.dataSheets = dataSheets;
+        copy.failFast = failFast;
+        copy.serialMode = serialMode;
+        copy.loadTestMode = loadTestMode;
+        copy.minimumLoad = minimumLoad;
+        copy.maximumLoad = maximumLoad;
+        copy.rampUpSec = rampUpSec;
+        copy.holdForSec = holdForSec;
+        copy.project = project;
+        copy.runId = runId;
+        copy.testData = testData;
+        copy.planFilename = planFilename;
+        copy.planName = planName;
+        copy.planSequence = planSequence;
+        return copy;
+    }
+
     public void infuseIntraExecutionData(Map<String, Object> intraExecutionData) {
         testData.infuseIntraExecutionData(intraExecutionData);
     }
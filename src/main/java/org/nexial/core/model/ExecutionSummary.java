@@ -323,7 +323,19 @@ public class ExecutionSummary {
         }
 
         try {
-            Excel excel = new Excel(testScript, false);
+            generateExcelReport(new Excel(testScript, false));
+        } catch (Throwable e) {
+            ConsoleUtils.error("Unable to generate Excel report to " + testScript + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * add the execution summary to {@code excel} and save it. Useful when {@code excel} is already opened (and
+     * possibly modified) so that the corresponding file need not be re-opened.
+     */
+    public void generateExcelReport(Excel excel) {
+        File testScript = excel.getFile();
+        try {
             XSSFWorkbook workbook = excel.getWorkbook();
 
             Worksheet summary = excel.worksheet(SUMMARY_TAB_NAME, true);
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * thread-safe, fixed-memory histogram of latencies (in milliseconds).  Latencies below {@link #LINEAR_LIMIT_MS} are
+ * recorded exactly; above that they are recorded in log-scaled buckets that are 1% apart.  Hence percentiles are
+ * accurate to the millisecond for fast steps and within 1% for slow steps, regardless of the number of samples.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_LIMIT_MS = 100;
+    private static final double GROWTH = 1.01;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    // anything beyond 1 day goes into the last bucket
+    private static final long MAX_TRACKABLE_MS = 24 * 60 * 60 * 1000L;
+    private static final int BUCKET_COUNT =
+        LINEAR_LIMIT_MS + (int) Math.ceil(Math.log((double) MAX_TRACKABLE_MS / LINEAR_LIMIT_MS) / LOG_GROWTH) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    public void record(long elapsedMs) {
+        if (elapsedMs < 0) { elapsedMs = 0; }
+        buckets.incrementAndGet(toBucket(elapsedMs));
+        count.incrementAndGet();
+        total.addAndGet(elapsedMs);
+        min.accumulateAndGet(elapsedMs, Math::min);
+        max.accumulateAndGet(elapsedMs, Math::max);
+    }
+
+    public long getCount() { return count.get(); }
+
+    public long getMin() { return count.get() == 0 ? 0 : min.get(); }
+
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long samples = count.get();
+        return samples == 0 ? 0 : (double) total.get() / samples;
+    }
+
+    /** latency (ms) at {@code percentile}, which is expressed between 0 and 100 (e.g. 95 or 99.9). */
+    public long getPercentile(double percentile) {
+        long samples = count.get();
+        if (samples == 0) { return 0; }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * samples));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= rank) { return Math.max(Math.min(midpoint(i), getMax()), getMin()); }
+        }
+
+        return getMax();
+    }
+
+    static int toBucket(long elapsedMs) {
+        if (elapsedMs < LINEAR_LIMIT_MS) { return (int) elapsedMs; }
+        int bucket = LINEAR_LIMIT_MS + (int) (Math.log((double) elapsedMs / LINEAR_LIMIT_MS) / LOG_GROWTH);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    /** representative latency of {@code bucket}, which halves the worst-case error of log-scaled buckets */
+    static long midpoint(int bucket) {
+        if (bucket < LINEAR_LIMIT_MS) { return bucket; }
+        return (fromBucket(bucket) + fromBucket(bucket + 1) - 1) / 2;
+    }
+
+    /** the lower bound (ms) of the latencies kept in {@code bucket} */
+    static long fromBucket(int bucket) {
+        if (bucket < LINEAR_LIMIT_MS) { return bucket; }
+        return (long) Math.ceil(LINEAR_LIMIT_MS * Math.pow(GROWTH, bucket - LINEAR_LIMIT_MS));
+    }
+}
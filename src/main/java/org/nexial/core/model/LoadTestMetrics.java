@@ -0,0 +1,223 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import static org.nexial.core.NexialConst.DEF_CHARSET;
+import static org.nexial.core.model.ExecutionSummary.GSON;
+
+/**
+ * metrics collected during a load test, i.e. when a plan row is marked as "load test".  All the virtual users
+ * (concurrent executions of the same script) record into the same instance, hence all operations are thread-safe.
+ * <p>
+ * Latency is tracked per test step (worksheet, row and command) and per iteration (one full pass of the script by a
+ * virtual user).
+ */
+public class LoadTestMetrics {
+    private final String name;
+    private final Map<String, StepMetrics> steps = new ConcurrentHashMap<>();
+    private final StepMetrics iterations = new StepMetrics("iteration");
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakUsers = new AtomicInteger();
+    private long startTime;
+    private long endTime;
+
+    public static class StepMetrics {
+        private final String name;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+
+        StepMetrics(String name) { this.name = name; }
+
+        void record(long elapsedMs, boolean success) {
+            latencies.record(elapsedMs);
+            if (!success) { errors.incrementAndGet(); }
+        }
+
+        public String getName() { return name; }
+
+        public LatencyHistogram getLatencies() { return latencies; }
+
+        public long getErrors() { return errors.get(); }
+
+        StepReport toReport(long durationMs) {
+            StepReport report = new StepReport();
+            report.name = name;
+            report.count = latencies.getCount();
+            report.errors = errors.get();
+            report.errorRate = report.count == 0 ? 0 : (double) report.errors / report.count;
+            report.throughputPerSec = durationMs <= 0 ? 0 : report.count * 1000d / durationMs;
+            report.min = latencies.getMin();
+            report.mean = latencies.getMean();
+            report.p50 = latencies.getPercentile(50);
+            report.p95 = latencies.getPercentile(95);
+            report.p99 = latencies.getPercentile(99);
+            report.max = latencies.getMax();
+            return report;
+        }
+    }
+
+    /** serialized form of {@link StepMetrics}; all latencies are in milliseconds */
+    public static class StepReport {
+        private String name;
+        private long count;
+        private long errors;
+        private double errorRate;
+        private double throughputPerSec;
+        private long min;
+        private double mean;
+        private long p50;
+        private long p95;
+        private long p99;
+        private long max;
+
+        public String getName() { return name; }
+
+        public long getCount() { return count; }
+
+        public long getErrors() { return errors; }
+
+        public double getErrorRate() { return errorRate; }
+
+        public double getThroughputPerSec() { return throughputPerSec; }
+
+        public long getMin() { return min; }
+
+        public double getMean() { return mean; }
+
+        public long getP50() { return p50; }
+
+        public long getP95() { return p95; }
+
+        public long getP99() { return p99; }
+
+        public long getMax() { return max; }
+
+        @Override
+        public String toString() {
+            return String.format("%-60s count=%-7d errors=%-5d tps=%-8.2f min=%-6d mean=%-8.1f " +
+                                 "p50=%-6d p95=%-6d p99=%-6d max=%d",
+                                 StringUtils.abbreviate(name, 60), count, errors, throughputPerSec,
+                                 min, mean, p50, p95, p99, max);
+        }
+    }
+
+    /** serialized form of the entire load test */
+    public static class LoadTestReport {
+        private String name;
+        private long startTime;
+        private long endTime;
+        private long durationMs;
+        private int peakUsers;
+        private StepReport iterations;
+        private List<StepReport> steps = new ArrayList<>();
+
+        public String getName() { return name; }
+
+        public long getDurationMs() { return durationMs; }
+
+        public int getPeakUsers() { return peakUsers; }
+
+        public StepReport getIterations() { return iterations; }
+
+        public List<StepReport> getSteps() { return steps; }
+    }
+
+    public LoadTestMetrics(String name) { this.name = name; }
+
+    public void start() { startTime = System.currentTimeMillis(); }
+
+    public void stop() { endTime = System.currentTimeMillis(); }
+
+    public void userStarted() { peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max); }
+
+    public void userStopped() { activeUsers.decrementAndGet(); }
+
+    public int getActiveUsers() { return activeUsers.get(); }
+
+    public int getPeakUsers() { return peakUsers.get(); }
+
+    public void recordStep(TestStep testStep, long elapsedMs, boolean success) {
+        if (testStep == null) { return; }
+        recordStep(toStepKey(testStep), elapsedMs, success);
+    }
+
+    public void recordStep(String stepKey, long elapsedMs, boolean success) {
+        steps.computeIfAbsent(stepKey, StepMetrics::new).record(elapsedMs, success);
+    }
+
+    public void recordIteration(long elapsedMs, boolean success) { iterations.record(elapsedMs, success); }
+
+    public StepMetrics getStepMetrics(String stepKey) { return steps.get(stepKey); }
+
+    public StepMetrics getIterationMetrics() { return iterations; }
+
+    /** total number of steps executed across all virtual users */
+    public long getTotalSteps() { return steps.values().stream().mapToLong(s -> s.latencies.getCount()).sum(); }
+
+    public long getTotalErrors() { return steps.values().stream().mapToLong(StepMetrics::getErrors).sum(); }
+
+    public LoadTestReport toReport() {
+        long duration = (endTime == 0 ? System.currentTimeMillis() : endTime) - startTime;
+
+        LoadTestReport report = new LoadTestReport();
+        report.name = name;
+        report.startTime = startTime;
+        report.endTime = endTime;
+        report.durationMs = duration;
+        report.peakUsers = peakUsers.get();
+        report.iterations = iterations.toReport(duration);
+        steps.values().stream()
+             .map(step -> step.toReport(duration))
+             .sorted((report1, report2) -> StringUtils.compare(report1.name, report2.name))
+             .forEach(report.steps::add);
+        return report;
+    }
+
+    public void generateJson(File jsonFile) throws IOException {
+        if (jsonFile == null) { return; }
+        FileUtils.writeStringToFile(jsonFile, GSON.toJson(toReport()), DEF_CHARSET);
+    }
+
+    @Override
+    public String toString() {
+        LoadTestReport report = toReport();
+        StringBuilder buffer = new StringBuilder();
+        report.steps.forEach(step -> buffer.append("» ").append(step).append("\n"));
+        return "» Duration:       " + report.durationMs + " ms\n" +
+               "» Peak Users:     " + report.peakUsers + "\n" +
+               "» Iterations:     " + report.iterations + "\n" +
+               buffer;
+    }
+
+    static String toStepKey(TestStep testStep) {
+        return testStep.getWorksheet().getName() + "!" + (testStep.getRowIndex() + 1) + " " +
+               testStep.getCommandFQN();
+    }
+}
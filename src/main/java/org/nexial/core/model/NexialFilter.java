@@ -20,7 +20,13 @@ package org.nexial.core.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.validation.constraints.NotNull;
 
@@ -251,6 +257,50 @@ public class NexialFilter implements Serializable {
         }
     }
 
+    /**
+     * compile this filter into a predicate with the same outcome as {@link #isMatch(String)}, but with the controls
+     * resolved only once: regex is pre-compiled, numeric controls are pre-parsed and control lists are turned into
+     * hash sets. Meant for evaluating the same filter against many data (e.g. every row of a CSV).
+     * <p>
+     * Invalid controls (or comparators not applicable to data) are reported as the predicate is evaluated, just like
+     * {@link #isMatch(String)}.
+     */
+    public Predicate<String> compile() {
+        try {
+            return compileControls();
+        } catch (RuntimeException e) {
+            return data -> { throw e; };
+        }
+    }
+
+    /**
+     * the exact (trimmed and unquoted) data this filter matches, if this filter matches a finite set of text:
+     * {@code Equal} on non-numeric control, as well as {@code In}/{@code Is} (which also match empty data). Null for
+     * all other filters. Useful to look up matching data via an index, instead of evaluating every data.
+     */
+    public Set<String> getExactMatches() {
+        try {
+            switch (comparator) {
+                case Equal:
+                case Equal_2: {
+                    String control = normalizeCondition(controls);
+                    return canBeNumber(control) ? null : Collections.singleton(control);
+                }
+                case Is:
+                case In: {
+                    Set<String> matches = toControlSet(controls);
+                    matches.add("");
+                    return matches;
+                }
+                default:
+                    return null;
+            }
+        } catch (RuntimeException e) {
+            // invalid controls; to be reported as this filter is evaluated
+            return null;
+        }
+    }
+
     public static boolean isEqualsTextOrNumeric(String expected, String actual) {
         if (StringUtils.equals(expected, actual)) { return true; }
 
@@ -317,6 +367,150 @@ public class NexialFilter implements Serializable {
         return StringUtils.deleteWhitespace(controls);
     }
 
+    @NotNull
+    private Predicate<String> compileControls() {
+        switch (comparator) {
+            case Any:
+                return data -> true;
+
+            case Equal:
+            case Equal_2:
+                return toEqualsPredicate(normalizeCondition(controls));
+            case NotEqual:
+            case NotEqual_2:
+                return toEqualsPredicate(normalizeCondition(controls)).negate();
+
+            case Greater:
+            case Greater_2: {
+                double control = toDouble(controls);
+                return data -> toDouble(normalizeData(data)) > control;
+            }
+            case GreaterOrEqual:
+            case GreaterOrEqual_2: {
+                double control = toDouble(controls);
+                return data -> toDouble(normalizeData(data)) >= control;
+            }
+            case Lesser:
+            case Lesser_2: {
+                double control = toDouble(controls);
+                return data -> toDouble(normalizeData(data)) < control;
+            }
+            case LesserOrEqual:
+            case LesserOrEqual_2: {
+                double control = toDouble(controls);
+                return data -> toDouble(normalizeData(data)) <= control;
+            }
+
+            case Between: {
+                Pair<Double, Double> range = toNumericRange(controls);
+                double low = range.getLeft();
+                double high = range.getRight();
+                return data -> {
+                    double value = toDouble(normalizeData(data));
+                    return value >= low && value <= high;
+                };
+            }
+
+            case StartsWith:
+                return toTextPredicate(String::startsWith);
+            case EndsWith:
+                return toTextPredicate(String::endsWith);
+            case Contain:
+                return toTextPredicate(String::contains);
+
+            case Match: {
+                // same as RegexUtils.isExact(): empty regex matches all
+                if (StringUtils.isEmpty(controls)) { return data -> true; }
+                Pattern pattern = Pattern.compile(controls);
+                return data -> {
+                    String normalized = normalizeData(data);
+                    return StringUtils.isNotEmpty(normalized) && pattern.matcher(normalized).matches();
+                };
+            }
+
+            case Is:
+            case In: {
+                Set<String> controlSet = toControlSet(controls);
+                return data -> {
+                    String normalized = normalizeData(data);
+                    return StringUtils.isEmpty(normalized) || controlSet.contains(normalized);
+                };
+            }
+
+            case IsNot:
+            case NotIn: {
+                boolean emptyControls = StringUtils.equals(StringUtils.deleteWhitespace(controls),
+                                                           IS_OPEN_TAG + IS_CLOSE_TAG);
+                Set<String> controlSet = toControlSet(controls);
+                return data -> {
+                    String normalized = normalizeData(data);
+                    return (emptyControls && StringUtils.isEmpty(normalized)) || !controlSet.contains(normalized);
+                };
+            }
+
+            // not applicable in this case
+            case IsDefined:
+            case IsUndefined:
+                throw new IllegalArgumentException("Not application filter: " + comparator);
+
+            case IsEmpty:
+                return data -> StringUtils.isEmpty(normalizeData(data));
+
+            case IsNotEmpty:
+                return data -> StringUtils.isNotEmpty(normalizeData(data));
+
+            case HasLengthOf: {
+                double length = toDouble(controls);
+                return data -> StringUtils.length(normalizeData(data)) == length;
+            }
+
+            default:
+                throw new IllegalArgumentException("Invalid/unknown comparator: " + comparator.getSymbol());
+        }
+    }
+
+    private static String normalizeData(String data) { return data == null ? NULL : normalizeCondition(data); }
+
+    /** same as {@link #isEqualsTextOrNumeric(String, String)}, with {@code control} parsed as number only once */
+    private static Predicate<String> toEqualsPredicate(String control) {
+        if (!NumberUtils.isCreatable(numericReady(control))) {
+            return data -> StringUtils.equals(normalizeData(data), control);
+        }
+
+        double number = toDouble(control);
+        return data -> {
+            String normalized = normalizeData(data);
+            return StringUtils.equals(normalized, control) ||
+                   (NumberUtils.isCreatable(numericReady(normalized)) && toDouble(normalized) == number);
+        };
+    }
+
+    private Predicate<String> toTextPredicate(TextCompare compare) {
+        if (TextUtils.isBetween(controls, IS_OPEN_TAG, IS_CLOSE_TAG)) {
+            String[] controlArray = toControlStream(controls).toArray(String[]::new);
+            return data -> {
+                String normalized = normalizeData(data);
+                for (String control : controlArray) { if (compare.test(normalized, control)) { return true; } }
+                return false;
+            };
+        }
+
+        String control = normalizeCondition(controls);
+        return data -> {
+            String normalized = normalizeData(data);
+            return normalized != null && control != null && compare.test(normalized, control);
+        };
+    }
+
+    private static Set<String> toControlSet(String controls) {
+        return toControlStream(controls).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @FunctionalInterface
+    private interface TextCompare {
+        boolean test(String data, String control);
+    }
+
     protected boolean isMatchByRegex(String actual, ExecutionContext context) {
         return RegexUtils.isExact(actual, context.replaceTokens(controls));
     }
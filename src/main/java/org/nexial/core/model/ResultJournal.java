@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.SIMPLE_STYLE;
+import static org.nexial.core.excel.ExcelConfig.COL_IDX_PARAMS_END;
+import static org.nexial.core.excel.ExcelConfig.COL_IDX_PARAMS_START;
+
+/**
+ * journal of the test step outcomes of a {@link TestScenario}. Instead of formatting and writing the result cells
+ * of the test script as each test step completes, the outcome of each test step is recorded here as plain values.
+ * The journal is then written to the worksheet in one pass, at the end of the scenario.
+ * <p>
+ * Only the latest outcome of a test step is kept, since a test step executed multiple times (e.g. within a loop)
+ * would have its result cells overwritten anyway.
+ */
+class ResultJournal {
+    private final Map<TestStep, StepOutcome> outcomes = new LinkedHashMap<>();
+    private long recorded;
+
+    /** outcome of one test step execution, as plain values resolved at the time of execution */
+    static class StepOutcome {
+        static final int PARAM_COUNT = COL_IDX_PARAMS_END - COL_IDX_PARAMS_START;
+
+        /** message of the command itself, before elapsed time SLA evaluation */
+        String commandMessage;
+        /** result message, after elapsed time SLA evaluation */
+        String message;
+        boolean pass;
+        long elapsedMs;
+        boolean slaViolated;
+        /** cause of failure, if any */
+        String error;
+        String screenshotLink;
+        /** resolved param values, as returned by the command; null when not available */
+        final String[] paramValues = new String[PARAM_COUNT];
+        /** resolved label of the linkable params; null when param is not linkable */
+        final String[] linkLabels = new String[PARAM_COUNT];
+        /** whether the corresponding param contains (or resolves to) encrypted data */
+        final boolean[] crypto = new boolean[PARAM_COUNT];
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, SIMPLE_STYLE).append("pass", pass)
+                                                          .append("elapsedMs", elapsedMs)
+                                                          .append("message", message)
+                                                          .toString();
+        }
+    }
+
+    void record(TestStep testStep, StepOutcome outcome) {
+        outcomes.put(testStep, outcome);
+        recorded++;
+    }
+
+    /** total number of outcomes recorded, including those already flushed or superseded */
+    long getRecorded() { return recorded; }
+
+    /** number of outcomes pending to be written */
+    int size() { return outcomes.size(); }
+
+    /** write all pending outcomes to their respective test step rows */
+    void flush() {
+        if (outcomes.isEmpty()) { return; }
+        outcomes.forEach(TestStep::writeResult);
+        outcomes.clear();
+    }
+}
@@ -55,6 +55,7 @@ public class TestScenario {
     private Worksheet worksheet;
     private TestScenarioMeta meta;
     private ExecutionSummary executionSummary = new ExecutionSummary();
+    private final ResultJournal resultJournal = new ResultJournal();
 
     /**
      * the section with the corresponding worksheet that has test steps
@@ -85,6 +86,8 @@ public class TestScenario {
 
     public Worksheet getWorksheet() { return worksheet; }
 
+    ResultJournal getResultJournal() { return resultJournal; }
+
     public ExecutionContext getContext() { return context; }
 
     public List<TestCase> getTestCases() { return testCases; }
@@ -96,6 +99,9 @@ public class TestScenario {
     public TestCase getTestCase(String name) { return testCaseMap.get(name); }
 
     public void save() throws IOException {
+        // in case there are outcomes not yet written
+        flushResults();
+
         XSSFCell summaryCell = worksheet.cell(ADDR_SCENARIO_EXEC_SUMMARY);
         if (summaryCell != null) {
             if (executionSummary.getEndTime() == 0) { executionSummary.setEndTime(System.currentTimeMillis()); }
@@ -182,6 +188,9 @@ public class TestScenario {
         XSSFSheet excelSheet = worksheet.getSheet();
         excelSheet.getWorkbook().setMissingCellPolicy(CREATE_NULL_AS_BLANK);
 
+        // write all step outcomes before nested messages are inserted and verbose output merged
+        flushResults();
+
         Map<TestStepManifest, List<NestedMessage>> nestMessages = executionSummary.getNestMessages();
         int lastRow = worksheet.findLastDataRow(ADDR_COMMAND_START);
         if (MapUtils.isNotEmpty(nestMessages)) {
@@ -231,6 +240,17 @@ public class TestScenario {
         return allPass;
     }
 
+    protected void flushResults() {
+        if (resultJournal.size() < 1) { return; }
+
+        long startMs = System.currentTimeMillis();
+        int pending = resultJournal.size();
+        resultJournal.flush();
+        ConsoleUtils.log(context.getRunId(), "[" + name + "] " + pending + " step outcome(s) written in " +
+                                             (System.currentTimeMillis() - startMs) + "ms; " +
+                                             resultJournal.getRecorded() + " recorded");
+    }
+
     public TestStep getTestStepByRowIndex(int rowIndex) { return testStepsByRow.get(rowIndex); }
 
     public List<TestStep> getTestStepsByRowRange(int startRow, int endRow) {
@@ -37,6 +37,7 @@ import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.excel.ExcelConfig;
 import org.nexial.core.excel.ext.CellTextReader;
+import org.nexial.core.model.ResultJournal.StepOutcome;
 import org.nexial.core.plugins.CanTakeScreenshot;
 import org.nexial.core.plugins.NexialCommand;
 import org.nexial.core.utils.ConsoleUtils;
@@ -52,6 +53,7 @@ import static org.nexial.core.NexialConst.Data.*;
 import static org.nexial.core.NexialConst.*;
 import static org.nexial.core.excel.ExcelConfig.*;
 import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+import static org.nexial.core.model.ResultJournal.StepOutcome.PARAM_COUNT;
 
 public class TestStep extends TestStepManifest {
     protected ExecutionContext context;
@@ -155,6 +157,9 @@ public class TestStep extends TestStepManifest {
         // delay is carried out here so that timespan is captured as part of execution
         waitFor(context.getDelayBetweenStep());
 
+        // load test measures the command itself, without the delay between steps
+        long commandStartMs = System.currentTimeMillis();
+
         StepResult result = null;
         try {
             result = invokeCommand();
@@ -183,6 +188,12 @@ public class TestStep extends TestStepManifest {
             result = StepResult.fail(e.getMessage());
         } finally {
             tickTock.stop();
+            LoadTestMetrics loadTestMetrics = context.getLoadTestMetrics();
+            if (loadTestMetrics != null) {
+                loadTestMetrics.recordStep(this,
+                                           System.currentTimeMillis() - commandStartMs,
+                                           result != null && result.isSuccess());
+            }
             if (this.isCommandRepeater()) { context.setCurrentTestStep(this); }
             postExecCommand(result, tickTock.getTime());
             FlowControlUtils.checkPauseAfter(context, this);
@@ -402,8 +413,67 @@ public class TestStep extends TestStepManifest {
         }
     }
 
+    /**
+     * capture the outcome of this test step into the result journal of its scenario. Anything that depends on the
+     * current state of execution (data variables, screenshot, elapsed time SLA) is resolved now, while the result
+     * cells are written later via {@link #writeResult(StepOutcome)}.
+     */
     protected void updateResult(StepResult result, long elapsedMs) {
-        String message = result.getMessage();
+        // description is also formatted by TestCase and CommandRepeater as the flow is resolved; hence formatted
+        // here (and not deferred) to keep the same precedence
+        XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
+        String description = Excel.getCellValue(cellDescription);
+        if (StringUtils.startsWith(description, SECTION_DESCRIPTION_PREFIX)) {
+            ExcelConfig.formatSectionDescription(worksheet, cellDescription);
+        } else if (StringUtils.contains(description, REPEAT_DESCRIPTION_PREFIX)) {
+            ExcelConfig.formatRepeatUntilDescription(worksheet, cellDescription);
+        } else {
+            cellDescription.setCellStyle(worksheet.getStyle(STYLE_DESCRIPTION));
+        }
+
+        StepOutcome outcome = new StepOutcome();
+
+        Object[] paramValues = result.getParamValues();
+        for (int paramIdx = 0; paramIdx < PARAM_COUNT; paramIdx++) {
+            String link = CollectionUtils.size(linkableParams) > paramIdx ? linkableParams.get(paramIdx) : null;
+            if (StringUtils.isNotBlank(link)) {
+                outcome.linkLabels[paramIdx] = context.replaceTokens(params.get(paramIdx));
+                continue;
+            }
+
+            outcome.crypto[paramIdx] = hasCryptoIdent(row.get(COL_IDX_PARAMS_START + paramIdx).getStringCellValue());
+            Object value = ArrayUtils.getLength(paramValues) > paramIdx ? paramValues[paramIdx] : null;
+            if (value != null) { outcome.paramValues[paramIdx] = Objects.toString(value); }
+        }
+
+        outcome.screenshotLink = handleScreenshot(result);
+
+        outcome.commandMessage = result.getMessage();
+        outcome.elapsedMs = elapsedMs;
+        long elapsedTimeSLA = context.getSLAElapsedTimeMs();
+        outcome.slaViolated = elapsedTimeSLA > 0 && elapsedTimeSLA < elapsedMs;
+        if (outcome.slaViolated) { result.markElapsedTimeSlaNotMet(); }
+
+        outcome.pass = result.isSuccess();
+        outcome.message = result.getMessage();
+
+        Throwable exception = result.getException();
+        if (!outcome.pass && exception != null) {
+            outcome.error = exception.getCause() != null ? exception.getCause().getMessage() : exception.getMessage();
+        }
+
+        testCase.getTestScenario().getResultJournal().record(this, outcome);
+
+        if (CollectionUtils.isNotEmpty(nestedTestResults)) {
+            TestStepManifest testStep = this.toTestStepManifest();
+            testStep.setRowIndex(row.get(0).getRowIndex());
+            testCase.getTestScenario().getExecutionSummary().addNestedMessages(testStep, nestedTestResults);
+        }
+    }
+
+    /** write the journaled {@code outcome} of this test step to its row. */
+    protected void writeResult(StepOutcome outcome) {
+        String message = outcome.commandMessage;
 
         // test case
         XSSFCell cellTestCase = row.get(COL_IDX_TESTCASE);
@@ -417,37 +487,25 @@ public class TestStep extends TestStepManifest {
         XSSFCell cellCommand = row.get(COL_IDX_COMMAND);
         ExcelConfig.formatCommandCell(worksheet, cellCommand);
 
-        // description
-        XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
-        String description = Excel.getCellValue(cellDescription);
-        if (StringUtils.startsWith(description, SECTION_DESCRIPTION_PREFIX)) {
-            ExcelConfig.formatSectionDescription(worksheet, cellDescription);
-        } else if (StringUtils.contains(description, REPEAT_DESCRIPTION_PREFIX)) {
-            ExcelConfig.formatRepeatUntilDescription(worksheet, cellDescription);
-        } else {
-            cellDescription.setCellStyle(worksheet.getStyle(STYLE_DESCRIPTION));
-        }
-
         XSSFCellStyle styleTaintedParam = worksheet.getStyle(STYLE_TAINTED_PARAM);
         XSSFCellStyle styleParam = worksheet.getStyle(STYLE_PARAM);
 
-        Object[] paramValues = result.getParamValues();
-
         // handle linkable params (first priority), verbose (second priority) and params (last)
         for (int i = COL_IDX_PARAMS_START; i < COL_IDX_PARAMS_END; i++) {
             int paramIdx = i - COL_IDX_PARAMS_START;
 
-            String link = CollectionUtils.size(linkableParams) > paramIdx ? linkableParams.get(paramIdx) : null;
             XSSFCell paramCell = row.get(i);
-            if (StringUtils.isNotBlank(link)) {
-                worksheet.setHyperlink(paramCell, link, context.replaceTokens(params.get(paramIdx)));
+            String linkLabel = outcome.linkLabels[paramIdx];
+            if (linkLabel != null) {
+                worksheet.setHyperlink(paramCell, linkableParams.get(paramIdx), linkLabel);
                 continue;
             }
 
             String origParamValue = paramCell.getStringCellValue();
+            boolean crypto = outcome.crypto[paramIdx];
 
             if (i == COL_IDX_PARAMS_START && StringUtils.equals(getCommandFQN(), CMD_VERBOSE)) {
-                if (hasCryptoIdent(origParamValue)) {
+                if (crypto) {
                     paramCell.setCellComment(toSystemComment(paramCell, "detects crypto"));
                 } else {
                     if (StringUtils.length(message) > MAX_VERBOSE_CHAR) {
@@ -459,15 +517,15 @@ public class TestStep extends TestStepManifest {
                 continue;
             }
 
-            Object value = ArrayUtils.getLength(paramValues) > paramIdx ? paramValues[paramIdx] : null;
+            String value = outcome.paramValues[paramIdx];
             if (value != null) {
                 // respect the crypts... if value has crypt:, then keep it as is
-                if (hasCryptoIdent(origParamValue)) {
+                if (crypto) {
                     paramCell.setCellComment(toSystemComment(paramCell, "crypto found; substitution cancelled"));
                     continue;
                 }
 
-                String taintedValue = CellTextReader.getOriginal(origParamValue, Objects.toString(value));
+                String taintedValue = CellTextReader.getOriginal(origParamValue, value);
                 boolean tainted = !StringUtils.equals(origParamValue, taintedValue);
                 if (tainted) {
                     paramCell.setCellValue(StringUtils.truncate(taintedValue, MAX_VERBOSE_CHAR));
@@ -486,21 +544,17 @@ public class TestStep extends TestStepManifest {
         formatFlowControlCell(worksheet, cellFlowControl);
 
         // screenshot
-        String screenshotLink = handleScreenshot(result);
-        if (StringUtils.isNotBlank(screenshotLink)) {
-            worksheet.setScreenCaptureStyle(row.get(COL_IDX_CAPTURE_SCREEN), screenshotLink);
+        if (StringUtils.isNotBlank(outcome.screenshotLink)) {
+            worksheet.setScreenCaptureStyle(row.get(COL_IDX_CAPTURE_SCREEN), outcome.screenshotLink);
         }
 
-        boolean pass = result.isSuccess();
+        boolean pass = outcome.pass;
 
         // elapsed time
         row.get(COL_IDX_ELAPSED_MS).setCellStyle(worksheet.getStyle(STYLE_ELAPSED_MS));
-        long elapsedTimeSLA = context.getSLAElapsedTimeMs();
-        if (!updateElapsedTime(elapsedMs, elapsedTimeSLA > 0 && elapsedTimeSLA < elapsedMs)) {
-            result.markElapsedTimeSlaNotMet();
-            pass = false;
-            message = result.getMessage();
-            // exception = result.getException();
+        if (!updateElapsedTime(outcome.elapsedMs, outcome.slaViolated)) {
+            // result has already been marked as failed when journaled
+            message = outcome.message;
         }
 
         // result
@@ -511,26 +565,19 @@ public class TestStep extends TestStepManifest {
                                                    pass ? STYLE_SUCCESS_RESULT : STYLE_FAILED_RESULT));
 
         // reason
-        Throwable exception = result.getException();
         XSSFCell cellReason = row.get(COL_IDX_REASON);
-        if (cellReason != null && !pass && exception != null) {
-            String error = exception.getCause() != null ? exception.getCause().getMessage() : exception.getMessage();
-            cellReason.setCellValue(error);
+        if (cellReason != null && outcome.error != null) {
+            cellReason.setCellValue(outcome.error);
             cellReason.setCellStyle(worksheet.getStyle(STYLE_MESSAGE));
         }
 
+        XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
         int numOfLines = NumberUtils.max(
             StringUtils.countMatches(Excel.getCellValue(cellTestCase), '\n'),
             StringUtils.countMatches(Excel.getCellValue(cellDescription), '\n'),
-            ArrayUtils.isNotEmpty(paramValues) ? StringUtils.countMatches(Objects.toString(paramValues[0]), '\n') : 0,
+            StringUtils.countMatches(outcome.paramValues[0], '\n'),
             StringUtils.countMatches(Excel.getCellValue(cellFlowControl), '\n')) + 1;
         worksheet.setMinHeight(cellDescription, numOfLines);
-
-        if (CollectionUtils.isNotEmpty(nestedTestResults)) {
-            TestStepManifest testStep = this.toTestStepManifest();
-            testStep.setRowIndex(row.get(0).getRowIndex());
-            testCase.getTestScenario().getExecutionSummary().addNestedMessages(testStep, nestedTestResults);
-        }
     }
 
     protected boolean updateElapsedTime(long elapsedTime, boolean violateSLA) {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import static java.lang.System.lineSeparator;
+import static org.nexial.commons.utils.EnvUtils.enforceUnixEOL;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+
+/**
+ * compiled form of a text subjected to {@link ExecutionContext#replaceTokens(String)}.  The structural analysis of
+ * a text (does it contain any built-in function, which {@code ${...}} tokens are found, could it be a nexial
+ * expression) depends solely on the text itself, hence it is done once per distinct text and kept in a bounded
+ * cache.  Evaluating a plan only involves the data-dependent passes of the token replacement.
+ * <p>
+ * A plan is either:
+ * <ul>
+ * <li>literal - no token, function, expression or crypt; resolves to the same value regardless of data</li>
+ * <li>token-only - contains {@code ${...}} tokens but no built-in function; the token set is pre-parsed</li>
+ * <li>dynamic - contains built-in function(s); the function pass may yield new tokens so nothing is pre-parsed</li>
+ * </ul>
+ */
+final class TokenReplacementPlan {
+    private static final String EXPRESSION_START = "[";
+    private static final String EXPRESSION_FUNCTION_SEP = "=>";
+    // very long text (e.g. request payload) is most likely not reused as is, and would only bloat the cache
+    private static final int MAX_CACHEABLE_TEXT_LENGTH = 2048;
+    private static final int MAX_CACHE_SIZE =
+        NumberUtils.toInt(System.getProperty(TOKEN_PLAN_CACHE_SIZE), DEF_TOKEN_PLAN_CACHE_SIZE);
+    private static final Map<String, TokenReplacementPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final boolean literal;
+    private final String literalValue;
+    private final boolean hasFunction;
+    private final Set<String> tokens;
+
+    private TokenReplacementPlan(String text, boolean literal, boolean hasFunction, Set<String> tokens) {
+        this.text = text;
+        this.literal = literal;
+        this.literalValue = literal ? enforceUnixEOL(text) : null;
+        this.hasFunction = hasFunction;
+        this.tokens = tokens;
+    }
+
+    /**
+     * return the plan of {@code text}, which has already been treated via
+     * {@link org.nexial.core.NexialConst.Data#treatCommonValueShorthand(String)}.
+     */
+    static TokenReplacementPlan of(String text) {
+        if (text == null || text.length() > MAX_CACHEABLE_TEXT_LENGTH) { return compile(text); }
+
+        TokenReplacementPlan plan = PLANS.get(text);
+        if (plan != null) { return plan; }
+
+        plan = compile(text);
+        // cache is full: stop adding, the compiled plans remain valid for the rest of the JVM
+        if (PLANS.size() < MAX_CACHE_SIZE) { PLANS.putIfAbsent(text, plan); }
+        return plan;
+    }
+
+    /** plan that defers all parsing to evaluation time; the equivalent of no plan at all. */
+    static TokenReplacementPlan dynamic(String text) {
+        return new TokenReplacementPlan(StringUtils.replace(text, NL, lineSeparator()), false, true, null);
+    }
+
+    static void clearCache() { PLANS.clear(); }
+
+    static int cacheSize() { return PLANS.size(); }
+
+    /** text after the portability (EOL) treatment */
+    String getText() { return text; }
+
+    boolean isLiteral() { return literal; }
+
+    /** literal plan only: the final outcome of the token replacement */
+    String getLiteral() { return literalValue; }
+
+    boolean hasFunction() { return hasFunction; }
+
+    /** {@code ${...}} tokens found in text, in the same (set) order as {@link ExecutionContext#findTokens(String)} */
+    Set<String> getTokens() { return tokens; }
+
+    private static TokenReplacementPlan compile(String text) {
+        // for portability
+        text = StringUtils.replace(text, NL, lineSeparator());
+
+        if (StringUtils.contains(text, TOKEN_FUNCTION_START)) {
+            return new TokenReplacementPlan(text, false, true, null);
+        }
+
+        Set<String> tokens = Collections.unmodifiableSet(ExecutionContext.findTokens(text));
+        boolean literal = tokens.isEmpty() &&
+                          !StringUtils.startsWith(text, CRYPT_IND) &&
+                          !(StringUtils.contains(text, EXPRESSION_START) &&
+                            StringUtils.contains(text, EXPRESSION_FUNCTION_SEP));
+        return new TokenReplacementPlan(text, literal, false, tokens);
+    }
+}
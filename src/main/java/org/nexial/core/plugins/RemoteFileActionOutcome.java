@@ -33,6 +33,7 @@ public class RemoteFileActionOutcome implements Serializable {
     private String errors;
     private long startTime;
     private long elapsedTime;
+    private long bytesTransferred;
     private TransferProtocol protocol;
     private TransferAction action;
     private String remotePath;
@@ -158,6 +159,28 @@ public class RemoteFileActionOutcome implements Serializable {
         return this;
     }
 
+    public long getBytesTransferred() {
+        return bytesTransferred;
+    }
+
+    public RemoteFileActionOutcome setBytesTransferred(long bytesTransferred) {
+        this.bytesTransferred = bytesTransferred;
+        return this;
+    }
+
+    public RemoteFileActionOutcome addBytesTransferred(long bytes) {
+        this.bytesTransferred += bytes;
+        return this;
+    }
+
+    /**
+     * aggregate throughput (bytes per second) of this action, based on {@link #getBytesTransferred()} and
+     * {@link #getElapsedTime()}. Hence only meaningful after {@link #end()}.
+     */
+    public long getThroughput() {
+        return elapsedTime > 0 ? bytesTransferred * 1000 / elapsedTime : 0;
+    }
+
     public TransferProtocol getProtocol() {
         return protocol;
     }
@@ -202,6 +225,8 @@ public class RemoteFileActionOutcome implements Serializable {
                "localPath=" + localPath + "\n" +
                "startTime=" + startTime + "\n" +
                "elapsedTime=" + elapsedTime + "\n" +
+               "bytesTransferred=" + bytesTransferred + "\n" +
+               "throughput=" + getThroughput() + "\n" +
                "affected=" + affected + "\n" +
                "failed=" + failed + "\n" +
                "errors=" + errors + "\n";
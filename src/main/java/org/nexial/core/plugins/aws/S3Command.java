@@ -23,7 +23,6 @@ import java.util.List;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.IOFilePathFilter;
 import org.nexial.commons.utils.TextUtils;
@@ -37,6 +36,7 @@ import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.utils.ConsoleUtils;
 
 import static java.io.File.separator;
+import static org.nexial.core.NexialConst.Data.*;
 import static org.nexial.core.NexialConst.S3_PATH_SEPARATOR;
 import static org.nexial.core.plugins.RemoteFileActionOutcome.TransferAction.*;
 import static org.nexial.core.plugins.RemoteFileActionOutcome.TransferProtocol.AWS;
@@ -323,11 +323,10 @@ public class S3Command extends BaseCommand {
                 final String bucketName = StringUtils.substringBefore(s3BucketPath, "/");
                 final String filePath = bucketName + "/" + key;
                 try {
-                    byte[] content = helper.copyFromS3(bucketName, key, removeFromBucket);
                     String affectedFile = StringUtils.appendIfMissing(systemPath, separator) +
                                           (key.contains("/") ? StringUtils.substringAfterLast(key, "/") : key);
-                    FileUtils.writeByteArrayToFile(new File(affectedFile), content);
-                    outcome.addAffected(affectedFile);
+                    long bytes = helper.copyFromS3(bucketName, key, new File(affectedFile), removeFromBucket);
+                    outcome.addAffected(affectedFile).addBytesTransferred(bytes);
                 } catch (Exception e) {
                     outcome.addFailed(filePath);
                     outcome.appendError(e.getMessage() + "\n");
@@ -391,7 +390,9 @@ public class S3Command extends BaseCommand {
         AwsS3Helper helper = initS3helper(resolveAWSSettings(profile));
         for (final String file : files) {
             try {
-                outcome.addAffected(helper.importToS3(new File(file), s3Path, removeLocal));
+                // file would be gone after move
+                long bytes = new File(file).length();
+                outcome.addAffected(helper.importToS3(new File(file), s3Path, removeLocal)).addBytesTransferred(bytes);
             } catch (Exception ase) {
                 outcome.addFailed(file);
                 outcome.appendError(ase.getMessage() + "\n");
@@ -437,6 +438,8 @@ public class S3Command extends BaseCommand {
         // added to avoid SSL certificate issue since the adding bucket as subdomain to Amazon's SSL cert would result
         // in cert to domain name mismatch
         helper.setS3PathStyleAccessEnabled(true);
+        helper.setPartSize(context.getIntData(S3_PART_SIZE_MB, DEF_S3_PART_SIZE_MB) * 1024L * 1024L);
+        helper.setConcurrency(context.getIntData(S3_TRANSFER_CONCURRENCY, DEF_S3_TRANSFER_CONCURRENCY));
         return helper;
     }
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.AbstractMap.SimpleImmutableEntry;
+
+/**
+ * compact, column-oriented storage of a query result.  The column names are kept once (instead of once per row)
+ * and each column is stored as dictionary-encoded values, unless the column has too many distinct values, in
+ * which case it is stored as a plain array of values.
+ * <p>
+ * This class is also a read-only {@code List<Map<String,String>>}, where each row is materialized as a lightweight
+ * map view only when accessed.  Hence existing consumers of {@link JdbcResult#getData()} continue to work.
+ */
+final class ColumnarRows extends AbstractList<Map<String, String>> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndex;
+    private final Column[] data;
+    private int size;
+
+    /**
+     * values of one column.  Values are dictionary-encoded until the number of distinct values reaches
+     * {@link #MAX_DICTIONARY_SIZE}; thereafter all values are kept as is.
+     */
+    static final class Column implements Serializable {
+        private static final long serialVersionUID = 1L;
+        static final int MAX_DICTIONARY_SIZE = 4096;
+
+        private List<String> dictionary = new ArrayList<>();
+        private transient Map<String, Integer> lookup = new HashMap<>();
+        private int[] encoded = new int[INITIAL_CAPACITY];
+        private String[] plain;
+
+        void add(int row, String value) {
+            if (plain != null) {
+                if (row == plain.length) { plain = Arrays.copyOf(plain, plain.length * 2); }
+                plain[row] = value;
+                return;
+            }
+
+            Integer code = lookup.get(value);
+            if (code == null) {
+                if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+                    toPlain(row);
+                    add(row, value);
+                    return;
+                }
+
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+
+            if (row == encoded.length) { encoded = Arrays.copyOf(encoded, encoded.length * 2); }
+            encoded[row] = code;
+        }
+
+        String get(int row) { return plain != null ? plain[row] : dictionary.get(encoded[row]); }
+
+        boolean isDictionaryEncoded() { return plain == null; }
+
+        /** release the excess capacity and the build-time lookup */
+        void complete(int size) {
+            lookup = null;
+            if (plain != null) {
+                plain = Arrays.copyOf(plain, size);
+            } else {
+                encoded = Arrays.copyOf(encoded, size);
+                ((ArrayList<String>) dictionary).trimToSize();
+            }
+        }
+
+        private void toPlain(int size) {
+            plain = new String[Math.max(encoded.length, INITIAL_CAPACITY)];
+            for (int i = 0; i < size; i++) { plain[i] = dictionary.get(encoded[i]); }
+            dictionary = null;
+            lookup = null;
+            encoded = null;
+        }
+    }
+
+    /** read-only view of one row, in the same column order as the query */
+    private final class Row extends AbstractMap<String, String> {
+        private final int row;
+
+        Row(int row) { this.row = row; }
+
+        @Override
+        public String get(Object key) {
+            Integer index = columnIndex.get(key);
+            return index == null ? null : data[index].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) { return columnIndex.containsKey(key); }
+
+        @Override
+        public int size() { return columns.size(); }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() { return index < columns.size(); }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) { throw new NoSuchElementException(); }
+                            SimpleImmutableEntry<String, String> entry =
+                                new SimpleImmutableEntry<>(columns.get(index), data[index].get(row));
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() { return columns.size(); }
+            };
+        }
+    }
+
+    /**
+     * {@code columns} must not contain duplicates; the value of a duplicate column label should be resolved by
+     * the caller before {@link #addRow(String[])}.
+     */
+    ColumnarRows(List<String> columns) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.columnIndex = new HashMap<>();
+        this.data = new Column[columns.size()];
+        for (int i = 0; i < data.length; i++) {
+            columnIndex.put(columns.get(i), i);
+            data[i] = new Column();
+        }
+    }
+
+    void addRow(String[] values) {
+        for (int i = 0; i < data.length; i++) { data[i].add(size, values[i]); }
+        size++;
+    }
+
+    /** no more rows to add */
+    void complete() { for (Column column : data) { column.complete(size); } }
+
+    List<String> getColumns() { return columns; }
+
+    /** all the values of {@code column}, or an empty list if {@code column} is not part of this result */
+    List<String> cells(String column) {
+        Integer index = columnIndex.get(column);
+        if (index == null) { return new ArrayList<>(); }
+
+        Column values = data[index];
+        List<String> cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) { cells.add(values.get(i)); }
+        return cells;
+    }
+
+    Column getColumn(String column) {
+        Integer index = columnIndex.get(column);
+        return index == null ? null : data[index];
+    }
+
+    @Override
+    public Map<String, String> get(int index) {
+        if (index < 0 || index >= size) { throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); }
+        return new Row(index);
+    }
+
+    @Override
+    public int size() { return size; }
+}
@@ -124,31 +124,23 @@ public class DataAccess implements ApplicationContextAware {
         if (StringUtils.equals(dbType, "isam")) {
             dao = resolveIsamDao(db);
         } else {
-            BasicDataSource newDs = new BasicDataSource();
-            newDs.setDriverClassName(className);
-            newDs.setAccessToUnderlyingConnectionAllowed(true);
-            newDs.setPoolPreparedStatements(true);
-            newDs.setUrl(url);
-
             // username/password are not required
             String username = context.getStringData(db + OPT_DB_USER);
-            if (StringUtils.isNotBlank(username)) { newDs.setUsername(username); }
-
-            String password = context.getStringData(db + OPT_DB_PASSWORD);
-            if (StringUtils.isNotBlank(password)) { newDs.setPassword(password); }
-
-            // handle auto commit (single transaction or not)
             boolean autocommit = context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT);
-            newDs.setDefaultAutoCommit(autocommit);
-            newDs.setEnableAutoCommitOnReturn(autocommit);
-            if (!autocommit) { newDs.setDefaultTransactionIsolation(TRANSACTION_SERIALIZABLE); }
 
+            // connection pool is shared across all steps/scripts of the same execution
+            String poolKey = DataSourceRegistry.toKey(dbType, url, username, autocommit);
+            DataSourceRegistry registry = DataSourceRegistry.get(context.getRunId());
+            DataSource dataSource =
+                registry.resolve(poolKey, () -> newDataSource(db, className, url, username, autocommit));
             dao = new SimpleExtractionDao();
-            dao.setDataSource(newDs);
+            dao.setDataSource(dataSource);
+            dao.setAutoCommit(autocommit);
         }
 
         // allow dao to treat 'true null' as empty string, or whatever user decides
         dao.setTreatNullAs(context.getStringData(db + OPT_TREAT_NULL_AS, DEF_TREAT_NULL_AS));
+        dao.setFetchSize(context.getIntData(db + OPT_DB_FETCH_SIZE, DEF_DB_FETCH_SIZE));
         dao.setContext(context);
 
         dao.afterPropertiesSet();
@@ -156,6 +148,49 @@ public class DataAccess implements ApplicationContextAware {
         return dao;
     }
 
+    protected BasicDataSource newDataSource(String db,
+                                            String className,
+                                            String url,
+                                            String username,
+                                            boolean autocommit) {
+        BasicDataSource newDs = new BasicDataSource();
+        newDs.setDriverClassName(className);
+        newDs.setAccessToUnderlyingConnectionAllowed(true);
+        newDs.setPoolPreparedStatements(true);
+        newDs.setUrl(url);
+
+        if (StringUtils.isNotBlank(username)) { newDs.setUsername(username); }
+
+        String password = context.getStringData(db + OPT_DB_PASSWORD);
+        if (StringUtils.isNotBlank(password)) { newDs.setPassword(password); }
+
+        // handle auto commit (single transaction or not)
+        newDs.setDefaultAutoCommit(autocommit);
+        newDs.setEnableAutoCommitOnReturn(autocommit);
+        if (!autocommit) { newDs.setDefaultTransactionIsolation(TRANSACTION_SERIALIZABLE); }
+
+        // pool sizing and maintenance
+        int poolSize = Math.max(context.getIntData(db + OPT_DB_POOL_SIZE, DEF_DB_POOL_SIZE), 1);
+        newDs.setMaxTotal(poolSize);
+        newDs.setMaxIdle(poolSize);
+
+        String validationQuery = context.getStringData(db + OPT_DB_VALIDATION_QUERY);
+        if (StringUtils.isNotBlank(validationQuery)) {
+            newDs.setValidationQuery(validationQuery);
+            newDs.setTestOnBorrow(true);
+            newDs.setTestWhileIdle(true);
+        }
+
+        int idleEvictSec = context.getIntData(db + OPT_DB_IDLE_EVICT_SEC, DEF_DB_IDLE_EVICT_SEC);
+        if (idleEvictSec > 0) {
+            long idleEvictMs = idleEvictSec * 1000L;
+            newDs.setMinEvictableIdleTimeMillis(idleEvictMs);
+            newDs.setTimeBetweenEvictionRunsMillis(Math.max(idleEvictMs / 2, 1000));
+        }
+
+        return newDs;
+    }
+
     protected SimpleExtractionDao resolveIsamDao(String db) {
         String url = context.getStringData(db + OPT_DB_URL);
         Map<String, String> connInfo = TextUtils.toMap(url, ";", "=");
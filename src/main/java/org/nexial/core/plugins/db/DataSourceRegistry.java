@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.utils.ConsoleUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * registry of pooled {@link BasicDataSource}, one per db profile (type, url, user and auto-commit) per execution.
+ * All {@link org.nexial.core.model.ExecutionContext} of the same execution (i.e. same run id), hence all the
+ * scripts and iterations of that execution, share the same pool for the same db profile.  The pools are closed at
+ * the end of the execution via {@link #close(String)}.
+ * <p>
+ * Each registry tracks the number of times an existing pool is reused (hit) or created (miss), as well as the
+ * time spent to acquire a connection from each pool.
+ */
+public final class DataSourceRegistry {
+    private static final Map<String, DataSourceRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final String runId;
+    private final Map<String, TimedDataSource> pools = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** time connection acquisition against the underlying pool */
+    static final class TimedDataSource extends DelegatingDataSource {
+        private final String key;
+        private final AtomicLong acquireCount = new AtomicLong();
+        private final AtomicLong acquireNanos = new AtomicLong();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+        TimedDataSource(String key, BasicDataSource dataSource) {
+            super(dataSource);
+            this.key = key;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                recordAcquire(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection(username, password);
+            } finally {
+                recordAcquire(System.nanoTime() - start);
+            }
+        }
+
+        BasicDataSource getPool() { return (BasicDataSource) getTargetDataSource(); }
+
+        long getAcquireCount() { return acquireCount.get(); }
+
+        double getAverageAcquireMs() {
+            long count = acquireCount.get();
+            return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(acquireNanos.get()) / count / 1000;
+        }
+
+        double getMaxAcquireMs() { return (double) TimeUnit.NANOSECONDS.toMicros(maxAcquireNanos.get()) / 1000; }
+
+        void close() {
+            try {
+                getPool().close();
+            } catch (SQLException e) {
+                ConsoleUtils.error("Unable to close connection pool for " + key + ": " + e.getMessage());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d connection(s) acquired, avg %.3f ms, max %.3f ms",
+                                 key, getAcquireCount(), getAverageAcquireMs(), getMaxAcquireMs());
+        }
+
+        private void recordAcquire(long elapsedNanos) {
+            acquireCount.incrementAndGet();
+            acquireNanos.addAndGet(elapsedNanos);
+            maxAcquireNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+    }
+
+    private DataSourceRegistry(String runId) { this.runId = runId; }
+
+    public static DataSourceRegistry get(String runId) {
+        return REGISTRIES.computeIfAbsent(StringUtils.defaultString(runId), DataSourceRegistry::new);
+    }
+
+    /** close all the pools of the execution identified by {@code runId} */
+    public static void close(String runId) {
+        DataSourceRegistry registry = REGISTRIES.remove(StringUtils.defaultString(runId));
+        if (registry != null) { registry.closeAll(); }
+    }
+
+    static String toKey(String dbType, String url, String username, boolean autocommit) {
+        return dbType + "|" + url + "|" + StringUtils.defaultString(username) + "|" + autocommit;
+    }
+
+    /**
+     * return the pooled data source registered as {@code key}, or create one via {@code factory} if none is
+     * registered yet.
+     */
+    TimedDataSource resolve(String key, Supplier<BasicDataSource> factory) {
+        TimedDataSource dataSource = pools.get(key);
+        if (dataSource != null) {
+            hits.incrementAndGet();
+            return dataSource;
+        }
+
+        return pools.computeIfAbsent(key, k -> {
+            misses.incrementAndGet();
+            return new TimedDataSource(k, factory.get());
+        });
+    }
+
+    long getHits() { return hits.get(); }
+
+    long getMisses() { return misses.get(); }
+
+    int size() { return pools.size(); }
+
+    private void closeAll() {
+        if (pools.isEmpty()) { return; }
+
+        StringBuilder report = new StringBuilder("closing " + pools.size() + " connection pool(s); " +
+                                                 hits.get() + " hit(s), " + misses.get() + " miss(es)");
+        pools.values().forEach(dataSource -> {
+            report.append("\n» ").append(dataSource);
+            dataSource.close();
+        });
+        pools.clear();
+
+        ConsoleUtils.log(runId, report.toString());
+    }
+}
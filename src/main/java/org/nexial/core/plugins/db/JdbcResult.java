@@ -100,7 +100,9 @@ public class JdbcResult implements Serializable {
         }
 
         // harvest column name
-        this.columns = CollectionUtil.toList(results.get(0).keySet());
+        this.columns = results instanceof ColumnarRows ?
+                       new ArrayList<>(((ColumnarRows) results).getColumns()) :
+                       CollectionUtil.toList(results.get(0).keySet());
         this.rowCount = results.size();
         data = results;
     }
@@ -116,6 +118,7 @@ public class JdbcResult implements Serializable {
         // test to see if this is a known column
         if (CollectionUtils.isEmpty(columns) || !columns.contains(column)) { return cells; }
 
+        if (data instanceof ColumnarRows) { return ((ColumnarRows) data).cells(column); }
         data.forEach(row -> cells.add(row.get(column)));
 
         return cells;
@@ -287,6 +287,11 @@ public class RdbmsCommand extends BaseCommand {
 
     public JdbcOutcome executeSQLs(String db, List<SqlComponent> sqls) { return resolveDao(db).executeSqls(sqls); }
 
+    /** execute {@code sql} against {@code db} as a prepared statement, with {@code params} bound in order */
+    public JdbcResult executeQuery(String db, String sql, List<?> params) {
+        return resolveDao(db).executeQuery(sql, params);
+    }
+
     public String toCSV(JdbcResult result, String delim, boolean printHeader) {
         // test along way... good luck
         StringBuilder sb = new StringBuilder();
@@ -21,10 +21,12 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -53,6 +55,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
     protected String treatNullAs = DEF_TREAT_NULL_AS;
     protected Connection transactedConnection;
     protected Boolean autoCommit;
+    protected int fetchSize;
     protected ExecutionContext context;
 
     protected class JdbcResultExtractor
@@ -118,11 +121,15 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
 
     public void setContext(ExecutionContext context) { this.context = context; }
 
+    /** number of rows fetched from database per round trip; 0 means driver default */
+    public void setFetchSize(int fetchSize) { this.fetchSize = Math.max(fetchSize, 0); }
+
     public JdbcResult executeSql(String sql, File saveTo) {
         long startTime = System.currentTimeMillis();
         JdbcResult result = new JdbcResult(sql);
 
         JdbcTemplate jdbc = getJdbcTemplate();
+        if (fetchSize > 0) { jdbc.setFetchSize(fetchSize); }
         JdbcResultExtractor extractor = new JdbcResultExtractor(result, saveTo);
 
         if (isAutoCommit()) { return jdbc.execute(extractor).setTiming(startTime); }
@@ -136,6 +143,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         }
 
         try (Statement statement = transactedConnection.createStatement()) {
+            if (fetchSize > 0) { statement.setFetchSize(fetchSize); }
             return extractor.doInStatement(statement).setTiming(startTime);
         } catch (SQLException e) {
             result.setError("Error executing " + sql + ": " + e.getMessage());
@@ -143,11 +151,42 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         }
     }
 
+    /**
+     * execute {@code sql} as a prepared statement, with {@code params} bound to its placeholders in order. Meant for
+     * (repeated) lookup queries where the values vary but the statement does not.
+     */
+    public JdbcResult executeQuery(String sql, List<?> params) {
+        long startTime = System.currentTimeMillis();
+        JdbcResult result = new JdbcResult(sql);
+        JdbcResultExtractor extractor = new JdbcResultExtractor(result);
+
+        try {
+            if (isAutoCommit()) {
+                JdbcTemplate jdbc = getJdbcTemplate();
+                if (fetchSize > 0) { jdbc.setFetchSize(fetchSize); }
+                return jdbc.query(sql, params.toArray(), extractor).setTiming(startTime);
+            }
+
+            initTransactedConnection();
+            try (PreparedStatement statement = transactedConnection.prepareStatement(sql)) {
+                if (fetchSize > 0) { statement.setFetchSize(fetchSize); }
+                for (int i = 0; i < params.size(); i++) { statement.setObject(i + 1, params.get(i)); }
+                try (ResultSet rs = statement.executeQuery()) {
+                    return extractor.extractData(rs).setTiming(startTime);
+                }
+            }
+        } catch (SQLException | DataAccessException e) {
+            result.setError("Error executing " + sql + ": " + e.getMessage());
+            return result.setTiming(startTime);
+        }
+    }
+
     protected JdbcResult executeStoredProcedure(Connection connection, JdbcResultExtractor extractor) {
         JdbcResult result = extractor.getResult();
         String sql = result.getSql();
 
         try (CallableStatement callStmt = connection.prepareCall(sql)) {
+            if (fetchSize > 0) { callStmt.setFetchSize(fetchSize); }
             //callStmt.setString(1, "...");
             //callStmt.registerOutParameter(2, OracleTypes.CURSOR);
 
@@ -245,8 +284,11 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
             results.get(0).forEach((column, value) -> {
                 if (value != null && !StringUtils.equals(value, treatNullAs)) { newRow.put(column, value); }
             });
-            results.remove(0);
-            results.add(newRow);
+
+            // query result is read-only
+            List<Map<String, String>> packed = new ArrayList<>();
+            packed.add(newRow);
+            return packed;
         }
 
         return results;
@@ -255,7 +297,10 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
     protected void setAutoCommit(Boolean autoCommit) { this.autoCommit = autoCommit; }
 
     protected Boolean isAutoCommit() {
-        return autoCommit != null ? autoCommit : ((BasicDataSource) getDataSource()).getDefaultAutoCommit();
+        if (autoCommit != null) { return autoCommit; }
+        DataSource dataSource = getDataSource();
+        return dataSource instanceof BasicDataSource ?
+               ((BasicDataSource) dataSource).getDefaultAutoCommit() : DEF_AUTOCOMMIT;
     }
 
     protected <T extends JdbcResult> T resultToFile(ResultSet rs, T result, File file) throws SQLException {
@@ -307,26 +352,42 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         return result;
     }
 
+    /**
+     * stream the rows of {@code rs} into a {@link ColumnarRows}, without creating any intermediate row objects.
+     * The result is still accessible as a list of map (column name and value).
+     */
     protected <T extends JdbcResult> T resultToListOfMap(ResultSet rs, T result) throws SQLException {
         if (rs == null || !rs.next()) { return result; }
 
-        List<Map<String, String>> rows = new ArrayList<>();
         ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        // same column label found more than once? last one wins (but the position of the first one is retained)
+        List<String> columns = new ArrayList<>();
+        Map<String, Integer> sourceIndices = new HashMap<>();
+        for (int i = 1; i <= columnCount; i++) {
+            String column = StringUtils.trim(metaData.getColumnLabel(i));
+            if (!sourceIndices.containsKey(column)) { columns.add(column); }
+            sourceIndices.put(column, i);
+        }
+
+        int[] sources = new int[columns.size()];
+        for (int i = 0; i < sources.length; i++) { sources[i] = sourceIndices.get(columns.get(i)); }
+
+        ColumnarRows rows = new ColumnarRows(columns);
+        String[] values = new String[sources.length];
 
         // recycle through all rows
         do {
-            Map<String, String> row = new LinkedHashMap<>();
-
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (int i = 0; i < sources.length; i++) {
                 // rs.getString(): String representation of column value, or null if the column is SQL NULL.
-                String value = rs.getString(i);
-                if (value == null && treatNullAs != null) { value = treatNullAs; }
-                row.put(StringUtils.trim(metaData.getColumnLabel(i)), value);
+                String value = rs.getString(sources[i]);
+                values[i] = value == null && treatNullAs != null ? treatNullAs : value;
             }
-
-            rows.add(row);
+            rows.addRow(values);
         } while (rs.next());
 
+        rows.complete();
         result.setData(rows);
         return result;
     }
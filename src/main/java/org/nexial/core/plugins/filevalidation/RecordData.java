@@ -32,6 +32,7 @@ public class RecordData {
     private int totalRecordsProcessed;
     private String inputFile;
     private String excelFile;
+    // not retained by StreamingFileValidator, which keeps only the errors and map values of the records validated
     private transient Map<Integer, RecordBean> records;
     private transient Map<Integer, String> skippedRecords;
     private boolean hasError;
@@ -17,122 +17,85 @@
 
 package org.nexial.core.plugins.filevalidation.validators;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
-import org.apache.commons.collections4.map.ListOrderedMap;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.nexial.core.plugins.filevalidation.FieldBean;
-import org.nexial.core.plugins.filevalidation.RecordBean;
-import org.nexial.core.plugins.filevalidation.RecordData;
+import org.apache.commons.lang3.tuple.Pair;
 import org.nexial.core.plugins.filevalidation.config.FieldConfig;
-import org.nexial.core.plugins.filevalidation.config.MasterConfig;
 import org.nexial.core.plugins.filevalidation.config.RecordConfig;
-import org.nexial.core.utils.ConsoleUtils;
 
-import static org.nexial.core.utils.CheckUtils.requiresNotNull;
-import static org.nexial.core.utils.CheckUtils.requiresReadableFile;
+public class DelimitedFileValidator extends StreamingFileValidator {
 
-public class DelimitedFileValidator implements MasterFileValidator {
-    private List<RecordConfig> configs;
+    // (field separator, record id position) -> record id -> index of the matching config
+    private final Map<Pair<String, Integer>, Map<String, Integer>> recordIds = new LinkedHashMap<>();
 
     @Override
-    public void setMasterConfig(MasterConfig masterConfig) {
-        requiresNotNull(masterConfig, "Failed to create master config.");
-        this.configs = masterConfig.getConfigs(masterConfig);
-    }
-
-    @Override
-    public RecordData parseAndValidate(String targetFilePath) {
-        requiresReadableFile(targetFilePath);
-        List<String> targetLines;
-        File targetFile = new File(targetFilePath);
-        try {
-            targetLines = FileUtils.readLines(targetFile, "UTF-8");
+    protected void prepareRecordLookup(List<RecordConfig> configs) {
+        recordIds.clear();
+        for (int i = 0; i < configs.size(); i++) {
+            RecordConfig recordConfig = configs.get(i);
+            if (recordConfig == null) { continue; }
+
+            // find recordId position to get actual recordID value
+            List<FieldConfig> fieldConfigs = recordConfig.getFieldConfigList();
+            int recordIdPosition = 0;
+            for (int n = 0; n < fieldConfigs.size(); n++) {
+                if (fieldConfigs.get(n).getFieldname().equals(recordConfig.getRecordIdFiled())) {
+                    recordIdPosition = n;
+                    break;
+                }
+            }
 
-        } catch (IOException e) {
-            throw new IllegalStateException("Unable to locate targetFile " + targetFile.getAbsolutePath());
+            recordIds.computeIfAbsent(Pair.of(recordConfig.getFieldSeparator(), recordIdPosition),
+                                      position -> new HashMap<>())
+                     .putIfAbsent(recordConfig.getRecordId(), i);
         }
+    }
 
-        RecordData recordData = new RecordData();
-        Map<Integer, RecordBean> recordSet = new HashMap<>();
-        Map<Integer, String> skippedRecords = new ListOrderedMap<>();
-        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
-
-        Map<String, Number> mapValues = new ListOrderedMap<>();
-        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
-
-        try {
-            for (int i = 0; i < targetLines.size(); i++) {
-                RecordBean recordBean = new RecordBean();
-                recordBean.setRecordNumber(i);
-                String targetLine = targetLines.get(i);
-
-                List<FieldBean> fields = new ArrayList<>();
-
-                for (RecordConfig recordConfig : configs) {
-                    if (recordConfig == null) { continue; }
-
-                    List<FieldConfig> configs = recordConfig.getFieldConfigList();
-                    String[] fieldValues =
-                        StringUtils.splitByWholeSeparatorPreserveAllTokens(targetLine,
-                                                                           recordConfig.getFieldSeparator());
-
-                    // find recordId position to get actual recordID value
-                    String expectedRecordIdValue = recordConfig.getRecordId();
-                    int recordIdPosition = 0;
-                    for (int n = 0; n < configs.size(); n++) {
-                        if (configs.get(n).getFieldname().equals(recordConfig.getRecordIdFiled())) {
-                            recordIdPosition = n;
-                            break;
-                        }
-                    }
+    @Override
+    protected ParsedLine parse(String targetLine) {
+        // when more than one config matches, the first one configured wins
+        int matched = -1;
+        String separator = null;
+        String[] fieldValues = null;
+        for (Entry<Pair<String, Integer>, Map<String, Integer>> entry : recordIds.entrySet()) {
+            Pair<String, Integer> position = entry.getKey();
+            if (fieldValues == null || !StringUtils.equals(separator, position.getLeft())) {
+                separator = position.getLeft();
+                fieldValues = StringUtils.splitByWholeSeparatorPreserveAllTokens(targetLine, separator);
+            }
 
-                    // condition to identify the record with config
-                    if (fieldValues[recordIdPosition].equals(expectedRecordIdValue)) {
+            int recordIdPosition = position.getRight();
+            if (fieldValues == null || fieldValues.length <= recordIdPosition) { continue; }
 
-                        int expectedRecords = configs.size() + 1;
-                        if (fieldValues.length != configs.size() + 1) {
-                            String msg = "Record ID: " +
-                                         expectedRecordIdValue +
-                                         " - Skipped Validation; Expected records: " +
-                                         expectedRecords + ". But Actual records found: " + fieldValues.length;
-                            skippedRecords.put(i, msg);
-                            continue;
-                        }
+            Integer index = entry.getValue().get(fieldValues[recordIdPosition]);
+            if (index != null && (matched == -1 || index < matched)) { matched = index; }
+        }
+        if (matched == -1) { return null; }
 
-                        for (int j = 0; j < configs.size(); j++) {
-                            FieldBean field = new FieldBean(configs.get(j), fieldValues[j]);
-                            field.setRecord(recordBean);
-                            fields.add(field);
-                        }
+        RecordConfig recordConfig = configs.get(matched);
+        if (!StringUtils.equals(separator, recordConfig.getFieldSeparator())) {
+            fieldValues = StringUtils.splitByWholeSeparatorPreserveAllTokens(targetLine,
+                                                                             recordConfig.getFieldSeparator());
+        }
 
-                        recordBean.setFields(fields);
-                        validationsExecutor.doBasicValidations(recordBean);
-                        recordBean.setRecordData(recordData);
-                        mapValues = validationsExecutor.collectMapValues(recordConfig, recordBean, mapValues);
-                        recordData.setMapValues(mapValues);
-                        // add recordBean to recordSet and end loop
-                        recordSet.put(i, recordBean);
-                        recordData.setRecords(recordSet);
-                        break;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            ConsoleUtils.log("File validation failed. "+e.getMessage());
-        } finally {
-            validationsExecutor.restoreValuesToContext(tempDupValues);
+        int expectedRecords = recordConfig.getFieldConfigList().size() + 1;
+        if (fieldValues.length != expectedRecords) {
+            return ParsedLine.skipped(recordConfig,
+                                      "Record ID: " +
+                                      recordConfig.getRecordId() +
+                                      " - Skipped Validation; Expected records: " +
+                                      expectedRecords + ". But Actual records found: " + fieldValues.length);
         }
-        recordData.setSkippedRecords(skippedRecords);
-        recordData.setTotalRecordsProcessed(targetLines.size());
-        validationsExecutor.executeValidations(recordData);
 
-        return recordData;
+        return ParsedLine.matched(recordConfig, fieldValues);
     }
-}
\ No newline at end of file
+
+    /** all lines read are counted as processed, whether they match any of the record configs or not */
+    @Override
+    protected int totalRecordsProcessed(int lineCount, int validatedCount) { return lineCount; }
+}
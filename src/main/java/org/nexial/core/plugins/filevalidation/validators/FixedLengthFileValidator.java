@@ -17,123 +17,70 @@
 
 package org.nexial.core.plugins.filevalidation.validators;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
-import org.apache.commons.collections4.map.ListOrderedMap;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.nexial.core.plugins.filevalidation.FieldBean;
-import org.nexial.core.plugins.filevalidation.RecordBean;
-import org.nexial.core.plugins.filevalidation.RecordData;
+import org.apache.commons.lang3.tuple.Pair;
 import org.nexial.core.plugins.filevalidation.config.FieldConfig;
-import org.nexial.core.plugins.filevalidation.config.MasterConfig;
 import org.nexial.core.plugins.filevalidation.config.RecordConfig;
 import org.nexial.core.utils.ConsoleUtils;
 
-import static org.nexial.core.utils.CheckUtils.requiresNotNull;
-import static org.nexial.core.utils.CheckUtils.requiresReadableFile;
+public class FixedLengthFileValidator extends StreamingFileValidator {
 
-public class FixedLengthFileValidator implements MasterFileValidator {
-
-    private List<RecordConfig> configs;
+    // record id position (from, to) -> record id -> index of the matching config
+    private final Map<Pair<Integer, Integer>, Map<String, Integer>> recordIds = new LinkedHashMap<>();
 
     @Override
-    public void setMasterConfig(MasterConfig masterConfig) {
-        requiresNotNull(masterConfig, "Failed to create master config");
-        this.configs = masterConfig.getConfigs(masterConfig);
-    }
-
-    public RecordData parseAndValidate(String targetFilePath) {
-        requiresReadableFile(targetFilePath);
-        File targetFile = new File(targetFilePath);
-        List<String> targetLines;
-        try {
-            targetLines = FileUtils.readLines(targetFile, "UTF-8");
-        } catch (IOException e) {
-            throw new IllegalStateException("Unable to locate targetFile " + targetFilePath);
-        }
-        RecordData recordData = new RecordData();
-        Map<Integer, RecordBean> recordSet = new HashMap<>();
-        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
-        Map<String, Number> mapValues = new ListOrderedMap<>();
-        Map<Integer, String> skippedRecords = new ListOrderedMap<>();
-
-        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
-
-        try {
-            for (int i = 0; i < targetLines.size(); i++) {
-                RecordBean recordBean = new RecordBean();
-                recordBean.setRecordNumber(i);
-                String targetLine = targetLines.get(i);
-
-                List<FieldBean> fields = new ArrayList<>();
-                for (RecordConfig recordConfig : configs) {
-
-                    if (recordConfig != null) {
-                        List<FieldConfig> configs = recordConfig.getFieldConfigList();
-                        String expectedRecordId = recordConfig.getRecordId();
-                        String actualRecordId = null;
-                        for (FieldConfig config : configs) {
-                            if (config.getFieldname().equals(recordConfig.getRecordIdFiled())) {
-                                actualRecordId = StringUtils.substring(targetLine, config.getPositionfrom() - 1,
-                                                                       config.getPositionto());
-                                break;
-                            }
-                        }
-
-                        // condition to identify the record with config
-                        if (expectedRecordId.equals(actualRecordId)) {
-                            int expectedLength = configs.get(configs.size() - 1).getPositionto();
-                            if (targetLine.length() != expectedLength) {
-                                String msg = "Record ID: " +
-                                             expectedRecordId +
-                                             " - Skipped Validation; Expected record length: " +
-                                             expectedLength + ". But Actual length found: " + targetLine.length();
-                                ConsoleUtils.log(msg);
-                                skippedRecords.put(i, msg);
-                                continue;
-                            }
-                            for (FieldConfig config : configs) {
-                                String fieldValue = StringUtils.substring(targetLine,
-                                                                          config.getPositionfrom() - 1,
-                                                                          config.getPositionto());
-                                FieldBean field = new FieldBean(config, fieldValue);
-                                field.setRecord(recordBean);
-                                fields.add(field);
-                            }
-
-                            recordBean.setFields(fields);
-                            validationsExecutor.doBasicValidations(recordBean);
-                            recordBean.setRecordData(recordData);
-
-                            mapValues = validationsExecutor.collectMapValues(recordConfig, recordBean, mapValues);
-                            recordData.setMapValues(mapValues);
-                            recordSet.put(i, recordBean);
-                            recordData.setRecords(recordSet);
-                            break;
-                        }
-
-                    }
-
-                    // todo: (V2) error tolerance to control the parsing of number of lines
+    protected void prepareRecordLookup(List<RecordConfig> configs) {
+        recordIds.clear();
+        for (int i = 0; i < configs.size(); i++) {
+            RecordConfig recordConfig = configs.get(i);
+            if (recordConfig == null) { continue; }
+
+            for (FieldConfig config : recordConfig.getFieldConfigList()) {
+                if (config.getFieldname().equals(recordConfig.getRecordIdFiled())) {
+                    recordIds.computeIfAbsent(Pair.of(config.getPositionfrom(), config.getPositionto()),
+                                              position -> new HashMap<>())
+                             .putIfAbsent(recordConfig.getRecordId(), i);
+                    break;
                 }
             }
-        } catch (Exception e) {
-            ConsoleUtils.log("File validation failed. " + e.getMessage());
-        } finally {
-            validationsExecutor.restoreValuesToContext(tempDupValues);
         }
-
-        recordData.setSkippedRecords(skippedRecords);
-        recordData.setTotalRecordsProcessed(recordSet.entrySet().size());
-        validationsExecutor.executeValidations(recordData);
-        return recordData;
     }
 
+    @Override
+    protected ParsedLine parse(String targetLine) {
+        // when more than one config matches, the first one configured wins
+        int matched = -1;
+        for (Entry<Pair<Integer, Integer>, Map<String, Integer>> entry : recordIds.entrySet()) {
+            Pair<Integer, Integer> position = entry.getKey();
+            String actualRecordId = StringUtils.substring(targetLine, position.getLeft() - 1, position.getRight());
+            Integer index = entry.getValue().get(actualRecordId);
+            if (index != null && (matched == -1 || index < matched)) { matched = index; }
+        }
+        if (matched == -1) { return null; }
+
+        RecordConfig recordConfig = configs.get(matched);
+        List<FieldConfig> configs = recordConfig.getFieldConfigList();
+        int expectedLength = configs.get(configs.size() - 1).getPositionto();
+        if (targetLine.length() != expectedLength) {
+            String msg = "Record ID: " +
+                         recordConfig.getRecordId() +
+                         " - Skipped Validation; Expected record length: " +
+                         expectedLength + ". But Actual length found: " + targetLine.length();
+            ConsoleUtils.log(msg);
+            return ParsedLine.skipped(recordConfig, msg);
+        }
 
-}
\ No newline at end of file
+        String[] fieldValues = new String[configs.size()];
+        for (int i = 0; i < configs.size(); i++) {
+            FieldConfig config = configs.get(i);
+            fieldValues[i] = StringUtils.substring(targetLine, config.getPositionfrom() - 1, config.getPositionto());
+        }
+        return ParsedLine.matched(recordConfig, fieldValues);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.core.plugins.filevalidation.FieldBean;
+import org.nexial.core.plugins.filevalidation.RecordBean;
+
+import static org.nexial.core.NexialConst.TOKEN_START;
+
+/**
+ * a SQL validation query (as configured), with its {@code ${field}} tokens to be substituted by the field values of
+ * a record.
+ * <p>
+ * A simple lookup query - one {@code SELECT ... FROM ... WHERE} with each token in the form of
+ * {@code column = '${field}'} or {@code column = ${field}}, joined by {@code AND} - can also be run for many records
+ * at once: each such predicate is turned into {@code column IN (?, ?, ...)} and the distinct key columns are selected
+ * instead. A record finds a match if its key values are found in the rows returned. Anything more involved (OR, NOT,
+ * sub-query, grouping, functions in the select list, etc.) is not batched.
+ */
+final class SqlLookup {
+    private static final Pattern TOKEN = Pattern.compile("\\$\\{([^}]+)}");
+    private static final Pattern KEY_PREDICATE =
+        Pattern.compile("([A-Za-z_][\\w.$#]*)\\s*=\\s*('?)\\$\\{([^}]+)}\\2", Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'");
+    private static final Pattern NOT_BATCHABLE = Pattern.compile(
+        "\\b(or|not|exists|in|like|between|group|having|union|intersect|except|minus|order|limit|offset|fetch|top|" +
+        "rownum|distinct|case)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SELECT = Pattern.compile("\\bselect\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FROM = Pattern.compile("\\bfrom\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+
+    private final String sql;
+    private final List<String> tokens = new ArrayList<>();
+
+    // only for batchable query
+    private final List<String> keyColumns = new ArrayList<>();
+    private final List<String> keyFields = new ArrayList<>();
+    private final List<Boolean> keyQuoted = new ArrayList<>();
+    private String[] fromParts;
+
+    private SqlLookup(String sql) {
+        this.sql = sql;
+
+        Matcher matcher = TOKEN.matcher(sql);
+        while (matcher.find()) { tokens.add(StringUtils.trim(matcher.group(1))); }
+
+        prepareBatch();
+    }
+
+    static SqlLookup compile(String sql) { return new SqlLookup(sql); }
+
+    boolean isBatchable() { return fromParts != null; }
+
+    /** substitute each token that refers to a field of {@code record} with its value */
+    String resolve(RecordBean record) {
+        if (tokens.isEmpty()) { return sql; }
+
+        StringBuffer resolved = new StringBuffer();
+        Matcher matcher = TOKEN.matcher(sql);
+        while (matcher.find()) {
+            FieldBean field = findField(record, StringUtils.trim(matcher.group(1)));
+            String replacement = field == null ? matcher.group() : field.getFieldValue();
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    /**
+     * the key values of {@code record}, as normalized for comparison with the lookup result. Null if the record
+     * cannot be looked up in batch (missing field, or non-numeric value for unquoted column).
+     */
+    List<String> toKey(RecordBean record) {
+        if (!isBatchable()) { return null; }
+
+        List<String> key = new ArrayList<>(keyFields.size());
+        for (int i = 0; i < keyFields.size(); i++) {
+            FieldBean field = findField(record, keyFields.get(i));
+            if (field == null || field.getFieldValue() == null) { return null; }
+
+            String value = keyQuoted.get(i) ? field.getFieldValue() : normalizeNumber(field.getFieldValue());
+            if (value == null) { return null; }
+            key.add(value);
+        }
+        return key;
+    }
+
+    /** batch query for {@code keys}; the parameters to bind are added to {@code params} */
+    String toBatchSql(Collection<List<String>> keys, List<Object> params) {
+        StringBuilder query = new StringBuilder("SELECT DISTINCT ")
+            .append(StringUtils.join(keyColumns, ", ")).append(" ").append(fromParts[0]);
+
+        for (int i = 0; i < keyColumns.size(); i++) {
+            Set<String> values = new LinkedHashSet<>();
+            for (List<String> key : keys) { values.add(key.get(i)); }
+
+            query.append(keyColumns.get(i)).append(" IN (");
+            for (String value : values) {
+                query.append("?,");
+                params.add(keyQuoted.get(i) ? value : new BigDecimal(value));
+            }
+            query.setLength(query.length() - 1);
+            query.append(")").append(fromParts[i + 1]);
+        }
+
+        return query.toString();
+    }
+
+    /** key of a row returned by the batch query, normalized as per {@link #toKey(RecordBean)} */
+    List<String> toKey(Map<String, String> row, List<String> columns) {
+        if (columns == null || columns.size() != keyColumns.size()) { return null; }
+
+        List<String> key = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            String value = row.get(columns.get(i));
+            key.add(keyQuoted.get(i) || value == null ? value : normalizeNumber(value));
+        }
+        return key;
+    }
+
+    private void prepareBatch() {
+        if (tokens.isEmpty()) { return; }
+
+        // examine the query without its key predicates and literals, which may contain anything
+        String query = QUOTED.matcher(KEY_PREDICATE.matcher(sql).replaceAll(" key ")).replaceAll("''");
+        Matcher select = SELECT.matcher(query);
+        Matcher from = FROM.matcher(query);
+        if (!StringUtils.startsWithIgnoreCase(StringUtils.trim(query), "select") ||
+            !select.find() || !from.find() ||
+            count(SELECT, query) != 1 || count(FROM, query) != 1 || count(WHERE, query) != 1 ||
+            NOT_BATCHABLE.matcher(query).find() || StringUtils.contains(query, TOKEN_START)) {
+            return;
+        }
+
+        // no function (i.e. count) or literal in the select list, since it is replaced by the key columns
+        if (StringUtils.containsAny(query.substring(select.end(), from.start()), '(', '\'')) { return; }
+
+        // the rest is split around each key predicate
+        Matcher fromMatcher = FROM.matcher(sql);
+        Matcher whereMatcher = WHERE.matcher(sql);
+        if (!fromMatcher.find() || !whereMatcher.find(fromMatcher.start())) { return; }
+
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = KEY_PREDICATE.matcher(sql);
+        int last = fromMatcher.start();
+        while (matcher.find()) {
+            // all key predicates must be in the where clause
+            if (matcher.start() < whereMatcher.end()) {
+                keyColumns.clear();
+                keyQuoted.clear();
+                keyFields.clear();
+                return;
+            }
+            parts.add(sql.substring(last, matcher.start()));
+            keyColumns.add(matcher.group(1));
+            keyQuoted.add(StringUtils.isNotEmpty(matcher.group(2)));
+            keyFields.add(StringUtils.trim(matcher.group(3)));
+            last = matcher.end();
+        }
+        parts.add(sql.substring(last));
+
+        if (keyColumns.size() != tokens.size()) {
+            keyColumns.clear();
+            keyQuoted.clear();
+            keyFields.clear();
+            return;
+        }
+        fromParts = parts.toArray(new String[0]);
+    }
+
+    private static FieldBean findField(RecordBean record, String fieldName) {
+        for (FieldBean field : record.getFields()) {
+            if (field.getConfig().getFieldname().equals(fieldName)) { return field; }
+        }
+        return null;
+    }
+
+    private static String normalizeNumber(String value) {
+        String number = StringUtils.trim(value);
+        if (!NumberUtils.isCreatable(number)) { return null; }
+        try {
+            return new BigDecimal(number).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            // hex or octal, perhaps; not a SQL numeric literal anyhow
+            return null;
+        }
+    }
+
+    private static int count(Pattern pattern, String text) {
+        int count = 0;
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) { count++; }
+        return count;
+    }
+
+    @Override
+    public String toString() { return sql; }
+}
@@ -18,9 +18,12 @@
 package org.nexial.core.plugins.filevalidation.validators;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.plugins.NexialCommand;
@@ -32,12 +35,10 @@ import org.nexial.core.plugins.filevalidation.config.ValidationConfig;
 import org.nexial.core.plugins.filevalidation.config.ValidationsBean.ValidationmethodsBean.ConditionBean;
 import org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.Severity;
 import org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.ValidationType;
+import org.nexial.core.utils.ConsoleUtils;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 
-import static org.nexial.core.NexialConst.TOKEN_END;
-import static org.nexial.core.NexialConst.TOKEN_START;
 import static org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.buildError;
 import static org.nexial.core.utils.CheckUtils.requiresNotBlank;
 
@@ -45,8 +46,20 @@ public class SqlValidator implements FieldValidator {
 
     private static final int DB_PROFILE_INDEX = 0;
     private static final int SQL_QUERY_INDEX = 1;
+    // max. number of distinct keys per batch lookup; well within the limit of IN-list for most databases
+    private static final int MAX_BATCH_KEYS = 500;
+    // max. number of lookup outcomes retained for the current validation
+    private static final int MAX_OUTCOMES = 100000;
+    private static final String FOUND = "";
     FieldValidator nextValidator;
 
+    private final Map<String, SqlLookup> lookups = new HashMap<>();
+    // db and resolved sql -> FOUND, or the reason why no matching row was found
+    private final Map<String, String> outcomes = new LinkedHashMap<String, String>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) { return size() > MAX_OUTCOMES; }
+    };
+
     @Override
     public FieldValidator setNextValidator(FieldValidator nextValidator) {
         this.nextValidator = nextValidator;
@@ -64,30 +77,22 @@ public class SqlValidator implements FieldValidator {
 
             if (!resolveConditions(field, validationConfig)) { break; }
             if (validationConfig.getType().equals(ValidationType.SQL.toString())) {
-                JsonArray listValues = (JsonArray) validationConfig.getParams();
-                List stringList = new Gson().fromJson(listValues, ArrayList.class);
+                List stringList = new Gson().fromJson(validationConfig.getParams(), ArrayList.class);
                 String actual = field.getFieldValue().trim();
                 String dbProfile = String.valueOf(stringList.get(DB_PROFILE_INDEX));
                 String sql = String.valueOf(stringList.get(SQL_QUERY_INDEX));
                 requiresNotBlank(dbProfile, "invalid db", dbProfile);
                 requiresNotBlank(sql, "invalid sql", sql);
-                String[] fields = lookUpFieldNames(sql);
-                if (fields != null && fields.length > 0) {
-                    sql = substituteFieldValues(sql, fields, field.getRecord());
-                }
-                sql = context.handleExpression(sql);
-                String resultVar = getClass().getName() + System.currentTimeMillis() + "dbresult";
-                ((RdbmsCommand) rdbms).runSQL(resultVar, dbProfile, sql);
-                JdbcResult result = ((JdbcResult) context.getObjectData(resultVar));
-
-                if (result.getRowCount() < 1) {
-                    String msg =
-                        " No matched row(s) found. Executed query in " + result.getElapsedTime() + " ms with " +
-                        (result.hasError() ?
-                         "ERROR " + result.getError() :
-                         result.getRowCount() + " row(s)");
-                    logErrorMessage(field, msg, actual);
+
+                sql = context.handleExpression(toLookup(sql).resolve(field.getRecord()));
+                String outcomeKey = dbProfile + "\n" + sql;
+                String outcome = outcomes.get(outcomeKey);
+                if (outcome == null) {
+                    outcome = runLookup(context, (RdbmsCommand) rdbms, dbProfile, sql);
+                    outcomes.put(outcomeKey, outcome);
                 }
+
+                if (!FOUND.equals(outcome)) { logErrorMessage(field, outcome, actual); }
             }
         }
 
@@ -95,6 +100,81 @@ public class SqlValidator implements FieldValidator {
         // nextValidator.validateField(field);
     }
 
+    /**
+     * look up the sql validations of {@code records} in as few queries as possible, so that
+     * {@link #validateField(FieldBean)} can resolve them from the outcomes found. Only simple lookup queries are done
+     * in batch (see {@link SqlLookup}), and only the matches found are kept; a record without a match is still looked
+     * up on its own during validation, so that its outcome remains that of the query as configured.
+     */
+    public void prefetch(List<RecordBean> records) {
+        ExecutionContext context = ExecutionThread.get();
+
+        // (db, query) -> key values -> outcome keys of the records with these key values
+        Map<Pair<String, SqlLookup>, Map<List<String>, List<String>>> batches = new LinkedHashMap<>();
+        for (RecordBean record : records) {
+            for (FieldBean field : record.getFields()) {
+                List<ValidationConfig> validationConfigs = field.getConfig().getValidationConfigs();
+                if (validationConfigs == null || validationConfigs.isEmpty()) { continue; }
+
+                for (ValidationConfig validationConfig : validationConfigs) {
+                    if (!resolveConditions(field, validationConfig)) { break; }
+                    if (!validationConfig.getType().equals(ValidationType.SQL.toString())) { continue; }
+
+                    List stringList = new Gson().fromJson(validationConfig.getParams(), ArrayList.class);
+                    String dbProfile = String.valueOf(stringList.get(DB_PROFILE_INDEX));
+                    SqlLookup lookup = toLookup(String.valueOf(stringList.get(SQL_QUERY_INDEX)));
+                    List<String> key = lookup.toKey(record);
+                    if (key == null) { continue; }
+
+                    String outcomeKey = dbProfile + "\n" + context.handleExpression(lookup.resolve(record));
+                    if (outcomes.containsKey(outcomeKey)) { continue; }
+
+                    batches.computeIfAbsent(Pair.of(dbProfile, lookup), query -> new HashMap<>())
+                           .computeIfAbsent(key, values -> new ArrayList<>())
+                           .add(outcomeKey);
+                }
+            }
+        }
+
+        if (batches.isEmpty()) { return; }
+
+        RdbmsCommand rdbms = (RdbmsCommand) context.findPlugin("rdbms");
+        batches.forEach((query, outcomeKeys) -> {
+            List<List<String>> keys = new ArrayList<>(outcomeKeys.keySet());
+            for (int from = 0; from < keys.size(); from += MAX_BATCH_KEYS) {
+                List<Object> params = new ArrayList<>();
+                SqlLookup lookup = query.getValue();
+                String sql = lookup.toBatchSql(keys.subList(from, Math.min(from + MAX_BATCH_KEYS, keys.size())),
+                                               params);
+                JdbcResult result = rdbms.executeQuery(query.getKey(), context.handleExpression(sql), params);
+                if (result == null || result.hasError()) {
+                    ConsoleUtils.log("Unable to look up '" + lookup + "' in batch; proceed with one query per record" +
+                                     (result == null ? "" : ": " + result.getError()));
+                    return;
+                }
+
+                if (!result.hasData()) { continue; }
+                for (Map<String, String> row : result.getData()) {
+                    List<String> found = outcomeKeys.get(lookup.toKey(row, result.getColumns()));
+                    if (found != null) { found.forEach(outcomeKey -> outcomes.put(outcomeKey, FOUND)); }
+                }
+            }
+        });
+    }
+
+    private SqlLookup toLookup(String sql) { return lookups.computeIfAbsent(sql, SqlLookup::compile); }
+
+    private static String runLookup(ExecutionContext context, RdbmsCommand rdbms, String dbProfile, String sql) {
+        String resultVar = SqlValidator.class.getName() + System.currentTimeMillis() + "dbresult";
+        rdbms.runSQL(resultVar, dbProfile, sql);
+        JdbcResult result = ((JdbcResult) context.getObjectData(resultVar));
+        context.removeData(resultVar);
+
+        if (result.getRowCount() > 0) { return FOUND; }
+        return " No matched row(s) found. Executed query in " + result.getElapsedTime() + " ms with " +
+               (result.hasError() ? "ERROR " + result.getError() : result.getRowCount() + " row(s)");
+    }
+
     private boolean resolveConditions(FieldBean field, ValidationConfig validationConfig) {
 
         if (validationConfig.getConditionBeans() != null) {
@@ -117,28 +197,6 @@ public class SqlValidator implements FieldValidator {
         return true;
     }
 
-    private String[] lookUpFieldNames(String sql) {
-
-        String[] fieldNames = StringUtils.substringsBetween(sql, TOKEN_START, TOKEN_END);
-
-        return fieldNames;
-    }
-
-    private String substituteFieldValues(String query, String[] fields, RecordBean recordBean) {
-
-        for (String fieldName : fields) {
-            for (FieldBean fieldBean : recordBean.getFields()) {
-                if (fieldBean.getConfig().getFieldname().equals(fieldName.trim())) {
-                    query = StringUtils.replaceEach(query, new String[]{TOKEN_START, TOKEN_END}, new String[]{"", ""});
-                    query = StringUtils.replace(query, fieldName, fieldBean.getFieldValue());
-                    break;
-                }
-            }
-        }
-
-        return query;
-    }
-
     private void logErrorMessage(FieldBean field, String msg, String actual) {
         String errorMessage = ErrorMessage.sqlCheckError(field, msg, actual);
         field.getErrors().add(buildError(field,
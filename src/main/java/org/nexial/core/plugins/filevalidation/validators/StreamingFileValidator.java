@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.ListOrderedMap;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.plugins.filevalidation.FieldBean;
+import org.nexial.core.plugins.filevalidation.RecordBean;
+import org.nexial.core.plugins.filevalidation.RecordData;
+import org.nexial.core.plugins.filevalidation.config.FieldConfig;
+import org.nexial.core.plugins.filevalidation.config.MasterConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig;
+import org.nexial.core.plugins.filevalidation.config.ValidationConfig;
+import org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.Severity;
+import org.nexial.core.plugins.filevalidation.validators.ValidationsExecutor.ValidationType;
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.Data.DEF_FILE_VALIDATION_CHUNK_SIZE;
+import static org.nexial.core.NexialConst.Data.FILE_VALIDATION_CHUNK_SIZE;
+import static org.nexial.core.NexialConst.TOKEN_START;
+import static org.nexial.core.utils.CheckUtils.requiresNotNull;
+import static org.nexial.core.utils.CheckUtils.requiresReadableFile;
+
+/**
+ * validates the target file one chunk of records at a time (as per {@code nexial.fileValidationChunkSize}), instead
+ * of reading the entire file and keeping every parsed record in memory. Within a chunk, records are parsed and
+ * validated in parallel; the map functions (aggregate, average, etc.) are then collected serially and in the order of
+ * the records. Only the errors found, the running map values and the records awaiting these map values are retained.
+ * <p>
+ * Records are matched to their {@link RecordConfig} via a hash lookup on the record id, prepared by the subclass in
+ * {@link #prepareRecordLookup(List)}.
+ */
+public abstract class StreamingFileValidator implements MasterFileValidator {
+    private static final String ERROR = Severity.ERROR.toString();
+
+    protected List<RecordConfig> configs;
+    private int chunkSize;
+
+    // records of these configs are validated only after all map values are collected (i.e. equals ${mapTo})
+    private final Set<RecordConfig> deferredConfigs = new HashSet<>();
+    // records of these configs are validated serially since they depend on the execution context (i.e. sql)
+    private final Set<RecordConfig> serialConfigs = new HashSet<>();
+
+    /** outcome of parsing one line: the matching config and either its field values or the reason to skip it */
+    protected static final class ParsedLine {
+        private final RecordConfig config;
+        private final String[] fieldValues;
+        private final String skipReason;
+
+        private ParsedLine(RecordConfig config, String[] fieldValues, String skipReason) {
+            this.config = config;
+            this.fieldValues = fieldValues;
+            this.skipReason = skipReason;
+        }
+
+        /** {@code fieldValues} are in the same order as the field configs of {@code config} */
+        protected static ParsedLine matched(RecordConfig config, String[] fieldValues) {
+            return new ParsedLine(config, fieldValues, null);
+        }
+
+        protected static ParsedLine skipped(RecordConfig config, String skipReason) {
+            return new ParsedLine(config, null, skipReason);
+        }
+    }
+
+    /** one record of the current chunk, after parsing (and possibly validation) */
+    private static final class ChunkRecord {
+        private final ParsedLine parsed;
+        private final RecordBean record;
+
+        private ChunkRecord(ParsedLine parsed, RecordBean record) {
+            this.parsed = parsed;
+            this.record = record;
+        }
+    }
+
+    /** number of records to validate together; by default as per {@code nexial.fileValidationChunkSize} */
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    @Override
+    public void setMasterConfig(MasterConfig masterConfig) {
+        requiresNotNull(masterConfig, "Failed to create master config");
+        configs = masterConfig.getConfigs(masterConfig);
+
+        deferredConfigs.clear();
+        serialConfigs.clear();
+        for (RecordConfig config : configs) {
+            if (config == null || config.getFieldConfigList() == null) { continue; }
+            for (FieldConfig fieldConfig : config.getFieldConfigList()) {
+                List<ValidationConfig> validationConfigs = fieldConfig.getValidationConfigs();
+                if (CollectionUtils.isEmpty(validationConfigs)) { continue; }
+                for (ValidationConfig validationConfig : validationConfigs) {
+                    if (isMapValueReference(validationConfig)) { deferredConfigs.add(config); }
+                    if (ValidationType.SQL.toString().equals(validationConfig.getType())) { serialConfigs.add(config); }
+                }
+            }
+        }
+
+        prepareRecordLookup(configs);
+    }
+
+    @Override
+    public RecordData parseAndValidate(String targetFilePath) {
+        requiresReadableFile(targetFilePath);
+
+        BufferedReader reader;
+        try {
+            // lenient on malformed input, same as reading the file via FileUtils
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(targetFilePath), UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to locate targetFile " + targetFilePath);
+        }
+
+        RecordData recordData = new RecordData();
+        Map<String, Number> mapValues = new ListOrderedMap<>();
+        recordData.setMapValues(mapValues);
+        Map<Integer, String> skippedRecords = new ListOrderedMap<>();
+        List<RecordBean> deferredRecords = new ArrayList<>();
+        List<Error> errors = new ArrayList<>();
+
+        ValidationsExecutor validationsExecutor = new ValidationsExecutor();
+        Map<String, Object> tempDupValues = validationsExecutor.moveDupValuesFromContext(configs);
+
+        int chunkSize = this.chunkSize > 0 ? this.chunkSize : resolveChunkSize();
+        int lineCount = 0;
+        int validatedCount = 0;
+        try {
+            List<String> lines = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() >= chunkSize) {
+                    validatedCount += validateChunk(lines, lineCount, recordData, validationsExecutor,
+                                                    skippedRecords, deferredRecords, errors);
+                    lineCount += lines.size();
+                    lines.clear();
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                validatedCount += validateChunk(lines, lineCount, recordData, validationsExecutor,
+                                                skippedRecords, deferredRecords, errors);
+                lineCount += lines.size();
+            }
+        } catch (Exception e) {
+            ConsoleUtils.log("File validation failed. " + e.getMessage());
+        } finally {
+            IOUtils.closeQuietly(reader);
+            validationsExecutor.restoreValuesToContext(tempDupValues);
+        }
+
+        // now that all map values are collected, validate the records that refer to them
+        if (!deferredRecords.isEmpty()) {
+            validationsExecutor.prefetchLookups(deferredRecords);
+            for (RecordBean record : deferredRecords) {
+                validationsExecutor.validateFields(record);
+                validationsExecutor.collectErrors(record, errors);
+            }
+            // keep the errors in the order of the records (sort is stable)
+            errors.sort(Comparator.comparingInt(error -> NumberUtils.toInt(error.getRecordLine())));
+        }
+        recordData.printMapFunctionValues();
+
+        recordData.setErrors(errors);
+        recordData.setHasError(errors.stream().anyMatch(error -> ERROR.equals(error.getSeverity())));
+        recordData.setSkippedRecords(skippedRecords);
+        recordData.setTotalRecordsProcessed(totalRecordsProcessed(lineCount, validatedCount));
+        return recordData;
+    }
+
+    /** prepare the record id lookup of {@code configs}, to be used by {@link #parse(String)} */
+    protected abstract void prepareRecordLookup(List<RecordConfig> configs);
+
+    /**
+     * find the config that {@code line} conforms to and parse its field values. Return null if {@code line} matches
+     * none of the record configs. Since lines are parsed in parallel, this method must not modify any shared state.
+     */
+    protected abstract ParsedLine parse(String line);
+
+    /** the number of records processed, as reported; by default only those validated are counted */
+    protected int totalRecordsProcessed(int lineCount, int validatedCount) { return validatedCount; }
+
+    /** returns the number of records validated (or deferred for validation) */
+    private int validateChunk(List<String> lines,
+                              int firstLine,
+                              RecordData recordData,
+                              ValidationsExecutor validationsExecutor,
+                              Map<Integer, String> skippedRecords,
+                              List<RecordBean> deferredRecords,
+                              List<Error> errors) {
+        ChunkRecord[] chunk = new ChunkRecord[lines.size()];
+        IntStream indices = IntStream.range(0, lines.size());
+        if (lines.size() > 1) { indices = indices.parallel(); }
+        indices.forEach(i -> chunk[i] = parseRecord(lines.get(i), firstLine + i, recordData, validationsExecutor));
+
+        // look up the sql validations of this chunk in batch, ahead of validating its records one at a time
+        List<RecordBean> lookups = new ArrayList<>();
+        for (ChunkRecord chunkRecord : chunk) {
+            if (chunkRecord == null || chunkRecord.record == null) { continue; }
+            if (serialConfigs.contains(chunkRecord.parsed.config)) { lookups.add(chunkRecord.record); }
+        }
+        if (!lookups.isEmpty()) { validationsExecutor.prefetchLookups(lookups); }
+
+        int validated = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            ChunkRecord chunkRecord = chunk[i];
+            if (chunkRecord == null) { continue; }
+
+            RecordConfig config = chunkRecord.parsed.config;
+            if (chunkRecord.record == null) {
+                skippedRecords.put(firstLine + i, chunkRecord.parsed.skipReason);
+                continue;
+            }
+
+            validated++;
+            RecordBean record = chunkRecord.record;
+            validationsExecutor.collectMapValues(config, record, recordData.getMapValues());
+            if (deferredConfigs.contains(config)) {
+                deferredRecords.add(record);
+                continue;
+            }
+
+            if (serialConfigs.contains(config)) { validationsExecutor.validateFields(record); }
+            validationsExecutor.collectErrors(record, errors);
+        }
+
+        return validated;
+    }
+
+    /** parse and validate one line; only the validations independent of other records and of context are done here */
+    private ChunkRecord parseRecord(String line,
+                                    int recordNumber,
+                                    RecordData recordData,
+                                    ValidationsExecutor validationsExecutor) {
+        ParsedLine parsed = parse(line);
+        if (parsed == null) { return null; }
+        if (parsed.skipReason != null) { return new ChunkRecord(parsed, null); }
+
+        RecordBean record = new RecordBean();
+        record.setRecordNumber(recordNumber);
+
+        List<FieldConfig> fieldConfigs = parsed.config.getFieldConfigList();
+        List<FieldBean> fields = new ArrayList<>(fieldConfigs.size());
+        for (int i = 0; i < fieldConfigs.size(); i++) {
+            FieldBean field = new FieldBean(fieldConfigs.get(i), parsed.fieldValues[i]);
+            field.setRecord(record);
+            fields.add(field);
+        }
+        record.setFields(fields);
+        record.setRecordData(recordData);
+
+        validationsExecutor.doBasicValidations(record);
+        if (!deferredConfigs.contains(parsed.config) && !serialConfigs.contains(parsed.config)) {
+            validationsExecutor.validateFields(record);
+        }
+        return new ChunkRecord(parsed, record);
+    }
+
+    private static boolean isMapValueReference(ValidationConfig validationConfig) {
+        return ValidationType.EQUALS.toString().equals(validationConfig.getType()) &&
+               validationConfig.getParams() != null &&
+               validationConfig.getParams().isJsonPrimitive() &&
+               StringUtils.startsWith(validationConfig.getParams().getAsString(), TOKEN_START);
+    }
+
+    private static int resolveChunkSize() {
+        ExecutionContext context = ExecutionThread.get();
+        int chunkSize = context == null ?
+                        DEF_FILE_VALIDATION_CHUNK_SIZE :
+                        context.getIntData(FILE_VALIDATION_CHUNK_SIZE, DEF_FILE_VALIDATION_CHUNK_SIZE);
+        return Math.max(chunkSize, 1);
+    }
+}
@@ -19,7 +19,6 @@ package org.nexial.core.plugins.filevalidation.validators;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -35,7 +34,6 @@ import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.NexialFilterList;
 import org.nexial.core.plugins.filevalidation.FieldBean;
 import org.nexial.core.plugins.filevalidation.RecordBean;
-import org.nexial.core.plugins.filevalidation.RecordData;
 import org.nexial.core.plugins.filevalidation.config.FieldConfig;
 import org.nexial.core.plugins.filevalidation.config.MapFunctionConfig;
 import org.nexial.core.plugins.filevalidation.config.RecordConfig;
@@ -48,6 +46,7 @@ public class ValidationsExecutor {
 
     private static final Map<String, DataType> ALL_DATA_TYPES = new HashedMap<>();
     private FieldValidator startValidator;
+    private SqlValidator sqlValidator;
     static final int DEC_SCALE = 25;
     static final RoundingMode ROUND = UP;
     private ExecutionContext context;
@@ -119,17 +118,13 @@ public class ValidationsExecutor {
     public ValidationsExecutor() {
         context = ExecutionThread.get();
         startValidator = new RegexValidator();
+        sqlValidator = new SqlValidator();
         startValidator.setNextValidator(new EqualsValidator()).setNextValidator(new InListValidator()).setNextValidator(
-            new DateValidator()).setNextValidator(new SqlValidator());
+            new DateValidator()).setNextValidator(sqlValidator);
     }
 
-    public void executeValidations(RecordData recordData) {
-
-        // TODO: refactor field validations to take the advantage of Nexial filter
-        doFieldValidations(recordData);
-        recordData.printMapFunctionValues();
-        collectErrors(recordData);
-    }
+    /** look up the sql validations of {@code records} in batch, ahead of validating these records */
+    public void prefetchLookups(List<RecordBean> records) { sqlValidator.prefetch(records); }
 
     public void doBasicValidations(RecordBean recordBean) {
         BasicValidator basicValidator = new BasicValidator();
@@ -355,47 +350,29 @@ public class ValidationsExecutor {
                                  .build();
     }
 
-    private void collectErrors(RecordData recordData) {
-
-        List<Error> errors = new ArrayList<>();
-
-        for (Entry<Integer, RecordBean> recordEntry : recordData.getRecords().entrySet()) {
-
-            List<FieldBean> recordFields = recordEntry.getValue().getFields();
-
-            for (FieldBean recordField : recordFields) {
-
-                if (recordField.getErrors() != null && recordField.getErrors().size() >= 1) {
-                    for (Error error : recordField.getErrors()) {
-
-                        error.setRecordLine(String.valueOf(recordEntry.getKey() + 1));
-                        if (error.getSeverity().equals(Severity.ERROR.toString())) {
-                            recordData.setHasError(true);
-                        }
-
-                        errors.add(error);
-                    }
-                }
-            }
+    /** run the configured field validations (regex, equals, in-list, date, sql) over the fields of {@code record} */
+    public void validateFields(RecordBean recordBean) {
+        for (FieldBean field : recordBean.getFields()) {
+            List<ValidationConfig> validationConfigs = field.getConfig().getValidationConfigs();
+            if (validationConfigs != null && !validationConfigs.isEmpty()) { startValidator.validateField(field); }
         }
-
-        recordData.setErrors(errors);
     }
 
-    private void doFieldValidations(RecordData recordData) {
-        Map<Integer, RecordBean> records = recordData.getRecords();
-        for (Entry<Integer, RecordBean> recordEntry : records.entrySet()) {
-            List<FieldBean> fields = (recordEntry.getValue()).getFields();
-
-            for (FieldBean field : fields) {
-                List<ValidationConfig> validationConfigs = field.getConfig().getValidationConfigs();
-                if (validationConfigs != null && !validationConfigs.isEmpty()) {
-                    startValidator.validateField(field);
-                }
+    /**
+     * add the errors found on the fields of {@code recordBean} to {@code errors}, each marked with its (1-based)
+     * record line. Returns true if any of these errors is of {@link Severity#ERROR}.
+     */
+    public boolean collectErrors(RecordBean recordBean, List<Error> errors) {
+        boolean hasError = false;
+        String recordLine = String.valueOf(recordBean.getRecordNumber() + 1);
+        for (FieldBean recordField : recordBean.getFields()) {
+            if (recordField.getErrors() == null) { continue; }
+            for (Error error : recordField.getErrors()) {
+                error.setRecordLine(recordLine);
+                if (error.getSeverity().equals(Severity.ERROR.toString())) { hasError = true; }
+                errors.add(error);
             }
-
         }
+        return hasError;
     }
-
-
 }
@@ -27,16 +27,19 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.nexial.commons.utils.FileUtil;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.IntegrationConfigException;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
+import org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.OutputFileUtils;
 
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
 
+import static org.nexial.core.plugins.io.CsvExtendedComparison.DEF_BUFFER_SIZE;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.FAIL_FAST;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.THOROUGH;
 import static org.nexial.core.utils.CheckUtils.*;
@@ -66,35 +69,62 @@ public class CsvCommand extends IoCommand {
         if (excelHelper == null) { excelHelper = new ExcelHelper(context); }
     }
 
+    /**
+     * compare {@code expected} and {@code actual} as configured via {@code profile}, and save the result (a
+     * {@link CsvComparisonResult}) as {@code var}.
+     * <p>
+     * When {@code <profile>.compareExt.report} is set, the comparison is done in streaming mode: {@code expected}
+     * and {@code actual} must be files, and the discrepancies are written to the specified report file (as CSV) as
+     * they are found, rather than kept in memory. The result then provides the counts ({@code failCount},
+     * {@code expectedRowCount}, {@code actualRowCount}, {@code successRate}) and the {@code reportFile}, but not the
+     * discrepancies themselves: {@code discrepancies} and {@code failedIdentities} are empty, and
+     * {@code reportAsCSV}, {@code reportAsCSVWithQuotes}, {@code reportAsHTML} and {@code reportAsText} fail.
+     */
     public StepResult compareExtended(String var, String profile, String expected, String actual) {
         requiresValidVariableName(var);
         requiresNotBlank(profile, "Missing profile for compareExtended");
 
-        // expected can either be a file or content
-        String expectedContent;
-        try {
-            expectedContent = OutputFileUtils.resolveContent(expected, context, false);
-        } catch (IOException e) {
-            return StepResult.fail("Unable to retrieve content from " + expected + ": " + e.getMessage());
-        }
-        requiresNotBlank(expectedContent, "No content found for expected", expected);
-
-        // actual can either be a file or content
-        String actualContent;
-        try {
-            actualContent = OutputFileUtils.resolveContent(actual, context, false);
-        } catch (IOException e) {
-            return StepResult.fail("Unable to retrieve content from " + actual + ": " + e.getMessage());
-        }
-        requiresNotBlank(actualContent, "No content found for actual", actual);
-
         String configKey = profile + ".compareExt.";
         String textDelim = context.getTextDelim();
 
         CsvExtendedComparison comparison = new CsvExtendedComparison();
 
-        comparison.setExpectedContent(expectedContent);
-        comparison.setActualContent(actualContent);
+        if (context.hasData(configKey + "report")) {
+            // streaming mode: expected and actual must be files, and the discrepancies are streamed to the report file
+            // (CSV only) as found. Memory use is bounded by the number of rows sorted in memory at a time
+            requires(FileUtil.isFileReadable(expected), "streaming comparison requires expected as a file", expected);
+            requires(FileUtil.isFileReadable(actual), "streaming comparison requires actual as a file", actual);
+            comparison.setExpectedFile(expected);
+            comparison.setActualFile(actual);
+            comparison.setReportFile(context.getStringData(configKey + "report"));
+            if (context.hasData(configKey + "report.format")) {
+                ReportFormat format = ReportFormat.toReportFormat(context.getStringData(configKey + "report.format"));
+                requiresNotNull(format, "Invalid report format", context.getStringData(configKey + "report.format"));
+                comparison.setReportFormat(format);
+            }
+            comparison.setBufferSize(context.getIntData(configKey + "bufferSize", DEF_BUFFER_SIZE));
+        } else {
+            // expected can either be a file or content
+            String expectedContent;
+            try {
+                expectedContent = OutputFileUtils.resolveContent(expected, context, false);
+            } catch (IOException e) {
+                return StepResult.fail("Unable to retrieve content from " + expected + ": " + e.getMessage());
+            }
+            requiresNotBlank(expectedContent, "No content found for expected", expected);
+
+            // actual can either be a file or content
+            String actualContent;
+            try {
+                actualContent = OutputFileUtils.resolveContent(actual, context, false);
+            } catch (IOException e) {
+                return StepResult.fail("Unable to retrieve content from " + actual + ": " + e.getMessage());
+            }
+            requiresNotBlank(actualContent, "No content found for actual", actual);
+
+            comparison.setExpectedContent(expectedContent);
+            comparison.setActualContent(actualContent);
+        }
 
         // identity column(s) is used to identity the records on both expected and actual CSV file
         // this means that even if the content aren't matching line by line, we can use the identity column(s)
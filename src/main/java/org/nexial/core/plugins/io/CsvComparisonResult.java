@@ -17,6 +17,7 @@
 
 package org.nexial.core.plugins.io;
 
+import java.io.*;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -28,6 +29,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat;
 
+import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
 import static org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat.*;
 
 public class CsvComparisonResult {
@@ -42,6 +44,12 @@ public class CsvComparisonResult {
     private Set<String> failedIdentities = new HashSet<>();
     private int expectedRowCount;
     private int actualRowCount;
+    // streaming mode: discrepancies are written to report file as found, instead of being kept in memory
+    private File reportFile;
+    private transient Writer reportWriter;
+    private String reportWrapChar;
+    private String lastFailedIdentity;
+    private int streamedFailCount;
 
     public List<String> getExpectedHeaders() { return expectedHeaders; }
 
@@ -79,29 +87,66 @@ public class CsvComparisonResult {
 
     public void setActualField(String actualField) { this.actualField = actualField; }
 
+    /** discrepancies found; always empty in streaming mode (see {@link #getReportFile()}) */
     public List<List<String>> getDiscrepancies() { return discrepancies; }
 
+    /** identities of the failed records; always empty in streaming mode, use {@link #getFailCount()} instead */
     public Set<String> getFailedIdentities() { return failedIdentities; }
 
-    public int getFailCount() { return CollectionUtils.size(failedIdentities); }
+    public int getFailCount() {
+        return reportFile != null ? streamedFailCount : CollectionUtils.size(failedIdentities);
+    }
 
     public double getSuccessRate() {
-        if (failedIdentities.isEmpty()) { return 1; }
+        int failCount = getFailCount();
+        if (failCount == 0) { return 1; }
         if (actualRowCount <= 0) { return 0; }
-        return (double) (expectedRowCount - failedIdentities.size()) / (double) expectedRowCount;
+        return (double) (expectedRowCount - failCount) / (double) expectedRowCount;
+    }
+
+    /** the report file where discrepancies are streamed to, or null if discrepancies are kept in memory */
+    public File getReportFile() { return reportFile; }
+
+    /**
+     * stream all subsequent discrepancies to {@code reportFile} (as CSV) instead of keeping them in memory. In this
+     * mode, {@link #getDiscrepancies()} and {@link #getFailedIdentities()} remain empty, the {@code reportAs...}
+     * methods are not supported (the report file is the report), and the discrepancies must be reported in identity
+     * order so that the failed identities can be counted as they are found.
+     */
+    void streamReport(File reportFile, ReportFormat format) throws IOException {
+        closeReport();
+        this.reportFile = reportFile;
+        this.reportWrapChar = format == CSV_DOUBLE_QUOTES ? "\"" : "";
+
+        File parent = reportFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory for report file " + reportFile);
+        }
+
+        reportWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), DEF_FILE_ENCODING));
+        reportWriter.write(TextUtils.toString(resolveDisplyableHeaders(), ",") + "\r\n");
+    }
+
+    void closeReport() throws IOException {
+        if (reportWriter == null) { return; }
+        try {
+            reportWriter.close();
+        } finally {
+            reportWriter = null;
+        }
     }
 
     public void addMismatched(String[] record, String field, String expected, String actual) {
-        discrepancies.add(newDiscrepancy(record, field, expected, actual));
+        addDiscrepancy(newDiscrepancy(record, field, expected, actual));
     }
 
     public void addMissingExpected(String[] actualRecord) {
-        discrepancies.add(
+        addDiscrepancy(
             newDiscrepancy(actualRecord, "RECORD MISSING in '" + expectedField + "'", "", actualRecord[0]));
     }
 
     public void addMissingActual(String[] expectedRecord) {
-        discrepancies.add(
+        addDiscrepancy(
             newDiscrepancy(expectedRecord, "RECORD MISSING in '" + actualField + "'", expectedRecord[0], ""));
     }
 
@@ -109,13 +154,16 @@ public class CsvComparisonResult {
     public String toString() {
         boolean readyForReport = CollectionUtils.isNotEmpty(discrepancies) &&
                                  CollectionUtils.isNotEmpty(failedIdentities);
-        String readyVerbiage = readyForReport ? "READY" : "none";
+        // streaming mode: discrepancies are only found in the report file
+        String readyVerbiage = reportFile != null ? "not supported; see reportFile" : readyForReport ? "READY" : "none";
+        String failedVerbiage = reportFile != null ?
+                                "not retained; see failCount" : CollectionUtils.size(failedIdentities) + " found";
 
         return "expectedHeaders=" + expectedHeaders + "\n" +
                "actualHeaders=" + actualHeaders + "\n" +
                "displayFields=" + displayFields + "\n" +
                "identityFields=" + identityFields + "\n" +
-               "failedIdentities=<" + CollectionUtils.size(failedIdentities) + " found>\n" +
+               "failedIdentities=<" + failedVerbiage + ">\n" +
                "failCount=" + getFailCount() + "\n" +
                "expectedRowCount=" + expectedRowCount + "\n" +
                "actualRowCount=" + actualRowCount + "\n" +
@@ -123,7 +171,8 @@ public class CsvComparisonResult {
                "reportAsHTML=<" + readyVerbiage + ">\n" +
                "reportAsText=<" + readyVerbiage + ">\n" +
                "reportAsCSV=<" + readyVerbiage + ">\n" +
-               "reportAsCSVWithQuotes=<" + readyVerbiage + ">\n";
+               "reportAsCSVWithQuotes=<" + readyVerbiage + ">\n" +
+               (reportFile != null ? "reportFile=" + reportFile.getAbsolutePath() + "\n" : "");
     }
 
     public String reportAsHTML() { return externalizeReport(HTML); }
@@ -135,6 +184,10 @@ public class CsvComparisonResult {
     public String reportAsCSVWithQuotes() { return externalizeReport(CSV_DOUBLE_QUOTES); }
 
     protected String externalizeReport(ReportFormat format) {
+        if (reportFile != null) {
+            throw new IllegalStateException("Report as " + format + " not supported since discrepancies are streamed " +
+                                            "to report file " + reportFile.getAbsolutePath());
+        }
 
         String content = null;
 
@@ -177,9 +230,28 @@ public class CsvComparisonResult {
         return headers;
     }
 
+    private void addDiscrepancy(List<String> discrepancy) {
+        if (reportWriter == null) {
+            discrepancies.add(discrepancy);
+            return;
+        }
+
+        try {
+            reportWriter.write(TextUtils.toString(discrepancy, ",", reportWrapChar, reportWrapChar) + "\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write to report file " + reportFile + ": " + e.getMessage(), e);
+        }
+    }
+
     private List<String> newDiscrepancy(String[] record, String field, String expected, String actual) {
         // first field is ALWAYS the identity
-        failedIdentities.add(record[0]);
+        if (reportFile == null) {
+            failedIdentities.add(record[0]);
+        } else if (!StringUtils.equals(lastFailedIdentity, record[0])) {
+            // discrepancies are streamed in identity order, hence each failed identity is counted once
+            lastFailedIdentity = record[0];
+            streamedFailCount++;
+        }
 
         // if 'expected' is empty and the 'actual' is really the identity field of the record, then this means we
         // are reporting on missing 'EXPECTED' record ==> we need to use 'ACTUAL' header in this case
@@ -17,26 +17,28 @@
 
 package org.nexial.core.plugins.io;
 
-import java.io.IOException;
-import java.io.Serializable;
-import java.io.StringReader;
+import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.map.ListOrderedMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.IntegrationConfigException;
 import org.nexial.core.utils.ConsoleUtils;
 
 import com.univocity.parsers.csv.CsvParser;
 
+import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
 import static org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat.CSV;
+import static org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat.CSV_DOUBLE_QUOTES;
 
 class CsvExtendedComparison implements Serializable {
     private static final Map<String, ReportFormat> TYPES = new HashMap<>();
+    /** default number of rows per side to hold in memory while sorting, when comparing in streaming mode */
+    static final int DEF_BUFFER_SIZE = 100000;
 
     private String expectedContent;
     private List<String> expectedIdentityColumns;
@@ -56,6 +58,10 @@ class CsvExtendedComparison implements Serializable {
     private String expectedField = "EXPECTED";
     private String actualField = "ACTUAL";
     private String identSeparator = "^";
+    private String expectedFile;
+    private String actualFile;
+    private String reportFile;
+    private int bufferSize = DEF_BUFFER_SIZE;
 
     public enum ReportFormat {
         CSV(".csv"),
@@ -141,9 +147,30 @@ class CsvExtendedComparison implements Serializable {
 
     public void setIdentSeparator(String identSeparator) { this.identSeparator = identSeparator; }
 
+    public String getExpectedFile() { return expectedFile; }
+
+    public void setExpectedFile(String expectedFile) { this.expectedFile = expectedFile; }
+
+    public String getActualFile() { return actualFile; }
+
+    public void setActualFile(String actualFile) { this.actualFile = actualFile; }
+
+    public String getReportFile() { return reportFile; }
+
+    public void setReportFile(String reportFile) { this.reportFile = reportFile; }
+
+    public int getBufferSize() { return bufferSize; }
+
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    /** true when comparing files and streaming the discrepancies to a report file, instead of comparing content */
+    public boolean isStreaming() { return StringUtils.isNotBlank(reportFile); }
+
     public CsvComparisonResult compare() throws IntegrationConfigException, IOException {
         sanityChecks();
 
+        if (isStreaming()) { return compareStreaming(); }
+
         // parse and sort
         parseExpected();
         parseActual();
@@ -151,11 +178,55 @@ class CsvExtendedComparison implements Serializable {
         // check all the identity and mapping headers
         validateHeaders();
 
-        int expectedLineCount = expectedRecords.size();
-        int expectedCurrentLine = 0;
-        int actualLineCount = actualRecords.size();
-        int actualCurrentLine = 0;
+        CsvComparisonResult result = newResult(expectedRecords.size(), actualRecords.size());
+        compare(expectedRecords.iterator(), actualRecords.iterator(), result);
+        return result;
+    }
+
+    /**
+     * compare {@link #expectedFile} and {@link #actualFile} with bounded memory: each side is sorted by identity via
+     * {@link CsvExternalSort} (no more than {@link #bufferSize} rows in memory per side), and the sorted rows are
+     * then compared as they are read back. Discrepancies are written to {@link #reportFile} as they are found.
+     */
+    private CsvComparisonResult compareStreaming() throws IntegrationConfigException, IOException {
+        try (Reader expectedReader = newReader(expectedFile);
+             Reader actualReader = newReader(actualFile);
+             CsvExternalSort expectedSort = new CsvExternalSort(bufferSize);
+             CsvExternalSort actualSort = new CsvExternalSort(bufferSize)) {
+
+            IdentityRows expectedRows = new IdentityRows(expectedParser, expectedReader, expectedIdentityColumns);
+            expectedHeaders = expectedRows.headers;
+            prepareFieldMapping();
+
+            IdentityRows actualRows = new IdentityRows(actualParser, actualReader, actualIdentityColumns);
+            actualHeaders = actualRows.headers;
+
+            // check all the identity and mapping headers
+            validateHeaders();
+
+            CsvComparisonResult result;
+            try {
+                Iterator<String[]> expectedSorted = expectedSort.sort(expectedRows);
+                Iterator<String[]> actualSorted = actualSort.sort(actualRows);
+                ConsoleUtils.log("sorted expected in " + Math.max(expectedSort.getChunkCount(), 1) + " chunk(s), " +
+                                 "actual in " + Math.max(actualSort.getChunkCount(), 1) + " chunk(s)");
+
+                result = newResult(expectedRows.count, actualRows.count);
+                result.streamReport(new File(reportFile), reportFormat);
+                try {
+                    compare(expectedSorted, actualSorted, result);
+                } finally {
+                    result.closeReport();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return result;
+        }
+    }
 
+    private CsvComparisonResult newResult(int expectedLineCount, int actualLineCount) {
         CsvComparisonResult result = new CsvComparisonResult();
         result.setExpectedHeaders(expectedHeaders);
         result.setActualHeaders(actualHeaders);
@@ -167,62 +238,65 @@ class CsvExtendedComparison implements Serializable {
         result.setActualRowCount(actualLineCount);
         result.setExpectedRowCount(expectedLineCount);
 
-        // loop through expected
         ConsoleUtils.log("processing " + expectedLineCount + " rows in expected");
         ConsoleUtils.log("processing " + actualLineCount + " rows in actual");
+        return result;
+    }
 
-        while (expectedCurrentLine < expectedLineCount && actualCurrentLine < actualLineCount) {
-            String[] expectedRecord = expectedRecords.get(expectedCurrentLine);
-            String[] actualRecord = actualRecords.get(actualCurrentLine);
+    /** merge-walk of 2 sequences of records, both sorted by identity (position 0) */
+    private void compare(Iterator<String[]> expectedRows, Iterator<String[]> actualRows, CsvComparisonResult result) {
+        // position of the mapped fields, resolved once; position 0 is the identity value
+        String[] expectedFields = fieldMapping.keySet().toArray(new String[0]);
+        int[] expectedPositions = new int[expectedFields.length];
+        int[] actualPositions = new int[expectedFields.length];
+        for (int i = 0; i < expectedFields.length; i++) {
+            expectedPositions[i] = expectedHeaders.indexOf(expectedFields[i]) + 1;
+            actualPositions[i] = actualHeaders.indexOf(fieldMapping.get(expectedFields[i])) + 1;
+        }
+
+        String[] expectedRecord = expectedRows.hasNext() ? expectedRows.next() : null;
+        String[] actualRecord = actualRows.hasNext() ? actualRows.next() : null;
 
-            String expectedIdentity = expectedRecord[0];
-            String actualIdentity = actualRecord[0];
-            int identityCompared = expectedIdentity.compareTo(actualIdentity);
+        while (expectedRecord != null && actualRecord != null) {
+            int identityCompared = expectedRecord[0].compareTo(actualRecord[0]);
 
             // if identity matched
             if (identityCompared == 0) {
                 // check all other mapped fields
-                fieldMapping.forEach((expectedField, actualField) -> {
-                    String expectedValue = expectedRecord[expectedHeaders.indexOf(expectedField) + 1];
-                    String actualValue = actualRecord[actualHeaders.indexOf(actualField) + 1];
+                for (int i = 0; i < expectedFields.length; i++) {
+                    String expectedValue = expectedRecord[expectedPositions[i]];
+                    String actualValue = actualRecord[actualPositions[i]];
                     if (!StringUtils.equals(expectedValue, actualValue)) {
-                        result.addMismatched(expectedRecord, expectedField, expectedValue, actualValue);
+                        result.addMismatched(expectedRecord, expectedFields[i], expectedValue, actualValue);
                     }
-                });
+                }
 
-                expectedCurrentLine++;
-                actualCurrentLine++;
+                expectedRecord = expectedRows.hasNext() ? expectedRows.next() : null;
+                actualRecord = actualRows.hasNext() ? actualRows.next() : null;
                 continue;
             }
 
             // if expected identity > actual identity
             if (identityCompared > 0) {
                 result.addMissingExpected(actualRecord);
-                actualCurrentLine++;
+                actualRecord = actualRows.hasNext() ? actualRows.next() : null;
                 continue;
             }
 
             // if expected identity < actual identity
-            if (identityCompared < 0) {
-                result.addMissingActual(expectedRecord);
-                expectedCurrentLine++;
-                continue;
-            }
+            result.addMissingActual(expectedRecord);
+            expectedRecord = expectedRows.hasNext() ? expectedRows.next() : null;
         }
 
-        if (expectedCurrentLine < expectedLineCount) {
-            for (int i = expectedCurrentLine; i < expectedLineCount; i++) {
-                result.addMissingActual(expectedRecords.get(i));
-            }
+        while (expectedRecord != null) {
+            result.addMissingActual(expectedRecord);
+            expectedRecord = expectedRows.hasNext() ? expectedRows.next() : null;
         }
 
-        if (actualCurrentLine < actualLineCount) {
-            for (int i = actualCurrentLine; i < actualLineCount; i++) {
-                result.addMissingExpected(actualRecords.get(i));
-            }
+        while (actualRecord != null) {
+            result.addMissingExpected(actualRecord);
+            actualRecord = actualRows.hasNext() ? actualRows.next() : null;
         }
-
-        return result;
     }
 
     private void validateHeaders() throws IntegrationConfigException {
@@ -241,9 +315,20 @@ class CsvExtendedComparison implements Serializable {
     }
 
     private void parseExpected() throws IOException {
-        expectedHeaders = new ArrayList<>();
-        expectedRecords = new ArrayList<>();
-        expectedRecords = parseContent(expectedParser, expectedContent, expectedHeaders, expectedIdentityColumns);
+        IdentityRows rows =
+            new IdentityRows(expectedParser, new StringReader(expectedContent), expectedIdentityColumns);
+        expectedHeaders = rows.headers;
+        expectedRecords = sort(rows);
+        prepareFieldMapping();
+    }
+
+    private void parseActual() throws IOException {
+        IdentityRows rows = new IdentityRows(actualParser, new StringReader(actualContent), actualIdentityColumns);
+        actualHeaders = rows.headers;
+        actualRecords = sort(rows);
+    }
+
+    private void prepareFieldMapping() {
         if (MapUtils.isEmpty(fieldMapping)) {
             fieldMapping = new ListOrderedMap<>();
             expectedHeaders.forEach(header -> fieldMapping.put(header, header));
@@ -254,52 +339,97 @@ class CsvExtendedComparison implements Serializable {
         }
     }
 
-    private void parseActual() throws IOException {
-        actualHeaders = new ArrayList<>();
-        actualRecords = new ArrayList<>();
-        actualRecords = parseContent(actualParser, actualContent, actualHeaders, actualIdentityColumns);
+    private static List<String[]> sort(Iterator<String[]> rows) {
+        List<String[]> records = new ArrayList<>();
+        rows.forEachRemaining(records::add);
+        // position 0 is the identity value
+        records.sort(Comparator.comparing(row -> row[0]));
+        return records;
     }
 
-    private List<String[]> parseContent(final CsvParser parser,
-                                        final String content,
-                                        final List<String> fileHeaders,
-                                        final List<String> identityColumns)
-        throws IOException {
-
-        List<String[]> records = parser.parseAll(new StringReader(content));
-        if (CollectionUtils.isEmpty(records)) { throw new IOException("No record parsed from content"); }
+    private static Reader newReader(String file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), DEF_FILE_ENCODING));
+    }
 
-        if (parser.getRecordMetadata() != null) {
-            fileHeaders.addAll(Arrays.asList(parser.getRecordMetadata().headers()));
-        }
-        if (CollectionUtils.isEmpty(fileHeaders)) {
-            throw new IOException("Unable to derive column headers from content");
-        }
+    /**
+     * records parsed one at a time, each prefixed with its identity value (the identity columns joined via
+     * {@link #identSeparator}), so that position 0 is always the identity value.
+     */
+    private final class IdentityRows implements Iterator<String[]> {
+        private final CsvParser parser;
+        private final List<String> headers = new ArrayList<>();
+        private final int[] identityPositions;
+        private String[] next;
+        private int count;
+
+        private IdentityRows(CsvParser parser, Reader reader, List<String> identityColumns) throws IOException {
+            this.parser = parser;
+
+            parser.beginParsing(reader);
+            next = parser.parseNext();
+            if (next == null) { throw new IOException("No record parsed from content"); }
+
+            if (parser.getRecordMetadata() != null) {
+                headers.addAll(Arrays.asList(parser.getRecordMetadata().headers()));
+            }
+            if (CollectionUtils.isEmpty(headers)) {
+                parser.stopParsing();
+                throw new IOException("Unable to derive column headers from content");
+            }
 
-        // check identity fields
-        for (String identColumn : identityColumns) {
-            if (!fileHeaders.contains(identColumn)) {
-                throw new IOException("Expected identity column not found: " + identColumn);
+            // check identity fields
+            for (String identColumn : identityColumns) {
+                if (!headers.contains(identColumn)) {
+                    parser.stopParsing();
+                    throw new IOException("Expected identity column not found: " + identColumn);
+                }
             }
-        }
 
-        for (int i = 0; i < records.size(); i++) {
-            String[] record = records.get(i);
-            String identity = identityColumns.stream()
-                                             .map(column -> record[parser.getRecordMetadata().indexOf(column)])
-                                             .collect(Collectors.joining(identSeparator));
-            records.set(i, ArrayUtils.insert(0, record, identity));
+            identityPositions = identityColumns.stream()
+                                               .mapToInt(column -> parser.getRecordMetadata().indexOf(column))
+                                               .toArray();
         }
 
-        // position 0 is the identity value
-        records.sort(Comparator.comparing(row -> row[0]));
-        return records;
+        @Override
+        public boolean hasNext() { return next != null; }
+
+        @Override
+        public String[] next() {
+            if (next == null) { throw new NoSuchElementException(); }
+
+            String[] record = next;
+            next = parser.parseNext();
+            count++;
+
+            StringBuilder identity = new StringBuilder();
+            for (int i = 0; i < identityPositions.length; i++) {
+                if (i > 0) { identity.append(identSeparator); }
+                identity.append(record[identityPositions[i]]);
+            }
+            return ArrayUtils.insert(0, record, identity.toString());
+        }
     }
 
     private void sanityChecks() throws IntegrationConfigException {
-        if (StringUtils.isBlank(expectedContent)) { throw new IntegrationConfigException("No content for expected"); }
+        if (isStreaming()) {
+            if (!FileUtil.isFileReadable(expectedFile)) {
+                throw new IntegrationConfigException("No readable file for expected: " + expectedFile);
+            }
 
-        if (StringUtils.isBlank(actualContent)) { throw new IntegrationConfigException("No content for actual"); }
+            if (!FileUtil.isFileReadable(actualFile)) {
+                throw new IntegrationConfigException("No readable file for actual: " + actualFile);
+            }
+
+            if (reportFormat != null && reportFormat != CSV && reportFormat != CSV_DOUBLE_QUOTES) {
+                throw new IntegrationConfigException("Only CSV report can be streamed to file: " + reportFormat);
+            }
+        } else {
+            if (StringUtils.isBlank(expectedContent)) {
+                throw new IntegrationConfigException("No content for expected");
+            }
+
+            if (StringUtils.isBlank(actualContent)) { throw new IntegrationConfigException("No content for actual"); }
+        }
 
         if (MapUtils.isEmpty(fieldMapping)) {
             ConsoleUtils.log("No field mapping found; ASSUME EXPECTED AND ACTUAL WITH SAME COLUMNS");
@@ -318,5 +448,7 @@ class CsvExtendedComparison implements Serializable {
         if (actualParser == null) { actualParser = CsvCommand.newCsvParser(null, null, null, true, -1); }
 
         if (reportFormat == null) { reportFormat = CSV; }
+
+        if (bufferSize < 1) { throw new IntegrationConfigException("Invalid buffer size: " + bufferSize); }
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.apache.commons.io.FileUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * external merge sort of CSV rows by their first value (the identity, as prepared by {@link CsvExtendedComparison}).
+ * At most {@code bufferSize} rows are held in memory at any time: rows are sorted in chunks of {@code bufferSize}
+ * rows, each chunk spilled to a temp file, and the chunks are then merged as they are read back. The sort is stable;
+ * rows of the same identity remain in their original order.
+ * <p>
+ * The temp files are removed upon {@link #close()}.
+ */
+final class CsvExternalSort implements Closeable {
+    private static final Comparator<String[]> BY_IDENTITY = Comparator.comparing(row -> row[0]);
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private final int bufferSize;
+    private File spillDir;
+    private final List<DataInputStream> openChunks = new ArrayList<>();
+    private int chunkCount;
+
+    CsvExternalSort(int bufferSize) { this.bufferSize = Math.max(bufferSize, 1); }
+
+    /** number of chunks spilled to disk so far */
+    int getChunkCount() { return chunkCount; }
+
+    /**
+     * sort {@code rows} by their identity. When all the rows fit into one buffer, no temp file is created. The
+     * iterator returned throws {@link UncheckedIOException} should a spilled chunk fail to be read.
+     */
+    Iterator<String[]> sort(Iterator<String[]> rows) throws IOException {
+        List<File> chunks = new ArrayList<>();
+        List<String[]> buffer = new ArrayList<>();
+        while (rows.hasNext()) {
+            buffer.add(rows.next());
+            if (buffer.size() >= bufferSize && rows.hasNext()) {
+                chunks.add(spill(buffer));
+                buffer.clear();
+            }
+        }
+
+        buffer.sort(BY_IDENTITY);
+        if (chunks.isEmpty()) { return buffer.iterator(); }
+        if (!buffer.isEmpty()) {
+            chunks.add(spill(buffer));
+            buffer.clear();
+        }
+
+        return new ChunkMerger(chunks);
+    }
+
+    @Override
+    public void close() {
+        openChunks.forEach(in -> { try { in.close(); } catch (IOException e) { /* ignore */ } });
+        openChunks.clear();
+        if (spillDir != null) {
+            FileUtils.deleteQuietly(spillDir);
+            spillDir = null;
+        }
+    }
+
+    private File spill(List<String[]> buffer) throws IOException {
+        if (spillDir == null) { spillDir = Files.createTempDirectory("nexial-csv-compare-").toFile(); }
+
+        buffer.sort(BY_IDENTITY);
+        File chunk = new File(spillDir, "chunk-" + (chunkCount++) + ".bin");
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(chunk), IO_BUFFER_SIZE))) {
+            out.writeInt(buffer.size());
+            for (String[] row : buffer) { writeRow(out, row); }
+        }
+        return chunk;
+    }
+
+    private static void writeRow(DataOutputStream out, String[] row) throws IOException {
+        out.writeInt(row.length);
+        for (String value : row) {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static String[] readRow(DataInputStream in) throws IOException {
+        String[] row = new String[in.readInt()];
+        for (int i = 0; i < row.length; i++) {
+            int length = in.readInt();
+            if (length < 0) { continue; }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            row[i] = new String(bytes, UTF_8);
+        }
+        return row;
+    }
+
+    /** one spilled chunk, read back one row at a time */
+    private static final class Chunk {
+        private final int order;
+        private final DataInputStream in;
+        private int remaining;
+        private String[] current;
+
+        private Chunk(int order, DataInputStream in) throws IOException {
+            this.order = order;
+            this.in = in;
+            this.remaining = in.readInt();
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining <= 0) {
+                current = null;
+                return false;
+            }
+            current = readRow(in);
+            remaining--;
+            return true;
+        }
+    }
+
+    /** k-way merge of the spilled chunks; ties are resolved by chunk order so that the merge remains stable */
+    private final class ChunkMerger implements Iterator<String[]> {
+        private final PriorityQueue<Chunk> queue;
+
+        private ChunkMerger(List<File> chunks) throws IOException {
+            queue = new PriorityQueue<>(chunks.size(), Comparator.<Chunk, String>comparing(chunk -> chunk.current[0])
+                                                                  .thenComparingInt(chunk -> chunk.order));
+            for (int i = 0; i < chunks.size(); i++) {
+                DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(chunks.get(i)), IO_BUFFER_SIZE));
+                openChunks.add(in);
+                Chunk chunk = new Chunk(i, in);
+                if (chunk.advance()) { queue.add(chunk); }
+            }
+        }
+
+        @Override
+        public boolean hasNext() { return !queue.isEmpty(); }
+
+        @Override
+        public String[] next() {
+            Chunk chunk = queue.poll();
+            if (chunk == null) { throw new NoSuchElementException(); }
+
+            String[] row = chunk.current;
+            try {
+                if (chunk.advance()) { queue.add(chunk); }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read sorted rows: " + e.getMessage(), e);
+            }
+            return row;
+        }
+    }
+}
@@ -17,12 +17,18 @@
 
 package org.nexial.core.plugins.io;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Iterator;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -31,15 +37,33 @@ import org.apache.poi.hssf.usermodel.HSSFDateUtil;
 import org.apache.poi.hssf.usermodel.HSSFRow;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
+import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.xmlbeans.XmlException;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.utils.ConsoleUtils;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 import static java.lang.System.lineSeparator;
 import static org.apache.poi.ss.usermodel.Cell.*;
@@ -53,15 +77,65 @@ public class ExcelHelper {
 
     public StepResult saveCsvToFile(File excelFile, String worksheet, String csvFile) {
         String excel = excelFile.getAbsolutePath();
-        boolean newerFormat = StringUtils.endsWith(excel, ".xlsx");
+        if (StringUtils.endsWith(excel, ".xlsx")) { return streamCsvToFile(excelFile, worksheet, csvFile); }
+
         try {
-            StringBuilder csv = newerFormat ? xlsx2csv(excelFile, worksheet) : xls2csv(excelFile, worksheet);
-            return saveCSVContentToFile(csvFile, csv);
+            return saveCSVContentToFile(csvFile, xls2csv(excelFile, worksheet));
         } catch (IOException e) {
             return StepResult.fail("Unable to read excel file '" + excel + "': " + e.getMessage());
         }
     }
 
+    /**
+     * convert {@code worksheet} of {@code excelFile} (xlsx) to CSV, one row at a time, straight into {@code csv}.
+     * The worksheet is read as SAX events (via {@link XSSFReader}) rather than loaded as a workbook, hence memory use
+     * does not grow with the number of rows. Cell values are converted the same way as
+     * {@link #xlsx2csv(File, String)}, and are quoted as needed.
+     *
+     * @return number of rows written
+     */
+    protected int xlsx2csv(File excelFile, String worksheet, Writer csv) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(excelFile, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+
+            boolean date1904;
+            try (InputStream workbook = reader.getWorkbookData()) {
+                CTWorkbookPr workbookPr = WorkbookDocument.Factory.parse(workbook).getWorkbook().getWorkbookPr();
+                date1904 = workbookPr != null && workbookPr.getDate1904();
+            }
+
+            SheetToCsvHandler handler = new SheetToCsvHandler(new ReadOnlySharedStringsTable(pkg),
+                                                              reader.getStylesTable(),
+                                                              date1904,
+                                                              csv);
+
+            SheetIterator sheets = (SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (!StringUtils.equals(sheets.getSheetName(), worksheet)) { continue; }
+
+                    XMLReader parser = SAXHelper.newXMLReader();
+                    parser.setContentHandler(handler);
+                    parser.parse(new InputSource(sheet));
+                    return handler.rows;
+                }
+            }
+
+            throw new IOException("worksheet '" + worksheet + "' not found");
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException | XmlException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            // read-only; close() would attempt to save
+            if (pkg != null) { pkg.revert(); }
+        }
+    }
+
+    /**
+     * load the entire workbook and build the entire CSV content in memory; superseded by
+     * {@link #xlsx2csv(File, String, Writer)}.
+     */
     protected StringBuilder xlsx2csv(File excelFile, String worksheet) throws IOException {
         XSSFWorkbook workBook = new XSSFWorkbook(new FileInputStream(excelFile));
         XSSFSheet excelSheet = workBook.getSheet(worksheet);
@@ -112,6 +186,30 @@ public class ExcelHelper {
         return csv;
     }
 
+    protected StepResult streamCsvToFile(File excelFile, String worksheet, String file) {
+        File target = new File(file);
+        try {
+            FileUtils.forceMkdir(target.getParentFile());
+        } catch (IOException e) {
+            return StepResult.fail("Error writing CSV content to '" + file + "': " + e.getMessage());
+        }
+
+        try (Writer csv = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target), DEF_CHARSET))) {
+            int rows = xlsx2csv(excelFile, worksheet, csv);
+            if (context.isVerbose()) {
+                context.getLogger().log(context, "wrote " + rows + " row(s) to '" + file + "'");
+            }
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(target);
+            String error = "Unable to convert excel file '" + excelFile.getAbsolutePath() + "' to '" + file + "': " +
+                           e.getMessage();
+            ConsoleUtils.log(error);
+            return StepResult.fail(error);
+        }
+
+        return StepResult.success("File converted to CSV");
+    }
+
     protected StepResult saveCSVContentToFile(String file, StringBuilder csv) {
         String content = csv.toString();
         if (context.isVerbose()) {
@@ -168,4 +266,134 @@ public class ExcelHelper {
             return String.valueOf(cell.getNumericCellValue());
         }
     }
+
+    /** quote {@code value} if it contains delimiter, quote or line break */
+    protected static String toCsvField(String value) {
+        if (StringUtils.containsAny(value, ',', '"', '\r', '\n')) {
+            return "\"" + StringUtils.replace(value, "\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * write each row of a worksheet as a CSV line as soon as its end tag is parsed. Same as
+     * {@link #returnCellValue(Cell)}, a string cell is written as is, a numeric cell as a date (if date-formatted) or
+     * a double, and a boolean or error cell is skipped. Empty cells and empty rows are skipped.
+     */
+    private static class SheetToCsvHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final boolean date1904;
+        private final Writer csv;
+        private final DateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+
+        private final StringBuilder row = new StringBuilder();
+        private final StringBuilder value = new StringBuilder();
+        private String cellType;
+        private String cellStyle;
+        private boolean inValue;
+        private boolean inInlineString;
+        private int rows;
+
+        SheetToCsvHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, boolean date1904, Writer csv) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.date1904 = date1904;
+            this.csv = csv;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    row.setLength(0);
+                    break;
+                case "c":
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    value.setLength(0);
+                    break;
+                case "v":
+                    inValue = true;
+                    break;
+                case "is":
+                    inInlineString = true;
+                    break;
+                case "t":
+                    // text of inline string; rich text comes in multiple runs
+                    inValue = inInlineString;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String name) throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "c":
+                    String cellValue = toCellValue();
+                    if (StringUtils.isNotEmpty(cellValue)) { row.append(toCsvField(cellValue)).append(","); }
+                    break;
+                case "row":
+                    String line = StringUtils.trim(StringUtils.removeEnd(row.toString(), ","));
+                    if (line.isEmpty()) { break; }
+                    try {
+                        csv.write(line);
+                        csv.write(lineSeparator());
+                        rows++;
+                    } catch (IOException e) {
+                        throw new SAXException(e.getMessage(), e);
+                    }
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) { value.append(ch, start, length); }
+        }
+
+        private String toCellValue() {
+            if (value.length() == 0) { return null; }
+
+            String raw = value.toString();
+            if (cellType == null || cellType.equals("n")) { return toNumericValue(raw); }
+            switch (cellType) {
+                case "s":
+                    return sharedStrings.getEntryAt(Integer.parseInt(raw));
+                case "inlineStr":
+                case "str":
+                    return raw;
+                default:
+                    // boolean and error are skipped
+                    return null;
+            }
+        }
+
+        private String toNumericValue(String raw) {
+            double number;
+            try {
+                number = Double.parseDouble(raw);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            if (StringUtils.isNotEmpty(cellStyle) && DateUtil.isValidExcelDate(number)) {
+                XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(cellStyle));
+                if (style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())) {
+                    return dateFormat.format(DateUtil.getJavaDate(number, date1904));
+                }
+            }
+
+            return String.valueOf(number);
+        }
+    }
 }
@@ -43,7 +43,6 @@ import org.nexial.commons.utils.DateUtility;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.commons.utils.IOFilePathFilter;
 import org.nexial.commons.utils.ResourceUtils;
-import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.plugins.filevalidation.RecordData;
@@ -543,7 +542,7 @@ public class IoCommand extends BaseCommand {
         File actualFile = files.getRight();
 
         try {
-            if (FileUtils.contentEquals(expectedFile, actualFile)) {
+            if (LineDiff.contentEquals(expectedFile, actualFile)) {
                 report.addFileMismatch(file("files matched exactly"));
                 return StepResult.success("files matched exactly");
             }
@@ -554,8 +553,8 @@ public class IoCommand extends BaseCommand {
                 report.addFileMismatch(ComparisonResult.fileSizeDiff(expectedLength, actualLength));
             }
 
-            int expectedLines = CollectionUtils.size(FileUtils.readLines(expectedFile, DEF_CHARSET));
-            int actualLines = CollectionUtils.size(FileUtils.readLines(actualFile, DEF_CHARSET));
+            int expectedLines = LineDiff.countLines(expectedFile);
+            int actualLines = LineDiff.countLines(actualFile);
             if (expectedLines != actualLines) { report.addFileMismatch(fileLineDiff(expectedLines, actualLines)); }
         } catch (IOException e) {
             // unlikely since we've already gone through prepCompare()
@@ -626,8 +625,8 @@ public class IoCommand extends BaseCommand {
                     report.addFileMismatch(fileSizeDiff(expectedLength, actualLength));
                 }
 
-                int expectedLines = CollectionUtils.size(TextUtils.toListPreserveEmpty(expectedContent, "\n", false));
-                int actualLines = CollectionUtils.size(TextUtils.toListPreserveEmpty(actualContent, "\n", false));
+                int expectedLines = CollectionUtils.size(LineDiff.toLines(expectedContent));
+                int actualLines = CollectionUtils.size(LineDiff.toLines(actualContent));
                 if (expectedLines != actualLines) { report.addFileMismatch(fileLineDiff(expectedLines, actualLines)); }
 
                 if (failfast && report.hasMismatch()) { return failContentComparison(report); }
@@ -650,10 +649,8 @@ public class IoCommand extends BaseCommand {
         // }
 
         // 3. double check line count
-        List<String> expectedRows =
-            TextUtils.toListPreserveEmpty(StringUtils.replace(expectedContent, "\r\n", "\n"), "\n", false);
-        List<String> actualRows =
-            TextUtils.toListPreserveEmpty(StringUtils.replace(actualContent, "\r\n", "\n"), "\n", false);
+        List<String> expectedRows = LineDiff.toLines(StringUtils.replace(expectedContent, "\r\n", "\n"));
+        List<String> actualRows = LineDiff.toLines(StringUtils.replace(actualContent, "\r\n", "\n"));
         int eRowCount = CollectionUtils.size(expectedRows);
         int aRowCount = CollectionUtils.size(actualRows);
         if (CollectionUtils.isEmpty(expectedRows) || CollectionUtils.isEmpty(actualRows)) {
@@ -662,106 +659,98 @@ public class IoCommand extends BaseCommand {
         }
 
         // 4. line-by-line compare here we go!
+        // lines are lined up via diff, where lines that differ only by letter case or spaces are considered the same
+        // line (and reported as such). The report is populated as the diff proceeds, so that fail-fast stops the diff
         boolean logMatches = context.getBooleanData(LOG_MATCH, DEF_LOG_MATCH);
         int currentErrorCounter = report.getMismatchCount();
-        int aPos = -1;
-        int aLastParsed = aPos;
-        for (int ePos = 0; ePos < expectedRows.size(); ePos++) {
-            if (report.getMismatchCount() > currentErrorCounter && failfast) { return failContentComparison(report); }
-
-            String eRow = expectedRows.get(ePos);
-            int pos = ePos + 1;
-            aPos++;
-
-            // 4.1 ACTUAL line not found
-            if (actualRows.size() <= aPos) {
-                report.addLineMismatch(lineMissing(pos, eRow, null));
-                continue;
+        LineDiff.diff(expectedRows, actualRows, IoCommand::toLineKey, new LineDiff.Handler() {
+            @Override
+            public boolean same(int ePos, int aPos) {
+                compareLine(report, ePos, expectedRows.get(ePos), aPos, actualRows.get(aPos), logMatches);
+                return !failfast || report.getMismatchCount() == currentErrorCounter;
             }
 
-            String aRow = actualRows.get(aPos);
-            aLastParsed = aPos;
-
-            // this could be (1) exact match, (2) partial match, (3) completely off
-
-            // 4.2 test for perfect match
-            if (StringUtils.equals(eRow, aRow)) {
-                if (logMatches) {
-                    report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aPos + 1));
-                } else {
-                    report.addLineMatch(null);
+            @Override
+            public boolean changed(int eFrom, int eTo, int aFrom, int aTo) {
+                // changed lines are compared pair by pair; the rest are either missing or extra lines
+                int paired = Math.min(eTo - eFrom, aTo - aFrom);
+                for (int i = 0; i < paired; i++) {
+                    compareLine(report,
+                                eFrom + i, expectedRows.get(eFrom + i),
+                                aFrom + i, actualRows.get(aFrom + i),
+                                logMatches);
                 }
-                continue;
-            }
-
-            // 4.3 test for mismatched cases
-            if (StringUtils.containsIgnoreCase(eRow, aRow)) {
-                report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aPos + 1));
-                continue;
-            }
-
-            // 4.4 test for leading/trailing spaces
-            String eRowTrimmed = StringUtils.trim(eRow);
-            String aRowTrimmed = StringUtils.trim(aRow);
-            if (StringUtils.equals(eRowTrimmed, aRowTrimmed)) {
-                report.addLineMismatch(line(pos, "mismatch due to leading/trailing spaces", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
-                continue;
+                for (int i = eFrom + paired; i < eTo; i++) {
+                    report.addLineMismatch(lineMissing(i + 1, expectedRows.get(i), null));
+                }
+                for (int i = aFrom + paired; i < aTo; i++) {
+                    report.addLineMismatch(lineExtraFound(i + 1, null, actualRows.get(i)));
+                }
+                return !failfast || report.getMismatchCount() == currentErrorCounter;
             }
+        });
 
-            // 4.5 test for between-letter space mismatch
-            String eRowNormalized = StringUtils.deleteWhitespace(eRowTrimmed);
-            String aRowNormalized = StringUtils.deleteWhitespace(aRowTrimmed);
-            if (StringUtils.equals(eRowNormalized, aRowNormalized)) {
-                report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aPos + 1));
-                continue;
-            }
+        return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
+    }
 
-            // 4.6 test for case and space mismatch
-            if (StringUtils.equalsIgnoreCase(eRowNormalized, aRowNormalized)) {
-                report.addLineMismatch(line(pos, "mismatch due to extra spaces and letter cases", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
-                continue;
+    /**
+     * compare a line of EXPECTED (at {@code ePos}) to a line of ACTUAL (at {@code aPos}), both 0-based, and add the
+     * outcome to {@code report}.
+     */
+    protected void compareLine(FileComparisonReport report,
+                               int ePos,
+                               String eRow,
+                               int aPos,
+                               String aRow,
+                               boolean logMatches) {
+        int pos = ePos + 1;
+        int aLine = aPos + 1;
+
+        // this could be (1) exact match, (2) partial match, (3) completely off
+
+        // 4.1 test for perfect match
+        if (StringUtils.equals(eRow, aRow)) {
+            if (logMatches) {
+                report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aLine));
+            } else {
+                report.addLineMatch(null);
             }
+            return;
+        }
 
-            // 4.7 before more testing, let's see if there's another one line here after (actual) that match current (expected)
-            int aMatchedPosition = scanForMatchingRow(eRow, actualRows, ePos);
-            if (aMatchedPosition > ePos) {
-                // match found, but it's after current line
-                // consider this as "extra lines found in ACTUAL
-                for (int j = ePos; j < aMatchedPosition; j++) {
-                    report.addLineMismatch(lineExtraFound((j + 1), null, actualRows.get(j)));
-                }
-                ePos--;
-                aPos = aMatchedPosition - 1;
-                continue;
-            }
+        // 4.2 test for mismatched cases
+        if (StringUtils.containsIgnoreCase(eRow, aRow)) {
+            report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aLine));
+            return;
+        }
 
-            int eMatchedPosition = scanForMatchingRow(aRow, expectedRows, aPos);
-            if (eMatchedPosition > aPos) {
-                // match found, but it's after current line
-                // consider this as "extra lines found in EXPECTED
-                for (int j = aPos; j < eMatchedPosition; j++) {
-                    report.addLineMismatch(lineMissing((j + 1), expectedRows.get(j), null));
-                }
-                ePos = eMatchedPosition - 1;
-                aPos--;
-                continue;
-            }
+        // 4.3 test for leading/trailing spaces
+        String eRowTrimmed = StringUtils.trim(eRow);
+        String aRowTrimmed = StringUtils.trim(aRow);
+        if (StringUtils.equals(eRowTrimmed, aRowTrimmed)) {
+            report.addLineMismatch(line(pos, "mismatch due to leading/trailing spaces", eRow, aRow)
+                                       .maligned(pos, aLine));
+            return;
+        }
 
-            // 4.8 test for character distance mismatch
-            report.addLineMismatch(lineDiff(pos, levenshtein.apply(eRowNormalized, aRowNormalized), eRow, aRow)
-                                       .maligned(pos, aPos + 1));
+        // 4.4 test for between-letter space mismatch
+        String eRowNormalized = StringUtils.deleteWhitespace(eRowTrimmed);
+        String aRowNormalized = StringUtils.deleteWhitespace(aRowTrimmed);
+        if (StringUtils.equals(eRowNormalized, aRowNormalized)) {
+            report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aLine));
+            return;
         }
 
-        // scan all extra lines in ACTUAL
-        if (actualRows.size() > expectedRows.size()) {
-            for (int i = aLastParsed + 1; i < actualRows.size(); i++) {
-                report.addLineMismatch(lineExtraFound(i + 1, null, actualRows.get(i)));
-            }
+        // 4.5 test for case and space mismatch
+        if (StringUtils.equalsIgnoreCase(eRowNormalized, aRowNormalized)) {
+            report.addLineMismatch(line(pos, "mismatch due to extra spaces and letter cases", eRow, aRow)
+                                       .maligned(pos, aLine));
+            return;
         }
 
-        return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
+        // 4.6 test for character distance mismatch
+        report.addLineMismatch(lineDiff(pos, levenshtein.apply(eRowNormalized, aRowNormalized), eRow, aRow)
+                                   .maligned(pos, aLine));
     }
 
     protected void logComparisonReport(String caption, FileComparisonReport report, String type) {
@@ -810,23 +799,8 @@ public class IoCommand extends BaseCommand {
         }
     }
 
-    protected int scanForMatchingRow(String matchTo, List<String> matchFrom, int startFrom) {
-        // hopeless
-        if (CollectionUtils.isEmpty(matchFrom) || CollectionUtils.size(matchFrom) <= startFrom) { return -1; }
-        if (matchTo == null) { matchTo = ""; }
-
-        // first we match forward
-        for (int i = startFrom; i < matchFrom.size(); i++) {
-            if (simpleMatch(matchTo, matchFrom.get(i))) { return i; }
-        }
-        return startFrom;
-    }
-
-    protected static boolean simpleMatch(String expected, String actual) {
-        return StringUtils.equals(expected, actual) ||
-               StringUtils.equalsIgnoreCase(StringUtils.deleteWhitespace(expected),
-                                            StringUtils.deleteWhitespace(actual));
-    }
+    /** key of a line for lining up EXPECTED and ACTUAL; lines that differ only by letter case or spaces are alike */
+    private static String toLineKey(String line) { return StringUtils.lowerCase(StringUtils.deleteWhitespace(line)); }
 
     protected StepResult failContentComparison(FileComparisonReport results) {
         return failContentComparison("The EXPECTED and ACTUAL differ in size and/or line count", results);
@@ -888,22 +862,24 @@ public class IoCommand extends BaseCommand {
             String[] expectedLines = StringUtils.split(FileUtils.readFileToString(expectedFile, DEF_CHARSET), "\n");
             String[] actualLines = StringUtils.split(FileUtils.readFileToString(actualFile, DEF_CHARSET), "\n");
 
-            // todo: need tests.. what if current file has less lines? NPE? IOBE?
+            // first position of each line in ACTUAL, and all the lines in EXPECTED; so that lines are looked up once
+            Map<String, Integer> actualPositions = new HashMap<>();
+            for (int x = actualLines.length - 1; x >= 0; x--) { actualPositions.put(actualLines[x], x); }
+            Set<String> expectedSet = new HashSet<>(Arrays.asList(expectedLines));
+
             for (int i = 0; i < expectedLines.length; i++) {
                 if (actualLines.length > i) {
                     if (expectedLines[i].equals(actualLines[i])) {
                         found = true;
                     } else {
-                        for (int x = 0; x < actualLines.length; x++) {
-                            if (expectedLines[i].equals(actualLines[x])) {
-                                String message =
-                                    "Moved (From line " + (i + 1) + " to " + (x + 1) + "): " + expectedLines[i];
-                                logs.put((i + 1) + "", message);
-                                if (includeMoved) { error(message); }
-                                match = false;
-                                found = true;
-                                break;
-                            }
+                        Integer x = actualPositions.get(expectedLines[i]);
+                        if (x != null) {
+                            String message =
+                                "Moved (From line " + (i + 1) + " to " + (x + 1) + "): " + expectedLines[i];
+                            logs.put((i + 1) + "", message);
+                            if (includeMoved) { error(message); }
+                            match = false;
+                            found = true;
                         }
                     }
                 }
@@ -922,26 +898,9 @@ public class IoCommand extends BaseCommand {
             }
 
             for (int i = 0; i < actualLines.length; i++) {
-                if (expectedLines.length > i) {
-                    if (actualLines[i].equals(expectedLines[i])) {
-                        found = true;
-                    } else {
-                        for (String ln : expectedLines) {
-                            if (actualLines[i].equals(ln)) {
-                                // todo: need test. why don't we log such mismatch?
-                                found = true;
-                                break;
-                            }
-                        }
-                    }
-                } else {
-                    for (String ln : expectedLines) {
-                        if (actualLines[i].equals(ln)) {
-                            found = true;
-                            break;
-                        }
-                    }
-                }
+                // todo: need test. why don't we log such mismatch?
+                found = (expectedLines.length > i && actualLines[i].equals(expectedLines[i])) ||
+                        expectedSet.contains(actualLines[i]);
 
                 if (!found) {
                     if (includeAdded) {
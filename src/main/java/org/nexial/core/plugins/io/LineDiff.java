@@ -0,0 +1,325 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * line-based diff between an expected and an actual sequence of lines, along with the file-level checks that precede
+ * it (content equality and line count), done without loading the files into memory.
+ * <p>
+ * Lines are first reduced to a numeric key (lines of the same key are considered the same line), and the common
+ * leading and trailing lines are skipped. The remaining region is split further by the lines that occur exactly
+ * once on both sides (in order), and the Myers O(ND) diff is only applied to the regions in between. Regions with
+ * more than {@link #MAX_EDITS} inserted/deleted lines are reported as changed as a whole.
+ */
+final class LineDiff {
+    /** maximum number of inserted and deleted lines for a region to be diff'ed line by line */
+    static final int MAX_EDITS = 1000;
+    private static final int IO_BUFFER_SIZE = 1024 * 1024;
+
+    private final int[] expected;
+    private final int[] actual;
+    private final Handler handler;
+    private boolean stopped;
+
+    /** receiver of the diff, in line order. Line positions are 0-based; return false to stop the diff */
+    interface Handler {
+        /** line {@code expected} of expected is the same as line {@code actual} of actual */
+        boolean same(int expected, int actual);
+
+        /** lines [expectedFrom, expectedTo) of expected are replaced by lines [actualFrom, actualTo) of actual */
+        boolean changed(int expectedFrom, int expectedTo, int actualFrom, int actualTo);
+    }
+
+    private LineDiff(int[] expected, int[] actual, Handler handler) {
+        this.expected = expected;
+        this.actual = actual;
+        this.handler = handler;
+    }
+
+    /** diff {@code expected} against {@code actual}, where lines are considered the same if their keys are equal */
+    static void diff(List<String> expected, List<String> actual, Function<String, String> keyOf, Handler handler) {
+        Map<String, Integer> keys = new HashMap<>();
+        new LineDiff(toKeys(expected, keyOf, keys), toKeys(actual, keyOf, keys), handler)
+            .diff(0, expected.size(), 0, actual.size());
+    }
+
+    /** byte-by-byte comparison of 2 files, via bulk channel reads */
+    static boolean contentEquals(File expected, File actual) throws IOException {
+        if (expected.length() != actual.length()) { return false; }
+        if (expected.getCanonicalFile().equals(actual.getCanonicalFile())) { return true; }
+
+        try (FileChannel expectedChannel = FileChannel.open(expected.toPath(), StandardOpenOption.READ);
+             FileChannel actualChannel = FileChannel.open(actual.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer expectedBuffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            ByteBuffer actualBuffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            while (true) {
+                expectedBuffer.clear();
+                actualBuffer.clear();
+                int expectedRead = fill(expectedChannel, expectedBuffer);
+                int actualRead = fill(actualChannel, actualBuffer);
+                if (expectedRead != actualRead) { return false; }
+                if (expectedRead <= 0) { return true; }
+
+                expectedBuffer.flip();
+                actualBuffer.flip();
+                if (!expectedBuffer.equals(actualBuffer)) { return false; }
+            }
+        }
+    }
+
+    /**
+     * number of lines in {@code file}, as would be read via {@link java.io.BufferedReader#readLine()} (line ends
+     * with LF, CR or CRLF), without reading the lines into memory.
+     */
+    static int countLines(File file) throws IOException {
+        int lines = 0;
+        boolean lineStarted = false;
+        boolean afterCR = false;
+        byte[] buffer = new byte[IO_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        // LF right after CR is part of the same line end
+                        if (!afterCR) { lines++; }
+                        lineStarted = false;
+                        afterCR = false;
+                    } else if (b == '\r') {
+                        lines++;
+                        lineStarted = false;
+                        afterCR = true;
+                    } else {
+                        lineStarted = true;
+                        afterCR = false;
+                    }
+                }
+            }
+        }
+        return lineStarted ? lines + 1 : lines;
+    }
+
+    /**
+     * lines of {@code text} separated by LF, with empty lines preserved; a trailing LF does not start a new line.
+     * Same as {@link org.nexial.commons.utils.TextUtils#toListPreserveEmpty(String, String, boolean)} (LF, no trim)
+     * but in linear time. Null if {@code text} is empty.
+     */
+    static List<String> toLines(String text) {
+        if (text == null || text.isEmpty()) { return null; }
+
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = text.indexOf('\n', start)) != -1) {
+            lines.add(text.substring(start, end));
+            start = end + 1;
+        }
+        if (start < text.length()) { lines.add(text.substring(start)); }
+        return lines;
+    }
+
+    private static int fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read == -1) { return total == 0 ? -1 : total; }
+            total += read;
+        }
+        return total;
+    }
+
+    private static int[] toKeys(List<String> lines, Function<String, String> keyOf, Map<String, Integer> keys) {
+        int[] lineKeys = new int[lines.size()];
+        for (int i = 0; i < lineKeys.length; i++) {
+            lineKeys[i] = keys.computeIfAbsent(keyOf.apply(lines.get(i)), key -> keys.size());
+        }
+        return lineKeys;
+    }
+
+    private void diff(int eFrom, int eTo, int aFrom, int aTo) {
+        if (stopped) { return; }
+
+        // common leading lines
+        while (eFrom < eTo && aFrom < aTo && expected[eFrom] == actual[aFrom]) {
+            if (!same(eFrom++, aFrom++)) { return; }
+        }
+
+        // common trailing lines, reported after the region in between
+        int trailing = 0;
+        while (eFrom < eTo - trailing && aFrom < aTo - trailing &&
+               expected[eTo - 1 - trailing] == actual[aTo - 1 - trailing]) {
+            trailing++;
+        }
+        int eEnd = eTo - trailing;
+        int aEnd = aTo - trailing;
+
+        if (eFrom == eEnd || aFrom == aEnd) {
+            changed(eFrom, eEnd, aFrom, aEnd);
+        } else {
+            List<int[]> anchors = findAnchors(eFrom, eEnd, aFrom, aEnd);
+            if (anchors.isEmpty()) {
+                myers(eFrom, eEnd, aFrom, aEnd);
+            } else {
+                int ePrev = eFrom;
+                int aPrev = aFrom;
+                for (int[] anchor : anchors) {
+                    diff(ePrev, anchor[0], aPrev, anchor[1]);
+                    same(anchor[0], anchor[1]);
+                    ePrev = anchor[0] + 1;
+                    aPrev = anchor[1] + 1;
+                }
+                diff(ePrev, eEnd, aPrev, aEnd);
+            }
+        }
+
+        for (int i = 0; i < trailing; i++) { same(eEnd + i, aEnd + i); }
+    }
+
+    /**
+     * lines that occur exactly once in both regions, as pairs of (expected, actual) positions; only the longest
+     * sequence of such lines in the same order on both sides is kept.
+     */
+    private List<int[]> findAnchors(int eFrom, int eTo, int aFrom, int aTo) {
+        // key -> {occurrences in expected, position in expected, occurrences in actual, position in actual}
+        Map<Integer, int[]> occurrences = new HashMap<>();
+        for (int i = eFrom; i < eTo; i++) {
+            int[] occurrence = occurrences.computeIfAbsent(expected[i], key -> new int[4]);
+            occurrence[0]++;
+            occurrence[1] = i;
+        }
+        for (int i = aFrom; i < aTo; i++) {
+            int[] occurrence = occurrences.get(actual[i]);
+            if (occurrence != null) {
+                occurrence[2]++;
+                occurrence[3] = i;
+            }
+        }
+
+        List<int[]> candidates = new ArrayList<>();
+        for (int i = eFrom; i < eTo; i++) {
+            int[] occurrence = occurrences.get(expected[i]);
+            if (occurrence[0] == 1 && occurrence[2] == 1) { candidates.add(new int[]{i, occurrence[3]}); }
+        }
+        if (candidates.isEmpty()) { return candidates; }
+
+        // longest increasing sequence of actual positions (patience sorting)
+        int[] tails = new int[candidates.size()];
+        int[] previous = new int[candidates.size()];
+        int length = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            int position = candidates.get(i)[1];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (candidates.get(tails[middle])[1] < position) { low = middle + 1; } else { high = middle; }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) { length++; }
+        }
+
+        LinkedList<int[]> anchors = new LinkedList<>();
+        for (int i = tails[length - 1]; i != -1; i = previous[i]) { anchors.addFirst(candidates.get(i)); }
+        return anchors;
+    }
+
+    /** Myers' greedy O(ND) diff of a region; the region is reported as changed if it exceeds {@link #MAX_EDITS} */
+    private void myers(int eFrom, int eTo, int aFrom, int aTo) {
+        if (stopped) { return; }
+
+        int n = eTo - eFrom;
+        int m = aTo - aFrom;
+        int max = Math.min(n + m, MAX_EDITS);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        // v (furthest x per diagonal k) as of the end of each round d, for k in [-d, d]
+        List<int[]> trace = new ArrayList<>();
+
+        int edits = -1;
+        for (int d = 0; d <= max && edits == -1; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1]) ?
+                        v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && expected[eFrom + x] == actual[aFrom + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    edits = d;
+                    break;
+                }
+            }
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+        }
+
+        if (edits == -1) {
+            changed(eFrom, eTo, aFrom, aTo);
+            return;
+        }
+
+        // backtrack to collect the same lines, last to first
+        LinkedList<int[]> sameLines = new LinkedList<>();
+        int x = n;
+        int y = m;
+        for (int d = edits; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            int previousK = k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1]) ? k + 1 : k - 1;
+            int previousX = previous[previousK + d - 1];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) { sameLines.addFirst(new int[]{eFrom + --x, aFrom + --y}); }
+            x = previousX;
+            y = previousY;
+        }
+        while (x > 0 && y > 0) { sameLines.addFirst(new int[]{eFrom + --x, aFrom + --y}); }
+
+        int ePrev = eFrom;
+        int aPrev = aFrom;
+        for (int[] sameLine : sameLines) {
+            changed(ePrev, sameLine[0], aPrev, sameLine[1]);
+            same(sameLine[0], sameLine[1]);
+            ePrev = sameLine[0] + 1;
+            aPrev = sameLine[1] + 1;
+        }
+        changed(ePrev, eTo, aPrev, aTo);
+    }
+
+    private boolean same(int expectedPos, int actualPos) {
+        if (!stopped && !handler.same(expectedPos, actualPos)) { stopped = true; }
+        return !stopped;
+    }
+
+    private void changed(int eFrom, int eTo, int aFrom, int aTo) {
+        if (stopped || (eFrom == eTo && aFrom == aTo)) { return; }
+        if (!handler.changed(eFrom, eTo, aFrom, aTo)) { stopped = true; }
+    }
+}
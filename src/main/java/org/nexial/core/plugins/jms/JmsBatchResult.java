@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.jms;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outcome of sending or receiving a batch of messages. For sending, the latency of a message is the time taken to
+ * send it. For receiving, the latency of a message is the time between it was sent (per its {@code JMSTimestamp})
+ * and it was received; hence subject to clock difference between the sender and the current host.
+ */
+public class JmsBatchResult implements Serializable {
+    private List<Object> messages = new ArrayList<>();
+    private List<Long> latencies = new ArrayList<>();
+    private long startTime;
+    private long elapsedTime;
+
+    public JmsBatchResult() { this.startTime = System.currentTimeMillis(); }
+
+    public List<Object> getMessages() { return messages; }
+
+    /** latency (ms) of each message, in the same order as {@link #getMessages()} */
+    public List<Long> getLatencies() { return latencies; }
+
+    public int getCount() { return messages.size(); }
+
+    public long getStartTime() { return startTime; }
+
+    public long getElapsedTime() { return elapsedTime; }
+
+    public long getMinLatency() { return latencies.stream().mapToLong(Long::longValue).min().orElse(0); }
+
+    public long getMaxLatency() { return latencies.stream().mapToLong(Long::longValue).max().orElse(0); }
+
+    public double getAverageLatency() { return latencies.stream().mapToLong(Long::longValue).average().orElse(0); }
+
+    public JmsBatchResult add(Object message, long latency) {
+        messages.add(message);
+        latencies.add(latency);
+        return this;
+    }
+
+    public JmsBatchResult end() {
+        this.elapsedTime = System.currentTimeMillis() - this.startTime;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + "\n" +
+               "elapsedTime=" + elapsedTime + "\n" +
+               "minLatency=" + getMinLatency() + "\n" +
+               "maxLatency=" + getMaxLatency() + "\n" +
+               "averageLatency=" + getAverageLatency() + "\n" +
+               "latencies=" + latencies + "\n";
+    }
+}
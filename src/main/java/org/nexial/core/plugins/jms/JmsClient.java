@@ -17,24 +17,96 @@
 
 package org.nexial.core.plugins.jms;
 
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.jms.*;
 
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.utils.ConsoleUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
 import static javax.jms.DeliveryMode.NON_PERSISTENT;
 import static javax.jms.Session.AUTO_ACKNOWLEDGE;
+import static org.nexial.core.NexialConst.Data.DEF_JMS_REUSE_CONNECTION;
+import static org.nexial.core.NexialConst.Data.JMS_REUSE_CONNECTION;
 import static org.nexial.core.NexialConst.MS_UNDEFINED;
 
 public class JmsClient implements ApplicationContextAware {
     protected ApplicationContext spring;
     protected ExecutionContext context;
+    // connections reused across commands, keyed by JmsClientConfig.getConnectionKey()
+    protected final Map<String, JmsConnection> connections = new HashMap<>();
+
+    /** a connection with its session, and the producers of the destinations sent to thus far */
+    protected static class JmsConnection implements ExceptionListener {
+        private final Connection connection;
+        private final Session session;
+        private final Map<String, MessageProducer> producers = new HashMap<>();
+        private volatile boolean broken;
+
+        protected JmsConnection(JmsClientConfig config) throws JMSException {
+            connection = config.createConnection();
+            if (connection == null) { throw new IllegalArgumentException("Unable to resolve JMS connection"); }
+
+            try {
+                session = connection.createSession(false, AUTO_ACKNOWLEDGE);
+                if (session == null) { throw new IllegalArgumentException("Unable to resolve JMS session"); }
+            } catch (JMSException | RuntimeException e) {
+                close();
+                throw e;
+            }
+
+            try {
+                connection.setExceptionListener(this);
+            } catch (JMSException e) {
+                // not supported by all providers; broken connection would still surface on next use
+            }
+        }
+
+        protected Session getSession() { return session; }
+
+        protected MessageProducer getProducer(JmsClientConfig config) throws JMSException {
+            String key = (config.isTopic() ? "topic:" : "queue:") + config.getDestination();
+            MessageProducer producer = producers.get(key);
+            if (producer == null) {
+                producer = session.createProducer(resolveDestination(config));
+                producer.setDeliveryMode(NON_PERSISTENT);
+                producers.put(key, producer);
+            }
+            return producer;
+        }
+
+        protected MessageConsumer createConsumer(JmsClientConfig config) throws JMSException {
+            return session.createConsumer(resolveDestination(config));
+        }
+
+        protected boolean isBroken() { return broken; }
+
+        @Override
+        public void onException(JMSException exception) { broken = true; }
+
+        protected void close() {
+            // closing connection closes its session, producers and consumers as well
+            try { connection.close(); } catch (JMSException e) { }
+        }
+
+        private Destination resolveDestination(JmsClientConfig config) throws JMSException {
+            Destination destination = config.resolveDestination(session);
+            if (destination == null) { throw new IllegalArgumentException("Unable to resolve JMS destination"); }
+            return destination;
+        }
+    }
+
+    @FunctionalInterface
+    protected interface JmsWork<T> {
+        T perform(JmsConnection connection) throws JMSException;
+    }
 
     @Override
     public void setApplicationContext(ApplicationContext ctx) throws BeansException { spring = ctx; }
@@ -52,53 +124,86 @@ public class JmsClient implements ApplicationContextAware {
     public Object receive(JmsClientConfig config, long timeout) throws JMSException {
         if (config == null) { throw new IllegalArgumentException("config is null"); }
 
-        Connection connection = null;
-        Session session = null;
+        return execute(config, jms -> {
+            MessageConsumer consumer = jms.createConsumer(config);
+            try {
+                Message msg = timeout == MS_UNDEFINED ? consumer.receive() : consumer.receive(timeout);
+                return msg == null ? null : handleMessage(msg);
+            } finally {
+                consumer.close();
+            }
+        });
+    }
 
-        try {
-            connection = config.createConnection();
-            if (connection == null) { throw new IllegalArgumentException("Unable to resolve JMS connection"); }
+    /** send each of {@code payloads} as a text message, with the time taken to send each as its latency */
+    public JmsBatchResult sendBatch(JmsClientConfig config, List<String> payloads) throws JMSException {
+        if (config == null) { throw new IllegalArgumentException("config is null"); }
+        if (payloads == null || payloads.isEmpty()) { throw new IllegalArgumentException("payload is missing"); }
 
-            session = connection.createSession(false, AUTO_ACKNOWLEDGE);
-            if (session == null) { throw new IllegalArgumentException("Unable to resolve JMS session"); }
+        return execute(config, jms -> {
+            MessageProducer producer = jms.getProducer(config);
+            JmsBatchResult result = new JmsBatchResult();
+            for (String payload : payloads) {
+                long startTime = System.currentTimeMillis();
+                producer.send(jms.getSession().createTextMessage(payload));
+                result.add(payload, System.currentTimeMillis() - startTime);
+            }
+            return result.end();
+        });
+    }
 
-            Destination destination = config.resolveDestination(session);
-            if (destination == null) { throw new IllegalArgumentException("Unable to resolve JMS destination"); }
+    /**
+     * receive up to {@code max} messages within {@code windowMs}, with the time between each message was sent and
+     * received as its latency
+     */
+    public JmsBatchResult receiveBatch(JmsClientConfig config, int max, long windowMs) throws JMSException {
+        if (config == null) { throw new IllegalArgumentException("config is null"); }
+
+        return execute(config, jms -> {
+            JmsBatchResult result = new JmsBatchResult();
+            long deadline = result.getStartTime() + windowMs;
+            MessageConsumer consumer = jms.createConsumer(config);
+            try {
+                while (result.getCount() < max) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) { break; }
 
-            MessageConsumer consumer = session.createConsumer(destination);
-            Message msg = timeout == MS_UNDEFINED ? consumer.receive() : consumer.receive(timeout);
-            if (msg == null) { return null; }
+                    Message msg = consumer.receive(remaining);
+                    if (msg == null) { break; }
 
-            if (msg instanceof TextMessage) { return handleTextMessage((TextMessage) msg); }
-            if (msg instanceof MapMessage) { return handleMapMessage((MapMessage) msg); }
+                    long receivedTime = System.currentTimeMillis();
+                    long sentTime = msg.getJMSTimestamp();
+                    result.add(handleMessage(msg), sentTime > 0 ? Math.max(receivedTime - sentTime, 0) : 0);
+                }
+            } finally {
+                consumer.close();
+            }
+            return result.end();
+        });
+    }
 
-            throw new UnsupportedOperationException("Unknown/unsupported message type: " + msg.getClass());
-        } finally {
-            if (session != null) { try { session.close(); } catch (JMSException e) { } }
-            if (connection != null) { try { connection.close(); } catch (JMSException e) { } }
+    /** close all reused connections */
+    public void close() {
+        List<JmsConnection> opened;
+        synchronized (connections) {
+            opened = new ArrayList<>(connections.values());
+            connections.clear();
         }
+
+        if (!opened.isEmpty()) { ConsoleUtils.log("closing " + opened.size() + " JMS connection(s)"); }
+        opened.forEach(JmsConnection::close);
+    }
+
+    public boolean hasOpenConnections() {
+        synchronized (connections) { return !connections.isEmpty(); }
     }
 
     protected void sendObject(JmsClientConfig config, String messageId, Object payload) throws JMSException {
         if (config == null) { throw new IllegalArgumentException("config is null"); }
         if (payload == null) { throw new IllegalArgumentException("payload is missing"); }
 
-        Connection connection = null;
-        Session session = null;
-
-        try {
-            connection = config.createConnection();
-            if (connection == null) { throw new IllegalArgumentException("Unable to resolve JMS connection"); }
-
-            session = connection.createSession(false, AUTO_ACKNOWLEDGE);
-            if (session == null) { throw new IllegalArgumentException("Unable to resolve JMS session"); }
-
-            Destination destination = config.resolveDestination(session);
-            if (destination == null) { throw new IllegalArgumentException("Unable to resolve JMS destination"); }
-
-            MessageProducer producer = session.createProducer(destination);
-            producer.setDeliveryMode(NON_PERSISTENT);
-
+        execute(config, jms -> {
+            Session session = jms.getSession();
             Message msg;
             if (payload instanceof Map) {
                 msg = session.createMapMessage();
@@ -110,13 +215,68 @@ public class JmsClient implements ApplicationContextAware {
 
             if (StringUtils.isNotBlank(messageId)) { msg.setJMSMessageID(messageId); }
 
-            producer.send(msg);
-        } finally {
-            if (session != null) { try { session.close(); } catch (JMSException e) { } }
-            if (connection != null) { try { connection.close(); } catch (JMSException e) { } }
+            jms.getProducer(config).send(msg);
+            return null;
+        });
+    }
+
+    /**
+     * perform {@code work} over the connection of {@code config}. The connection is reused by subsequent work of the
+     * same connection settings, unless {@link org.nexial.core.NexialConst.Data#JMS_REUSE_CONNECTION} is turned off.
+     * A reused connection is discarded upon error, and a new one is created on next use.
+     */
+    protected <T> T execute(JmsClientConfig config, JmsWork<T> work) throws JMSException {
+        if (context != null && !context.getBooleanData(JMS_REUSE_CONNECTION, DEF_JMS_REUSE_CONNECTION)) {
+            JmsConnection jms = new JmsConnection(config);
+            try {
+                return work.perform(jms);
+            } finally {
+                jms.close();
+            }
+        }
+
+        JmsConnection jms = resolveConnection(config);
+        // JMS session is single-threaded
+        synchronized (jms) {
+            try {
+                return work.perform(jms);
+            } catch (JMSException | RuntimeException e) {
+                discardConnection(config, jms);
+                throw e;
+            }
         }
     }
 
+    protected JmsConnection resolveConnection(JmsClientConfig config) throws JMSException {
+        String key = config.getConnectionKey();
+        synchronized (connections) {
+            JmsConnection jms = connections.get(key);
+            if (jms != null && !jms.isBroken()) { return jms; }
+            if (jms != null) {
+                ConsoleUtils.log("JMS connection to " + config.getUrl() + " is broken; reconnecting...");
+                connections.remove(key);
+                jms.close();
+            }
+
+            jms = new JmsConnection(config);
+            connections.put(key, jms);
+            return jms;
+        }
+    }
+
+    protected void discardConnection(JmsClientConfig config, JmsConnection jms) {
+        synchronized (connections) {
+            if (connections.get(config.getConnectionKey()) == jms) { connections.remove(config.getConnectionKey()); }
+        }
+        jms.close();
+    }
+
+    private Object handleMessage(Message msg) throws JMSException {
+        if (msg instanceof TextMessage) { return handleTextMessage((TextMessage) msg); }
+        if (msg instanceof MapMessage) { return handleMapMessage((MapMessage) msg); }
+        throw new UnsupportedOperationException("Unknown/unsupported message type: " + msg.getClass());
+    }
+
     private Map<String, String> handleMapMessage(MapMessage msg) throws JMSException {
         Map<String, String> content = new HashMap<>();
         Enumeration names = msg.getMapNames();
@@ -125,7 +285,7 @@ public class JmsClient implements ApplicationContextAware {
             content.put(String.valueOf(name), String.valueOf(msg.getObject(name)));
         }
 
-        if (context.isVerbose()) {
+        if (context != null && context.isVerbose()) {
             context.logCurrentStep("message received: " + StringUtils.truncate(content.toString(), 500));
         }
 
@@ -134,7 +294,9 @@ public class JmsClient implements ApplicationContextAware {
 
     private String handleTextMessage(TextMessage msg) throws JMSException {
         String content = msg.getText();
-        if (context.isVerbose()) { context.logCurrentStep("message received: " + StringUtils.truncate(content, 500)); }
+        if (context != null && context.isVerbose()) {
+            context.logCurrentStep("message received: " + StringUtils.truncate(content, 500));
+        }
         return content;
     }
 }
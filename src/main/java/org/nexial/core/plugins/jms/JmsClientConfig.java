@@ -19,6 +19,7 @@ package org.nexial.core.plugins.jms;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.TreeMap;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
@@ -44,6 +45,8 @@ public abstract class JmsClientConfig implements Serializable {
     protected String destination;
     protected boolean isTopic;
     protected ThirdPartyDriverInfo driverInfo;
+    // all settings that determine the connection (i.e. excluding destination), for connection reuse
+    protected String connectionKey;
 
     public String getUrl() { return url;}
 
@@ -73,6 +76,9 @@ public abstract class JmsClientConfig implements Serializable {
 
     public void setDriverInfo(ThirdPartyDriverInfo driverInfo) { this.driverInfo = driverInfo; }
 
+    /** configs of the same connection key can share the same connection, regardless of their destination */
+    public String getConnectionKey() { return connectionKey; }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37).append(url).append(destination).toHashCode();
@@ -114,6 +120,11 @@ public abstract class JmsClientConfig implements Serializable {
         username = config.get("username");
         password = config.get("password");
         isTopic = BooleanUtils.toBoolean(config.get("isTopic"));
+
+        Map<String, String> connectionSettings = new TreeMap<>(config);
+        connectionSettings.remove("destination");
+        connectionSettings.remove("isTopic");
+        connectionKey = connectionSettings.toString();
     }
 
     public abstract Connection createConnection() throws JMSException;
@@ -17,21 +17,25 @@
 
 package org.nexial.core.plugins.jms;
 
+import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.nexial.commons.utils.TextUtils;
+import org.nexial.core.ShutdownAdvisor;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
+import org.nexial.core.plugins.ForcefulTerminate;
 import org.nexial.core.plugins.ThirdPartyDriverInfo;
 import org.nexial.core.plugins.base.BaseCommand;
 
 import static org.nexial.core.NexialConst.MS_UNDEFINED;
 import static org.nexial.core.utils.CheckUtils.*;
 
-public class JmsCommand extends BaseCommand {
+public class JmsCommand extends BaseCommand implements ForcefulTerminate {
     private JmsClient jmsClient;
     private Map<String, String> jmsClientConfigs;
     private Map<String, ThirdPartyDriverInfo> jmsJarInfo;
@@ -40,11 +44,24 @@ public class JmsCommand extends BaseCommand {
     public void init(ExecutionContext context) {
         super.init(context);
         jmsClient.setContext(context);
+        ShutdownAdvisor.addAdvisor(this);
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        jmsClient.close();
     }
 
     @Override
     public String getTarget() { return "jms"; }
 
+    @Override
+    public boolean mustForcefullyTerminate() { return jmsClient.hasOpenConnections(); }
+
+    @Override
+    public void forcefulTerminate() { jmsClient.close(); }
+
     public void setJmsClient(JmsClient jmsClient) { this.jmsClient = jmsClient;}
 
     public void setJmsClientConfigs(Map<String, String> jmsClientConfigs) { this.jmsClientConfigs = jmsClientConfigs; }
@@ -92,6 +109,49 @@ public class JmsCommand extends BaseCommand {
         }
     }
 
+    /**
+     * send each of {@code payloads} as a text message. {@code payloads} is either multi-line text (e.g. content of a
+     * CSV file) where each line is a message, or a list of messages separated by the text delimiter.
+     */
+    public StepResult sendTextBatch(String var, String config, String payloads) {
+        requiresValidVariableName(var);
+        requiresNotBlank(config, "Invalid config", config);
+        requiresNotBlank(payloads, "Invalid payloads", payloads);
+
+        List<String> messages = StringUtils.contains(payloads, "\n") ?
+                                TextUtils.toList(StringUtils.remove(payloads, "\r"), "\n", false) :
+                                TextUtils.toList(payloads, context.getTextDelim(), false);
+        requires(CollectionUtils.isNotEmpty(messages), "No message found", payloads);
+
+        try {
+            JmsBatchResult result = jmsClient.sendBatch(resolveJmsClientConfig(config), messages);
+            context.setData(var, result);
+            return StepResult.success(result.getCount() + " message(s) sent in " + result.getElapsedTime() + " ms " +
+                                      "(average " + result.getAverageLatency() + " ms per message)");
+        } catch (Throwable e) {
+            return StepResult.fail("messages FAILED to sent due to " + e.getMessage());
+        }
+    }
+
+    /** receive up to {@code max} messages within {@code waitMs}, and save them (with latencies) to {@code var} */
+    public StepResult receiveBatch(String var, String config, String max, String waitMs) {
+        requiresValidVariableName(var);
+        requiresNotBlank(config, "Invalid config", config);
+        requiresPositiveNumber(max, "Invalid max", max);
+        requiresPositiveNumber(waitMs, "Invalid wait time", waitMs);
+
+        try {
+            JmsBatchResult result = jmsClient.receiveBatch(resolveJmsClientConfig(config),
+                                                           NumberUtils.toInt(max),
+                                                           NumberUtils.toLong(waitMs));
+            context.setData(var, result);
+            return StepResult.success(result.getCount() + " message(s) received and saved to variable '" + var +
+                                      "' (average latency " + result.getAverageLatency() + " ms)");
+        } catch (Throwable e) {
+            return StepResult.fail("messages FAILED to receive due to " + e.getMessage());
+        }
+    }
+
     protected StepResult send(String config, String id, Object payload) {
         try {
             jmsClient.sendObject(resolveJmsClientConfig(config), id, payload);
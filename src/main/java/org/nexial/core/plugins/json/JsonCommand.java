@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.model.ExecutionContext;
@@ -29,6 +30,7 @@ import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.JSONPath;
+import org.nexial.core.utils.JsonDocumentCache;
 import org.nexial.core.utils.JsonUtils;
 import org.nexial.core.utils.OutputFileUtils;
 
@@ -159,12 +161,12 @@ public class JsonCommand extends BaseCommand {
 
             json = new String(StringUtils.trim(json).getBytes(DEF_CHARSET), DEF_CHARSET);
             if (TextUtils.isBetween(json, "[", "]")) {
-                JSONArray jsonArray = JsonUtils.toJSONArray(json);
+                JSONArray jsonArray = toCachedJSONArray(json);
                 requires(jsonArray != null, "invalid/malformed json", json);
                 return jsonArray;
             }
 
-            JSONObject jsonObject = JsonUtils.toJSONObject(json);
+            JSONObject jsonObject = toCachedJSONObject(json);
             requires(jsonObject != null, "invalid/malformed json", json);
             return jsonObject;
         } catch (IOException e) {
@@ -198,20 +200,27 @@ public class JsonCommand extends BaseCommand {
             throw new IllegalArgumentException("Unsupported data type " + obj.getClass().getSimpleName());
         }
 
-        String matches = jp.get();
+        return jp.count();
+    }
 
-        int count = 0;
-        if (matches != null) {
-            // is this array?
-            if (StringUtils.startsWith(matches, "[") && StringUtils.endsWith(matches, "]")) {
-                JSONArray matchedArray = jp.getAs(JSONArray.class);
-                if (matchedArray != null) { count = matchedArray.length(); }
-            } else {
-                count = 1;
-            }
+    /**
+     * the same JSON document (i.e. ${response}.body) is usually asserted many times over, hence it is parsed once and
+     * kept for subsequent lookups. Malformed JSON is handled (logged) as before.
+     */
+    private static JSONObject toCachedJSONObject(String json) {
+        try {
+            return JsonDocumentCache.toJSONObject(json);
+        } catch (JSONException e) {
+            return JsonUtils.toJSONObject(json);
         }
+    }
 
-        return count;
+    private static JSONArray toCachedJSONArray(String json) {
+        try {
+            return JsonDocumentCache.toJSONArray(json);
+        } catch (JSONException e) {
+            return JsonUtils.toJSONArray(json);
+        }
     }
 
     private JsonNode deriveWellformedJson(String json) {
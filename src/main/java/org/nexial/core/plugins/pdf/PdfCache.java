@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.pdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.utils.ConsoleUtils;
+
+/**
+ * memory-bounded cache of the text and metadata extracted from PDF files, so that a PDF is parsed once no matter how
+ * many assertions are made against it. A PDF is identified by its canonical path, and its cached content is discarded
+ * as soon as its size or modification time changes.
+ * <p>
+ * The memory bound is an estimate based on the number of characters cached. The least recently used PDF is evicted
+ * first; a PDF whose text alone exceeds the bound is not cached at all.
+ */
+final class PdfCache {
+    // rough estimate of the memory overhead of a cached page or metadata entry
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private final Map<String, CachedPdf> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    interface Loader<T> {
+        T load(File pdf) throws IOException;
+    }
+
+    /** text of a PDF, as extracted from each of its pages and from its embedded PDFs (if any) */
+    static final class PdfText {
+        private final List<String> pages;
+        private final String embedded;
+
+        PdfText(List<String> pages, String embedded) {
+            this.pages = Collections.unmodifiableList(pages);
+            this.embedded = StringUtils.defaultString(embedded);
+        }
+
+        List<String> getPages() { return pages; }
+
+        /** same as the text extracted from the whole document in one go */
+        String getText() {
+            StringBuilder text = new StringBuilder();
+            pages.forEach(text::append);
+            return text.append(embedded).toString();
+        }
+
+        private long estimateBytes() {
+            long bytes = embedded.length() * 2L;
+            for (String page : pages) { bytes += page.length() * 2L + ENTRY_OVERHEAD; }
+            return bytes;
+        }
+    }
+
+    /** all that is known about one version (modification time and size) of a PDF */
+    private static final class CachedPdf {
+        private final long lastModified;
+        private final long length;
+        private PdfText text;
+        private String metadataDelim;
+        private Map<String, String> metadata;
+
+        private CachedPdf(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private boolean isCurrent(File pdf) { return lastModified == pdf.lastModified() && length == pdf.length(); }
+
+        private long estimateBytes() {
+            long bytes = text == null ? 0 : text.estimateBytes();
+            if (metadata != null) {
+                for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                    bytes += (entry.getKey().length() + StringUtils.length(entry.getValue())) * 2L + ENTRY_OVERHEAD;
+                }
+            }
+            return bytes;
+        }
+    }
+
+    PdfCache(long maxBytes) { this.maxBytes = Math.max(maxBytes, 0); }
+
+    PdfText getText(File pdf, Loader<PdfText> loader) throws IOException {
+        if (maxBytes == 0) { return loader.load(pdf); }
+
+        synchronized (this) {
+            CachedPdf cached = resolve(pdf);
+            if (cached.text != null) {
+                hits.incrementAndGet();
+                return cached.text;
+            }
+
+            misses.incrementAndGet();
+            PdfText text = loader.load(pdf);
+            update(pdf, cached, () -> cached.text = text);
+            return text;
+        }
+    }
+
+    /** metadata is tied to {@code delim} since multi-value metadata are joined by it */
+    Map<String, String> getMetadata(File pdf, String delim, Loader<Map<String, String>> loader) throws IOException {
+        if (maxBytes == 0) { return loader.load(pdf); }
+
+        synchronized (this) {
+            CachedPdf cached = resolve(pdf);
+            if (cached.metadata != null && StringUtils.equals(cached.metadataDelim, delim)) {
+                hits.incrementAndGet();
+                return new HashMap<>(cached.metadata);
+            }
+
+            misses.incrementAndGet();
+            Map<String, String> metadata = loader.load(pdf);
+            update(pdf, cached, () -> {
+                cached.metadataDelim = delim;
+                cached.metadata = new HashMap<>(metadata);
+            });
+            return metadata;
+        }
+    }
+
+    long getHits() { return hits.get(); }
+
+    long getMisses() { return misses.get(); }
+
+    synchronized int size() { return documents.size(); }
+
+    synchronized long getCachedBytes() { return cachedBytes; }
+
+    synchronized void clear() {
+        documents.clear();
+        cachedBytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "pdf cache: " + size() + " document(s), ~" + (getCachedBytes() / 1024) + " KB, " +
+               hits.get() + " hit(s), " + misses.get() + " miss(es)";
+    }
+
+    /** cached entry of the current version of {@code pdf}; a new (empty) one if none or outdated */
+    private CachedPdf resolve(File pdf) throws IOException {
+        String key = toKey(pdf);
+        CachedPdf cached = documents.get(key);
+        if (cached != null && cached.isCurrent(pdf)) { return cached; }
+
+        if (cached != null) { remove(key); }
+        // file version is determined before parsing, so that a concurrent modification is picked up next time
+        return new CachedPdf(pdf.lastModified(), pdf.length());
+    }
+
+    private void update(File pdf, CachedPdf cached, Runnable change) throws IOException {
+        String key = toKey(pdf);
+        if (documents.get(key) == cached) { remove(key); }
+
+        change.run();
+        long bytes = cached.estimateBytes();
+        if (bytes > maxBytes) {
+            ConsoleUtils.log("content of " + key + " too large to be cached (~" + (bytes / 1024) + " KB)");
+            return;
+        }
+
+        documents.put(key, cached);
+        cachedBytes += bytes;
+
+        // evict the least recently used documents, but not the one just added
+        Iterator<Map.Entry<String, CachedPdf>> entries = documents.entrySet().iterator();
+        while (cachedBytes > maxBytes && entries.hasNext()) {
+            Map.Entry<String, CachedPdf> eldest = entries.next();
+            if (eldest.getValue() == cached) { continue; }
+            cachedBytes -= eldest.getValue().estimateBytes();
+            entries.remove();
+        }
+    }
+
+    private void remove(String key) {
+        CachedPdf removed = documents.remove(key);
+        if (removed != null) { cachedBytes -= removed.estimateBytes(); }
+    }
+
+    private static String toKey(File pdf) throws IOException { return pdf.getCanonicalPath(); }
+}
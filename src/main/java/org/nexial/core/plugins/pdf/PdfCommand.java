@@ -23,6 +23,8 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -49,6 +51,7 @@ import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.plugins.io.IoCommand;
+import org.nexial.core.plugins.pdf.PdfCache.PdfText;
 import org.nexial.core.plugins.pdf.PdfTableExtractor.LineRange;
 import org.nexial.core.variable.Syspath;
 import org.thymeleaf.util.ArrayUtils;
@@ -68,7 +71,11 @@ import static org.nexial.core.utils.CheckUtils.*;
  */
 public class PdfCommand extends BaseCommand {
     protected static final DateFormat PDF_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    // min. number of pages extracted by each thread, when extracting in parallel
+    private static final int MIN_PAGES_PER_SLICE = 10;
     protected IoCommand io;
+    // text and metadata of the PDF files parsed during this execution
+    private PdfCache pdfCache;
 
     @Override
     public void init(ExecutionContext context) {
@@ -443,47 +450,7 @@ public class PdfCommand extends BaseCommand {
         File pdfFile = new File(pdf);
         requires(pdfFile.exists() && pdfFile.canRead() && pdfFile.length() > 0, "unreadable or empty pdf", pdf);
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Writer output = new OutputStreamWriter(out);
-
-        PDDocument document = null;
-        try {
-            document = PDDocument.load(pdfFile);
-
-            //use default encoding
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            //stripper.setShouldSeparateByBeads(true);
-            //stripper.setAddMoreFormatting(false);
-
-            // Extract text for main document:
-            stripper.writeText(document, output);
-
-            // ... also for any embedded PDFs:
-            extractEmbeddedPDFs(document, stripper, output);
-        } finally {
-            try {
-                output.close();
-            } catch (IOException e) {
-                log("Unable to close output stream", e);
-            }
-
-            try {
-                out.close();
-            } catch (IOException e) {
-                log("Unable to close underlying output stream", e);
-            }
-
-            if (document != null) {
-                try {
-                    document.close();
-                } catch (IOException e) {
-                    log("Unable to close PDF document", e);
-                }
-            }
-        }
-
-        String content = normalizePdfText(out.toString());
+        String content = normalizePdfText(resolvePdfCache().getText(pdfFile, this::parseText).getText());
         log("extracted " + StringUtils.length(content) + " bytes from '" + pdf + "'");
         return content;
     }
@@ -499,49 +466,19 @@ public class PdfCommand extends BaseCommand {
         List<File> pages = new ArrayList<>();
         List<Exception> extractionErrors = new ArrayList<>();
 
-        //TestCommand command = context.getCurrentTestStep();
-        //boolean verbose = context.isVerbose() && command != null;
-
-        PDDocument document = null;
-        try {
-            document = PDDocument.load(pdfFile);
-
-            PDDocumentCatalog catalog = document.getDocumentCatalog();
-            PDPageTree allPages = catalog.getPages();
-            if (allPages == null || allPages.getCount() < 1) { return pages; }
-            //List allPages = catalog.getAllPages();
-            //if (CollectionUtils.isEmpty(allPages)) { return pages; }
-
-            for (int i = 1; i <= allPages.getCount(); i++) {
-                try {
-                    String content = extractPage(document, i);
-                    File page = new File(destionationBaseName + ".page" + i + ".txt");
-                    log("extracted " + StringUtils.length(content) + " bytes from " +
-                        "Page " + i + " of '" + pdf + "' as saved as '" + page.getAbsolutePath() + "'");
-                    FileUtils.write(page, content, DEF_CHARSET);
-
-                    // todo: added hyplink to excel output for the generated page files
-                    //if (verbose) {
-                    //	command.addLinkableParam();
-                    //	String param = params.get(i);
-                    //	String paramValue = context.replaceTokens(param);
-                    //	if (StringUtils.contains(param, "${syspath|")) { command.addLinkableParam(i, paramValue); }
-                    //
-                    //	log();
-                    //}
-
-                    pages.add(page);
-                } catch (IOException e) {
-                    extractionErrors.add(e);
-                }
-            }
-        } finally {
-            if (document != null) {
-                try {
-                    document.close();
-                } catch (IOException e) {
-                    log("Unable to close PDF document", e);
-                }
+        List<String> allPages = resolvePdfCache().getText(pdfFile, this::parseText).getPages();
+        for (int i = 1; i <= allPages.size(); i++) {
+            try {
+                String content = normalizePdfText(allPages.get(i - 1));
+                File page = new File(destionationBaseName + ".page" + i + ".txt");
+                log("extracted " + StringUtils.length(content) + " bytes from " +
+                    "Page " + i + " of '" + pdf + "' as saved as '" + page.getAbsolutePath() + "'");
+                FileUtils.write(page, content, DEF_CHARSET);
+
+                // todo: added hyplink to excel output for the generated page files
+                pages.add(page);
+            } catch (IOException e) {
+                extractionErrors.add(e);
             }
         }
 
@@ -554,39 +491,6 @@ public class PdfCommand extends BaseCommand {
         return pages;
     }
 
-    protected String extractPage(PDDocument document, int pageIndex) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Writer output = new OutputStreamWriter(out);
-
-        try {
-            //use default encoding
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            //stripper.setSuppressDuplicateOverlappingText(false);
-            //stripper.setAddMoreFormatting(false);
-            //stripper.setShouldSeparateByBeads(false);
-            stripper.setStartPage(pageIndex);
-            stripper.setEndPage(pageIndex);
-
-            // Extract text for main document:
-            stripper.writeText(document, output);
-        } finally {
-            try {
-                output.close();
-            } catch (IOException e) {
-                log("Unable to close output stream", e);
-            }
-
-            try {
-                out.close();
-            } catch (IOException e) {
-                log("Unable to close underlying output stream", e);
-            }
-        }
-
-        return normalizePdfText(out.toString());
-    }
-
     protected String normalizePdfText(String output) { return normalizeContent(StringUtils.trim(output)); }
 
     protected String normalizeContent(String content) {
@@ -646,6 +550,77 @@ public class PdfCommand extends BaseCommand {
         return destination;
     }
 
+    private PdfCache resolvePdfCache() {
+        if (pdfCache == null) {
+            pdfCache = new PdfCache(context.getIntData(PDF_CACHE_SIZE_MB, DEF_PDF_CACHE_SIZE_MB) * 1024L * 1024L);
+        }
+        return pdfCache;
+    }
+
+    private PdfText parseText(File pdfFile) throws IOException {
+        try (PDDocument document = PDDocument.load(pdfFile)) {
+            int pageCount = document.getNumberOfPages();
+            int parallelPages = context.getIntData(PDF_PARALLEL_PAGES, DEF_PDF_PARALLEL_PAGES);
+            List<String> pages = parallelPages > 0 && pageCount >= parallelPages ?
+                                 stripPagesInParallel(pdfFile, pageCount) :
+                                 stripPages(document, 1, pageCount);
+
+            // ... also for any embedded PDFs:
+            StringWriter embedded = new StringWriter();
+            extractEmbeddedPDFs(document, newTextStripper(), embedded);
+
+            PdfText text = new PdfText(pages, embedded.toString());
+            log("parsed " + pageCount + " page(s) from '" + pdfFile + "'; " + pdfCache);
+            return text;
+        }
+    }
+
+    /**
+     * since {@link PDDocument} is not thread-safe, the pages are split into slices and each slice is extracted from
+     * its own copy of the document.
+     */
+    private List<String> stripPagesInParallel(File pdfFile, int pageCount) throws IOException {
+        int slices = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), pageCount / MIN_PAGES_PER_SLICE));
+        int pagesPerSlice = (pageCount + slices - 1) / slices;
+
+        try {
+            return IntStream.range(0, slices).parallel().mapToObj(slice -> {
+                int from = slice * pagesPerSlice + 1;
+                int to = Math.min(from + pagesPerSlice - 1, pageCount);
+                if (from > to) { return Collections.<String>emptyList(); }
+
+                try (PDDocument document = PDDocument.load(pdfFile)) {
+                    return stripPages(document, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).flatMap(List::stream).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** text of each page from {@code from} to {@code to} (1-based, inclusive) */
+    private static List<String> stripPages(PDDocument document, int from, int to) throws IOException {
+        PDFTextStripper stripper = newTextStripper();
+        List<String> pages = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            stripper.setStartPage(i);
+            stripper.setEndPage(i);
+            pages.add(stripper.getText(document));
+        }
+        return pages;
+    }
+
+    private static PDFTextStripper newTextStripper() throws IOException {
+        //use default encoding
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        //stripper.setShouldSeparateByBeads(true);
+        //stripper.setAddMoreFormatting(false);
+        return stripper;
+    }
+
     private void extractEmbeddedPDFs(PDDocument document, PDFTextStripper stripper, Writer output) throws IOException {
         if (document == null) { return; }
         if (stripper == null) { return; }
@@ -677,14 +652,17 @@ public class PdfCommand extends BaseCommand {
         }
     }
 
-    private Map<String, String> extractMetadata(String pdf) throws IOException, XmpParsingException {
+    private Map<String, String> extractMetadata(String pdf) throws IOException {
         requires(StringUtils.isNotBlank(pdf), "invalid pdf", pdf);
 
         File pdfFile = new File(pdf);
         requires(pdfFile.exists() && pdfFile.canRead() && pdfFile.length() > 0, "unreadable or empty pdf", pdf);
 
         String delim = context.getTextDelim();
+        return resolvePdfCache().getMetadata(pdfFile, delim, file -> parseMetadata(file, delim));
+    }
 
+    private Map<String, String> parseMetadata(File pdfFile, String delim) throws IOException {
         Map<String, String> data = new HashMap<>();
 
         PDDocument document = null;
@@ -729,6 +707,8 @@ public class PdfCommand extends BaseCommand {
                     addMetadata(data, PRODUCER, information.getProducer());
                 }
             }
+        } catch (XmpParsingException e) {
+            throw new IOException("Unable to parse XMP metadata of '" + pdfFile + "': " + e.getMessage(), e);
         } finally {
             if (document != null) {
                 try {
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.nexial.core.utils.ConsoleUtils;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+import static com.jcraft.jsch.ChannelSftp.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * transfer many files over SFTP via multiple channels in parallel; each worker thread transfers one file at a time
+ * over its own channel until all files are transferred.
+ * <p>
+ * By default every file is transferred in full, overwriting any existing target file. With resume enabled, an
+ * existing target file is compared against its source (size and modification time, in seconds) first:
+ * <ul>
+ * <li>same size and same modification time: the target is considered complete and is not transferred again;</li>
+ * <li>smaller than the source and modified after the source: the target is considered partially transferred (e.g.
+ * by a previous, interrupted attempt), and only the remaining bytes are transferred;</li>
+ * <li>otherwise the target is overwritten.</li>
+ * </ul>
+ * The modification time of a transferred target is set to that of its source, and the target file size is verified
+ * against its source after transfer.
+ * <p>
+ * A worker unable to connect hands its file back to the remaining workers, which keep waiting for such files until
+ * all files are transferred. Only when no worker can connect are the remaining files reported as not transferred.
+ */
+final class SftpBulkTransfer {
+    private static final long POLL_WAIT_MS = 100;
+
+    private final ChannelOpener opener;
+    private final Consumer<ChannelSftp> closer;
+    private final int parallel;
+    private final boolean resume;
+
+    private enum Mode { SKIP, RESUME, OVERWRITE }
+
+    /** opens a SFTP channel for the specified worker (0-based); each worker uses its channel exclusively */
+    @FunctionalInterface
+    interface ChannelOpener {
+        ChannelSftp open(int worker) throws JSchException;
+    }
+
+    static final class FileTransfer {
+        private final String source;
+        private final String target;
+        private final long size;
+        private final long mtime;
+        private int index;
+
+        /** {@code mtime} is the modification time of {@code source}, in seconds (as per SFTP) */
+        FileTransfer(String source, String target, long size, long mtime) {
+            this.source = source;
+            this.target = target;
+            this.size = size;
+            this.mtime = mtime;
+        }
+
+        String getSource() { return source; }
+
+        String getTarget() { return target; }
+
+        long getSize() { return size; }
+
+        long getMtime() { return mtime; }
+    }
+
+    static final class Result {
+        private final FileTransfer transfer;
+        private final long bytes;
+        private final boolean resumed;
+        private final String error;
+
+        private Result(FileTransfer transfer, long bytes, boolean resumed, String error) {
+            this.transfer = transfer;
+            this.bytes = bytes;
+            this.resumed = resumed;
+            this.error = error;
+        }
+
+        FileTransfer getTransfer() { return transfer; }
+
+        /** bytes transferred; less than the file size if resumed, 0 if the target was already complete */
+        long getBytes() { return bytes; }
+
+        boolean isResumed() { return resumed; }
+
+        boolean isSuccess() { return error == null; }
+
+        String getError() { return error; }
+    }
+
+    SftpBulkTransfer(ChannelOpener opener, Consumer<ChannelSftp> closer, int parallel, boolean resume) {
+        this.opener = opener;
+        this.closer = closer;
+        this.parallel = Math.max(parallel, 1);
+        this.resume = resume;
+    }
+
+    /** local (source) to remote (target); results are in the same order as {@code transfers} */
+    List<Result> upload(List<FileTransfer> transfers) throws InterruptedException {
+        return transfer(transfers, true);
+    }
+
+    /** remote (source) to local (target); results are in the same order as {@code transfers} */
+    List<Result> download(List<FileTransfer> transfers) throws InterruptedException {
+        return transfer(transfers, false);
+    }
+
+    private List<Result> transfer(List<FileTransfer> transfers, boolean upload) throws InterruptedException {
+        if (transfers == null || transfers.isEmpty()) { return new ArrayList<>(); }
+
+        for (int i = 0; i < transfers.size(); i++) { transfers.get(i).index = i; }
+        BlockingQueue<FileTransfer> queue = new LinkedBlockingQueue<>(transfers);
+        Result[] results = new Result[transfers.size()];
+        AtomicReference<String> connectError = new AtomicReference<>();
+
+        int workers = Math.min(parallel, transfers.size());
+        // files not yet done, including those being transferred
+        AtomicInteger pending = new AtomicInteger(transfers.size());
+        AtomicInteger workerCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "sftp-transfer-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            futures.add(executor.submit(() -> work(worker, queue, pending, results, connectError, upload)));
+        }
+        executor.shutdown();
+
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    ConsoleUtils.error("Unexpected error during SFTP transfer: " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+
+        // files left behind, i.e. when no worker could connect
+        String error = connectError.get() == null ? "not transferred" : "Unable to connect: " + connectError.get();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) { results[i] = new Result(transfers.get(i), 0, false, error); }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * transfer files off {@code queue} until all files are done ({@code pending} is 0). Files might be handed back
+     * to {@code queue} by workers unable to connect, hence a connected worker keeps waiting for files as long as any
+     * file is pending. A worker unable to connect ends right away; if none is left, the files handed back remain in
+     * {@code queue} as not transferred.
+     */
+    private void work(int worker,
+                      BlockingQueue<FileTransfer> queue,
+                      AtomicInteger pending,
+                      Result[] results,
+                      AtomicReference<String> connectError,
+                      boolean upload) {
+        ChannelSftp channel = null;
+        try {
+            while (pending.get() > 0) {
+                FileTransfer transfer = queue.poll(POLL_WAIT_MS, MILLISECONDS);
+                if (transfer == null) { continue; }
+
+                if (channel == null || !channel.isConnected()) {
+                    if (channel != null) { closer.accept(channel); }
+                    try {
+                        channel = opener.open(worker);
+                    } catch (JSchException e) {
+                        // hand this file back to the other workers, if any; they transfer the remaining files
+                        channel = null;
+                        connectError.set(e.getMessage());
+                        queue.add(transfer);
+                        ConsoleUtils.log("SFTP transfer worker #" + (worker + 1) + " unable to connect: " +
+                                         e.getMessage());
+                        return;
+                    }
+                }
+
+                try {
+                    results[transfer.index] = upload ? upload(channel, transfer) : download(channel, transfer);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (channel != null) { closer.accept(channel); }
+        }
+    }
+
+    private Result upload(ChannelSftp channel, FileTransfer transfer) {
+        String target = transfer.target;
+        try {
+            long size = new File(transfer.source).length();
+            SftpATTRS targetAttrs = remoteAttrs(channel, target);
+            long targetSize = targetAttrs == null ? -1 : targetAttrs.getSize();
+            Mode mode = resolveMode(transfer, targetSize, targetAttrs == null ? 0 : targetAttrs.getMTime());
+
+            long bytes = 0;
+            if (mode != Mode.SKIP) {
+                channel.put(transfer.source, target, null, mode == Mode.RESUME ? RESUME : OVERWRITE);
+                bytes = mode == Mode.RESUME ? size - targetSize : size;
+                try {
+                    channel.setMtime(target, (int) transfer.mtime);
+                } catch (SftpException e) {
+                    ConsoleUtils.log("Unable to set modification time of " + target + ": " + e.getMessage());
+                }
+            }
+
+            SftpATTRS transferred = remoteAttrs(channel, target);
+            return verify(transfer, size, transferred == null ? -1 : transferred.getSize(), bytes, mode);
+        } catch (SftpException e) {
+            return new Result(transfer, 0, false, e.getMessage());
+        }
+    }
+
+    private Result download(ChannelSftp channel, FileTransfer transfer) {
+        File target = new File(transfer.target);
+        try {
+            long size = transfer.size;
+            long targetSize = target.isFile() ? target.length() : -1;
+            Mode mode = resolveMode(transfer, targetSize, target.lastModified() / 1000);
+
+            long bytes = 0;
+            if (mode != Mode.SKIP) {
+                channel.get(transfer.source, transfer.target, null, mode == Mode.RESUME ? RESUME : OVERWRITE);
+                bytes = mode == Mode.RESUME ? size - targetSize : size;
+                if (!target.setLastModified(transfer.mtime * 1000)) {
+                    ConsoleUtils.log("Unable to set modification time of " + target);
+                }
+            }
+
+            return verify(transfer, size, target.length(), bytes, mode);
+        } catch (SftpException e) {
+            return new Result(transfer, 0, false, e.getMessage());
+        }
+    }
+
+    /** how to transfer to a target of {@code targetSize} bytes (-1 if none), last modified at {@code targetMtime} */
+    private Mode resolveMode(FileTransfer transfer, long targetSize, long targetMtime) {
+        if (!resume || targetSize < 0) { return Mode.OVERWRITE; }
+        if (targetSize == transfer.size && targetMtime == transfer.mtime) { return Mode.SKIP; }
+        // written since the source was last modified, hence a partial copy of the current source
+        if (targetSize > 0 && targetSize < transfer.size && targetMtime >= transfer.mtime) { return Mode.RESUME; }
+        return Mode.OVERWRITE;
+    }
+
+    private static Result verify(FileTransfer transfer, long size, long targetSize, long bytes, Mode mode) {
+        boolean resumed = mode == Mode.RESUME;
+        if (targetSize != size) {
+            return new Result(transfer, bytes, resumed, "Target file size (" + targetSize + ") is different than " +
+                                                        "source file size (" + size + ")");
+        }
+        return new Result(transfer, bytes, resumed, null);
+    }
+
+    /** attributes of {@code path}, or null if it does not exist */
+    private static SftpATTRS remoteAttrs(ChannelSftp channel, String path) throws SftpException {
+        try {
+            return channel.stat(path);
+        } catch (SftpException e) {
+            if (e.id == SSH_FX_NO_SUCH_FILE) { return null; }
+            throw e;
+        }
+    }
+}
@@ -18,8 +18,13 @@
 package org.nexial.core.plugins.ssh;
 
 import java.io.File;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -30,9 +35,13 @@ import org.nexial.core.IntegrationConfigException;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.utils.ConsoleUtils;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.nexial.core.NexialConst.Data.*;
 
 public class SshClientConnection {
+    private static final String SESSION_KEY_ALGORITHM = "HmacSHA256";
+    private static final byte[] SESSION_KEY_SECRET = newSessionKeySecret();
+
     private String username;
     private String password;
     private String host;
@@ -108,6 +117,32 @@ public class SshClientConnection {
 
     public File getKnownHostsFile() { return knownHostsFile; }
 
+    /**
+     * key to share an established session: only connections of the same user, host, port, password and host key
+     * settings share a session. The key is an opaque HMAC of these settings, keyed by a random secret of this JVM, so
+     * that it reveals nothing about the password; still, it is not meant to be logged.
+     */
+    public String toSessionKey() {
+        String settings = username + "@" + host + ":" + port +
+                          "[" + (strictHostKeyChecking ? "strict" : "nonstrict") +
+                          (knownHostsFile != null ? "," + knownHostsFile.getAbsolutePath() : "") + "]" +
+                          "/" + StringUtils.defaultString(password);
+        try {
+            Mac mac = Mac.getInstance(SESSION_KEY_ALGORITHM);
+            mac.init(new SecretKeySpec(SESSION_KEY_SECRET, SESSION_KEY_ALGORITHM));
+            return Hex.encodeHexString(mac.doFinal(settings.getBytes(UTF_8)));
+        } catch (GeneralSecurityException e) {
+            // every JVM supports HmacSHA256
+            throw new IllegalStateException("Unable to derive SSH session key: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] newSessionKeySecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
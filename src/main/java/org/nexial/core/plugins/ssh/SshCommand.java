@@ -19,36 +19,74 @@ package org.nexial.core.plugins.ssh;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Properties;
 import java.util.Vector;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.IntegrationConfigException;
+import org.nexial.core.ShutdownAdvisor;
+import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
+import org.nexial.core.plugins.ForcefulTerminate;
 import org.nexial.core.plugins.RemoteFileActionOutcome;
 import org.nexial.core.plugins.RemoteFileActionOutcome.TransferAction;
 import org.nexial.core.plugins.base.BaseCommand;
+import org.nexial.core.plugins.ssh.SftpBulkTransfer.FileTransfer;
 import org.nexial.core.utils.ConsoleUtils;
 
 import com.jcraft.jsch.*;
 import com.jcraft.jsch.ChannelSftp.*;
 
 import static com.jcraft.jsch.ChannelSftp.*;
+import static org.nexial.core.NexialConst.Data.*;
 import static org.nexial.core.plugins.RemoteFileActionOutcome.TransferAction.*;
 import static org.nexial.core.plugins.RemoteFileActionOutcome.TransferProtocol.SCP;
 import static org.nexial.core.plugins.RemoteFileActionOutcome.TransferProtocol.SFTP;
 import static org.nexial.core.utils.CheckUtils.*;
 
-public class SshCommand extends BaseCommand {
+public class SshCommand extends BaseCommand implements ForcefulTerminate {
+    // sessions reused throughout this execution
+    protected volatile SshSessionPool sessionPool;
+    private boolean shutdownAdvisorAdded;
+
+    @Override
+    public void init(ExecutionContext context) {
+        super.init(context);
+        if (!shutdownAdvisorAdded) {
+            ShutdownAdvisor.addAdvisor(this);
+            shutdownAdvisorAdded = true;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        closeSessionPool();
+    }
 
     @Override
     public String getTarget() { return "ssh"; }
 
+    @Override
+    public boolean mustForcefullyTerminate() {
+        SshSessionPool pool = sessionPool;
+        return pool != null && pool.size() > 0;
+    }
+
+    @Override
+    public void forcefulTerminate() { closeSessionPool(); }
+
     public StepResult sftpCopyFrom(String var, String profile, String remote, String local)
         throws IntegrationConfigException {
         sanityCheck(var, profile, remote, local);
@@ -70,7 +108,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
             channel.get(remote, local);
             return succeedSingleFile(var, local, outcome, "copy from " + remote + " to " + local);
@@ -103,7 +141,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
             channel.put(local, remote);
             return succeedSingleFile(var, remote, outcome, "copy from " + local + " to " + remote);
@@ -136,7 +174,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
 
             // 1. get remote file attr
@@ -203,7 +241,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
 
             // 1. push file to remote
@@ -259,7 +297,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
 
             Vector remoteFiles = channel.ls(outcome.getRemotePath());
@@ -310,7 +348,7 @@ public class SshCommand extends BaseCommand {
         ChannelSftp channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             channel = openSftpChannel(session);
             channel.rm(outcome.getRemotePath());
             return succeedSingleFile(var, remote, outcome, "delete remote file " + remote);
@@ -321,6 +359,95 @@ public class SshCommand extends BaseCommand {
         }
     }
 
+    /**
+     * copy multiple local files to the remote directory {@code remote}, in parallel. {@code local} is either a
+     * directory (all files directly within) or a filename pattern with wildcard (e.g. {@code /data/out/*.csv}). See
+     * {@link SftpBulkTransfer} on resuming partially transferred files (via {@code nexial.sftpResume}).
+     */
+    public StepResult sftpBulkCopyTo(String var, String profile, String local, String remote)
+        throws IntegrationConfigException {
+        sanityCheck(var, profile, remote, local);
+
+        RemoteFileActionOutcome outcome = new RemoteFileActionOutcome().setProtocol(SFTP)
+                                                                       .setAction(COPY_TO)
+                                                                       .setLocalPath(local)
+                                                                       .setRemotePath(remote);
+
+        StepResult stepResult = requireValidRemotePath(remote, true, false);
+        if (stepResult != null) { return stepResult; }
+
+        List<File> files = listLocalFiles(local);
+        if (files.isEmpty()) { return failSingleFile(var, local, outcome, "No local files found via " + local); }
+
+        String remoteDir = StringUtils.appendIfMissing(remote, "/");
+        List<FileTransfer> transfers = new ArrayList<>();
+        files.forEach(file -> transfers.add(new FileTransfer(file.getAbsolutePath(),
+                                                             remoteDir + file.getName(),
+                                                             file.length(),
+                                                             file.lastModified() / 1000)));
+
+        return bulkTransfer(var, outcome, resolveSshClientConnection(profile), transfers);
+    }
+
+    /**
+     * copy multiple remote files to the local directory {@code local}, in parallel. {@code remote} is either a
+     * directory (all files directly within) or a filename pattern with wildcard (e.g. {@code /data/in/*.csv}). See
+     * {@link SftpBulkTransfer} on resuming partially transferred files (via {@code nexial.sftpResume}).
+     */
+    public StepResult sftpBulkCopyFrom(String var, String profile, String remote, String local)
+        throws IntegrationConfigException {
+        sanityCheck(var, profile, remote, local);
+
+        RemoteFileActionOutcome outcome = new RemoteFileActionOutcome().setProtocol(SFTP)
+                                                                       .setAction(COPY_FROM)
+                                                                       .setLocalPath(local)
+                                                                       .setRemotePath(remote);
+
+        StepResult stepResult = requireValidRemotePath(remote, true, true);
+        if (stepResult != null) { return stepResult; }
+
+        File localDir = new File(local);
+        if (!localDir.isDirectory() && !localDir.mkdirs()) {
+            return StepResult.fail("local path " + local + " is not a directory, or cannot be created");
+        }
+
+        SshClientConnection connection = resolveSshClientConnection(profile);
+
+        List<FileTransfer> transfers = new ArrayList<>();
+        Session session = null;
+        ChannelSftp channel = null;
+        try {
+            session = openSession(connection);
+            channel = openSftpChannel(session);
+
+            Vector remoteFiles = channel.ls(remote);
+            if (CollectionUtils.isEmpty(remoteFiles)) {
+                return failSingleFile(var, remote, outcome, "No remote files found via " + remote);
+            }
+
+            String remoteDir = resolveRemoteParentPath(outcome, remoteFiles);
+            for (Object entry : remoteFiles) {
+                if (!(entry instanceof LsEntry)) { continue; }
+                LsEntry lsEntry = (LsEntry) entry;
+                if (lsEntry.getAttrs().isDir() || lsEntry.getAttrs().isLink()) { continue; }
+
+                String filename = lsEntry.getFilename();
+                transfers.add(new FileTransfer(remoteDir + filename,
+                                               new File(localDir, filename).getAbsolutePath(),
+                                               lsEntry.getAttrs().getSize(),
+                                               lsEntry.getAttrs().getMTime()));
+            }
+        } catch (JSchException | SftpException e) {
+            return failSingleFile(var, remote, outcome, e);
+        } finally {
+            closeSshClient(session, channel);
+        }
+
+        if (transfers.isEmpty()) { return failSingleFile(var, remote, outcome, "No remote files found via " + remote); }
+
+        return bulkTransfer(var, outcome, connection, transfers);
+    }
+
     public StepResult scpCopyFrom(String var, String profile, String remote, String local)
         throws IntegrationConfigException {
         sanityCheck(var, profile, remote, local);
@@ -342,7 +469,7 @@ public class SshCommand extends BaseCommand {
         ChannelExec channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             ScpHelper.doScpCopyFrom(session, remote, local);
             return succeedSingleFile(var, local, outcome, "copy from " + remote + " to " + local);
         } catch (JSchException | IOException e) {
@@ -373,7 +500,7 @@ public class SshCommand extends BaseCommand {
         ChannelExec channel = null;
 
         try {
-            session = connect(connection);
+            session = openSession(connection);
             ScpHelper.doScpCopyTo(session, local, remote);
             return succeedSingleFile(var, local, outcome, "copy from " + local + " to " + remote);
         } catch (JSchException | IOException e) {
@@ -383,6 +510,69 @@ public class SshCommand extends BaseCommand {
         }
     }
 
+    protected StepResult bulkTransfer(String var,
+                                      RemoteFileActionOutcome outcome,
+                                      SshClientConnection connection,
+                                      List<FileTransfer> transfers) {
+        String logPrefix = resolveLogPrefix(outcome);
+        int parallel = context.getIntData(SFTP_PARALLEL_CHANNELS, DEF_SFTP_PARALLEL_CHANNELS);
+        ConsoleUtils.log(logPrefix + "transferring " + transfers.size() + " file(s) via " +
+                         Math.min(parallel, transfers.size()) + " parallel channel(s)");
+
+        // each worker transfers over its own session and channel
+        SftpBulkTransfer bulk = new SftpBulkTransfer(worker -> openSftpChannel(openSession(connection, worker)),
+                                                     this::closeSftpChannel,
+                                                     parallel,
+                                                     context.getBooleanData(SFTP_RESUME, DEF_SFTP_RESUME));
+        boolean upload = outcome.getAction() == COPY_TO;
+        List<SftpBulkTransfer.Result> results;
+        try {
+            results = upload ? bulk.upload(transfers) : bulk.download(transfers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failSingleFile(var, outcome.getRemotePath(), outcome, "transfer interrupted");
+        }
+
+        int resumed = 0;
+        for (SftpBulkTransfer.Result result : results) {
+            FileTransfer transfer = result.getTransfer();
+            // consistent with single-file transfer: remote file (upload) or local file (download)
+            String file = transfer.getTarget();
+            if (result.isSuccess()) {
+                outcome.addAffected(file).addBytesTransferred(result.getBytes());
+                if (result.isResumed()) { resumed++; }
+            } else {
+                outcome.addFailed(file).appendError(file + ": " + result.getError());
+            }
+        }
+        outcome.end();
+        context.setData(var, outcome);
+
+        String message = "transferred " + outcome.getAffected().size() + " of " + transfers.size() + " file(s) (" +
+                         resumed + " resumed), " + outcome.getBytesTransferred() + " bytes in " +
+                         outcome.getElapsedTime() + " ms (" + outcome.getThroughput() + " bytes/sec)";
+        ConsoleUtils.log(logPrefix + message);
+        return outcome.getFailed().isEmpty() ? StepResult.success(message) : StepResult.fail(message);
+    }
+
+    /** local files represented by {@code local}; i.e. files of a directory or files matching a wildcard pattern */
+    protected static List<File> listLocalFiles(String local) {
+        File dir;
+        IOFileFilter filter;
+        if (FileUtil.isDirectoryReadable(local)) {
+            dir = new File(local);
+            filter = TrueFileFilter.INSTANCE;
+        } else {
+            dir = new File(local).getParentFile();
+            filter = new WildcardFileFilter(FileUtil.extractFilename(local));
+            if (dir == null || !dir.isDirectory()) { return new ArrayList<>(); }
+        }
+
+        List<File> files = new ArrayList<>(FileUtils.listFiles(dir, filter, null));
+        files.sort(Comparator.comparing(File::getName));
+        return files;
+    }
+
     // todo: should be protected / move test class to same package
     public static StepResult preRemoteActionChecks(RemoteFileActionOutcome outcome) {
         TransferAction action = outcome.getAction();
@@ -447,6 +637,8 @@ public class SshCommand extends BaseCommand {
 
     protected ChannelSftp openSftpChannel(Session session) throws JSchException {
         if (session == null || !session.isConnected()) { throw new JSchException("session is invalid or disconnected");}
+        SshSessionPool pool = sessionPool;
+        if (pool != null && pool.contains(session)) { return pool.getSftpChannel(session); }
 
         ChannelSftp channel = (ChannelSftp) session.openChannel("sftp");
         channel.connect();
@@ -578,6 +770,13 @@ public class SshCommand extends BaseCommand {
     }
 
     protected void closeSshClient(Session session, Channel channel) {
+        SshSessionPool pool = sessionPool;
+        if (pool != null && pool.contains(session)) {
+            // pooled session (and its SFTP channel) stays open for the next command, unless it is no longer usable
+            if (!session.isConnected() || (channel != null && !channel.isConnected())) { pool.invalidate(session); }
+            return;
+        }
+
         if (channel != null) {
             if (channel instanceof ChannelSftp) { ((ChannelSftp) channel).exit(); }
             channel.disconnect();
@@ -590,6 +789,47 @@ public class SshCommand extends BaseCommand {
         return outcome.getProtocol() + ":" + outcome.getAction() + " - ";
     }
 
+    /**
+     * connected session for {@code connection}; reused from previous commands of the same connection settings (see
+     * {@link SshClientConnection#toSessionKey()}) unless {@link org.nexial.core.NexialConst.Data#SSH_REUSE_SESSION} is
+     * turned off.
+     */
+    protected Session openSession(SshClientConnection connection) throws JSchException {
+        return openSession(connection, 0);
+    }
+
+    /** session for the specified worker of a parallel transfer; worker 0 shares the session of single-file commands */
+    protected Session openSession(SshClientConnection connection, int worker) throws JSchException {
+        SshSessionPool pool = resolveSessionPool();
+        if (pool == null) { return connect(connection); }
+
+        String key = connection.toSessionKey() + (worker > 0 ? "#" + worker : "");
+        return pool.getSession(key, () -> connect(connection));
+    }
+
+    protected synchronized SshSessionPool resolveSessionPool() {
+        if (!context.getBooleanData(SSH_REUSE_SESSION, DEF_SSH_REUSE_SESSION)) { return null; }
+        if (sessionPool == null) {
+            sessionPool = new SshSessionPool(context.getIntData(SSH_KEEP_ALIVE_MS, DEF_SSH_KEEP_ALIVE_MS));
+        }
+        return sessionPool;
+    }
+
+    protected void closeSftpChannel(ChannelSftp channel) {
+        try {
+            closeSshClient(channel.getSession(), channel);
+        } catch (JSchException e) {
+            channel.disconnect();
+        }
+    }
+
+    protected synchronized void closeSessionPool() {
+        if (sessionPool == null) { return; }
+        ConsoleUtils.log("closing " + sessionPool);
+        sessionPool.close();
+        sessionPool = null;
+    }
+
     protected Session connect(SshClientConnection connection) throws JSchException {
         JSch ssh = new JSch();
 
@@ -606,6 +846,8 @@ public class SshCommand extends BaseCommand {
         session.setConfig(config);
 
         session.setPassword(connection.getPassword());
+        // a pooled session must not keep the JVM from exiting
+        session.setDaemonThread(true);
         session.connect();
 
         return session;
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.nexial.core.utils.ConsoleUtils;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+/**
+ * SSH sessions kept open across commands so that consecutive SFTP/SCP commands against the same server do not each
+ * pay for key exchange and authentication. Each session is kept alive via periodic keep-alive messages, and is
+ * verified before reuse if it has been idle longer than the keep-alive interval. Its SFTP channel is reused as well,
+ * hence a session (and its SFTP channel) should be used by one thread at a time; concurrent transfers use sessions of
+ * different keys.
+ * <p>
+ * A session that is found disconnected (or is {@link #invalidate(Session) invalidated}) is replaced by a new one on
+ * next use. All sessions are closed via {@link #close()}.
+ */
+final class SshSessionPool {
+    private final int keepAliveMs;
+    private final Map<String, PooledSession> sessions = new HashMap<>();
+    private int connects;
+
+    @FunctionalInterface
+    interface Connector {
+        Session connect() throws JSchException;
+    }
+
+    private static final class PooledSession {
+        private final String key;
+        private final Session session;
+        private ChannelSftp sftp;
+        private long lastUsed;
+
+        private PooledSession(String key, Session session) {
+            this.key = key;
+            this.session = session;
+        }
+
+        private void disconnect() {
+            if (sftp != null) {
+                sftp.exit();
+                sftp = null;
+            }
+            session.disconnect();
+        }
+    }
+
+    SshSessionPool(int keepAliveMs) { this.keepAliveMs = Math.max(keepAliveMs, 0); }
+
+    /**
+     * connected session of {@code key}; a new session is established via {@code connector} as needed. Connecting is
+     * done outside of the lock so that sessions of different keys can be established concurrently.
+     */
+    Session getSession(String key, Connector connector) throws JSchException {
+        PooledSession stale;
+        synchronized (this) {
+            PooledSession pooled = sessions.get(key);
+            if (pooled != null && isUsable(pooled)) {
+                pooled.lastUsed = System.currentTimeMillis();
+                return pooled.session;
+            }
+            stale = pooled == null ? null : sessions.remove(key);
+        }
+
+        if (stale != null) {
+            // session key is not logged, since it is derived from the credential
+            ConsoleUtils.log("SSH session to " + describe(stale.session) + " is no longer usable; reconnecting...");
+            stale.disconnect();
+        }
+
+        Session session = connector.connect();
+        if (keepAliveMs > 0) { session.setServerAliveInterval(keepAliveMs); }
+
+        synchronized (this) {
+            PooledSession pooled = sessions.get(key);
+            if (pooled != null && pooled.session.isConnected()) {
+                // another thread got there first
+                session.disconnect();
+            } else {
+                pooled = new PooledSession(key, session);
+                sessions.put(key, pooled);
+                connects++;
+            }
+
+            pooled.lastUsed = System.currentTimeMillis();
+            return pooled.session;
+        }
+    }
+
+    /** the (reused) SFTP channel of a pooled {@code session} */
+    ChannelSftp getSftpChannel(Session session) throws JSchException {
+        synchronized (this) {
+            PooledSession pooled = find(session);
+            if (pooled == null) { throw new JSchException("session is not pooled"); }
+            if (pooled.sftp != null && pooled.sftp.isConnected() && !pooled.sftp.isClosed()) { return pooled.sftp; }
+        }
+
+        ChannelSftp channel = (ChannelSftp) session.openChannel("sftp");
+        channel.connect();
+
+        synchronized (this) {
+            PooledSession pooled = find(session);
+            if (pooled == null) {
+                // session invalidated in the meantime
+                channel.disconnect();
+                throw new JSchException("session is invalid or disconnected");
+            }
+            if (pooled.sftp != null && pooled.sftp.isConnected() && !pooled.sftp.isClosed()) {
+                channel.disconnect();
+            } else {
+                pooled.sftp = channel;
+            }
+            return pooled.sftp;
+        }
+    }
+
+    synchronized boolean contains(Session session) { return session != null && find(session) != null; }
+
+    /** disconnect and remove {@code session} from this pool, such as when its connection is found broken */
+    synchronized void invalidate(Session session) {
+        PooledSession pooled = find(session);
+        if (pooled == null) { return; }
+        sessions.remove(pooled.key);
+        pooled.disconnect();
+    }
+
+    synchronized int size() { return sessions.size(); }
+
+    /** number of sessions established thus far, including those since replaced */
+    synchronized int getConnects() { return connects; }
+
+    synchronized void close() {
+        List<PooledSession> pooled = new ArrayList<>(sessions.values());
+        sessions.clear();
+        pooled.forEach(PooledSession::disconnect);
+    }
+
+    @Override
+    public synchronized String toString() {
+        List<String> servers = new ArrayList<>();
+        sessions.values().forEach(pooled -> servers.add(describe(pooled.session)));
+        return "SSH session pool: " + sessions.size() + " session(s) " + servers + ", " + connects + " connect(s)";
+    }
+
+    private static String describe(Session session) {
+        return session.getUserName() + "@" + session.getHost() + ":" + session.getPort();
+    }
+
+    private PooledSession find(Session session) {
+        for (PooledSession pooled : sessions.values()) { if (pooled.session == session) { return pooled; } }
+        return null;
+    }
+
+    private boolean isUsable(PooledSession pooled) {
+        if (!pooled.session.isConnected()) { return false; }
+        if (System.currentTimeMillis() - pooled.lastUsed < keepAliveMs) { return true; }
+
+        // idle for a while; make sure the connection is still there
+        try {
+            pooled.session.sendKeepAliveMsg();
+            return pooled.session.isConnected();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
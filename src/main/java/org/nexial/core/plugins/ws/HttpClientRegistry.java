@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.nexial.core.utils.ConsoleUtils;
+
+/**
+ * registry of pooled {@link CloseableHttpClient}, one per effective client configuration (proxy, authentication,
+ * timeouts) per execution.  Clients are reused across {@link WsCommand} requests so that connections to the same
+ * host are kept alive, instead of paying the TCP/TLS handshake on every request.  All the clients of an execution
+ * are closed at the end of that execution via {@link #close(String)}.
+ */
+public final class HttpClientRegistry {
+    private static final Map<String, HttpClientRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final String runId;
+    private final Map<String, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private HttpClientRegistry(String runId) { this.runId = runId; }
+
+    public static HttpClientRegistry get(String runId) {
+        return REGISTRIES.computeIfAbsent(StringUtils.defaultString(runId), HttpClientRegistry::new);
+    }
+
+    /** close all the clients (and their connection pool) of the execution identified by {@code runId} */
+    public static void close(String runId) {
+        HttpClientRegistry registry = REGISTRIES.remove(StringUtils.defaultString(runId));
+        if (registry != null) { registry.closeAll(); }
+    }
+
+    /** return the client registered as {@code key}, or create one via {@code factory} if none is registered yet. */
+    CloseableHttpClient resolve(String key, Supplier<CloseableHttpClient> factory) {
+        CloseableHttpClient client = clients.get(key);
+        if (client != null) {
+            hits.incrementAndGet();
+            return client;
+        }
+
+        return clients.computeIfAbsent(key, k -> {
+            misses.incrementAndGet();
+            return factory.get();
+        });
+    }
+
+    long getHits() { return hits.get(); }
+
+    long getMisses() { return misses.get(); }
+
+    int size() { return clients.size(); }
+
+    private void closeAll() {
+        if (clients.isEmpty()) { return; }
+
+        ConsoleUtils.log(runId, "closing " + clients.size() + " http client(s); " +
+                                hits.get() + " hit(s), " + misses.get() + " miss(es)");
+        clients.forEach((key, client) -> {
+            try {
+                client.close();
+            } catch (IOException e) {
+                ConsoleUtils.error(runId, "Unable to close http client: " + e.getMessage());
+            }
+        });
+        clients.clear();
+    }
+}
@@ -21,11 +21,13 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.io.FileUtils;
@@ -44,17 +46,22 @@ import org.apache.http.client.config.RequestConfig.Builder;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.auth.DigestScheme;
 import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.protocol.HttpContext;
 import org.nexial.core.WebProxy;
@@ -62,6 +69,7 @@ import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.TestStep;
 import org.nexial.core.utils.ConsoleUtils;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.nexial.core.NexialConst.*;
 
 public class WebServiceClient {
@@ -179,14 +187,12 @@ public class WebServiceClient {
 
             boolean digestAuth = isDigestAuth();
             boolean basicAuth = isBasicAuth();
-            if (digestAuth || basicAuth) {
-                HttpClientContext httpContext = digestAuth ?
-                                                newDigestEnabledHttpContext(request) :
-                                                newBasicEnabledHttpContext(request);
-                httpResponse = client.execute(http, httpContext);
-            } else {
-                httpResponse = client.execute(http);
-            }
+            HttpClientContext httpContext = digestAuth ? newDigestEnabledHttpContext(request) :
+                                            basicAuth ? newBasicEnabledHttpContext(request) :
+                                            HttpClientContext.create();
+            // client is shared by subsequent requests; cookies (e.g. across redirects) stay within this request
+            httpContext.setCookieStore(new BasicCookieStore());
+            httpResponse = client.execute(http, httpContext);
 
             Response response = gatherResponseData(http, request, httpResponse);
 
@@ -305,22 +311,59 @@ public class WebServiceClient {
         return requestConfigBuilder.build();
     }
 
+    /**
+     * http client is reused across requests with the same effective configuration (see
+     * {@link #resolveClientKey(Request, HttpHost)}), so that the underlying connections are kept alive and reused.
+     */
     protected CloseableHttpClient prepareHttpClient(final Request request,
                                                     RequestConfig requestConfig,
                                                     HttpHost proxy,
                                                     CredentialsProvider credsProvider)
         throws IOException {
 
+        HttpClientRegistry registry = HttpClientRegistry.get(context == null ? null : context.getRunId());
+        try {
+            return registry.resolve(resolveClientKey(request, proxy), () -> {
+                try {
+                    return newHttpClient(request, requestConfig, proxy, credsProvider);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected CloseableHttpClient newHttpClient(final Request request,
+                                                RequestConfig requestConfig,
+                                                HttpHost proxy,
+                                                CredentialsProvider credsProvider)
+        throws IOException {
+
         SocketConfig socketConfig = SocketConfig.custom()
                                                 .setSoKeepAlive(true)
                                                 .setSoReuseAddress(true)
                                                 .setSoTimeout(request.socketTimeout)
                                                 .setSoLinger(request.socketTimeout).build();
 
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSL_SF)
+                .build());
+        connectionManager.setDefaultSocketConfig(socketConfig);
+        connectionManager.setMaxTotal(getIntConfig(WS_POOL_MAX_TOTAL, DEF_WS_POOL_MAX_TOTAL));
+        connectionManager.setDefaultMaxPerRoute(getIntConfig(WS_POOL_MAX_PER_ROUTE, DEF_WS_POOL_MAX_PER_ROUTE));
+
         HttpClientBuilder httpClientBuilder = HttpClients.custom()
-                                                         .setSSLSocketFactory(SSL_SF)
+                                                         .setConnectionManager(connectionManager)
                                                          .setDefaultRequestConfig(requestConfig)
-                                                         .setDefaultSocketConfig(socketConfig);
+                                                         .setDefaultSocketConfig(socketConfig)
+                                                         .evictExpiredConnections();
+
+        int idleEvictSec = getIntConfig(WS_POOL_IDLE_EVICT_SEC, DEF_WS_POOL_IDLE_EVICT_SEC);
+        if (idleEvictSec > 0) { httpClientBuilder.evictIdleConnections(idleEvictSec, SECONDS); }
 
         if (proxy != null && credsProvider != null) {
             httpClientBuilder = httpClientBuilder.setDefaultCredentialsProvider(credsProvider)
@@ -337,6 +380,40 @@ public class WebServiceClient {
         return httpClientBuilder.build();
     }
 
+    /**
+     * key to the effective configuration of a http client: timeouts, proxy and authentication.  Since proxy route
+     * and credentials are scoped to the target host, the target host is part of the key when either is in use.
+     */
+    protected String resolveClientKey(Request request, HttpHost proxy) throws MalformedURLException {
+        StringBuilder key = new StringBuilder("timeout=" + request.connectionTimeout + "/" + request.socketTimeout);
+
+        boolean basicAuth = isBasicAuth();
+        boolean digestAuth = isDigestAuth();
+        if (proxy != null || basicAuth || digestAuth) {
+            URL url = new URL(request.getUrl());
+            key.append("|target=").append(url.getProtocol()).append("://").append(url.getHost())
+               .append(":").append(url.getPort());
+        }
+
+        if (proxy != null) {
+            key.append("|proxy=").append(proxy.toURI())
+               .append("|").append(toCredentialKey(WS_PROXY_USER, WS_PROXY_PWD));
+        }
+        if (basicAuth) { key.append("|basic=").append(toCredentialKey(WS_BASIC_USER, WS_BASIC_PWD)); }
+        if (digestAuth) { key.append("|digest=").append(toCredentialKey(WS_DIGEST_USER, WS_DIGEST_PWD)); }
+
+        return key.toString();
+    }
+
+    private String toCredentialKey(String userVariable, String passwordVariable) {
+        if (context == null) { return ""; }
+        // password is not kept as is
+        return context.getStringData(userVariable) + ":" +
+               Objects.hashCode(context.getStringData(passwordVariable));
+    }
+
+    private int getIntConfig(String name, int def) { return context == null ? def : context.getIntData(name, def); }
+
     protected boolean isIntranet(String hostname) {
         return NumberUtils.isDigits(StringUtils.substringBefore(hostname, ".")) ||
                !StringUtils.contains(hostname, ".");
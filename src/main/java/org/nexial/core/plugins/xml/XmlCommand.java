@@ -405,7 +405,7 @@ public class XmlCommand extends BaseCommand {
                 ConsoleUtils.log("empty XML found");
                 return null;
             } else {
-                return XmlUtils.parse(xml);
+                return XmlUtils.parseCached(xml);
             }
         } catch (IOException e) {
             ConsoleUtils.log("Error reading as file '" + xml + "': " + e.getMessage());
@@ -426,7 +426,7 @@ public class XmlCommand extends BaseCommand {
             xml = cleanXmlContent(OutputFileUtils.resolveContent(xml, context, false));
             requiresNotBlank(xml, "empty XML found");
 
-            doc = XmlUtils.parse(xml);
+            doc = XmlUtils.parseCached(xml);
             requires(doc != null, "invalid/malformed xml", xml);
         } catch (JDOMException | IOException e) {
             ConsoleUtils.log("invalid/malformed xml: " + e.getMessage());
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.ExecutionContext;
+
+/**
+ * int setting (e.g. a cache size) of a JVM-wide facility, resolved via the execution context of the current thread
+ * like other {@code nexial.*} settings (hence a System property, then the data of the execution context), or via
+ * System property alone outside of an execution.
+ * <p>
+ * Within an execution, the setting is resolved once per execution context (and only again when used under another
+ * one), so that it is cheap enough to be checked on every use.
+ */
+public final class ContextIntSetting {
+    private final String name;
+    private final int def;
+    // last resolved value, along with the execution context it is resolved from
+    private volatile Resolved resolved = new Resolved(null, 0);
+
+    private static final class Resolved {
+        private final Reference<ExecutionContext> context;
+        private final int value;
+
+        private Resolved(ExecutionContext context, int value) {
+            this.context = new WeakReference<>(context);
+            this.value = value;
+        }
+    }
+
+    public ContextIntSetting(String name, int def) {
+        this.name = name;
+        this.def = def;
+    }
+
+    public int get() {
+        ExecutionContext context = ExecutionThread.get();
+        if (context == null) { return NumberUtils.toInt(System.getProperty(name), def); }
+
+        Resolved current = resolved;
+        if (current.context.get() == context) { return current.value; }
+
+        current = new Resolved(context, context.getIntData(name, def));
+        resolved = current;
+        return current.value;
+    }
+}
@@ -18,9 +18,7 @@
 package org.nexial.core.utils;
 
 import java.lang.reflect.Array;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -34,6 +32,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.json.JSONObject.NULL;
+import static org.nexial.core.NexialConst.Data.DEF_JSONPATH_CACHE_SIZE;
+import static org.nexial.core.NexialConst.Data.JSONPATH_CACHE_SIZE;
 import static org.nexial.core.utils.JSONPath.Option.*;
 import static org.nexial.core.utils.JsonUtils.isSimpleType;
 
@@ -85,6 +85,17 @@ public class JSONPath {
                                                                                       "\\]=~~}~~|" +
                                                                                       "\\[=~~{~~|",
                                                                                       "|", "=");
+    private static final ContextIntSetting MAX_PARSED_PATHS =
+        new ContextIntSetting(JSONPATH_CACHE_SIZE, DEF_JSONPATH_CACHE_SIZE);
+    // parsing of a path depends solely on the path itself, hence each distinct (sub)path is parsed once
+    private static final Map<String, ParsedPath> PARSED_PATHS =
+        Collections.synchronizedMap(new LinkedHashMap<String, ParsedPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedPath> eldest) {
+                return size() > MAX_PARSED_PATHS.get();
+            }
+        });
+
     private transient Logger logger = LoggerFactory.getLogger(getClass());
     private Object dataStruc;
     private String key;
@@ -122,16 +133,34 @@ public class JSONPath {
         }
     }
 
-    private class JSONPathKey {
+    private static class JSONPathKey {
         boolean isIndexOrdinal;
         String nodeName;
         String nodeIndex;
         boolean isFilter;
+        private volatile JsonPathFilters filters;
+
+        /** filters are immutable once parsed, hence shared by all evaluations of the same path */
+        JsonPathFilters filters() {
+            if (filters == null) { filters = new JsonPathFilters(nodeName); }
+            return filters;
+        }
 
         @Override
         public String toString() { return StringUtils.defaultString(nodeName, nodeIndex); }
     }
 
+    /** a path parsed into its current and next key, along with the path minus its escape characters */
+    private static final class ParsedPath {
+        private final Pair<JSONPathKey, String> keyPair;
+        private final String key;
+
+        private ParsedPath(Pair<JSONPathKey, String> keyPair, String key) {
+            this.keyPair = keyPair;
+            this.key = key;
+        }
+    }
+
     public JSONPath(JSONObject dataStruc, String key) {
         this.dataStruc = dataStruc;
         this.key = key;
@@ -520,17 +549,32 @@ public class JSONPath {
         }
     }
 
+    static void clearCache() { PARSED_PATHS.clear(); }
+
+    static int cacheSize() { return PARSED_PATHS.size(); }
+
+    private static ParsedPath parse(String key) {
+        if (key == null) { return new ParsedPath(null, null); }
+
+        ParsedPath parsed = PARSED_PATHS.get(key);
+        if (parsed == null) {
+            String substituted = preParseSubstitution(key);
+            // put it back, now that we've figured out the JSONPathKey
+            parsed = new ParsedPath(parseKey(substituted), postParseSubstitution(substituted));
+            PARSED_PATHS.put(key, parsed);
+        }
+        return parsed;
+    }
+
     /**
      * parse json path into 2 components - current and next
      *
      * @return a pair of 'current' and 'next' path
      */
-    private Pair<JSONPathKey, String> parseKey() {
+    private static Pair<JSONPathKey, String> parseKey(String key) {
         // fail-fast to avoid NPE
         if (StringUtils.isBlank(key)) { return null; }
 
-        preParseSubstitution();
-
         String current;
 
         // special case of index key, where the key contains only [...]
@@ -579,7 +623,7 @@ public class JSONPath {
         return new ImmutablePair<>(currentKey, cleanNextKey(StringUtils.substringAfter(key, current)));
     }
 
-    private String postParseSubstitution(String data) {
+    private static String postParseSubstitution(String data) {
         if (StringUtils.isEmpty(data)) { return data; }
         for (Map.Entry<String, String> subst : ESCAPED_CHARS_REPLACER.entrySet()) {
             data = StringUtils.replace(data, subst.getValue(), StringUtils.removeStart(subst.getKey(), "\\"));
@@ -587,10 +631,11 @@ public class JSONPath {
         return data;
     }
 
-    private void preParseSubstitution() {
+    private static String preParseSubstitution(String key) {
         for (Map.Entry<String, String> subst : ESCAPED_CHARS_REPLACER.entrySet()) {
             key = StringUtils.replace(key, subst.getKey(), subst.getValue());
         }
+        return key;
     }
 
     private static String cleanNextKey(String next) {
@@ -610,7 +655,7 @@ public class JSONPath {
 
         boolean isFilter = jsonPathKey.isFilter;
         if (isFilter) {
-            JsonPathFilters filters = new JsonPathFilters(key);
+            JsonPathFilters filters = jsonPathKey.filters();
             // jsonArray.forEach(item -> filters.filter(item, matches));
             for (int i = 0; i < jsonArray.length(); i++) { filters.filter(jsonArray.opt(i), matches);}
         } else {
@@ -635,10 +680,9 @@ public class JSONPath {
             return;
         }
 
-        Pair<JSONPathKey, String> keyPair = parseKey();
-
-        // put it back, now that we've figured out the JSONPathKey
-        key = postParseSubstitution(key);
+        ParsedPath parsed = parse(key);
+        Pair<JSONPathKey, String> keyPair = parsed.keyPair;
+        key = parsed.key;
 
         // fail-fast to avoid NPE
         if (keyPair == null) { return; }
@@ -680,14 +724,14 @@ public class JSONPath {
         if (dataStruc instanceof JSONObject) {
             JSONObject json = (JSONObject) dataStruc;
             parsedVal = jsonPathKey.isFilter ?
-                        new JsonPathFilters(jsonPathKey.nodeName).find(json) : json.opt(jsonPathKey.nodeName);
+                        jsonPathKey.filters().find(json) : json.opt(jsonPathKey.nodeName);
             return;
         }
 
         parsedVal = null;
     }
 
-    private String fromIndexToSimpleKey(String key) {
+    private static String fromIndexToSimpleKey(String key) {
         return cleanNodeName(StringUtils.substringBetween(key, "[", "]"));
     }
 
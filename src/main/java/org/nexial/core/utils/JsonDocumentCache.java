@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import static org.nexial.core.NexialConst.Data.DEF_JSON_CACHE_SIZE_MB;
+import static org.nexial.core.NexialConst.Data.JSON_CACHE_SIZE_MB;
+
+/**
+ * JVM-wide cache of parsed JSON documents, keyed by their text. A typical test asserts against the same response
+ * payload many times over; the payload is only parsed the first time.
+ * <p>
+ * The cached documents are shared, hence read-only: use them for lookup (e.g. {@link JSONPath#find(JSONObject,
+ * String)}) only, never for modification. The cache size is resolved via
+ * {@link org.nexial.core.NexialConst.Data#JSON_CACHE_SIZE_MB} of the current execution.
+ *
+ * @see ParsedDocumentCache
+ */
+public final class JsonDocumentCache {
+    private static final ParsedDocumentCache DOCUMENTS =
+        new ParsedDocumentCache(new ContextIntSetting(JSON_CACHE_SIZE_MB, DEF_JSON_CACHE_SIZE_MB));
+
+    private JsonDocumentCache() { }
+
+    /** parsed (read-only) form of {@code json}; throws {@link JSONException} if it isn't a JSON document */
+    public static JSONObject toJSONObject(String json) throws JSONException {
+        return DOCUMENTS.get(json, JSONObject.class, JSONObject::new);
+    }
+
+    /** parsed (read-only) form of {@code json}; throws {@link JSONException} if it isn't a JSON array */
+    public static JSONArray toJSONArray(String json) throws JSONException {
+        return DOCUMENTS.get(json, JSONArray.class, JSONArray::new);
+    }
+
+    public static long getHits() { return DOCUMENTS.getHits(); }
+
+    public static long getMisses() { return DOCUMENTS.getMisses(); }
+
+    public static int size() { return DOCUMENTS.size(); }
+
+    public static void clear() { DOCUMENTS.clear(); }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * thread-safe cache of documents (JSON, XML, etc.) parsed from text, keyed by the text itself. Looking up the same
+ * {@link String} instance costs next to nothing since its hash code is computed once; another instance of the same
+ * text costs one pass over it, which is still a fraction of parsing it.
+ * <p>
+ * The cached documents are shared, hence read-only. The cache is bounded by the total length of the text cached, and
+ * the least recently used document is evicted first.
+ */
+public final class ParsedDocumentCache {
+    private final LongSupplier maxChars;
+    private final Map<String, Object> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedChars;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @FunctionalInterface
+    public interface Parser<T, E extends Exception> {
+        T parse(String text) throws E;
+    }
+
+    public ParsedDocumentCache(long maxChars) {
+        long max = Math.max(maxChars, 0);
+        this.maxChars = () -> max;
+    }
+
+    /** bounded by {@code sizeMB} megabytes (of 2-byte chars), as resolved upon each use */
+    public ParsedDocumentCache(ContextIntSetting sizeMB) {
+        this.maxChars = () -> Math.max(sizeMB.get(), 0) * 1024L * 1024L / 2;
+    }
+
+    /**
+     * parsed form of {@code text} as {@code type}. Parsing is done outside of the lock; at worst, the same text is
+     * parsed more than once by concurrent threads. Parse error is not cached.
+     */
+    public <T, E extends Exception> T get(String text, Class<T> type, Parser<T, E> parser) throws E {
+        long max = maxChars.getAsLong();
+        if (text == null || text.length() > max) { return parser.parse(text); }
+
+        Object document = lookup(text);
+        if (type.isInstance(document)) { return type.cast(document); }
+
+        T parsed = parser.parse(text);
+        if (parsed != null) { put(text, parsed, max); }
+        return parsed;
+    }
+
+    public long getHits() { return hits.get(); }
+
+    public long getMisses() { return misses.get(); }
+
+    public synchronized int size() { return documents.size(); }
+
+    public synchronized void clear() {
+        documents.clear();
+        cachedChars = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "parsed document cache: " + size() + " document(s), " + hits.get() + " hit(s), " + misses.get() +
+               " miss(es)";
+    }
+
+    private synchronized Object lookup(String text) {
+        Object document = documents.get(text);
+        if (document != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return document;
+    }
+
+    private synchronized void put(String text, Object document, long maxChars) {
+        if (documents.put(text, document) == null) { cachedChars += text.length(); }
+
+        // evict the least recently used documents, but not the one just added
+        Iterator<String> keys = documents.keySet().iterator();
+        while (cachedChars > maxChars && keys.hasNext()) {
+            String eldest = keys.next();
+            if (eldest.equals(text)) { continue; }
+            cachedChars -= eldest.length();
+            keys.remove();
+        }
+    }
+}
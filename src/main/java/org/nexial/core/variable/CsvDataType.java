@@ -21,19 +21,22 @@ import java.io.StringReader;
 import java.util.*;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.list.TreeList;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.plugins.io.CsvCommand;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.variable.CsvIndex.RowList;
 
 import com.univocity.parsers.common.record.Record;
+import com.univocity.parsers.common.record.RecordFactory;
 import com.univocity.parsers.csv.CsvFormat;
 import com.univocity.parsers.csv.CsvParser;
+import com.univocity.parsers.csv.CsvParserSettings;
 
 import static java.lang.System.lineSeparator;
+import static org.nexial.core.variable.CsvIndex.COMPOSITE_SEP;
 
 public class CsvDataType extends ExpressionDataType<List<Record>> {
     private CsvTransformer transformer = new CsvTransformer();
@@ -47,7 +50,8 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     private int columnCount;
     private int rowCount;
     private List<String> indices = new TreeList<>();
-    private Map<String, Map<String, Record>> flyweight;
+    // declared indices, built as needed: columns (as in `indexOn`) -> index
+    private Map<String, CsvIndex> indexes;
     private boolean readyToParse;
 
     public CsvDataType(String textValue) throws TypeConversionException { super(textValue); }
@@ -60,20 +64,42 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     @Override
     public String toString() { return getName() + "(" + lineSeparator() + getTextValue() + lineSeparator() + ")"; }
 
+    /**
+     * the textual form is (re)created only when requested, since it is not needed by most of the mutating
+     * operations (e.g. {@code filter}, {@code removeColumns}, {@code sortAscending}).
+     */
+    @Override
+    public String getTextValue() {
+        if (textValue == null && value != null) { textValue = toText(); }
+        return textValue;
+    }
+
+    @Override
+    public String stringify() { return getTextValue(); }
+
+    /** same as {@code StringUtils.isEmpty(getTextValue())}, without having to create the textual form */
+    public boolean isTextEmpty() {
+        if (textValue != null || value == null) { return StringUtils.isEmpty(textValue); }
+        return CollectionUtils.isEmpty(headers) && CollectionUtils.isEmpty(value);
+    }
+
     public List<String> getIndices() { return indices; }
 
     public void setIndices(List<String> indices) { this.indices = indices; }
 
-    public boolean isIndexed(String column) { return MapUtils.isNotEmpty(flyweight) && flyweight.containsKey(column); }
+    public boolean isIndexed(String column) { return getIndex(Collections.singletonList(column)) != null; }
 
+    /**
+     * record with {@code cacheKey} as the value of {@code column}, via the index declared on such column. If more than
+     * one record matches, the last one is returned.
+     */
     public Record retrieveFromCache(String column, String cacheKey) {
         if (StringUtils.isBlank(column)) { return null; }
         if (StringUtils.isEmpty(cacheKey)) { return null; }
-        if (CollectionUtils.isEmpty(headers)) { return null; }
-        if (MapUtils.isEmpty(flyweight)) { return null; }
 
-        Map<String, Record> cache = flyweight.get(column);
-        return MapUtils.isNotEmpty(cache) ? cache.get(cacheKey) : null;
+        CsvIndex index = getIndex(Collections.singletonList(column));
+        RowList rows = index == null ? null : index.lookup(cacheKey);
+        return rows == null ? null : value.get(rows.last());
     }
 
     public Record remove(String column, String value) {
@@ -82,6 +108,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
 
         ConsoleUtils.log("removing matched record");
         if (this.value.remove(matched)) { this.rowCount--; }
+        resetIndices();
 
         ConsoleUtils.log("updating textValue due to record removal");
         resetTextValue();
@@ -92,6 +119,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     public void addIndices(String... newIndices) {
         if (ArrayUtils.isEmpty(newIndices)) { return; }
         indices.addAll(Arrays.asList(newIndices));
+        resetIndices();
     }
 
     public int getColumnCount() { return columnCount; }
@@ -130,9 +158,24 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         this.value = records;
         this.rowCount = CollectionUtils.size(this.value);
         if (!header) { columnCount = rowCount == 0 ? 0 : ArrayUtils.getLength(value.get(0).getValues()); }
+        resetIndices();
         resetTextValue();
     }
 
+    /**
+     * replace the records with {@code rows} (the values of each record) under {@code newHeaders}, without creating or
+     * parsing the textual form.
+     */
+    void reset(List<String> newHeaders, List<String[]> rows) {
+        RecordFactory factory = newRecordFactory(newHeaders);
+        List<Record> records = new ArrayList<>(rows.size());
+        rows.forEach(row -> records.add(factory.newRecord(row)));
+
+        headers = newHeaders;
+        if (CollectionUtils.isNotEmpty(newHeaders)) { columnCount = newHeaders.size(); }
+        reset(records);
+    }
+
     public void sortAscending(String column) {
         if (!headers.contains(column)) {
             ConsoleUtils.error("Invalid column " + column + "; sorting not performed");
@@ -145,15 +188,49 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         }
 
         value.sort(Comparator.comparing(o -> o == null ? "" : StringUtils.defaultString(o.getString(column))));
+        resetIndices();
         resetTextValue();
     }
 
+    /**
+     * remove the columns at {@code indicesToRemove} (zero-based). The records are recreated from the values of the
+     * remaining columns, without re-parsing the textual form.
+     */
+    public void removeColumns(Set<Integer> indicesToRemove) {
+        if (CollectionUtils.isEmpty(indicesToRemove)) { return; }
+
+        int[] positions = new int[columnCount];
+        int remaining = 0;
+        for (int i = 0; i < columnCount; i++) { if (!indicesToRemove.contains(i)) { positions[remaining++] = i; } }
+
+        List<String> newHeaders = null;
+        if (CollectionUtils.isNotEmpty(headers)) {
+            newHeaders = new ArrayList<>(remaining);
+            for (int i = 0; i < remaining; i++) { newHeaders.add(headers.get(positions[i])); }
+        }
+
+        applyLayout(Arrays.copyOf(positions, remaining), newHeaders);
+    }
+
+    /** rename column {@code find} as {@code replace}, without re-parsing the textual form. */
+    public void renameColumn(String find, String replace) {
+        if (CollectionUtils.isEmpty(headers) || !headers.contains(find)) { return; }
+
+        List<String> newHeaders = new ArrayList<>(headers);
+        newHeaders.set(newHeaders.indexOf(find), replace);
+
+        int[] positions = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) { positions[i] = i; }
+        applyLayout(positions, newHeaders);
+    }
+
     public void sortDescending(String column) {
         if (!headers.contains(column)) {
             ConsoleUtils.error("Invalid column " + column + "; sorting not performed");
             return;
         }
         value.sort((o1, o2) -> o2.getString(column).compareTo(o1.getString(column)));
+        resetIndices();
         resetTextValue();
     }
 
@@ -174,7 +251,8 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         snapshot.rowCount = rowCount;
         snapshot.columnCount = columnCount;
         snapshot.indices = indices;
-        snapshot.flyweight = flyweight;
+        // records may be re-ordered or removed independently of this instance, hence indices are not shared
+        snapshot.indexes = null;
         snapshot.readyToParse = readyToParse;
         snapshot.textValue = textValue;
         snapshot.value = value;
@@ -184,7 +262,10 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     @Override
     protected void init() { parse(); }
 
-    protected void resetTextValue() {
+    /** the textual form is now outdated; it will be recreated via {@link #getTextValue()} when needed. */
+    protected void resetTextValue() { textValue = null; }
+
+    protected String toText() {
         StringBuilder output = new StringBuilder();
 
         if (CollectionUtils.isNotEmpty(headers)) {
@@ -192,7 +273,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         }
 
         for (Record oneRow : value) { output.append(TextUtils.toCsvLine(oneRow.getValues(), delim, recordDelim)); }
-        textValue = StringUtils.removeEnd(output.toString(), recordDelim);
+        return StringUtils.removeEnd(output.toString(), recordDelim);
     }
 
     protected List<String> getHeaders() { return headers; }
@@ -200,14 +281,16 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     protected void parse() {
         if (!readyToParse) { return; }
 
-        if (StringUtils.isBlank(textValue)) {
+        // textual form might have been reset by a prior change; re-parse from its current form
+        String text = getTextValue();
+        if (StringUtils.isBlank(text)) {
             // csvFormat = null;
             headers = null;
             value = null;
         }
 
         parser = CsvCommand.newCsvParser(quote, delim, recordDelim, header, maxColumns);
-        value = parser.parseAllRecords(new StringReader(textValue));
+        value = parser.parseAllRecords(new StringReader(StringUtils.defaultString(text)));
         rowCount = CollectionUtils.size(value);
         if (header) {
             headers = new ArrayList<>(Arrays.asList(parser.getRecordMetadata().headers()));
@@ -222,13 +305,72 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         if (StringUtils.isEmpty(delim)) { delim = detectedFormat.getDelimiter() + ""; }
         if (StringUtils.isEmpty(recordDelim)) { recordDelim = detectedFormat.getLineSeparatorString(); }
 
+        // text is normalized from the parsed records, when needed
         resetTextValue();
+        resetIndices();
+    }
+
+    /** the records have changed; declared indices are rebuilt as they are next needed */
+    protected void resetIndices() { indexes = null; }
+
+    /**
+     * the index declared over {@code columns} (as in {@code indexOn=id,region+date}), built as needed. Null if no
+     * such index is declared, or if any of its columns is no longer available (e.g. removed).
+     */
+    CsvIndex getIndex(List<String> columns) {
+        if (value == null || CollectionUtils.isEmpty(headers) || CollectionUtils.isEmpty(indices)) { return null; }
+
+        String declaration = StringUtils.join(columns, COMPOSITE_SEP);
+        if (indexes != null && indexes.containsKey(declaration)) { return indexes.get(declaration); }
+        if (indices.stream().noneMatch(declared -> CsvIndex.toColumns(declared).equals(columns))) { return null; }
+
+        CsvIndex index = CsvIndex.build(columns, headers, value);
+        if (index != null) {
+            if (indexes == null) { indexes = new HashMap<>(); }
+            indexes.put(declaration, index);
+        }
+        return index;
+    }
+
+    /** the index over {@code columns}: the declared one if available, otherwise a new one that is not retained */
+    CsvIndex index(List<String> columns) {
+        CsvIndex index = getIndex(columns);
+        return index != null ? index : CsvIndex.build(columns, headers, value);
+    }
+
+    /** recreate the records with the values at {@code positions} (zero-based), under {@code newHeaders} */
+    private void applyLayout(int[] positions, List<String> newHeaders) {
+        if (value != null) {
+            RecordFactory factory = newRecordFactory(newHeaders);
+            List<Record> records = new ArrayList<>(value.size());
+            for (Record record : value) {
+                String[] values = record.getValues();
+                String[] projected = new String[positions.length];
+                for (int i = 0; i < positions.length; i++) {
+                    projected[i] = positions[i] < values.length ? values[positions[i]] : null;
+                }
+                records.add(factory.newRecord(projected));
+            }
+            value = records;
+        }
+        headers = newHeaders;
+        columnCount = positions.length;
+        resetIndices();
+        resetTextValue();
+    }
 
-        if (CollectionUtils.isNotEmpty(indices) && CollectionUtils.isNotEmpty(headers)) {
-            flyweight = new HashMap<>();
-            indices.forEach(index -> flyweight.put(index, new HashMap<>()));
-            value.forEach(record -> indices.forEach(column ->
-                                                        flyweight.get(column).put(record.getString(column), record)));
+    /** creates records, as if parsed with {@code headers} as column names (or without header if none) */
+    private static RecordFactory newRecordFactory(List<String> headers) {
+        CsvParserSettings settings = new CsvParserSettings();
+        settings.setHeaderExtractionEnabled(false);
+        if (CollectionUtils.isNotEmpty(headers)) { settings.setHeaders(headers.toArray(new String[0])); }
+
+        CsvParser parser = new CsvParser(settings);
+        parser.beginParsing(new StringReader(""));
+        try {
+            return new RecordFactory(parser.getContext());
+        } finally {
+            parser.stopParsing();
         }
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.variable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.univocity.parsers.common.record.Record;
+
+/**
+ * hash index of the rows of a CSV over one or more columns (composite index). Rows are keyed by the exact value of
+ * the indexed column(s), and each key refers to the position of its rows, in their original order.
+ * <p>
+ * An index reflects the rows of a CSV at the time the index was built; {@link CsvDataType} discards its indices as
+ * its rows or columns are modified, and rebuilds them as needed.
+ */
+final class CsvIndex {
+    /** separator of columns in a composite index, e.g. {@code indexOn=id,region+date} */
+    static final String COMPOSITE_SEP = "+";
+
+    private final List<String> columns;
+    private final Map<Object, RowList> rows = new HashMap<>();
+    // true if all indexed values are already trimmed and unquoted (i.e. as compared by NexialFilter)
+    private boolean canonical = true;
+
+    /** positions of the rows sharing the same key, in ascending order */
+    static final class RowList {
+        private int[] positions = new int[1];
+        private int size;
+
+        private void add(int position) {
+            if (size == positions.length) { positions = Arrays.copyOf(positions, size * 2); }
+            positions[size++] = position;
+        }
+
+        int size() { return size; }
+
+        int get(int index) { return positions[index]; }
+
+        int last() { return positions[size - 1]; }
+    }
+
+    private CsvIndex(List<String> columns) { this.columns = columns; }
+
+    /** index {@code records} over {@code columns}; null if any of the columns is not found in {@code headers} */
+    static CsvIndex build(List<String> columns, List<String> headers, List<Record> records) {
+        int[] positions = toPositions(columns, headers);
+        if (positions == null) { return null; }
+
+        CsvIndex index = new CsvIndex(Collections.unmodifiableList(new ArrayList<>(columns)));
+        if (records != null) {
+            for (int i = 0; i < records.size(); i++) {
+                Record record = records.get(i);
+                if (record == null) { continue; }
+
+                String[] values = valuesOf(record, positions);
+                if (index.canonical) { for (String value : values) { index.canonical &= isCanonical(value); } }
+                index.rows.computeIfAbsent(toKey(values), key -> new RowList()).add(i);
+            }
+        }
+
+        return index;
+    }
+
+    /** position of each of {@code columns} in {@code headers}; null if any of the columns is not found */
+    static int[] toPositions(List<String> columns, List<String> headers) {
+        if (columns == null || columns.isEmpty() || headers == null) { return null; }
+
+        int[] positions = new int[columns.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = headers.indexOf(columns.get(i));
+            if (positions[i] < 0) { return null; }
+        }
+        return positions;
+    }
+
+    /** the values of {@code record} at {@code positions}; null for the positions beyond the values of the record */
+    static String[] valuesOf(Record record, int[] positions) {
+        String[] values = record.getValues();
+        String[] selected = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            selected[i] = positions[i] < values.length ? values[positions[i]] : null;
+        }
+        return selected;
+    }
+
+    /** the columns of an index as declared, e.g. {@code region+date} */
+    static List<String> toColumns(String declaration) {
+        List<String> columns = new ArrayList<>();
+        for (String column : StringUtils.split(declaration, COMPOSITE_SEP)) { columns.add(StringUtils.trim(column)); }
+        return columns;
+    }
+
+    /** the key of a row, where {@code values} are the values of the indexed columns, in the order of the index */
+    static Object toKey(String... values) { return values.length == 1 ? values[0] : Arrays.asList(values); }
+
+    List<String> getColumns() { return columns; }
+
+    /** number of distinct keys */
+    int size() { return rows.size(); }
+
+    /**
+     * whether all the indexed values are trimmed and unquoted. Only then can this index serve data comparisons made
+     * by {@link org.nexial.core.model.NexialFilter}, since such comparisons are done on trimmed and unquoted data.
+     */
+    boolean isCanonical() { return canonical; }
+
+    /** the rows matching {@code key}, or null if none */
+    RowList lookup(Object key) { return rows.get(key); }
+
+    /** each key (as the values of the indexed columns) and its rows */
+    void forEach(BiConsumer<String[], RowList> consumer) {
+        rows.forEach((key, rowList) -> consumer.accept(toValues(key), rowList));
+    }
+
+    @Override
+    public String toString() { return "index on " + columns + ": " + rows.size() + " key(s)"; }
+
+    private static String[] toValues(Object key) {
+        if (key instanceof List) { return ((List<?>) key).toArray(new String[0]); }
+        return new String[]{(String) key};
+    }
+
+    private static boolean isCanonical(String value) {
+        return value == null ||
+               (value.equals(StringUtils.trim(value)) &&
+                !(StringUtils.startsWith(value, "\"") && StringUtils.endsWith(value, "\"")));
+    }
+}
@@ -20,6 +20,8 @@ package org.nexial.core.variable;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -36,6 +38,7 @@ import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.NexialFilter;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.variable.CsvIndex.RowList;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -44,8 +47,10 @@ import com.univocity.parsers.common.record.Record;
 import static java.lang.System.lineSeparator;
 import static org.nexial.core.NexialConst.CSV_FIELD_DEIM;
 import static org.nexial.core.NexialConst.CSV_ROW_SEP;
+import static org.nexial.core.NexialConst.Data.CSV_PARALLEL_FILTER;
+import static org.nexial.core.NexialConst.Data.DEF_CSV_PARALLEL_FILTER;
+import static org.nexial.core.NexialConst.Data.NULL;
 import static org.nexial.core.NexialConst.GSON;
-import static org.nexial.core.model.NexialFilterComparator.Equal;
 import static org.nexial.core.variable.ExpressionUtils.fixControlChars;
 
 public class CsvTransformer<T extends CsvDataType> extends Transformer {
@@ -56,6 +61,11 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
     public static final int DEF_MAX_COLUMNS = 512;
 
     private static final String PAIR_DELIM = "|";
+    // max. number of index lookups for a filter, beyond which evaluating all rows is likely faster
+    private static final int MAX_INDEX_LOOKUPS = 1024;
+    private static final String JOIN_INNER = "inner";
+    private static final String JOIN_LEFT = "left";
+    private static final String JOIN_ANTI = "anti";
     private static final String NAME_VALUE_DELIM = "=";
     private static final String ATTR_INDEX = "index";
     private static final String ATTR_NAME = "name";
@@ -135,22 +145,10 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         List<NexialFilter> filters = TextUtils.toList(filter, PAIR_DELIM, converter);
         if (CollectionUtils.isEmpty(filters)) { return data; }
 
-        List<Record> filtered = new ArrayList<>();
         List<Record> rows = data.getValue();
-
-        rows.forEach(row -> {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (matched) { filtered.add(row); }
-        });
-
-        data.reset(filtered);
+        Predicate<Record> matcher = compileFilters(data, filters);
+        int[] candidates = findCandidates(data, filters);
+        data.reset(candidates == null ? collectRows(rows, matcher) : collectRows(rows, candidates, matcher));
         return data;
     }
 
@@ -161,28 +159,23 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         List<NexialFilter> filters = TextUtils.toList(filter, PAIR_DELIM, converter);
         if (CollectionUtils.isEmpty(filters)) { return null; }
 
-        // short-circuit via flyweight pattern: only if there's only 1 equal-filter
-        if (CollectionUtils.size(filters) == 1) {
-            NexialFilter onlyFilter = filters.get(0);
-            if (onlyFilter.getComparator() == Equal && data.isIndexed(onlyFilter.getSubject())) {
-                return recordToList(data.retrieveFromCache(onlyFilter.getSubject(), onlyFilter.getControls()));
-            }
-        }
-
         List<Record> rows = data.getValue();
-        for (Record row : rows) {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
+        Predicate<Record> matcher = compileFilters(data, filters);
+
+        // short-circuit via index: only the rows found via index need to be evaluated
+        int[] candidates = findCandidates(data, filters);
+        if (candidates != null) {
+            for (int position : candidates) {
+                Record row = rows.get(position);
+                if (matcher.test(row)) { return recordToList(row); }
             }
-
-            if (matched) { return recordToList(row); }
+            return null;
         }
 
-        return null;
+        Optional<Record> matched = isParallel(rows) ?
+                                   rows.parallelStream().filter(matcher).findFirst() :
+                                   rows.stream().filter(matcher).findFirst();
+        return matched.map(CsvTransformer::recordToList).orElse(null);
     }
 
     public T sortAscending(T data, String column) {
@@ -216,31 +209,23 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         List<NexialFilter> filters = TextUtils.toList(matches, PAIR_DELIM, converter);
         if (CollectionUtils.isEmpty(filters)) { return data; }
 
-        // short-circuit via flyweight pattern: only if there's only 1 equal-filter
-        if (CollectionUtils.size(filters) == 1) {
-            NexialFilter onlyFilter = filters.get(0);
-            if (onlyFilter.getComparator() == Equal && data.isIndexed(onlyFilter.getSubject())) {
-                data.remove(onlyFilter.getSubject(), onlyFilter.getControls());
-                return data;
-            }
-        }
-
-        List<Record> remained = new ArrayList<>();
         List<Record> rows = data.getValue();
-        rows.forEach(row -> {
-            // matched means such row must not be included in remained
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (!matched) { remained.add(row); }
-        });
+        Predicate<Record> matcher = compileFilters(data, filters);
+
+        // short-circuit via index: only the rows found via index need to be evaluated
+        int[] candidates = findCandidates(data, filters);
+        if (candidates != null) {
+            boolean[] matched = new boolean[rows.size()];
+            for (int position : candidates) { matched[position] = matcher.test(rows.get(position)); }
+
+            List<Record> remained = new ArrayList<>(rows.size() - candidates.length);
+            for (int i = 0; i < matched.length; i++) { if (!matched[i]) { remained.add(rows.get(i)); } }
+            data.reset(remained);
+            return data;
+        }
 
-        data.reset(remained);
+        // matched means such row must not be included in remained
+        data.reset(collectRows(rows, matcher.negate()));
         return data;
     }
 
@@ -254,8 +239,6 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         String[] toRemove = StringUtils.split(TextUtils.toString(columnNamesOrIndices, PAIR_DELIM, "", ""), PAIR_DELIM);
         if (ArrayUtils.isEmpty(toRemove)) { return data; }
 
-        List<Record> csvRecords = data.getValue();
-
         Set<Integer> indicesToRemove = new TreeSet<>();
         int maxColumnIndex = data.getColumnCount() - 1;
 
@@ -285,52 +268,8 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
             }
         });
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-        StringBuilder csvModified = new StringBuilder();
-
-        if (data.isHeader()) {
-            List<String> modifiedHeaders = new ArrayList<>();
-            for (int i = 0; i < data.getHeaders().size(); i++) {
-                if (indicesToRemove.contains(i)) { continue; }
-                modifiedHeaders.add(data.getHeaders().get(i));
-            }
-
-            csvModified.append(TextUtils.toString(modifiedHeaders, delim)).append(recordDelim);
-        }
-
-        csvRecords.forEach(one -> {
-            StringBuilder rowModified = new StringBuilder();
-            String[] values = one.getValues();
-            for (int i = 0; i < values.length; i++) {
-                if (indicesToRemove.contains(i)) { continue; }
-                String value = values[i];
-                rowModified.append(value).append(delim);
-            }
-
-            csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
-        });
-
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-
-        // List<List<String>> csvRows = TextUtils.to2dList(data.getTextValue(), recordDelim, delim);
-        // for (List<String> row : csvRows) {
-        //     StringBuilder rowModified = new StringBuilder();
-        //     for (int i = 0; i < row.size(); i++) {
-        //         if (!indicesToRemove.contains(i)) { rowModified.append(row.get(i)).append(delim); }
-        //     }
-        //
-        //     csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim))
-        //                .append(recordDelim);
-        // }
-
-        // try {
-        // data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
+        data.removeColumns(indicesToRemove);
         return data;
-        // } catch (IOException e) {
-        //     throw new TypeConversionException(data.getName(), data.getTextValue(), e.getMessage(), e);
-        // }
     }
 
     public T renameColumn(T data, String find, String replace) {
@@ -343,17 +282,8 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         find = StringUtils.trim(find);
         replace = StringUtils.trim(replace);
 
-        List<String> headers = data.getHeaders();
-        if (headers.contains(find)) { headers.set(headers.indexOf(find), replace); }
-
-        data.reset(data.getValue());
-
-        // try {
-        data.parse();
+        data.renameColumn(find, replace);
         return data;
-        // } catch (IOException e) {
-        //     throw new TypeConversionException(data.getName(), data.getTextValue(), e.getMessage(), e);
-        // }
     }
 
     public NumberDataType rowCount(T data) throws TypeConversionException {
@@ -619,13 +549,28 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
      * specified, will be used as the basis of the merge so that rows with the same value (of the specified reference
      * column) will be merged together.  Consequently this is sort the current CSV instance as a side effect.  If
      * {@code refColumn} is not specified, then the merge will be done in the line-by-line basis.
+     * <p>
+     * Optionally, a merge mode can be specified after {@code refColumn}, as in
+     * {@code merge(csvVariable,refColumn,mode)}, to merge as a join on {@code refColumn}. In such case,
+     * {@code refColumn} can be one or more columns (e.g. {@code region+date}):
+     * <ul>
+     * <li>{@code inner} - only the rows of the current CSV with matching rows in {@code csvVariable}</li>
+     * <li>{@code left} - all the rows of the current CSV, with matching rows in {@code csvVariable} (if any)</li>
+     * <li>{@code anti} - only the rows of the current CSV without matching rows in {@code csvVariable}</li>
+     * </ul>
+     * Such joins are done via hash index (declared or not) and do not sort either CSV.
      */
-    public T merge(T data, String csvVariable, String refColumn) throws TypeConversionException {
+    public T merge(T data, String... mergeArgs) throws TypeConversionException {
+        String csvVariable = ArrayUtils.getLength(mergeArgs) > 0 ? mergeArgs[0] : null;
+        String refColumn = ArrayUtils.getLength(mergeArgs) > 1 ? mergeArgs[1] : null;
+        String mode = ArrayUtils.getLength(mergeArgs) > 2 ? StringUtils.trim(mergeArgs[2]) : null;
         if (StringUtils.isBlank(csvVariable)) { return data; }
 
         CsvDataType mergeFrom = resolveExpressionTypeInContext(csvVariable);
-        if (mergeFrom == null || mergeFrom.getValue().isEmpty()) { return data; }
-        if (data == null || StringUtils.isEmpty(data.getTextValue())) { return (T) mergeFrom; }
+        if (mergeFrom == null) { return data; }
+        if (StringUtils.isNotBlank(mode)) { return join(data, mergeFrom, csvVariable, refColumn, mode); }
+        if (mergeFrom.getValue().isEmpty()) { return data; }
+        if (data == null || data.isTextEmpty()) { return (T) mergeFrom; }
 
         // both must have headers, or both must not
         if (data.isHeader() != mergeFrom.isHeader()) {
@@ -657,13 +602,14 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
 
         assertValidColumns(data, columns);
 
+        // count by group, instead of by row
+        CsvIndex index = toGroupIndex(data, columns);
         Map<String, Integer> counts = new TreeMap<>();
-        data.getValue().forEach(record -> {
-
+        index.forEach((values, rows) -> {
             String value = "";
-            for (String column : columns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
-                counts.put(value, counts.containsKey(value) ? counts.get(value) + 1 : 1);
+            for (String columnValue : values) {
+                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + columnValue;
+                counts.merge(value, rows.size(), Integer::sum);
             }
         });
 
@@ -689,14 +635,28 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         String sumColumn = columns[columns.length - 1];
         String[] groupColumns = ArrayUtils.remove(columns, columns.length - 1);
 
+        // group names are created once per group, instead of once per row
+        List<Record> records = data.getValue();
+        String[][] groupsByRow = new String[records.size()][];
+        toGroupIndex(data, groupColumns).forEach((values, rows) -> {
+            String[] groups = new String[values.length];
+            String value = "";
+            for (int i = 0; i < values.length; i++) {
+                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + values[i];
+                groups[i] = value;
+            }
+            for (int i = 0; i < rows.size(); i++) { groupsByRow[rows.get(i)] = groups; }
+        });
+
+        // sum in the order of the rows
         Map<String, Number> sums = new TreeMap<>();
-        data.getValue().forEach(record -> {
+        for (int row = 0; row < records.size(); row++) {
+            if (groupsByRow[row] == null) { continue; }
+
             Number sumValue = NumberUtils.createNumber(
-                StringUtils.trim(StringUtils.replaceChars(record.getString(sumColumn), "\"'$,", "")));
+                StringUtils.trim(StringUtils.replaceChars(records.get(row).getString(sumColumn), "\"'$,", "")));
 
-            String value = "";
-            for (String column : groupColumns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
+            for (String value : groupsByRow[row]) {
                 if (sums.containsKey(value)) {
                     Number currentSum = sums.get(value);
                     if (currentSum instanceof Integer && sumValue instanceof Integer) {
@@ -708,7 +668,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
                     sums.put(value, sumValue);
                 }
             }
-        });
+        }
 
         StringBuilder groupCsv = new StringBuilder(TextUtils.toString(groupColumns, CSV_FIELD_DEIM, "", "") +
                                                    CSV_FIELD_DEIM + "Sum" + CSV_ROW_SEP);
@@ -797,6 +757,127 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         }
     }
 
+    /** index of {@code data} over the group {@code columns}: the declared index if available */
+    protected CsvIndex toGroupIndex(T data, String[] columns) throws TypeConversionException {
+        CsvIndex index = data.index(Arrays.asList(columns));
+        if (index == null) {
+            throw new TypeConversionException("CSV", Arrays.toString(columns), "Unable to group by such column(s)");
+        }
+        return index;
+    }
+
+    /**
+     * hash join of {@code to} and {@code from} on {@code refColumn} (one or more columns). The rows of {@code from}
+     * are indexed (or its declared index is used), and each row of {@code to} is then matched via such index.
+     */
+    protected T join(T to, CsvDataType from, String csvVariable, String refColumn, String mode)
+        throws TypeConversionException {
+        String joinMode = StringUtils.lowerCase(mode);
+        if (!StringUtils.equalsAny(joinMode, JOIN_INNER, JOIN_LEFT, JOIN_ANTI)) {
+            throw new TypeConversionException("CSV", mode, "Invalid merge mode; expects " + JOIN_INNER + ", " +
+                                                           JOIN_LEFT + " or " + JOIN_ANTI);
+        }
+
+        if (to == null || to.getValue() == null) { return to; }
+        if (!to.isHeader() || !from.isHeader()) {
+            throw new IllegalArgumentException("Cannot merge 2 set of CSV as '" + joinMode + "' unless both have " +
+                                               "headers");
+        }
+        if (StringUtils.isBlank(refColumn)) {
+            throw new TypeConversionException("CSV", refColumn, "Unable to merge as '" + joinMode + "' without " +
+                                                                "reference column");
+        }
+
+        List<String> refColumns = CsvIndex.toColumns(refColumn);
+        List<String> toHeaders = to.getHeaders();
+        int[] toRefPositions = CsvIndex.toPositions(refColumns, toHeaders);
+        if (toRefPositions == null) {
+            throw new TypeConversionException("CSV", refColumn,
+                                              "Unable to merge because the specified reference column does not " +
+                                              "exists in the 'MERGED TO' CSV");
+        }
+
+        CsvIndex fromIndex = from.index(refColumns);
+        if (fromIndex == null) {
+            throw new TypeConversionException("CSV", refColumn,
+                                              "Unable to merge because the specified reference column does not " +
+                                              "exists in the 'MERGED FROM' CSV");
+        }
+
+        List<Record> toRecords = to.getValue();
+        long startTime = System.currentTimeMillis();
+
+        if (StringUtils.equals(joinMode, JOIN_ANTI)) {
+            List<Record> remained = new ArrayList<>();
+            toRecords.forEach(record -> {
+                if (record != null &&
+                    fromIndex.lookup(CsvIndex.toKey(CsvIndex.valuesOf(record, toRefPositions))) == null) {
+                    remained.add(record);
+                }
+            });
+
+            ConsoleUtils.log("merged " + toRecords.size() + " row(s) as '" + joinMode + "' with " + fromIndex +
+                             " in " + (System.currentTimeMillis() - startTime) + "ms");
+            to.reset(remained);
+            return to;
+        }
+
+        // columns of `from`, except the reference columns
+        List<String> fromHeaders = from.getHeaders();
+        List<String> headers = new ArrayList<>(toHeaders);
+        List<Integer> fromPositions = new ArrayList<>();
+        for (int i = 0; i < fromHeaders.size(); i++) {
+            String column = fromHeaders.get(i);
+            if (refColumns.contains(column)) { continue; }
+            if (toHeaders.contains(column)) {
+                throw new TypeConversionException("CSV", column,
+                                                  "Unable to merge from variable '" + csvVariable +
+                                                  "' because of conflicting column '" + column + "'");
+            }
+            headers.add(column);
+            fromPositions.add(i);
+        }
+
+        // joined records are created directly; the textual form is only recreated when needed
+        List<Record> fromRecords = from.getValue();
+        List<String[]> joinedRows = new ArrayList<>();
+        for (Record toRecord : toRecords) {
+            if (toRecord == null) { continue; }
+
+            // empty rather than null, as if parsed
+            String[] joined = new String[headers.size()];
+            Arrays.fill(joined, "");
+            String[] toValues = toRecord.getValues();
+            for (int i = 0; i < toHeaders.size() && i < toValues.length; i++) {
+                joined[i] = StringUtils.defaultString(toValues[i]);
+            }
+
+            RowList matches = fromIndex.lookup(CsvIndex.toKey(CsvIndex.valuesOf(toRecord, toRefPositions)));
+            if (matches == null) {
+                // left join: `from` columns remain empty
+                if (StringUtils.equals(joinMode, JOIN_LEFT)) { joinedRows.add(joined); }
+                continue;
+            }
+
+            for (int i = 0; i < matches.size(); i++) {
+                String[] fromValues = fromRecords.get(matches.get(i)).getValues();
+                String[] row = i < matches.size() - 1 ? joined.clone() : joined;
+                for (int j = 0; j < fromPositions.size(); j++) {
+                    int position = fromPositions.get(j);
+                    if (position < fromValues.length) {
+                        row[toHeaders.size() + j] = StringUtils.defaultString(fromValues[position]);
+                    }
+                }
+                joinedRows.add(row);
+            }
+        }
+
+        ConsoleUtils.log("merged " + toRecords.size() + " row(s) as '" + joinMode + "' with " + fromIndex +
+                         " in " + (System.currentTimeMillis() - startTime) + "ms");
+        to.reset(headers, joinedRows);
+        return to;
+    }
+
     protected T mergeWithoutHeaders(T data, CsvDataType mergeFrom) {
         StringBuilder toBuffer = new StringBuilder();
 
@@ -983,17 +1064,132 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer {
         return new ListDataType(TextUtils.toString(array, delim, "", ""), delim);
     }
 
-    private boolean matchFilter(Record row, NexialFilter filter) {
-        if (row == null) { return false; }
-        if (filter == null) { return true; }
+    /**
+     * compile {@code filters} into one predicate over CSV rows, where all filters must match. Each filter is compiled
+     * once and its subject is resolved to a column index ahead of time, so that evaluating a row is reduced to an
+     * array lookup and a comparison against pre-resolved controls.
+     */
+    private static Predicate<Record> compileFilters(CsvDataType data, List<NexialFilter> filters) {
+        List<Predicate<Record>> matchers = new ArrayList<>();
+        filters.forEach(filter -> { if (filter != null) { matchers.add(compileFilter(data, filter)); }});
+
+        return row -> {
+            if (row == null) { return false; }
+            for (Predicate<Record> matcher : matchers) { if (!matcher.test(row)) { return false; } }
+            return true;
+        };
+    }
+
+    private static Predicate<Record> compileFilter(CsvDataType data, NexialFilter filter) {
+        Predicate<String> matcher = filter.compile();
 
         if (filter.isAnySubject()) {
-            // for (String next : row) { if (filter.isMatch(next)) { return true; } }
+            return row -> {
+                for (String value : row.getValues()) { if (matcher.test(value)) { return true; } }
+                return false;
+            };
+        }
+
+        String subject = filter.getSubject();
+        int position = data.getHeaderPosition(subject);
+        // not a known header; let the record resolve it (or complain about it)
+        if (position < 0) { return row -> matcher.test(row.getString(subject)); }
+
+        return row -> {
             String[] values = row.getValues();
-            for (String value : values) { if (filter.isMatch(value)) { return true; } }
-            return false;
+            return matcher.test(position < values.length ? values[position] : null);
+        };
+    }
+
+    /** rows matching {@code matcher}, in their original order */
+    private static List<Record> collectRows(List<Record> rows, Predicate<Record> matcher) {
+        if (isParallel(rows)) { return rows.parallelStream().filter(matcher).collect(Collectors.toList()); }
+
+        List<Record> matched = new ArrayList<>();
+        for (Record row : rows) { if (matcher.test(row)) { matched.add(row); } }
+        return matched;
+    }
+
+    /** rows at {@code candidates} (ascending positions) matching {@code matcher}, in their original order */
+    private static List<Record> collectRows(List<Record> rows, int[] candidates, Predicate<Record> matcher) {
+        List<Record> matched = new ArrayList<>();
+        for (int position : candidates) {
+            Record row = rows.get(position);
+            if (matcher.test(row)) { matched.add(row); }
         }
+        return matched;
+    }
 
-        return filter.isMatch(row.getString(filter.getSubject()));
+    /**
+     * positions (ascending) of the rows that could match {@code filters}, as found via the declared index that best
+     * covers the exact-match filters (e.g. {@code =} on text, {@code in}). The rows found must still be evaluated
+     * against all the filters. Null if no declared index applies, in which case all rows must be evaluated.
+     */
+    private static int[] findCandidates(CsvDataType data, List<NexialFilter> filters) {
+        if (CollectionUtils.isEmpty(data.getIndices())) { return null; }
+
+        // column -> data matched; in case of multiple exact-match filters on the same column, the first one is used
+        Map<String, Set<String>> exactMatches = new HashMap<>();
+        filters.forEach(filter -> {
+            if (filter == null || filter.isAnySubject()) { return; }
+            Set<String> matches = filter.getExactMatches();
+            if (matches != null) { exactMatches.putIfAbsent(filter.getSubject(), matches); }
+        });
+        if (exactMatches.isEmpty()) { return null; }
+
+        // prefer the declared index with the most columns covered by the filters
+        List<String> indexColumns = null;
+        for (String declared : data.getIndices()) {
+            List<String> columns = CsvIndex.toColumns(declared);
+            if (!exactMatches.keySet().containsAll(columns)) { continue; }
+            if (indexColumns == null || columns.size() > indexColumns.size()) { indexColumns = columns; }
+        }
+        if (indexColumns == null) { return null; }
+
+        CsvIndex index = data.getIndex(indexColumns);
+        if (index == null || !index.isCanonical()) { return null; }
+
+        // all combinations of the data matched by each of the indexed columns
+        List<String[]> keys = Collections.singletonList(new String[0]);
+        for (String column : indexColumns) {
+            Set<String> matches = new LinkedHashSet<>(exactMatches.get(column));
+            // null data is compared as NULL
+            if (matches.contains(NULL)) { matches.add(null); }
+
+            List<String[]> combined = new ArrayList<>(keys.size() * matches.size());
+            keys.forEach(key -> matches.forEach(match -> {
+                String[] next = Arrays.copyOf(key, key.length + 1);
+                next[key.length] = match;
+                combined.add(next);
+            }));
+            if (combined.size() > MAX_INDEX_LOOKUPS) { return null; }
+            keys = combined;
+        }
+
+        List<RowList> found = new ArrayList<>();
+        int count = 0;
+        for (String[] key : keys) {
+            RowList rows = index.lookup(CsvIndex.toKey(key));
+            if (rows != null) {
+                found.add(rows);
+                count += rows.size();
+            }
+        }
+
+        // distinct keys refer to distinct rows
+        int[] positions = new int[count];
+        int i = 0;
+        for (RowList rows : found) { for (int j = 0; j < rows.size(); j++) { positions[i++] = rows.get(j); } }
+        if (found.size() > 1) { Arrays.sort(positions); }
+        return positions;
+    }
+
+    /** large CSV (as per {@code CSV_PARALLEL_FILTER}) are filtered via parallel stream */
+    private static boolean isParallel(List<Record> rows) {
+        ExecutionContext context = ExecutionThread.get();
+        int threshold = context == null ?
+                        DEF_CSV_PARALLEL_FILTER :
+                        context.getIntData(CSV_PARALLEL_FILTER, DEF_CSV_PARALLEL_FILTER);
+        return threshold > 0 && rows.size() >= threshold;
     }
 }
\ No newline at end of file
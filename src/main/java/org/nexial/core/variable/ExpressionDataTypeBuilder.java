@@ -19,10 +19,13 @@ package org.nexial.core.variable;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +35,7 @@ import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.utils.ConsoleUtils;
 
+import static java.util.regex.Pattern.DOTALL;
 import static org.nexial.core.NexialConst.Data.DEF_TEXT_DELIM;
 import static org.nexial.core.variable.ExpressionConst.REGEX_VALID_TYPE_PREFIX;
 import static org.nexial.core.variable.ExpressionConst.REGEX_VALID_TYPE_SUFFIX;
@@ -41,14 +45,30 @@ import static org.nexial.core.variable.ExpressionUtils.resumeExpression;
 final class ExpressionDataTypeBuilder {
     private static final Map<String, Method> NEW_INSTANCE_METHODS = initNewInstanceMethods();
     private static final String REGEX_VALID_TYPE = resolveValidTypeRegex(NEW_INSTANCE_METHODS);
+    // compiled once; this is evaluated against every text undergoing token replacement
+    private static final Pattern PATTERN_VALID_TYPE = Pattern.compile(REGEX_VALID_TYPE, DOTALL);
     private ExecutionContext context;
 
     public ExpressionDataTypeBuilder(ExecutionContext context) { this.context = context; }
 
-    boolean isValidType(String expression) { return RegexUtils.isExact(expression, REGEX_VALID_TYPE, true); }
+    /** same as {@code RegexUtils.isExact(expression, REGEX_VALID_TYPE, true)} */
+    boolean isValidType(String expression) {
+        if (StringUtils.isEmpty(expression)) { return false; }
+        // all expressions are enclosed in [...]; no need to run the regex otherwise
+        if (!StringUtils.contains(expression, "[")) { return false; }
+        return PATTERN_VALID_TYPE.matcher(expression).matches();
+    }
 
+    /** same as {@code RegexUtils.collectGroups(expression, REGEX_VALID_TYPE, false, true)} */
     List<String> parseExpressionGroups(String expression) {
-        return RegexUtils.collectGroups(expression, REGEX_VALID_TYPE, false, true);
+        List<String> list = new ArrayList<>();
+        if (StringUtils.isBlank(expression)) { return list; }
+
+        Matcher matcher = PATTERN_VALID_TYPE.matcher(expression);
+        if (matcher.matches() && matcher.groupCount() > 0) {
+            for (int i = 1; i <= matcher.groupCount(); i++) { list.add(matcher.group(i)); }
+        }
+        return list;
     }
 
     ExpressionDataType newDataType(String dataType, String value) throws TypeConversionException {
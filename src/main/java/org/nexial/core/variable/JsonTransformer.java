@@ -27,6 +27,7 @@ import org.json.JSONObject;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.JSONPath;
+import org.nexial.core.utils.JsonDocumentCache;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -82,10 +83,10 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
 
         try {
             if (value instanceof JsonObject) {
-                return handleJsonPathResult(data, JSONPath.find(data.toJSONObject(), jsonpath));
+                return handleJsonPathResult(data, JSONPath.find(toCachedJSONObject(data), jsonpath));
             }
             if (value instanceof JsonArray) {
-                return handleJsonPathResult(data, JSONPath.find(data.toJSONArray(), jsonpath));
+                return handleJsonPathResult(data, JSONPath.find(toCachedJSONArray(data), jsonpath));
             }
 
             throw new ExpressionException("Unable to transform " + value.getClass().getSimpleName() + " instance");
@@ -157,16 +158,14 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
 
         try {
             if (value instanceof JsonArray) {
-                JSONArray jsonArray = new JSONArray(value.toString());
-                JSONPath jp = new JSONPath(jsonArray, jsonPath);
+                JSONPath jp = new JSONPath(toCachedJSONArray(data), jsonPath);
                 count.setValue(jp.count());
                 count.setTextValue(count.getValue().toString());
                 return count;
             }
 
             if (value instanceof JsonObject) {
-                JSONObject jsonObject = new JSONObject(value.toString());
-                JSONPath jp = new JSONPath(jsonObject, jsonPath);
+                JSONPath jp = new JSONPath(toCachedJSONObject(data), jsonPath);
                 count.setValue(jp.count());
                 count.setTextValue(count.getValue().toString());
                 return count;
@@ -203,6 +202,32 @@ public class JsonTransformer<T extends JsonDataType> extends Transformer {
     @Override
     Map<String, Method> listSupportedMethods() { return FUNCTIONS; }
 
+    /**
+     * parsed form of {@code data}, shared with {@link org.nexial.core.plugins.json.JsonCommand} and hence read-only.
+     * Lenient JSON (as accepted by Gson but not by org.json) is converted as a fresh document.
+     */
+    private static JSONObject toCachedJSONObject(JsonDataType data) throws JSONException {
+        if (StringUtils.isNotBlank(data.getTextValue())) {
+            try {
+                return JsonDocumentCache.toJSONObject(data.getTextValue());
+            } catch (JSONException e) {
+                // fall through
+            }
+        }
+        return data.toJSONObject();
+    }
+
+    private static JSONArray toCachedJSONArray(JsonDataType data) throws JSONException {
+        if (StringUtils.isNotBlank(data.getTextValue())) {
+            try {
+                return JsonDocumentCache.toJSONArray(data.getTextValue());
+            } catch (JSONException e) {
+                // fall through
+            }
+        }
+        return data.toJSONArray();
+    }
+
     protected ExpressionDataType handleJsonPathResult(T data, JSONObject json) {
         if (json == null || json == NULL) { return TextDataType.newEmptyInstance(); }
         return handleJsonPathResult(data, StringUtils.trim(json.toString()));
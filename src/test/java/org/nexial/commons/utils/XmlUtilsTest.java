@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.commons.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class XmlUtilsTest {
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                                      "<accounts>" +
+                                      "<account id=\"1\"><balance>10.5</balance></account>" +
+                                      "<account id=\"2\"><balance>20.5</balance></account>" +
+                                      "<account id=\"3\"><balance>30.5</balance></account>" +
+                                      "</accounts>";
+
+    @Test
+    public void parseCached() throws Exception {
+        Document doc = XmlUtils.parseCached(XML);
+        Assert.assertNotNull(doc);
+
+        // same text, different instance
+        Assert.assertSame(doc, XmlUtils.parseCached(new String(XML)));
+
+        // not cached, hence modifiable
+        Document copy = XmlUtils.parse(XML);
+        Assert.assertNotSame(doc, copy);
+        copy.getRootElement().removeContent();
+        Assert.assertEquals(3, XmlUtils.count(XmlUtils.parseCached(XML), "/accounts/account"));
+
+        Assert.assertNull(XmlUtils.parseCached(""));
+    }
+
+    @Test
+    public void compiledXPath() throws Exception {
+        Document doc = XmlUtils.parse(XML);
+
+        Assert.assertSame(XmlUtils.compileXPath("//account[@id='2']/balance/text()"),
+                          XmlUtils.compileXPath("//account[@id='2']/balance/text()"));
+        Assert.assertSame(XmlUtils.compileElementXPath("//account"), XmlUtils.compileElementXPath("//account"));
+
+        // same outcome whether the xpath is compiled or reused
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("20.5", XmlUtils.findElement(doc, "//account[@id='2']/balance").getText());
+            Assert.assertEquals(3, XmlUtils.findElements(doc, "//account").size());
+            Assert.assertEquals("3", XmlUtils.getAttributeValue(doc, "/accounts/account[3]", "id"));
+            Assert.assertEquals(2, XmlUtils.count(doc, "//account[balance > 15]"));
+            Assert.assertTrue(XmlUtils.findNode(doc, "/accounts/account[1]") instanceof Element);
+        }
+    }
+
+    @Test
+    public void concurrentLookups() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int id = i % 3 + 1;
+                results.add(executor.submit(() -> XmlUtils.findElement(XmlUtils.parseCached(XML),
+                                                                       "//account[@id='" + id + "']/balance")
+                                                          .getText()));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals((i % 3 + 1) + "0.5", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
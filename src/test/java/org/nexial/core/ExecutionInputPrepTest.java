@@ -19,6 +19,7 @@ package org.nexial.core;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.nexial.core.model.ExecutionDefinition;
 import org.nexial.core.model.TestProject;
 
 import static org.nexial.core.NexialConst.Data.SHEET_MERGED_DATA;
+import static org.nexial.core.NexialConst.Data.SHEET_SYSTEM;
 import static org.nexial.core.NexialConst.Project.DEF_REL_LOC_OUTPUT;
 import static org.nexial.core.NexialConst.Project.DEF_REL_LOC_TEST_SCRIPT;
 import static java.io.File.separator;
@@ -192,6 +194,74 @@ public class ExecutionInputPrepTest {
         }
     }
 
+    @Test
+    public void prep_singleLoadAndSaveAs() throws Exception {
+        File fileTestScript = new File(getPath(ExecutionInputPrepTest.class.getSimpleName() + "_test1.xlsx"));
+        FileUtils.copyFileToDirectory(fileTestScript, dirScript);
+        File testScript = new File(dirScript, fileTestScript.getName());
+
+        // unused worksheet; to be removed from output
+        Excel script = new Excel(testScript);
+        script.getWorkbook().createSheet("obsolete");
+        script.save();
+        long scriptChecksum = FileUtils.checksumCRC32(testScript);
+        long scriptLastModified = testScript.lastModified();
+
+        File fileTestData = new File(getPath(ExecutionInputPrepTest.class.getSimpleName() + "_test1.data.xlsx"));
+        FileUtils.copyFileToDirectory(fileTestData, dirData);
+
+        List<String> scenarios = Arrays.asList("scenario1", "scenario2");
+        ExecutionDefinition execDef = new ExecutionDefinition();
+        execDef.setTestScript(testScript.getAbsolutePath());
+        execDef.setScenarios(scenarios);
+        execDef.setDataFile(dirData.getAbsolutePath() + separator + fileTestData.getName());
+        execDef.setDataSheets(scenarios);
+        execDef.setProject(TestProject.newInstance(testScript, DEF_REL_LOC_TEST_SCRIPT));
+        execDef.parse();
+
+        File output = ExecutionInputPrep.prep(DateUtility.createTimestampString(null), execDef, 2, 2);
+
+        // test script is read, never written
+        Assert.assertEquals(scriptChecksum, FileUtils.checksumCRC32(testScript));
+        Assert.assertEquals(scriptLastModified, testScript.lastModified());
+        Assert.assertNull(new Excel(testScript).worksheet(SHEET_MERGED_DATA));
+
+        // output contains only the used worksheets, plus merged data
+        Excel excel = new Excel(output);
+        List<String> sheetNames = new ArrayList<>();
+        excel.getWorkbook().forEach(sheet -> sheetNames.add(sheet.getSheetName()));
+        Assert.assertEquals(Arrays.asList(SHEET_SYSTEM, "scenario1", SHEET_MERGED_DATA), sheetNames);
+
+        Worksheet data = excel.worksheet(SHEET_MERGED_DATA);
+        List<List<XSSFCell>> dataCells = data.cells(new ExcelAddress("A1:B" +
+                                                                     data.findLastDataRow(new ExcelAddress("A1"))));
+        Map<String, String> actualData = new HashMap<>();
+        dataCells.forEach(row -> actualData.put(row.get(0).getStringCellValue(), row.get(1).getStringCellValue()));
+        Assert.assertEquals(expectedDataMap.get(2), actualData);
+    }
+
+    @Test
+    public void removeWorksheet() throws Exception {
+        File fileTestScript = new File(getPath(ExecutionInputPrepTest.class.getSimpleName() + "_test1.xlsx"));
+        FileUtils.copyFileToDirectory(fileTestScript, dirScript);
+        File testScript = new File(dirScript, fileTestScript.getName());
+
+        Excel excel = new Excel(testScript);
+        excel.removeWorksheet("not-there");
+        Assert.assertNotNull(excel.worksheet("scenario1"));
+
+        excel.removeWorksheet("scenario1");
+        Assert.assertNull(excel.worksheet("scenario1"));
+        Assert.assertEquals(-1, excel.getWorkbook().getSheetIndex("scenario1"));
+
+        // saved as a different file; original untouched
+        File copy = new File(dirScript, "copy.xlsx");
+        excel.saveAs(copy);
+        Assert.assertEquals(copy, excel.getFile());
+        Assert.assertNull(new Excel(copy).worksheet("scenario1"));
+        Assert.assertNotNull(new Excel(testScript).worksheet("scenario1"));
+    }
+
     public String getPath(String filename) throws FileNotFoundException {
         return ResourceUtils.getFile("classpath:" +
                                      StringUtils.replace(this.getClass().getPackage().getName(), ".", "/") +
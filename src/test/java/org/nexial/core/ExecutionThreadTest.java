@@ -19,13 +19,18 @@ package org.nexial.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.junit.Assert;
 import org.junit.Test;
 
 import org.nexial.commons.utils.TextUtils;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 public class ExecutionThreadTest {
 
@@ -116,4 +121,67 @@ public class ExecutionThreadTest {
 		System.out.println("all done");
 	}
 
+	@Test
+	public void copyIntraExecutionData() {
+		List<String> names = new ArrayList<>(Arrays.asList("a", "b"));
+		Map<String, Object> nested = new HashMap<>();
+		nested.put("names", names);
+		Object notSerializable = new Object();
+		ClassPathXmlApplicationContext springContext = new ClassPathXmlApplicationContext();
+
+		Map<String, Object> startData = new HashMap<>();
+		startData.put("name", "value");
+		startData.put("count", 5);
+		startData.put("names", names);
+		startData.put("nested", nested);
+		startData.put("notSerializable", notSerializable);
+		startData.put("nexialInternal.springContext", springContext);
+		startData.put("nexialInternal.pluginManager", new PluginManager());
+
+		Map<String, Object> copy1 = ExecutionThread.copyIntraExecutionData(startData);
+		Map<String, Object> copy2 = ExecutionThread.copyIntraExecutionData(startData);
+
+		Assert.assertEquals("value", copy1.get("name"));
+		Assert.assertEquals(5, copy1.get("count"));
+		Assert.assertEquals(names, copy1.get("names"));
+		Assert.assertEquals(nested, copy1.get("nested"));
+		Assert.assertSame(notSerializable, copy1.get("notSerializable"));
+		Assert.assertFalse(copy1.containsKey("nexialInternal.springContext"));
+		Assert.assertFalse(copy1.containsKey("nexialInternal.pluginManager"));
+
+		// changes by one iteration is not visible to another, or to the start data
+		((List<String>) copy1.get("names")).add("c");
+		((Map<String, Object>) copy1.get("nested")).put("extra", "1");
+		Assert.assertEquals(Arrays.asList("a", "b"), names);
+		Assert.assertEquals(Arrays.asList("a", "b"), copy2.get("names"));
+		Assert.assertFalse(nested.containsKey("extra"));
+		Assert.assertFalse(((Map<String, Object>) copy2.get("nested")).containsKey("extra"));
+		Assert.assertNotSame(((Map<String, Object>) copy1.get("nested")).get("names"), names);
+	}
+
+	@Test
+	public void changedIntraExecutionData() {
+		Map<String, Object> startData = new HashMap<>();
+		startData.put("unchanged", "value");
+		startData.put("names", new ArrayList<>(Arrays.asList("a", "b")));
+		startData.put("changed", "before");
+		startData.put("removed", "gone");
+		startData.put("nexialInternal.pluginManager", new PluginManager());
+
+		Map<String, Object> endData = ExecutionThread.copyIntraExecutionData(startData);
+		endData.put("changed", "after");
+		endData.put("added", 1);
+		endData.remove("removed");
+		endData.put("nexialInternal.springContext", new ClassPathXmlApplicationContext());
+
+		// unchanged data (even if deep-copied) must not override what other iterations have changed
+		Map<String, Object> changed = ExecutionThread.changedIntraExecutionData(startData, endData);
+		Assert.assertEquals(2, changed.size());
+		Assert.assertEquals("after", changed.get("changed"));
+		Assert.assertEquals(1, changed.get("added"));
+
+		Assert.assertEquals(Collections.singleton("removed"),
+		                    ExecutionThread.removedIntraExecutionData(startData, endData));
+	}
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+import org.nexial.core.model.MockExecutionContext;
+import org.nexial.core.model.TestProject;
+
+import static org.nexial.core.NexialConst.Project.NEXIAL_HOME;
+
+public class LoadTestExecutionTest {
+    private File workDir;
+    private final List<VirtualUserContext> contexts = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    /** stand-in for the context of a virtual user: every iteration passes after a short while */
+    private class VirtualUserContext extends MockExecutionContext {
+        private final ExecutionEventListener listener = new ExecutionEventListener() {
+            @Override
+            public void onExecutionStart() { events.add("ExecutionStart"); }
+
+            @Override
+            public void onExecutionComplete() { events.add("ExecutionComplete"); }
+
+            @Override
+            public void onScriptComplete() { events.add("ScriptComplete"); }
+        };
+        private volatile int iterations;
+        private volatile boolean terminated;
+
+        @Override
+        public void useTestScript(File testScript) { this.testScript = testScript; }
+
+        @Override
+        public boolean execute() {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            iterations++;
+            return true;
+        }
+
+        @Override
+        public ExecutionEventListener getExecutionEventListener() { return listener; }
+
+        @Override
+        public void terminate() {
+            super.terminate();
+            terminated = true;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "LoadTestExecutionTest-" + System.nanoTime());
+        FileUtils.forceMkdir(workDir);
+        if (System.getProperty(NEXIAL_HOME) == null) { System.setProperty(NEXIAL_HOME, workDir.getAbsolutePath()); }
+    }
+
+    @After
+    public void tearDown() {
+        contexts.forEach(MockExecutionContext::cleanProject);
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void multipleVirtualUsers() throws Exception {
+        TestProject project = new TestProject();
+        project.setOutPath(workDir.getAbsolutePath());
+
+        ExecutionDefinition execDef = new ExecutionDefinition();
+        execDef.setRunId("LoadTestExecutionTest");
+        execDef.setTestScript(new File(workDir, "script.xlsx").getAbsolutePath());
+        execDef.setProject(project);
+        execDef.setLoadTestMode(true);
+        execDef.setMinimumLoad(2);
+        execDef.setMaximumLoad(3);
+        execDef.setRampUpSec(1);
+        execDef.setHoldForSec(1);
+
+        ExecutionSummary summary = new ExecutionSummary();
+        LoadTestExecution loadTest = new LoadTestExecution(execDef, summary) {
+            @Override
+            ExecutionContext newContext() {
+                VirtualUserContext context = new VirtualUserContext();
+                contexts.add(context);
+                return context;
+            }
+
+            @Override
+            File prepTestScript(int userId) throws IOException {
+                File testScript = new File(workDir, "script." + userId + ".xlsx");
+                FileUtils.writeStringToFile(testScript, "virtual user " + userId, "UTF-8");
+                return testScript;
+            }
+        };
+        loadTest.setFirstUse(true);
+        loadTest.setLastUse(true);
+        loadTest.execute();
+
+        // one context per virtual user, every one of them ended
+        Assert.assertEquals(3, contexts.size());
+        contexts.forEach(context -> {
+            Assert.assertTrue(context.iterations > 0);
+            Assert.assertTrue(context.terminated);
+        });
+
+        Assert.assertEquals(3, loadTest.getMetrics().getPeakUsers());
+        Assert.assertEquals(0, loadTest.getMetrics().getActiveUsers());
+        int iterations = contexts.stream().mapToInt(context -> context.iterations).sum();
+        Assert.assertEquals(iterations, loadTest.getMetrics().getIterationMetrics().getLatencies().getCount());
+
+        // events are raised once for the load test, not once per virtual user
+        Assert.assertEquals(Arrays.asList("ExecutionStart", "ScriptComplete", "ExecutionComplete"), events);
+
+        Assert.assertTrue(new File(workDir, "LoadTestExecutionTest/load-test.script.json").isFile());
+        Assert.assertEquals(0, summary.getFailCount());
+        // template copies of the test scripts are removed
+        Assert.assertFalse(new File(workDir, ".load-1-script.1.xlsx").exists());
+    }
+}
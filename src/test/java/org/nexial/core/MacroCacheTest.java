@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MacroCacheTest {
+    private static final String SHEET = "macros";
+
+    private File macroFile;
+
+    @Before
+    public void setUp() throws IOException {
+        macroFile = new File(SystemUtils.getJavaIoTmpDir(), "MacroCacheTest-" + System.nanoTime() + ".xlsx");
+        writeMacros(new String[][]{
+            {"login", "open site", "web", "open(url)"},
+            {"", "type user", "web", "type(locator,value)"},
+            {"logout", "click logout", "web", "click(locator)"},
+            {"login", "duplicate", "base", "verbose(text)"}});
+    }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(macroFile); }
+
+    @Test
+    public void parseOnce() throws Exception {
+        MacroCache cache = new MacroCache(4);
+
+        List<List<String>> login = cache.getMacro(macroFile, SHEET, "login");
+        Assert.assertEquals(2, login.size());
+        Assert.assertEquals(Arrays.asList("open site", "web", "open(url)"), login.get(0).subList(0, 3));
+        Assert.assertEquals("type(locator,value)", login.get(1).get(2));
+
+        List<List<String>> logout = cache.getMacro(macroFile, SHEET, "logout");
+        Assert.assertEquals(1, logout.size());
+        Assert.assertNull(cache.getMacro(macroFile, SHEET, "nope"));
+
+        // same sheet, parsed only once
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void invalidateOnModification() throws Exception {
+        MacroCache cache = new MacroCache(4);
+        Assert.assertEquals(2, cache.getMacro(macroFile, SHEET, "login").size());
+
+        writeMacros(new String[][]{{"login", "open site", "web", "open(url)"}});
+        // in case the file system has a coarse timestamp resolution
+        Assert.assertTrue(macroFile.setLastModified(macroFile.lastModified() + 2000));
+
+        Assert.assertEquals(1, cache.getMacro(macroFile, SHEET, "login").size());
+        Assert.assertNull(cache.getMacro(macroFile, SHEET, "logout"));
+        Assert.assertEquals(2, cache.getMisses());
+        Assert.assertEquals(1, cache.getReloads());
+    }
+
+    @Test
+    public void bounded() throws Exception {
+        MacroCache cache = new MacroCache(1);
+        cache.getMacro(macroFile, SHEET, "login");
+        cache.getMacro(macroFile, "no such sheet", "login");
+        Assert.assertEquals(1, cache.size());
+
+        // evicted, hence parsed again
+        cache.getMacro(macroFile, SHEET, "login");
+        Assert.assertEquals(3, cache.getMisses());
+        Assert.assertEquals(0, cache.getReloads());
+    }
+
+    @Test
+    public void concurrentLookup() throws Exception {
+        MacroCache cache = new MacroCache(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<List<String>>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> cache.getMacro(macroFile, SHEET, "login")));
+            }
+
+            List<List<String>> first = futures.get(0).get();
+            for (Future<List<List<String>>> future : futures) { Assert.assertSame(first, future.get()); }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(31, cache.getHits());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnly() throws Exception {
+        new MacroCache(4).getMacro(macroFile, SHEET, "login").get(0).set(0, "changed");
+    }
+
+    private void writeMacros(String[][] macroRows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = FileUtils.openOutputStream(macroFile)) {
+            XSSFSheet sheet = workbook.createSheet(SHEET);
+            XSSFRow header = sheet.createRow(0);
+            String[] headers = {"macro", "description", "cmd type", "command"};
+            for (int i = 0; i < headers.length; i++) { header.createCell(i).setCellValue(headers[i]); }
+
+            for (int i = 0; i < macroRows.length; i++) {
+                XSSFRow row = sheet.createRow(i + 1);
+                for (int j = 0; j < macroRows[i].length; j++) { row.createCell(j).setCellValue(macroRows[i][j]); }
+            }
+
+            workbook.write(out);
+        }
+    }
+}
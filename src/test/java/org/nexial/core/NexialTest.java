@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.nexial.core.NexialConst.Data.OPT_MAX_PARALLEL_EXECUTIONS;
+import static org.nexial.core.NexialConst.OPT_RUN_ID;
+import static org.nexial.core.NexialConst.TEST_START_TS;
+
+public class NexialTest {
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    /** stand-in for the execution of a plan step: records its start and end, and passes along its data */
+    private class PlanStep extends ExecutionThread {
+        private final ExecutionDefinition execDef = new ExecutionDefinition();
+        private final ExecutionSummary summary = new ExecutionSummary();
+        private final long durationMs;
+        private CyclicBarrier peers;
+        private Map<String, Object> received;
+
+        private PlanStep(String name, boolean serial, long durationMs) {
+            execDef.setTestScript(name);
+            execDef.setSerialMode(serial);
+            summary.setName(name);
+            this.durationMs = durationMs;
+        }
+
+        @Override
+        public void run() {
+            String name = execDef.getTestScript();
+            received = new HashMap<>(getIntraExecutionData());
+            events.add(name + " start");
+            try {
+                // only proceeds once all peers are executing at the same time
+                if (peers != null) { peers.await(5, SECONDS); }
+                Thread.sleep(durationMs);
+            } catch (Exception e) {
+                events.add(name + " failed: " + e);
+                return;
+            }
+
+            Map<String, Object> data = new HashMap<>(getIntraExecutionData());
+            data.put(name, "done");
+            setIntraExecutionData(data);
+            events.add(name + " end");
+        }
+
+        @Override
+        public ExecutionDefinition getExecDef() { return execDef; }
+
+        @Override
+        public ExecutionSummary getExecutionSummary() { return summary; }
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(OPT_MAX_PARALLEL_EXECUTIONS);
+        // set as part of execution
+        System.clearProperty(OPT_RUN_ID);
+        System.clearProperty(TEST_START_TS);
+    }
+
+    @Test
+    public void serialStepCompletesBeforeNext() {
+        PlanStep first = new PlanStep("first", true, 200);
+        PlanStep second = new PlanStep("second", false, 0);
+        PlanStep third = new PlanStep("third", false, 0);
+        second.peers = third.peers = new CyclicBarrier(2);
+
+        ExecutionSummary summary = execute(first, second, third);
+
+        Assert.assertEquals(Arrays.asList("first start", "first end"), events.subList(0, 2));
+        // non-serial plan steps execute concurrently, without limit by default
+        Assert.assertTrue(events.toString(), events.contains("second end"));
+        Assert.assertTrue(events.toString(), events.contains("third end"));
+
+        // data of serial plan step passed on to subsequent plan steps
+        Assert.assertTrue(first.received.isEmpty());
+        Assert.assertEquals("done", second.received.get("first"));
+        Assert.assertEquals("done", third.received.get("first"));
+
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), nestedNames(summary));
+    }
+
+    @Test
+    public void summaryInPlanOrder() {
+        // later plan steps complete first
+        ExecutionSummary summary = execute(new PlanStep("slow", false, 300),
+                                           new PlanStep("medium", false, 100),
+                                           new PlanStep("fast", false, 0));
+
+        Assert.assertEquals(6, events.size());
+        Assert.assertEquals(Arrays.asList("slow", "medium", "fast"), nestedNames(summary));
+    }
+
+    @Test
+    public void maxParallelExecutions() {
+        System.setProperty(OPT_MAX_PARALLEL_EXECUTIONS, "1");
+
+        ExecutionSummary summary = execute(new PlanStep("first", false, 50),
+                                           new PlanStep("second", false, 50),
+                                           new PlanStep("third", false, 50));
+
+        // queued plan steps execute one at a time, in plan order
+        Assert.assertEquals(Arrays.asList("first start", "first end",
+                                          "second start", "second end",
+                                          "third start", "third end"), events);
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), nestedNames(summary));
+    }
+
+    private ExecutionSummary execute(PlanStep... steps) {
+        List<ExecutionDefinition> executions = new ArrayList<>();
+        Map<ExecutionDefinition, PlanStep> planSteps = new HashMap<>();
+        for (PlanStep step : steps) {
+            executions.add(step.execDef);
+            planSteps.put(step.execDef, step);
+        }
+
+        Nexial nexial = new Nexial() {
+            @Override
+            protected void initSpringContext() { }
+
+            @Override
+            protected ExecutionThread newExecutionThread(ExecutionDefinition exec) { return planSteps.get(exec); }
+
+            @Override
+            protected void onExecutionComplete(String runId, ExecutionSummary summary) { }
+        };
+        nexial.setExecutions(executions);
+        return nexial.execute();
+    }
+
+    private static List<String> nestedNames(ExecutionSummary summary) {
+        List<String> names = new ArrayList<>();
+        summary.getNestedExecutions().forEach(nested -> names.add(nested.getName()));
+        return names;
+    }
+}
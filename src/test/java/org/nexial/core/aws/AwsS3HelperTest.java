@@ -0,0 +1,180 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.aws;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.gaul.s3proxy.S3Proxy;
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.aws.AwsS3Helper.PutOption;
+
+import com.amazonaws.services.s3.model.PutObjectResult;
+
+import static org.nexial.core.aws.S3Transfer.MIN_PART_SIZE;
+
+public class AwsS3HelperTest {
+    private static final String BUCKET = "nexial-test";
+
+    private File workDir;
+    private BlobStoreContext blobStoreContext;
+    private BlobStore blobStore;
+    private S3Proxy s3Proxy;
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "AwsS3HelperTest-" + System.nanoTime());
+        FileUtils.forceMkdir(workDir);
+
+        blobStoreContext = ContextBuilder.newBuilder("transient")
+                                         .credentials("identity", "credential")
+                                         .build(BlobStoreContext.class);
+        blobStore = blobStoreContext.getBlobStore();
+        blobStore.createContainerInLocation(null, BUCKET);
+
+        s3Proxy = S3Proxy.builder().blobStore(blobStore).endpoint(URI.create("http://127.0.0.1:0")).build();
+        s3Proxy.start();
+        while (!AbstractLifeCycle.STARTED.equals(s3Proxy.getState())) { Thread.sleep(10); }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (s3Proxy != null) { s3Proxy.stop(); }
+        if (blobStoreContext != null) { blobStoreContext.close(); }
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void multipartUpload() throws Exception {
+        // 3 parts, last one partial
+        File file = newFile("large.bin", 2 * MIN_PART_SIZE + 12345);
+
+        PutObjectResult result = newHelper(BUCKET + "/data").copyToS3(file, newPutOption());
+        Assert.assertNotNull(result);
+        Assert.assertNotNull(result.getETag());
+        Assert.assertTrue(result.getMetadata().getUserMetaDataOf("public_url").endsWith("/data/large.bin"));
+
+        Assert.assertArrayEquals(FileUtils.readFileToByteArray(file), readBlob("data/large.bin"));
+    }
+
+    @Test
+    public void singleUpload() throws Exception {
+        File file = newFile("small.bin", 1024);
+
+        PutObjectResult result = newHelper(BUCKET + "/data").copyToS3(file, newPutOption());
+        Assert.assertNotNull(result);
+        Assert.assertArrayEquals(FileUtils.readFileToByteArray(file), readBlob("data/small.bin"));
+    }
+
+    @Test
+    public void rangedDownload() throws Exception {
+        byte[] content = newContent(3 * MIN_PART_SIZE + 7);
+        blobStore.putBlob(BUCKET, blobStore.blobBuilder("data/large.bin").payload(content).build());
+
+        File target = new File(workDir, "downloaded/large.bin");
+        // existing file is overwritten
+        FileUtils.writeStringToFile(target, "stale content", "UTF-8");
+
+        long bytes = newHelper(BUCKET).copyFromS3(BUCKET, "data/large.bin", target, false);
+
+        Assert.assertEquals(content.length, bytes);
+        Assert.assertArrayEquals(content, FileUtils.readFileToByteArray(target));
+        Assert.assertFalse(new File(target.getAbsolutePath() + ".part").exists());
+        Assert.assertTrue(blobStore.blobExists(BUCKET, "data/large.bin"));
+    }
+
+    @Test
+    public void downloadAndRemove() throws Exception {
+        byte[] content = newContent(2048);
+        blobStore.putBlob(BUCKET, blobStore.blobBuilder("small.bin").payload(content).build());
+        blobStore.putBlob(BUCKET, blobStore.blobBuilder("empty.bin").payload(new byte[0]).build());
+
+        File target = new File(workDir, "small.bin");
+        Assert.assertEquals(2048, newHelper(BUCKET).copyFromS3(BUCKET, "small.bin", target, true));
+        Assert.assertArrayEquals(content, FileUtils.readFileToByteArray(target));
+        Assert.assertFalse(blobStore.blobExists(BUCKET, "small.bin"));
+
+        File empty = new File(workDir, "empty.bin");
+        Assert.assertEquals(0, newHelper(BUCKET).copyFromS3(BUCKET, "empty.bin", empty, false));
+        Assert.assertTrue(empty.isFile());
+        Assert.assertEquals(0, empty.length());
+    }
+
+    @Test
+    public void downloadMissingObject() throws Exception {
+        File target = new File(workDir, "missing.bin");
+        try {
+            newHelper(BUCKET).copyFromS3(BUCKET, "missing.bin", target, false);
+            Assert.fail("expected failure for missing object");
+        } catch (Exception e) {
+            // expected
+        }
+
+        Assert.assertFalse(target.exists());
+        Assert.assertFalse(new File(target.getAbsolutePath() + ".part").exists());
+    }
+
+    private AwsS3Helper newHelper(String s3path) {
+        AwsS3Helper helper = new AwsS3Helper();
+        helper.setAccessKey("identity");
+        helper.setSecretKey("credential");
+        helper.setEndpoint("http://127.0.0.1:" + s3Proxy.getPort());
+        helper.setPartSize(MIN_PART_SIZE);
+        helper.setConcurrency(3);
+        helper.parseObjectPath(s3path);
+        return helper;
+    }
+
+    private static PutOption newPutOption() {
+        PutOption option = new PutOption();
+        option.setReducedRedundancy(true);
+        return option;
+    }
+
+    private File newFile(String name, long size) throws IOException {
+        File file = new File(workDir, name);
+        FileUtils.writeByteArrayToFile(file, newContent(size));
+        return file;
+    }
+
+    private static byte[] newContent(long size) {
+        byte[] content = new byte[(int) size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    private byte[] readBlob(String key) throws IOException {
+        Blob blob = blobStore.getBlob(BUCKET, key);
+        Assert.assertNotNull(blob);
+        try (InputStream in = blob.getPayload().openStream()) { return IOUtils.toByteArray(in); }
+    }
+}
@@ -24,7 +24,11 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.nexial.core.PluginManager;
+import org.nexial.core.ShutdownAdvisor;
 import org.nexial.core.model.ExecutionContext.Function;
+import org.nexial.core.plugins.ForcefulTerminate;
+import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.variable.Array;
 import org.nexial.core.variable.Count;
 import org.nexial.core.variable.Date;
@@ -274,6 +278,54 @@ public class ExecutionContextTest {
                             subject.replaceTokens("$(array|replica|$(array|subarray|mary,had,a,little,lamb|1|3)|5)"));
     }
 
+    @Test
+    public void terminate() {
+        MockExecutionContext mock = new MockExecutionContext(true);
+        try {
+            TerminableCommand command = new TerminableCommand();
+            PluginManager pluginManager = new PluginManager();
+            pluginManager.setContext(mock);
+            pluginManager.setPlugins(Collections.singletonMap("terminable", command));
+
+            ExecutionContext subject = mock;
+            subject.plugins = pluginManager;
+            Assert.assertSame(command, pluginManager.getPlugin("terminable"));
+            Assert.assertTrue(ShutdownAdvisor.hasAdvisor(command));
+
+            subject.terminate();
+
+            Assert.assertTrue(command.destroyed);
+            Assert.assertTrue(command.terminated);
+            Assert.assertFalse(ShutdownAdvisor.hasAdvisor(command));
+            Assert.assertFalse(subject.springContext.isActive());
+        } finally {
+            mock.cleanProject();
+        }
+    }
+
+    private static class TerminableCommand extends BaseCommand implements ForcefulTerminate {
+        private boolean destroyed;
+        private boolean terminated;
+
+        @Override
+        public void init(ExecutionContext context) {
+            super.init(context);
+            ShutdownAdvisor.addAdvisor(this);
+        }
+
+        @Override
+        public String getTarget() { return "terminable"; }
+
+        @Override
+        public void destroy() { destroyed = true; }
+
+        @Override
+        public boolean mustForcefullyTerminate() { return !terminated; }
+
+        @Override
+        public void forcefulTerminate() { terminated = true; }
+    }
+
     @NotNull
     private Function toFunction(ExecutionContext subject, String token) {
         Function f = subject.new Function();
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getPercentile(99));
+        Assert.assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void exactBelowLinearLimit() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 99; i++) { histogram.record(i); }
+
+        Assert.assertEquals(99, histogram.getCount());
+        Assert.assertEquals(1, histogram.getMin());
+        Assert.assertEquals(99, histogram.getMax());
+        Assert.assertEquals(50, histogram.getPercentile(50));
+        Assert.assertEquals(95, histogram.getPercentile(95));
+        Assert.assertEquals(99, histogram.getPercentile(100));
+        Assert.assertEquals(50, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    public void withinOnePercentAboveLinearLimit() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++) { histogram.record(i); }
+
+        assertWithinOnePercent(5000, histogram.getPercentile(50));
+        assertWithinOnePercent(9500, histogram.getPercentile(95));
+        assertWithinOnePercent(9900, histogram.getPercentile(99));
+        Assert.assertEquals(10000, histogram.getMax());
+    }
+
+    @Test
+    public void concurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 100000).parallel().forEach(i -> histogram.record(i % 500));
+
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMin());
+        Assert.assertEquals(499, histogram.getMax());
+    }
+
+    @Test
+    public void bucketRoundTrip() {
+        List<Long> samples = new ArrayList<>();
+        for (long ms = 1; ms < 24 * 60 * 60 * 1000L; ms *= 3) { samples.add(ms); }
+
+        samples.forEach(ms -> {
+            long lowerBound = LatencyHistogram.fromBucket(LatencyHistogram.toBucket(ms));
+            Assert.assertTrue(ms + " vs " + lowerBound, lowerBound <= ms + 1);
+            assertWithinOnePercent(ms, lowerBound);
+        });
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        Assert.assertTrue("expected ~" + expected + " but was " + actual,
+                          Math.abs(expected - actual) <= Math.max(1, expected / 100));
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.nexial.core.model;
 
+import java.util.function.Predicate;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.nexial.commons.utils.RegexUtils;
@@ -231,6 +233,35 @@ public class NexialFilterTest {
         Assert.assertTrue(NexialFilter.newInstance("a match   ca.*o+.*rao.* ").isMatch("carpool karaoke"));
     }
 
+    @Test
+    public void compile() {
+        String[] filters = {"x = \"20.0\"", "x = a", "x != \"a\"", "x > 19", "x >= $18.0293", "x < -15.01",
+                            "x <= \"$ -15.01 \"", "x is [x|y|z]", "x in [  ]   ", "x not in [  \"x\"  |  \"\" |z  ]",
+                            "x not in [  ]", "x between [ 6| 5 ]", "x contain [calif|lifrag]", "x contain the time",
+                            "x start with  \"ma\"", "x end with   [ \"ma\"| hew  ]", "x match mat+.* ",
+                            "x is empty", "x is not empty", "x has length of 7"};
+        String[] data = {"+20", "20", " a ", "a", "A", "\"\"", "", " ", null, "19.0000 ", " $  -15.01 ", " y ", "z",
+                         "$+5.0001", "supercalifragilistic", "now is the time", "matthew", "calif"};
+
+        for (String filterText : filters) {
+            NexialFilter filter = NexialFilter.newInstance(filterText);
+            Predicate<String> compiled = filter.compile();
+            for (String value : data) {
+                Assert.assertEquals("filter [" + filterText + "] against [" + value + "]",
+                                    filter.isMatch(value), compiled.test(value));
+            }
+        }
+
+        // not applicable, reported only when evaluated
+        Predicate<String> compiled = NexialFilter.newInstance("x is defined").compile();
+        try {
+            compiled.test("a");
+            Assert.fail("expects exception since 'is defined' is not applicable to data");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
     @Test
     public void parseChainedFilter() {
 
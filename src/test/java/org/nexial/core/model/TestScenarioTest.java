@@ -25,6 +25,7 @@ import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.junit.Assert;
 import org.junit.Test;
 import org.nexial.core.NexialTestUtils;
@@ -32,6 +33,8 @@ import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.model.FlowControl.Directive;
 
+import static org.nexial.core.excel.ExcelConfig.COL_IDX_ELAPSED_MS;
+import static org.nexial.core.excel.ExcelConfig.COL_IDX_RESULT;
 import static org.nexial.core.model.FlowControl.Directive.EndIf;
 import static org.nexial.core.model.FlowControl.Directive.SkipIf;
 
@@ -179,4 +182,32 @@ public class TestScenarioTest {
         ((MockExecutionContext) context).cleanProject();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void deferredResults() throws Exception {
+        File file = NexialTestUtils.getResourceFile(this.getClass(), "TestScenarioTest1.xlsx");
+        ExecutionContext context = new MockExecutionContext();
+        Worksheet worksheet = new Excel(file).worksheet("Test Scenario");
+        ((MockExecutionContext) context).cleanProject();
+
+        TestScenario scenario = new TestScenario(context, worksheet);
+        TestStep testStep = scenario.getTestCase("Perform Activity 1").getTestSteps().get(0);
+        XSSFCell cellResult = testStep.getRow().get(COL_IDX_RESULT);
+        XSSFCell cellElapsed = testStep.getRow().get(COL_IDX_ELAPSED_MS);
+        String before = Excel.getCellValue(cellResult);
+
+        // outcome is journaled, not written
+        testStep.updateResult(StepResult.fail("first attempt"), 10);
+        testStep.updateResult(StepResult.success("all good"), 25);
+        Assert.assertEquals(before, Excel.getCellValue(cellResult));
+        Assert.assertEquals(1, scenario.getResultJournal().size());
+        Assert.assertEquals(2, scenario.getResultJournal().getRecorded());
+
+        // latest outcome wins
+        scenario.flushResults();
+        Assert.assertEquals(0, scenario.getResultJournal().size());
+        Assert.assertTrue(Excel.getCellValue(cellResult).contains("all good"));
+        Assert.assertEquals(25, (long) cellElapsed.getNumericCellValue());
+
+        ((MockExecutionContext) context).cleanProject();
+    }
+}
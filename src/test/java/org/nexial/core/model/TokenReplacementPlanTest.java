@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.*;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.variable.Array;
+import org.nexial.core.variable.Count;
+import org.nexial.core.variable.Format;
+
+import static org.nexial.core.NexialConst.Data.*;
+
+/**
+ * differential test: token replacement via cached {@link TokenReplacementPlan} must yield the exact same outcome
+ * as the multi-pass token replacement without any pre-parsing.
+ */
+public class TokenReplacementPlanTest {
+    private MockExecutionContext context;
+
+    @Before
+    public void setUp() {
+        TokenReplacementPlan.clearCache();
+
+        context = new MockExecutionContext();
+        context.setData(TEXT_DELIM, ",");
+        context.builtinFunctions = new HashMap<>();
+        context.builtinFunctions.put("array", new Array());
+        context.builtinFunctions.put("count", new Count());
+        context.builtinFunctions.put("format", new Format());
+
+        context.setData("name", "Johnny");
+        context.setData("greeting", "Hello ${name}");
+        context.setData("age", 42);
+        context.setData("isAdult", true);
+        context.setData("nothing", NULL);
+        context.setData("empty", EMPTY);
+        context.setData("blank", BLANK);
+        context.setData("tab", TAB);
+        context.setData("fruits", Arrays.asList("apple", "banana", "cherry"));
+        context.setData("letters", new String[]{"a", "b", "c"});
+        context.setData("dollar", "$");
+        context.setData("openBrace", "{");
+        context.setData("listName", "fruits");
+
+        Map<String, String> person = new LinkedHashMap<>();
+        person.put("first", "Jimmy");
+        person.put("last", "Page");
+        context.setData("person", person);
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        rows.add(person);
+        Map<String, String> person2 = new LinkedHashMap<>();
+        person2.put("first", "Robert");
+        person2.put("last", "Plant");
+        rows.add(person2);
+        context.setData("rows", rows);
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) { context.cleanProject(); }
+        TokenReplacementPlan.clearCache();
+    }
+
+    @Test
+    public void literal() {
+        assertSameOutcome("just some text",
+                          "line1(eol)line2",
+                          "windows\r\nline",
+                          "(empty)",
+                          "(blank)",
+                          "(tab)",
+                          "(null)",
+                          "not a [token] nor => an expression",
+                          "$ { } ( ) [ ]",
+                          "${unclosed",
+                          "$(unclosed",
+                          " ");
+
+        TokenReplacementPlan plan = TokenReplacementPlan.of("just some text");
+        Assert.assertTrue(plan.isLiteral());
+        Assert.assertSame(plan, TokenReplacementPlan.of("just some text"));
+    }
+
+    @Test
+    public void tokenOnly() {
+        assertSameOutcome("${name}",
+                          "Hi ${name}, you are ${age}",
+                          "${name}${name}${name}",
+                          "${greeting}!",
+                          "${isAdult}",
+                          "${nothing}",
+                          "before ${nothing} after",
+                          "${undefined}",
+                          "before ${undefined} after",
+                          "${empty}|${blank}|${tab}",
+                          "${ }",
+                          "$${name}{name}",
+                          "${dollar}${openBrace}name}",
+                          "${name${age}}",
+                          "${fruits}",
+                          "${fruits}[1]",
+                          "${fruits}[5]",
+                          "${letters}[2] and ${letters}",
+                          "${person}",
+                          "${person}.first",
+                          "${rows}.first",
+                          "${rows}[1].last",
+                          "${name}(eol)${age}");
+
+        TokenReplacementPlan plan = TokenReplacementPlan.of("Hi ${name}, you are ${age}");
+        Assert.assertFalse(plan.isLiteral());
+        Assert.assertFalse(plan.hasFunction());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "age")), plan.getTokens());
+    }
+
+    @Test
+    public void functions() {
+        assertSameOutcome("$(format|upper|${name})",
+                          "$(array|length|${fruits})",
+                          "$(array|subarray|$(format|upper|mary,had,a,little,lamb)|1|3)",
+                          "$(not a function)",
+                          "$(nope|nada|${name})");
+
+        Assert.assertTrue(TokenReplacementPlan.of("$(format|upper|${name})").hasFunction());
+    }
+
+    @Test
+    public void expressions() {
+        assertSameOutcome("[TEXT(${name}) => upper]",
+                          "[TEXT(${greeting}) => length]",
+                          "[LIST(${letters}) => reverse text]",
+                          "prefix [TEXT(abc) => upper] suffix",
+                          "[NUMBER(${age}) => add(8)]");
+
+        Assert.assertFalse(TokenReplacementPlan.of("[TEXT(abc) => upper]").isLiteral());
+    }
+
+    @Test
+    public void dataChangesBetweenEvaluation() {
+        String template = "Dear ${name}, ${fruits}[0]";
+        Assert.assertEquals("Dear Johnny, apple", context.replaceTokens(template));
+
+        context.setData("name", "Jane");
+        context.setData("fruits", Collections.singletonList("orange"));
+        Assert.assertEquals("Dear Jane, orange", context.replaceTokens(template));
+
+        context.setData("fruits", "kiwi");
+        assertSameOutcome(template);
+    }
+
+    private void assertSameOutcome(String... templates) {
+        for (String template : templates) {
+            Assert.assertEquals("outcome differs for '" + template + "'",
+                                multiPass(template),
+                                context.replaceTokens(template));
+            // second time around the plan is served from cache
+            Assert.assertEquals("outcome differs for cached '" + template + "'",
+                                multiPass(template),
+                                context.replaceTokens(template));
+        }
+    }
+
+    /** token replacement without any pre-parsing, i.e. the multi-pass algorithm */
+    private String multiPass(String text) {
+        if (StringUtils.isBlank(text)) { return text; }
+        if (StringUtils.equals(text, context.getNullValueToken())) { return null; }
+        text = treatCommonValueShorthand(text);
+        if (text == null) { return null; }
+        return context.replaceTokens(TokenReplacementPlan.dynamic(text));
+    }
+}
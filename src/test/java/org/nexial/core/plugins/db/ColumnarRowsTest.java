@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.plugins.db.ColumnarRows.Column;
+
+import com.google.gson.Gson;
+
+public class ColumnarRowsTest {
+    private BasicDataSource dataSource;
+    private SimpleExtractionDao dao;
+
+    @Before
+    public void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.hsqldb.jdbc.JDBCDriver");
+        dataSource.setUrl("jdbc:hsqldb:mem:columnarTest");
+        dataSource.setUsername("SA");
+        dataSource.setPassword("");
+
+        dao = new SimpleExtractionDao();
+        dao.setDataSource(dataSource);
+        dao.setAutoCommit(true);
+        dao.setFetchSize(50);
+
+        dao.executeSql("CREATE TABLE CITY (CODE VARCHAR(10), NAME VARCHAR(50), STATE VARCHAR(2))", null);
+        dao.executeSql("INSERT INTO CITY VALUES ('BUR', 'Burbank', 'CA')", null);
+        dao.executeSql("INSERT INTO CITY VALUES ('PHX', 'Phoenix', 'AZ')", null);
+        dao.executeSql("INSERT INTO CITY VALUES ('LAX', 'Los Angeles', 'CA')", null);
+        dao.executeSql("INSERT INTO CITY VALUES ('XXX', NULL, 'CA')", null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dao.executeSql("DROP TABLE CITY", null);
+        dataSource.close();
+    }
+
+    @Test
+    public void listOfMapView() {
+        JdbcResult result = dao.executeSql("SELECT CODE, NAME, STATE FROM CITY ORDER BY CODE", null);
+        Assert.assertFalse(result.getError(), result.hasError());
+        Assert.assertEquals(4, result.getRowCount());
+        Assert.assertEquals(Arrays.asList("CODE", "NAME", "STATE"), result.getColumns());
+
+        List<Map<String, String>> data = result.getData();
+        Assert.assertTrue(data instanceof ColumnarRows);
+        Assert.assertEquals("Burbank", data.get(0).get("NAME"));
+        Assert.assertEquals("AZ", data.get(2).get("STATE"));
+        Assert.assertNull(data.get(0).get("NOPE"));
+        // treat null as empty string, by default
+        Assert.assertEquals("", data.get(3).get("NAME"));
+        Assert.assertEquals(Arrays.asList("CA", "CA", "AZ", "CA"), result.cells("STATE"));
+
+        // same as a list of LinkedHashMap
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("CODE", "BUR");
+        expected.put("NAME", "Burbank");
+        expected.put("STATE", "CA");
+        Assert.assertEquals(expected, data.get(0));
+        Assert.assertEquals(expected.hashCode(), data.get(0).hashCode());
+        Assert.assertEquals(expected.toString(), data.get(0).toString());
+        Assert.assertEquals(new Gson().toJson(Arrays.asList(expected)), new Gson().toJson(data.subList(0, 1)));
+    }
+
+    @Test
+    public void duplicateColumnLabel() {
+        JdbcResult result = dao.executeSql("SELECT CODE AS C, NAME AS C, STATE FROM CITY ORDER BY CODE", null);
+        Assert.assertEquals(Arrays.asList("C", "STATE"), result.getColumns());
+        // last one wins, like a map
+        Assert.assertEquals("Burbank", result.getData().get(0).get("C"));
+    }
+
+    @Test
+    public void noData() {
+        JdbcResult result = dao.executeSql("SELECT CODE FROM CITY WHERE CODE = 'NONE'", null);
+        Assert.assertFalse(result.hasData());
+        Assert.assertNull(result.getData());
+    }
+
+    @Test
+    public void dictionaryOverflow() {
+        ColumnarRows rows = new ColumnarRows(Arrays.asList("id", "flag"));
+        int rowCount = Column.MAX_DICTIONARY_SIZE * 2;
+        for (int i = 0; i < rowCount; i++) { rows.addRow(new String[]{"id" + i, i % 2 == 0 ? "Y" : null}); }
+        rows.complete();
+
+        Assert.assertEquals(rowCount, rows.size());
+        Assert.assertFalse(rows.getColumn("id").isDictionaryEncoded());
+        Assert.assertTrue(rows.getColumn("flag").isDictionaryEncoded());
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals("id" + i, rows.get(i).get("id"));
+            Assert.assertEquals(i % 2 == 0 ? "Y" : null, rows.get(i).get("flag"));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnly() {
+        ColumnarRows rows = new ColumnarRows(Arrays.asList("a"));
+        rows.addRow(new String[]{"1"});
+        rows.complete();
+        rows.get(0).put("a", "2");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.plugins.db.DataSourceRegistry.TimedDataSource;
+
+/**
+ * compares per-step latency of a new data source per step (previous behavior) against the pooled data source
+ * from {@link DataSourceRegistry}, using an in-memory HSQLDB.
+ */
+public class DataSourceRegistryTest {
+    private static final String RUN_ID = "DataSourceRegistryTest";
+    private static final String URL = "jdbc:hsqldb:mem:registryTest";
+    private static final String QUERY = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SYSTEM_USERS";
+    private static final int STEPS = 200;
+
+    @After
+    public void tearDown() { DataSourceRegistry.close(RUN_ID); }
+
+    @Test
+    public void reusePool() throws Exception {
+        DataSourceRegistry registry = DataSourceRegistry.get(RUN_ID);
+        String key = DataSourceRegistry.toKey("hsqldb", URL, "SA", true);
+
+        TimedDataSource ds1 = registry.resolve(key, DataSourceRegistryTest::newDataSource);
+        TimedDataSource ds2 = registry.resolve(key, DataSourceRegistryTest::newDataSource);
+        Assert.assertSame(ds1, ds2);
+        Assert.assertEquals(1, registry.getMisses());
+        Assert.assertEquals(1, registry.getHits());
+
+        // different profile, different pool
+        String key2 = DataSourceRegistry.toKey("hsqldb", URL, "SA", false);
+        Assert.assertNotSame(ds1, registry.resolve(key2, DataSourceRegistryTest::newDataSource));
+        Assert.assertEquals(2, registry.size());
+
+        Assert.assertEquals(1, runQuery(ds1));
+        Assert.assertEquals(1, ds1.getAcquireCount());
+
+        // closing the execution closes its pools; subsequent lookup starts anew
+        DataSourceRegistry.close(RUN_ID);
+        Assert.assertTrue(ds1.getPool().isClosed());
+        Assert.assertEquals(0, DataSourceRegistry.get(RUN_ID).size());
+    }
+
+    @Test
+    public void perStepLatency() throws Exception {
+        // warm up driver and database
+        BasicDataSource warmUp = newDataSource();
+        runQuery(warmUp);
+        warmUp.close();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) {
+            BasicDataSource dataSource = newDataSource();
+            runQuery(dataSource);
+            dataSource.close();
+        }
+        long unpooledNanos = System.nanoTime() - start;
+
+        DataSourceRegistry registry = DataSourceRegistry.get(RUN_ID);
+        String key = DataSourceRegistry.toKey("hsqldb", URL, "SA", true);
+        start = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) {
+            runQuery(registry.resolve(key, DataSourceRegistryTest::newDataSource));
+        }
+        long pooledNanos = System.nanoTime() - start;
+
+        TimedDataSource pooled = registry.resolve(key, DataSourceRegistryTest::newDataSource);
+        System.out.println(String.format("per-step latency over %d steps: new data source %.3f ms, pooled %.3f ms",
+                                         STEPS,
+                                         unpooledNanos / 1_000_000d / STEPS,
+                                         pooledNanos / 1_000_000d / STEPS));
+        System.out.println(pooled);
+
+        Assert.assertEquals(1, registry.getMisses());
+        Assert.assertEquals(STEPS, registry.getHits());
+        Assert.assertEquals(STEPS, pooled.getAcquireCount());
+        // only 1 physical connection needed for serial steps
+        Assert.assertEquals(1, pooled.getPool().getNumIdle());
+    }
+
+    private static BasicDataSource newDataSource() {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.hsqldb.jdbc.JDBCDriver");
+        dataSource.setUrl(URL);
+        dataSource.setUsername("SA");
+        dataSource.setPassword("");
+        return dataSource;
+    }
+
+    private static int runQuery(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(QUERY)) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+}
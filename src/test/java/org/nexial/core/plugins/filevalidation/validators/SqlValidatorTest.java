@@ -0,0 +1,262 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.MockExecutionContext;
+import org.nexial.core.plugins.db.DataAccess;
+import org.nexial.core.plugins.db.JdbcResult;
+import org.nexial.core.plugins.db.RdbmsCommand;
+import org.nexial.core.plugins.db.SimpleExtractionDao;
+import org.nexial.core.plugins.filevalidation.RecordData;
+import org.nexial.core.plugins.filevalidation.config.FieldConfig;
+import org.nexial.core.plugins.filevalidation.config.MasterConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig.RecordConfigBuilder;
+import org.nexial.core.plugins.filevalidation.config.SectionConfig;
+import org.nexial.core.plugins.filevalidation.config.ValidationConfig;
+import org.nexial.core.plugins.filevalidation.config.ValidationsBean.ValidationmethodsBean;
+
+import com.google.gson.JsonArray;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class SqlValidatorTest {
+    private static final int ACCOUNTS = 200;
+    private static final int RECORDS = 1000;
+
+    private MockExecutionContext context;
+    private BasicDataSource dataSource;
+    private CountingDao dao;
+    private File workDir;
+
+    /** keeps count of the queries executed, one at a time or in batch */
+    private static class CountingDao extends SimpleExtractionDao {
+        private final AtomicInteger singleQueries = new AtomicInteger();
+        private final AtomicInteger batchQueries = new AtomicInteger();
+
+        private CountingDao(BasicDataSource dataSource) {
+            setDataSource(dataSource);
+            setAutoCommit(true);
+        }
+
+        @Override
+        public JdbcResult executeSql(String sql, File saveTo) {
+            singleQueries.incrementAndGet();
+            return super.executeSql(sql, saveTo);
+        }
+
+        @Override
+        public JdbcResult executeQuery(String sql, List<?> params) {
+            batchQueries.incrementAndGet();
+            return super.executeQuery(sql, params);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "SqlValidatorTest-" + System.nanoTime());
+
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.hsqldb.jdbc.JDBCDriver");
+        dataSource.setUrl("jdbc:hsqldb:mem:sqlValidatorTest");
+        dataSource.setUsername("SA");
+        dataSource.setPassword("");
+
+        dao = new CountingDao(dataSource);
+        dao.executeSql("CREATE TABLE ACCOUNT (ACCT_NO VARCHAR(10), BRANCH INTEGER, STATUS VARCHAR(1))", null);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            dao.executeSql("INSERT INTO ACCOUNT VALUES ('A" + i + "', " + (i % 5) + ", '" +
+                           (i % 10 == 0 ? "C" : "A") + "')", null);
+        }
+
+        context = new MockExecutionContext();
+        RdbmsCommand rdbms = new RdbmsCommand() {
+            @Override
+            protected SimpleExtractionDao resolveDao(String db) { return dao; }
+        };
+        rdbms.setDataAccess(new DataAccess());
+        context.addPlugin("rdbms", rdbms);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dao.executeSql("DROP TABLE ACCOUNT", null);
+        dataSource.close();
+        if (context != null) { context.cleanProject(); }
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void validate_in_batch() throws IOException {
+        File target = newTargetFile();
+        MasterConfig config = newMasterConfig("SELECT ACCT_NO FROM ACCOUNT " +
+                                              "WHERE ACCT_NO = '${acctNo}' AND BRANCH = ${branch} AND STATUS = 'A'");
+
+        dao.singleQueries.set(0);
+        RecordData serial = validate(config, target, 1);
+        Assert.assertEquals(expectedErrors(), toString(serial.getErrors()));
+        Assert.assertTrue(serial.isHasError());
+        int serialQueries = dao.singleQueries.get() + dao.batchQueries.get();
+
+        dao.singleQueries.set(0);
+        dao.batchQueries.set(0);
+        RecordData batched = validate(config, target, 250);
+        Assert.assertEquals(expectedErrors(), toString(batched.getErrors()));
+
+        // at most one batch query per chunk; one query per distinct key not found, to confirm
+        Assert.assertTrue(dao.batchQueries.get() >= 1 && dao.batchQueries.get() <= RECORDS / 250);
+        Assert.assertEquals(countMissingKeys(), dao.singleQueries.get());
+        Assert.assertTrue(dao.singleQueries.get() + dao.batchQueries.get() < serialQueries);
+    }
+
+    @Test
+    public void validate_not_batchable() throws IOException {
+        File target = newTargetFile();
+        MasterConfig config = newMasterConfig("SELECT ACCT_NO FROM ACCOUNT " +
+                                              "WHERE ACCT_NO = '${acctNo}' AND (BRANCH = ${branch} OR 1 = 0) " +
+                                              "AND STATUS = 'A'");
+
+        dao.singleQueries.set(0);
+        dao.batchQueries.set(0);
+        RecordData recordData = validate(config, target, 250);
+        Assert.assertEquals(expectedErrors(), toString(recordData.getErrors()));
+
+        // one query per distinct key, the rest resolved from the outcomes of previous queries
+        Assert.assertEquals(0, dao.batchQueries.get());
+        Assert.assertEquals(countDistinctKeys(), dao.singleQueries.get());
+    }
+
+    @Test
+    public void batchable() {
+        SqlLookup lookup = SqlLookup.compile("select a.ACCT_NO, a.STATUS from ACCOUNT a " +
+                                             "where a.ACCT_NO = '${acctNo}' and a.BRANCH = ${branch} and a.TYPE = 'X'");
+        Assert.assertTrue(lookup.isBatchable());
+
+        List<Object> params = new ArrayList<>();
+        List<List<String>> keys = Arrays.asList(Arrays.asList("A1", "1"), Arrays.asList("A2", "1"));
+        Assert.assertEquals("SELECT DISTINCT a.ACCT_NO, a.BRANCH from ACCOUNT a " +
+                            "where a.ACCT_NO IN (?,?) and a.BRANCH IN (?) and a.TYPE = 'X'",
+                            lookup.toBatchSql(keys, params));
+        Assert.assertEquals(3, params.size());
+
+        Assert.assertFalse(SqlLookup.compile("select * from ACCOUNT").isBatchable());
+        Assert.assertFalse(SqlLookup.compile("select count(*) from ACCOUNT where ACCT_NO = '${a}'").isBatchable());
+        Assert.assertFalse(SqlLookup.compile("select * from ACCOUNT where ACCT_NO = '${a}' or 1 = 1").isBatchable());
+        Assert.assertFalse(SqlLookup.compile("select * from ACCOUNT where ACCT_NO like '${a}%'").isBatchable());
+        Assert.assertFalse(SqlLookup.compile("select * from ACCOUNT where ACCT_NO = '${a}' and NOTE = 'x${b}'")
+                                    .isBatchable());
+        Assert.assertFalse(SqlLookup.compile("select * from ACCOUNT where ACCT_NO in (select ACCT_NO from X " +
+                                             "where ID = '${a}')").isBatchable());
+        Assert.assertTrue(SqlLookup.compile("SELECT * FROM ACCOUNT WHERE ACCT_NO='${a}' AND NOTE = ' or '")
+                                   .isBatchable());
+    }
+
+    private RecordData validate(MasterConfig config, File target, int chunkSize) {
+        DelimitedFileValidator validator = new DelimitedFileValidator();
+        validator.setMasterConfig(config);
+        validator.setChunkSize(chunkSize);
+        return validator.parseAndValidate(target.getAbsolutePath());
+    }
+
+    private File newTargetFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            content.append("D|").append(acctNo(i)).append("|").append(branch(i)).append("|\n");
+        }
+        File target = new File(workDir, "accounts.txt");
+        FileUtils.writeStringToFile(target, content.toString(), UTF_8);
+        return target;
+    }
+
+    // some accounts do not exist, some are closed and some in the wrong branch
+    private static String acctNo(int record) { return "A" + (record * 7 % (ACCOUNTS + 50)); }
+
+    private static int branch(int record) { return record % 97 == 0 ? 9 : record * 7 % (ACCOUNTS + 50) % 5; }
+
+    private static boolean isFound(int record) {
+        int account = record * 7 % (ACCOUNTS + 50);
+        return account < ACCOUNTS && account % 10 != 0 && branch(record) == account % 5;
+    }
+
+    private static List<String> expectedErrors() {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) { if (!isFound(i)) { errors.add((i + 1) + ":acctNo"); } }
+        return errors;
+    }
+
+    private static int countMissingKeys() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < RECORDS; i++) { if (!isFound(i)) { keys.add(acctNo(i) + "|" + branch(i)); } }
+        return keys.size();
+    }
+
+    private static int countDistinctKeys() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < RECORDS; i++) { keys.add(acctNo(i) + "|" + branch(i)); }
+        return keys.size();
+    }
+
+    private static List<String> toString(List<Error> errors) {
+        return errors.stream().map(error -> error.getRecordLine() + ":" + error.getFieldName())
+                     .collect(Collectors.toList());
+    }
+
+    private static MasterConfig newMasterConfig(String sql) {
+        JsonArray params = new JsonArray();
+        params.add("testdb");
+        params.add(sql);
+        ValidationmethodsBean validation = new ValidationmethodsBean();
+        validation.setType("SQL");
+        validation.setParams(params);
+
+        FieldConfig acctNo = newField("acctNo");
+        acctNo.setValidationConfigs(Collections.singletonList(ValidationConfig.newInstance(validation)));
+        RecordConfig record = new RecordConfigBuilder().recordId("D")
+                                                       .recordIdField("recordType")
+                                                       .fieldSeparator("|")
+                                                       .fieldConfigList(Arrays.asList(newField("recordType"),
+                                                                                      acctNo,
+                                                                                      newField("branch")))
+                                                       .build();
+
+        SectionConfig section = new SectionConfig();
+        section.setBodyConfigs(Collections.singletonList(record));
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setSectionConfigs(Collections.singletonList(section));
+        return masterConfig;
+    }
+
+    private static FieldConfig newField(String name) {
+        FieldConfig config = new FieldConfig();
+        config.setFieldname(name);
+        return config;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.filevalidation.validators;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.plugins.filevalidation.RecordData;
+import org.nexial.core.plugins.filevalidation.config.FieldConfig;
+import org.nexial.core.plugins.filevalidation.config.MasterConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig;
+import org.nexial.core.plugins.filevalidation.config.RecordConfig.RecordConfigBuilder;
+import org.nexial.core.plugins.filevalidation.config.SectionConfig;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class StreamingFileValidatorTest {
+    private static final int DETAILS = 2500;
+
+    private File workDir;
+
+    @Before
+    public void setUp() {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "StreamingFileValidatorTest-" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(workDir); }
+
+    @Test
+    public void parseAndValidate_fixedLength() throws IOException {
+        StringBuilder content = new StringBuilder("H20180101\n");
+        for (int i = 0; i < DETAILS; i++) {
+            if (i % 101 == 0) {
+                // wrong record length
+                content.append("D").append(StringUtils.leftPad(i + "", 5, '0')).append("abc\n");
+            } else if (i % 97 == 0) {
+                // unknown record id
+                content.append("X").append(StringUtils.leftPad(i + "", 5, '0')).append("name \n");
+            } else {
+                content.append("D")
+                       .append(i % 13 == 0 ? "12a45" : StringUtils.leftPad(i + "", 5, '0'))
+                       .append(i % 17 == 0 ? " name" : "name ")
+                       .append("\n");
+            }
+        }
+        content.append("T").append(StringUtils.leftPad(DETAILS + "", 8, '0')).append("\n");
+        File target = new File(workDir, "fixed.txt");
+        FileUtils.writeStringToFile(target, content.toString(), UTF_8);
+
+        MasterConfig masterConfig = newMasterConfig(
+            newRecordConfig("H", null, newField("recordType", 1, 1, null, null), newField("date", 2, 9, "N", null)),
+            newRecordConfig("D", null,
+                            newField("recordType", 1, 1, null, null),
+                            newField("amount", 2, 6, "N", null),
+                            newField("name", 7, 11, "A/N", "L")),
+            newRecordConfig("T", null, newField("recordType", 1, 1, null, null), newField("count", 2, 9, "N", null)));
+
+        RecordData serial = validate(new FixedLengthFileValidator(), masterConfig, target, 1);
+        assertValidation(serial);
+        Assert.assertEquals(DETAILS + 2 - (DETAILS / 101 + 1) - countUnknown(), serial.getTotalRecordsProcessed());
+
+        // same outcome regardless of how the records are chunked
+        for (int chunkSize : Arrays.asList(7, 1000, 10000)) {
+            RecordData chunked = validate(new FixedLengthFileValidator(), masterConfig, target, chunkSize);
+            Assert.assertEquals(toString(serial.getErrors()), toString(chunked.getErrors()));
+            Assert.assertEquals(serial.getSkippedRecords(), chunked.getSkippedRecords());
+            Assert.assertEquals(serial.getTotalRecordsProcessed(), chunked.getTotalRecordsProcessed());
+            Assert.assertEquals(serial.isHasError(), chunked.isHasError());
+        }
+    }
+
+    @Test
+    public void parseAndValidate_delimited() throws IOException {
+        String content = "H|20180101|\n" +
+                         "D|100|apple|\n" +
+                         "D|1a0|banana|\n" +
+                         "X|100|cherry|\n" +
+                         "D|300|durian|extra|\n" +
+                         "\n" +
+                         "T|3|\n";
+        File target = new File(workDir, "delimited.txt");
+        FileUtils.writeStringToFile(target, content, UTF_8);
+
+        MasterConfig masterConfig = newMasterConfig(
+            newRecordConfig("H", "|", newField("recordType", 0, 0, null, null), newField("date", 0, 0, "N", null)),
+            newRecordConfig("D", "|",
+                            newField("recordType", 0, 0, null, null),
+                            newField("amount", 0, 0, "N", null),
+                            newField("name", 0, 0, "A/N", null)),
+            newRecordConfig("T", "|", newField("recordType", 0, 0, null, null), newField("count", 0, 0, "N", null)));
+
+        for (int chunkSize : Arrays.asList(1, 2, 100)) {
+            RecordData recordData = validate(new DelimitedFileValidator(), masterConfig, target, chunkSize);
+            Assert.assertEquals(Collections.singletonList("3:amount"), toString(recordData.getErrors()));
+            Assert.assertTrue(recordData.isHasError());
+            Assert.assertEquals(Collections.singleton(4), recordData.getSkippedRecords().keySet());
+            Assert.assertEquals(7, recordData.getTotalRecordsProcessed());
+        }
+    }
+
+    private static void assertValidation(RecordData recordData) {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < DETAILS; i++) {
+            if (i % 101 == 0 || i % 97 == 0) { continue; }
+            // 1-based, after the header
+            String line = (i + 2) + ":";
+            if (i % 13 == 0) { expected.add(line + "amount"); }
+            if (i % 17 == 0) { expected.add(line + "name"); }
+        }
+        Assert.assertEquals(expected, toString(recordData.getErrors()));
+        Assert.assertTrue(recordData.isHasError());
+        Assert.assertEquals(DETAILS / 101 + 1, recordData.getSkippedRecords().size());
+        Assert.assertTrue(recordData.getSkippedRecords().containsKey(1));
+        Assert.assertNull(recordData.getRecords());
+    }
+
+    private static int countUnknown() {
+        int count = 0;
+        for (int i = 0; i < DETAILS; i++) { if (i % 101 != 0 && i % 97 == 0) { count++; } }
+        return count;
+    }
+
+    private RecordData validate(StreamingFileValidator validator, MasterConfig config, File target, int chunkSize) {
+        validator.setMasterConfig(config);
+        validator.setChunkSize(chunkSize);
+        return validator.parseAndValidate(target.getAbsolutePath());
+    }
+
+    private static List<String> toString(List<Error> errors) {
+        return errors.stream().map(error -> error.getRecordLine() + ":" + error.getFieldName())
+                     .collect(Collectors.toList());
+    }
+
+    private static MasterConfig newMasterConfig(RecordConfig header, RecordConfig body, RecordConfig footer) {
+        SectionConfig section = new SectionConfig();
+        section.setBodyConfigs(Collections.singletonList(body));
+
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setFileHeader(header);
+        masterConfig.setSectionConfigs(Collections.singletonList(section));
+        masterConfig.setFileFooter(footer);
+        return masterConfig;
+    }
+
+    private static RecordConfig newRecordConfig(String recordId, String separator, FieldConfig... fields) {
+        return new RecordConfigBuilder().recordId(recordId)
+                                        .recordIdField("recordType")
+                                        .fieldSeparator(separator)
+                                        .fieldConfigList(Arrays.asList(fields))
+                                        .build();
+    }
+
+    private static FieldConfig newField(String name, int from, int to, String dataType, String alignment) {
+        FieldConfig config = new FieldConfig();
+        config.setFieldname(name);
+        config.setPositionfrom(from);
+        config.setPositionto(to);
+        config.setFieldlength(to - from + 1);
+        config.setDatatype(dataType);
+        config.setAlignment(alignment);
+        return config;
+    }
+}
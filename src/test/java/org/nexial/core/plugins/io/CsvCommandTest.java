@@ -520,18 +520,19 @@ public class CsvCommandTest {
                        "623132658,20130520,ANDERSON/CARTER,4745.00\n" +
                        "623132658,20130527,ANDERSON/CARTER,3958.51\n" +
                        "623132658,20130603,ANDERSON/CARTER,5675.00\n");
+        // every line after the first missing one is reported with its shifted position, up to the last line
         messages.add(Arrays.asList(
             "EXPECTED and ACTUAL sizes are different",
             "number of lines are different            E        13 lines",
             "missing line in ACTUAL                   E      6 [623132658,20130415,ANDERSON/CARTER,3665.00]",
             "  (EXPECTED line 7, ACTUAL line 6)       A      6 [623132658,20130422,ANDERSON/CARTER,5285.00]",
             "  (EXPECTED line 8, ACTUAL line 7)       A      7 [623132658,20130429,ANDERSON/CARTER,4475.00]",
-            "missing line in ACTUAL                   E      8 [623132658,20130429,ANDERSON/CARTER,4475.00]",
             "missing line in ACTUAL                   E      9 [623132658,20130506,ANDERSON/CARTER,4665.00]",
             "  (EXPECTED line 10, ACTUAL line 8)      A      8 [623132658,20130513,ANDERSON/CARTER,4377.50]",
             "  (EXPECTED line 11, ACTUAL line 9)      A      9 [623132658,20130520,ANDERSON/CARTER,4745.00]",
             "2 mismatch(s) found in this line:        E     12 [623132658,20130527,ANDERSON/CARTER,3957.50]",
-            "  2 replaced                             A     10 [623132658,20130527,ANDERSON/CARTER,3958.51]"));
+            "  2 replaced                             A     10 [623132658,20130527,ANDERSON/CARTER,3958.51]",
+            "  (EXPECTED line 13, ACTUAL line 11)     A     11 [623132658,20130603,ANDERSON/CARTER,5675.00]"));
 
         testCompare("compare_missing_text", expectedData, actualData, messages, false);
     }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.plugins.io.CsvExtendedComparison.ReportFormat.CSV_DOUBLE_QUOTES;
+
+public class CsvExtendedComparisonTest {
+    private static final int ROWS = 500;
+
+    private File workDir;
+    private String expected;
+    private String actual;
+
+    @Before
+    public void setUp() throws IOException {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "CsvExtendedComparisonTest-" + System.nanoTime());
+
+        StringBuilder expectedCsv = new StringBuilder("id,region,name,amount\n");
+        StringBuilder actualCsv = new StringBuilder("region,id,name,amount\n");
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) { ids.add(i); }
+
+        // both sides in different order; some rows missing on either side, some with mismatched values
+        Collections.shuffle(ids, new Random(7));
+        for (int id : ids) {
+            if (id % 41 == 0) { continue; }
+            expectedCsv.append(id).append(",r").append(id % 3).append(",name").append(id).append(",").append(id * 2)
+                       .append("\n");
+        }
+
+        Collections.shuffle(ids, new Random(11));
+        for (int id : ids) {
+            if (id % 53 == 0) { continue; }
+            actualCsv.append("r").append(id % 3).append(",").append(id).append(",name").append(id)
+                     .append(id % 17 == 0 ? "x" : "").append(",").append(id % 29 == 0 ? id : id * 2).append("\n");
+        }
+
+        expected = expectedCsv.toString();
+        actual = actualCsv.toString();
+    }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(workDir); }
+
+    @Test
+    public void compare_streaming() throws Exception {
+        CsvComparisonResult inMemory = newComparison().compare();
+        Assert.assertTrue(inMemory.getFailCount() > 0);
+
+        File expectedFile = new File(workDir, "expected.csv");
+        File actualFile = new File(workDir, "actual.csv");
+        File reportFile = new File(workDir, "report/discrepancies.csv");
+        FileUtils.writeStringToFile(expectedFile, expected, UTF_8);
+        FileUtils.writeStringToFile(actualFile, actual, UTF_8);
+
+        CsvExtendedComparison comparison = newComparison();
+        comparison.setExpectedFile(expectedFile.getAbsolutePath());
+        comparison.setActualFile(actualFile.getAbsolutePath());
+        comparison.setReportFile(reportFile.getAbsolutePath());
+        comparison.setReportFormat(CSV_DOUBLE_QUOTES);
+        // small buffer to force sorting via multiple temp files
+        comparison.setBufferSize(37);
+
+        CsvComparisonResult streamed = comparison.compare();
+        Assert.assertTrue(streamed.getDiscrepancies().isEmpty());
+        Assert.assertEquals(reportFile, streamed.getReportFile());
+        Assert.assertEquals(inMemory.reportAsCSVWithQuotes(), FileUtils.readFileToString(reportFile, UTF_8));
+
+        // discrepancies are only in the report file
+        try {
+            streamed.reportAsCSV();
+            Assert.fail("expects IllegalStateException");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(reportFile.getAbsolutePath()));
+        }
+        try {
+            streamed.reportAsHTML();
+            Assert.fail("expects IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertTrue(streamed.toString().contains("reportAsCSV=<not supported; see reportFile>"));
+        Assert.assertTrue(streamed.toString().contains("reportFile=" + reportFile.getAbsolutePath()));
+        Assert.assertEquals(inMemory.getFailCount(), streamed.getFailCount());
+        Assert.assertEquals(inMemory.getExpectedRowCount(), streamed.getExpectedRowCount());
+        Assert.assertEquals(inMemory.getActualRowCount(), streamed.getActualRowCount());
+        Assert.assertEquals(inMemory.getSuccessRate(), streamed.getSuccessRate(), 0);
+    }
+
+    @Test
+    public void externalSort() throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new String[]{"k" + (i % 10), String.valueOf(i), i % 7 == 0 ? null : ""});
+        }
+
+        try (CsvExternalSort sort = new CsvExternalSort(8)) {
+            Iterator<String[]> sorted = sort.sort(rows.iterator());
+            Assert.assertEquals(13, sort.getChunkCount());
+
+            String[] previous = null;
+            int count = 0;
+            while (sorted.hasNext()) {
+                String[] row = sorted.next();
+                Assert.assertEquals(Integer.parseInt(row[1]) % 7 == 0 ? null : "", row[2]);
+                if (previous != null) {
+                    int compared = previous[0].compareTo(row[0]);
+                    Assert.assertTrue(compared <= 0);
+                    // stable: same identity remains in original order
+                    if (compared == 0) {
+                        Assert.assertTrue(Integer.parseInt(previous[1]) < Integer.parseInt(row[1]));
+                    }
+                }
+                previous = row;
+                count++;
+            }
+            Assert.assertEquals(rows.size(), count);
+        }
+    }
+
+    private CsvExtendedComparison newComparison() {
+        CsvExtendedComparison comparison = new CsvExtendedComparison();
+        comparison.setExpectedContent(expected);
+        comparison.setActualContent(actual);
+        comparison.setExpectedIdentityColumns(Collections.singletonList("id"));
+        comparison.setActualIdentityColumns(Collections.singletonList("id"));
+        comparison.setDisplayFields(Arrays.asList("id", "region"));
+        return comparison;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.MockExecutionContext;
+import org.nexial.core.model.StepResult;
+
+import static java.lang.System.lineSeparator;
+
+public class ExcelHelperTest {
+    private static final int BENCHMARK_ROWS = 50_000;
+
+    private MockExecutionContext context;
+    private ExcelHelper helper;
+    private File workDir;
+
+    @Before
+    public void setUp() throws IOException {
+        context = new MockExecutionContext();
+        helper = new ExcelHelper(context);
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "ExcelHelperTest-" + System.nanoTime());
+        FileUtils.forceMkdir(workDir);
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) { context.cleanProject(); }
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void xlsx2csv() throws Exception {
+        File excel = new File(workDir, "data.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yy"));
+
+            workbook.createSheet("other").createRow(0).createCell(0).setCellValue("not this one");
+
+            Sheet sheet = workbook.createSheet("data");
+            newRow(sheet, 0, "name", "amount", "date");
+
+            Row row = newRow(sheet, 1, "alpha", 12.5);
+            row.createCell(2).setCellValue(new SimpleDateFormat("yyyy-MM-dd").parse("2018-03-15"));
+            row.getCell(2).setCellStyle(dateStyle);
+            row.createCell(3).setCellValue(true);
+
+            // empty cell and empty row skipped
+            newRow(sheet, 2, "", "beta", 3);
+            sheet.createRow(3);
+            newRow(sheet, 4, " gamma ", 1234567890123d);
+            sheet.getRow(4).createCell(2).setCellFormula("B2*2");
+
+            newRow(sheet, 5, "a,b", "say \"hi\"", "multi\nline");
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            save(workbook, excel);
+        }
+
+        StringWriter csv = new StringWriter();
+        Assert.assertEquals(5, helper.xlsx2csv(excel, "data", csv));
+        Assert.assertEquals("name,amount,date" + lineSeparator() +
+                            "alpha,12.5,03/15/2018" + lineSeparator() +
+                            "beta,3.0" + lineSeparator() +
+                            "gamma ,1.234567890123E12,25.0" + lineSeparator() +
+                            "\"a,b\",\"say \"\"hi\"\"\",\"multi\nline\"" + lineSeparator(),
+                            csv.toString());
+
+        // same as loading the entire workbook, except for quoting
+        String expected = helper.xlsx2csv(excel, "data").toString();
+        Assert.assertEquals(expected.substring(0, expected.indexOf("a,b")),
+                            csv.toString().substring(0, csv.toString().indexOf("\"a,b\"")));
+    }
+
+    @Test
+    public void saveCsvToFile() throws Exception {
+        File excel = new File(workDir, "data.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("data");
+            newRow(sheet, 0, "a", "b");
+            newRow(sheet, 1, 1, 2);
+            save(workbook, excel);
+        }
+
+        File csv = new File(workDir, "out/data.csv");
+        StepResult result = helper.saveCsvToFile(excel, "data", csv.getAbsolutePath());
+        Assert.assertTrue(result.getMessage(), result.isSuccess());
+        Assert.assertEquals("a,b" + lineSeparator() + "1.0,2.0" + lineSeparator(),
+                            FileUtils.readFileToString(csv, "UTF-8"));
+
+        result = helper.saveCsvToFile(excel, "missing", csv.getAbsolutePath());
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertTrue(result.getMessage(), result.getMessage().contains("worksheet 'missing' not found"));
+        Assert.assertFalse(csv.exists());
+    }
+
+    /**
+     * micro-benchmark of converting a large worksheet: loading the entire workbook and building the CSV content in
+     * memory (previous behavior) against streaming rows via SAX.
+     */
+    @Test
+    public void xlsx2csv_throughput() throws Exception {
+        File excel = new File(workDir, "large.xlsx");
+        // SXSSF writes inline strings, rather than shared strings
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            Sheet sheet = workbook.createSheet("data");
+            newRow(sheet, 0, "id", "name", "city", "state", "balance", "rate");
+            for (int i = 1; i <= BENCHMARK_ROWS; i++) {
+                newRow(sheet, i, i, "name" + i, "city" + (i % 100), "state" + (i % 50), i * 10.25, i % 7);
+            }
+            save(workbook, excel);
+        } finally {
+            workbook.dispose();
+        }
+
+        long start = System.nanoTime();
+        String inMemory = helper.xlsx2csv(excel, "data").toString();
+        long inMemoryMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        StringWriter streamed = new StringWriter();
+        int rows = helper.xlsx2csv(excel, "data", streamed);
+        long streamedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("converting %d rows: in-memory workbook %d ms, streaming %d ms",
+                                         BENCHMARK_ROWS, inMemoryMs, streamedMs));
+
+        Assert.assertEquals(BENCHMARK_ROWS + 1, rows);
+        Assert.assertEquals(inMemory, streamed.toString());
+    }
+
+    private static Row newRow(Sheet sheet, int rowIndex, Object... values) {
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof Number) {
+                row.createCell(i).setCellValue(((Number) value).doubleValue());
+            } else {
+                row.createCell(i).setCellValue((String) value);
+            }
+        }
+        return row;
+    }
+
+    private static void save(Workbook workbook, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) { workbook.write(out); }
+    }
+}
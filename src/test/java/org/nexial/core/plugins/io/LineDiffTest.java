@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.commons.utils.TextUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class LineDiffTest {
+    private File workDir;
+
+    @Before
+    public void setUp() { workDir = new File(SystemUtils.getJavaIoTmpDir(), "LineDiffTest-" + System.nanoTime()); }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(workDir); }
+
+    @Test
+    public void diff() {
+        List<String> expected = Arrays.asList("header", "a", "b", "c", "d", "e", "f");
+        List<String> actual = Arrays.asList("header", "a", "C", "d", "x", "y", "e", "f", "g");
+
+        Assert.assertEquals(Arrays.asList("same 1,1", "same 2,2", "changed 3-3,3-2", "same 4,3", "same 5,4",
+                                          "changed 6-5,5-6", "same 6,7", "same 7,8", "changed 8-7,9-9"),
+                            diff(expected, actual, String::toLowerCase));
+
+        // stop as soon as the handler says so
+        List<String> outcomes = new ArrayList<>();
+        LineDiff.diff(expected, actual, Function.identity(), new LineDiff.Handler() {
+            @Override
+            public boolean same(int expected, int actual) { return outcomes.add("same"); }
+
+            @Override
+            public boolean changed(int expectedFrom, int expectedTo, int actualFrom, int actualTo) {
+                outcomes.add("changed");
+                return false;
+            }
+        });
+        Assert.assertEquals(Arrays.asList("same", "same", "changed"), outcomes);
+    }
+
+    @Test
+    public void diff_covers_all_lines() {
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            List<String> expected = randomLines(random);
+            List<String> actual = randomLines(random);
+
+            int[] positions = new int[2];
+            LineDiff.diff(expected, actual, Function.identity(), new LineDiff.Handler() {
+                @Override
+                public boolean same(int e, int a) {
+                    Assert.assertEquals(positions[0]++, e);
+                    Assert.assertEquals(positions[1]++, a);
+                    Assert.assertEquals(expected.get(e), actual.get(a));
+                    return true;
+                }
+
+                @Override
+                public boolean changed(int eFrom, int eTo, int aFrom, int aTo) {
+                    Assert.assertEquals(positions[0], eFrom);
+                    Assert.assertEquals(positions[1], aFrom);
+                    positions[0] = eTo;
+                    positions[1] = aTo;
+                    return true;
+                }
+            });
+            Assert.assertEquals(expected.size(), positions[0]);
+            Assert.assertEquals(actual.size(), positions[1]);
+        }
+    }
+
+    @Test
+    public void contentEquals_countLines() throws IOException {
+        File file1 = new File(workDir, "file1.txt");
+        File file2 = new File(workDir, "file2.txt");
+
+        String[] fixtures = {"a", "a\n", "a\r\nb", "a\rb\r", "\n\n", "a\r\n\r\nb\n", "\r\n", "line1\nline2\n\nline4"};
+        for (String fixture : fixtures) {
+            FileUtils.writeStringToFile(file1, fixture, UTF_8);
+            Assert.assertEquals(FileUtils.readLines(file1, UTF_8).size(), LineDiff.countLines(file1));
+        }
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200000; i++) { content.append("line ").append(i).append("\n"); }
+        FileUtils.writeStringToFile(file1, content.toString(), UTF_8);
+        FileUtils.writeStringToFile(file2, content.toString(), UTF_8);
+        Assert.assertTrue(LineDiff.contentEquals(file1, file2));
+
+        content.setCharAt(content.length() - 2, 'x');
+        FileUtils.writeStringToFile(file2, content.toString(), UTF_8);
+        Assert.assertFalse(LineDiff.contentEquals(file1, file2));
+    }
+
+    @Test
+    public void toLines() {
+        String[] fixtures = {"a", "a\n", "a\nb\n\n", "\n", "\n\na", "a\n\n\nb"};
+        for (String fixture : fixtures) {
+            Assert.assertEquals(TextUtils.toListPreserveEmpty(fixture, "\n", false), LineDiff.toLines(fixture));
+        }
+        Assert.assertNull(LineDiff.toLines(""));
+    }
+
+    private static List<String> diff(List<String> expected, List<String> actual, Function<String, String> keyOf) {
+        List<String> outcomes = new ArrayList<>();
+        LineDiff.diff(expected, actual, keyOf, new LineDiff.Handler() {
+            @Override
+            public boolean same(int e, int a) { return outcomes.add("same " + (e + 1) + "," + (a + 1)); }
+
+            @Override
+            public boolean changed(int eFrom, int eTo, int aFrom, int aTo) {
+                return outcomes.add("changed " + (eFrom + 1) + "-" + eTo + "," + (aFrom + 1) + "-" + aTo);
+            }
+        });
+        return outcomes;
+    }
+
+    private static List<String> randomLines(Random random) {
+        List<String> lines = new ArrayList<>();
+        int size = random.nextInt(40);
+        for (int i = 0; i < size; i++) { lines.add("line " + random.nextInt(6)); }
+        return lines;
+    }
+}
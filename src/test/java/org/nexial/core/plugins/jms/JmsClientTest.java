@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.jms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.jms.JMSException;
+
+import org.apache.activemq.broker.BrokerService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JmsClientTest {
+    private BrokerService broker;
+    private JmsClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        broker = new BrokerService();
+        broker.setBrokerName("JmsClientTest");
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.start();
+        broker.waitUntilStarted();
+
+        client = new JmsClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (client != null) { client.close(); }
+        if (broker != null) {
+            broker.stop();
+            broker.waitUntilStopped();
+        }
+    }
+
+    @Test
+    public void reuseConnection() throws Exception {
+        JmsClientConfig queue1 = newConfig("queue1");
+        JmsClientConfig queue2 = newConfig("queue2");
+
+        for (int i = 0; i < 20; i++) {
+            client.send(queue1, null, "message " + i);
+            client.send(queue2, null, "another message " + i);
+        }
+
+        // one connection for both destinations
+        Assert.assertEquals(1, client.connections.size());
+        Assert.assertEquals(1, broker.getBroker().getClients().length);
+
+        for (int i = 0; i < 20; i++) { Assert.assertEquals("message " + i, client.receive(queue1, 1000)); }
+        Assert.assertEquals("another message 0", client.receive(queue2, 1000));
+        Assert.assertNull(client.receive(newConfig("queue3"), 100));
+        Assert.assertEquals(1, broker.getBroker().getClients().length);
+
+        client.close();
+        Assert.assertFalse(client.hasOpenConnections());
+    }
+
+    @Test
+    public void reconnectWhenBroken() throws Exception {
+        JmsClientConfig config = newConfig("queue1");
+        client.send(config, null, "message 1");
+        JmsClient.JmsConnection connection = client.connections.values().iterator().next();
+
+        connection.onException(new JMSException("connection reset"));
+
+        client.send(config, null, "message 2");
+        Assert.assertNotSame(connection, client.connections.values().iterator().next());
+        Assert.assertEquals("message 1", client.receive(config, 1000));
+        Assert.assertEquals("message 2", client.receive(config, 1000));
+    }
+
+    @Test
+    public void batch() throws Exception {
+        JmsClientConfig config = newConfig("batch");
+
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < 200; i++) { payloads.add("{ \"id\": " + i + " }"); }
+
+        JmsBatchResult sent = client.sendBatch(config, payloads);
+        Assert.assertEquals(200, sent.getCount());
+        Assert.assertEquals(200, sent.getLatencies().size());
+
+        // more than available: stops at the end of the window
+        JmsBatchResult received = client.receiveBatch(config, 500, 2000);
+        Assert.assertEquals(200, received.getCount());
+        Assert.assertEquals(payloads, received.getMessages());
+        Assert.assertTrue(received.getMinLatency() >= 0);
+        Assert.assertTrue(received.getMaxLatency() >= received.getAverageLatency());
+        Assert.assertTrue(received.getElapsedTime() >= 2000);
+
+        // less than available: stops at max
+        client.sendBatch(config, payloads);
+        Assert.assertEquals(50, client.receiveBatch(config, 50, 5000).getCount());
+        Assert.assertEquals(150, client.receiveBatch(config, 150, 5000).getCount());
+
+        Assert.assertEquals(1, client.connections.size());
+    }
+
+    private JmsClientConfig newConfig(String destination) {
+        Map<String, String> settings = new HashMap<>();
+        settings.put("provider", "activemq");
+        settings.put("url", "vm://JmsClientTest?create=false");
+        settings.put("destination", destination);
+
+        JmsClientConfig config = new ActiveMQJmsClientConfig();
+        config.init(settings);
+        return config;
+    }
+}
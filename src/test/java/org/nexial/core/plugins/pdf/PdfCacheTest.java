@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.pdf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.plugins.pdf.PdfCache.PdfText;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class PdfCacheTest {
+    private File workDir;
+    private AtomicInteger parsed;
+
+    @Before
+    public void setUp() {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "PdfCacheTest-" + System.nanoTime());
+        parsed = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() { FileUtils.deleteQuietly(workDir); }
+
+    @Test
+    public void parseOnce() throws IOException {
+        File pdf = newFile("statement.pdf", "page 1|page 2");
+        PdfCache cache = new PdfCache(1024 * 1024);
+
+        for (int i = 0; i < 30; i++) {
+            PdfText text = cache.getText(pdf, this::parse);
+            Assert.assertEquals(Arrays.asList("page 1\n", "page 2\n"), text.getPages());
+            Assert.assertEquals("page 1\npage 2\n", text.getText());
+        }
+
+        // same file by another path
+        cache.getText(new File(workDir, "../" + workDir.getName() + "/statement.pdf"), this::parse);
+
+        Assert.assertEquals(1, parsed.get());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(30, cache.getHits());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void invalidateOnModification() throws IOException {
+        File pdf = newFile("statement.pdf", "page 1");
+        PdfCache cache = new PdfCache(1024 * 1024);
+        Assert.assertEquals("page 1\n", cache.getText(pdf, this::parse).getText());
+
+        FileUtils.writeStringToFile(pdf, "page 1|page 2", UTF_8);
+        Assert.assertEquals("page 1\npage 2\n", cache.getText(pdf, this::parse).getText());
+        Assert.assertEquals(2, parsed.get());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        String page = StringUtils.repeat("x", 1000);
+        File pdf1 = newFile("1.pdf", page);
+        File pdf2 = newFile("2.pdf", page);
+        File pdf3 = newFile("3.pdf", page);
+
+        // room for 2 documents only
+        PdfCache cache = new PdfCache(5000);
+        cache.getText(pdf1, this::parse);
+        cache.getText(pdf2, this::parse);
+        cache.getText(pdf1, this::parse);
+        cache.getText(pdf3, this::parse);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.getCachedBytes() <= 5000);
+
+        // pdf2 was evicted, pdf1 was not
+        cache.getText(pdf1, this::parse);
+        Assert.assertEquals(3, parsed.get());
+        cache.getText(pdf2, this::parse);
+        Assert.assertEquals(4, parsed.get());
+
+        // too large to be cached, but still returned
+        File large = newFile("large.pdf", StringUtils.repeat("x", 3000));
+        Assert.assertEquals(3001, cache.getText(large, this::parse).getText().length());
+        Assert.assertEquals(2, cache.size());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void metadata() throws IOException {
+        File pdf = newFile("statement.pdf", "page 1");
+        PdfCache cache = new PdfCache(1024 * 1024);
+
+        Assert.assertEquals("a,b", cache.getMetadata(pdf, ",", file -> parseMetadata(",")).get("creator"));
+        Assert.assertEquals("a,b", cache.getMetadata(pdf, ",", file -> parseMetadata(",")).get("creator"));
+        Assert.assertEquals(1, parsed.get());
+
+        // text and metadata are cached together
+        cache.getText(pdf, this::parse);
+        cache.getMetadata(pdf, ",", file -> parseMetadata(","));
+        Assert.assertEquals(2, parsed.get());
+        Assert.assertEquals(1, cache.size());
+
+        // different delimiter, different metadata
+        Assert.assertEquals("a|b", cache.getMetadata(pdf, "|", file -> parseMetadata("|")).get("creator"));
+        Assert.assertEquals(3, parsed.get());
+    }
+
+    @Test
+    public void disabled() throws IOException {
+        File pdf = newFile("statement.pdf", "page 1");
+        PdfCache cache = new PdfCache(0);
+        cache.getText(pdf, this::parse);
+        cache.getText(pdf, this::parse);
+        Assert.assertEquals(2, parsed.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    private File newFile(String name, String content) throws IOException {
+        File file = new File(workDir, name);
+        FileUtils.writeStringToFile(file, content, UTF_8);
+        return file;
+    }
+
+    /** each "page" separated by pipe */
+    private PdfText parse(File file) throws IOException {
+        parsed.incrementAndGet();
+        String[] pages = StringUtils.split(FileUtils.readFileToString(file, UTF_8), "|");
+        return new PdfText(Arrays.stream(pages).map(page -> page + "\n").collect(Collectors.toList()), null);
+    }
+
+    private Map<String, String> parseMetadata(String delim) {
+        parsed.incrementAndGet();
+        Map<String, String> metadata = new HashMap<>(Collections.singletonMap("creator", "a" + delim + "b"));
+        metadata.put("title", "statement");
+        return metadata;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.subsystem.sftp.SftpSubsystemFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.plugins.ssh.SftpBulkTransfer.FileTransfer;
+import org.nexial.core.plugins.ssh.SftpBulkTransfer.Result;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class SftpBulkTransferTest {
+    private static final String USER = "tester";
+    private static final String PASSWORD = "secret";
+
+    private File workDir;
+    private File localDir;
+    private File remoteDir;
+    private SshServer server;
+    private Set<String> workerThreads;
+
+    @Before
+    public void setUp() throws IOException {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "SftpBulkTransferTest-" + System.nanoTime());
+        localDir = new File(workDir, "local");
+        remoteDir = new File(workDir, "remote");
+        FileUtils.forceMkdir(localDir);
+        FileUtils.forceMkdir(remoteDir);
+
+        server = SshServer.setUpDefaultServer();
+        server.setHost("localhost");
+        server.setPort(0);
+        server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(new File(workDir, "hostkey.ser").toPath()));
+        server.setPasswordAuthenticator((username, password, session) -> USER.equals(username) &&
+                                                                         PASSWORD.equals(password));
+        server.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(remoteDir.toPath()));
+        server.start();
+
+        workerThreads = ConcurrentHashMap.newKeySet();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) { server.stop(true); }
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void upload() throws Exception {
+        List<FileTransfer> transfers = new ArrayList<>();
+        long totalSize = 0;
+        for (int i = 0; i < 12; i++) {
+            File file = newFile(new File(localDir, "file" + i + ".txt"), i);
+            totalSize += file.length();
+            transfers.add(newUpload(file, "/file" + i + ".txt"));
+        }
+
+        List<Result> results = newBulkTransfer(4, false).upload(transfers);
+
+        Assert.assertEquals(12, results.size());
+        long bytes = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            Assert.assertTrue(result.getError(), result.isSuccess());
+            Assert.assertEquals("/file" + i + ".txt", result.getTransfer().getTarget());
+            Assert.assertEquals(FileUtils.readFileToString(new File(localDir, "file" + i + ".txt"), UTF_8),
+                                FileUtils.readFileToString(new File(remoteDir, "file" + i + ".txt"), UTF_8));
+            // modification time of source retained
+            Assert.assertEquals(new File(localDir, "file" + i + ".txt").lastModified() / 1000,
+                                new File(remoteDir, "file" + i + ".txt").lastModified() / 1000);
+            bytes += result.getBytes();
+        }
+        Assert.assertEquals(totalSize, bytes);
+        Assert.assertTrue(workerThreads.size() > 1);
+    }
+
+    @Test
+    public void resumeUpload() throws Exception {
+        File partial = newFile(new File(localDir, "partial.txt"), 1);
+        File complete = newFile(new File(localDir, "complete.txt"), 2);
+        String content = FileUtils.readFileToString(partial, UTF_8);
+
+        // interrupted transfer of the first; completed transfer of the second
+        FileUtils.writeStringToFile(new File(remoteDir, "partial.txt"), content.substring(0, 1000), UTF_8);
+        FileUtils.copyFile(complete, new File(remoteDir, "complete.txt"));
+
+        // same size, but not the same file
+        File stale = newFile(new File(localDir, "stale.txt"), 3);
+        File staleTarget = newFile(new File(remoteDir, "stale.txt"), 4);
+        Assert.assertTrue(staleTarget.setLastModified(stale.lastModified() - 3600 * 1000));
+        // smaller, but older than the source; not a partial copy of the current source
+        File outdated = newFile(new File(localDir, "outdated.txt"), 5);
+        File outdatedTarget = new File(remoteDir, "outdated.txt");
+        FileUtils.writeStringToFile(outdatedTarget, "outdated", UTF_8);
+        Assert.assertTrue(outdatedTarget.setLastModified(outdated.lastModified() - 3600 * 1000));
+
+        List<FileTransfer> transfers = new ArrayList<>();
+        transfers.add(newUpload(partial, "/partial.txt"));
+        transfers.add(newUpload(complete, "/complete.txt"));
+        transfers.add(newUpload(stale, "/stale.txt"));
+        transfers.add(newUpload(outdated, "/outdated.txt"));
+        List<Result> results = newBulkTransfer(2, true).upload(transfers);
+
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertTrue(results.get(0).isResumed());
+        Assert.assertEquals(partial.length() - 1000, results.get(0).getBytes());
+        Assert.assertEquals(content, FileUtils.readFileToString(new File(remoteDir, "partial.txt"), UTF_8));
+
+        Assert.assertTrue(results.get(1).isSuccess());
+        Assert.assertFalse(results.get(1).isResumed());
+        Assert.assertEquals(0, results.get(1).getBytes());
+
+        Assert.assertTrue(results.get(2).isSuccess());
+        Assert.assertFalse(results.get(2).isResumed());
+        Assert.assertEquals(stale.length(), results.get(2).getBytes());
+        Assert.assertEquals(FileUtils.readFileToString(stale, UTF_8), FileUtils.readFileToString(staleTarget, UTF_8));
+
+        Assert.assertTrue(results.get(3).isSuccess());
+        Assert.assertFalse(results.get(3).isResumed());
+        Assert.assertEquals(outdated.length(), results.get(3).getBytes());
+        Assert.assertEquals(FileUtils.readFileToString(outdated, UTF_8),
+                            FileUtils.readFileToString(outdatedTarget, UTF_8));
+    }
+
+    @Test
+    public void overwriteUnlessResume() throws Exception {
+        File partial = newFile(new File(localDir, "partial.txt"), 1);
+        File complete = newFile(new File(localDir, "complete.txt"), 2);
+        FileUtils.writeStringToFile(new File(remoteDir, "partial.txt"), "line 1", UTF_8);
+        FileUtils.copyFile(complete, new File(remoteDir, "complete.txt"));
+
+        List<FileTransfer> transfers = new ArrayList<>();
+        transfers.add(newUpload(partial, "/partial.txt"));
+        transfers.add(newUpload(complete, "/complete.txt"));
+        List<Result> results = newBulkTransfer(2, false).upload(transfers);
+
+        // existing target files are transferred in full
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertFalse(results.get(0).isResumed());
+        Assert.assertEquals(partial.length(), results.get(0).getBytes());
+        Assert.assertEquals(FileUtils.readFileToString(partial, UTF_8),
+                            FileUtils.readFileToString(new File(remoteDir, "partial.txt"), UTF_8));
+
+        Assert.assertTrue(results.get(1).isSuccess());
+        Assert.assertFalse(results.get(1).isResumed());
+        Assert.assertEquals(complete.length(), results.get(1).getBytes());
+    }
+
+    @Test
+    public void resumeDownload() throws Exception {
+        File remote = newFile(new File(remoteDir, "data.txt"), 3);
+        String content = FileUtils.readFileToString(remote, UTF_8);
+        File local = new File(localDir, "data.txt");
+        FileUtils.writeStringToFile(local, content.substring(0, 500), UTF_8);
+
+        List<FileTransfer> transfers = new ArrayList<>();
+        transfers.add(new FileTransfer("/data.txt",
+                                       local.getAbsolutePath(),
+                                       remote.length(),
+                                       remote.lastModified() / 1000));
+        transfers.add(new FileTransfer("/missing.txt", new File(localDir, "missing.txt").getAbsolutePath(), 10, 0));
+        List<Result> results = newBulkTransfer(2, true).download(transfers);
+
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertTrue(results.get(0).isResumed());
+        Assert.assertEquals(remote.length() - 500, results.get(0).getBytes());
+        Assert.assertEquals(content, FileUtils.readFileToString(local, UTF_8));
+        Assert.assertEquals(remote.lastModified() / 1000, local.lastModified() / 1000);
+
+        Assert.assertFalse(results.get(1).isSuccess());
+    }
+
+    @Test
+    public void unableToConnect() throws Exception {
+        File file = newFile(new File(localDir, "file.txt"), 1);
+        List<FileTransfer> transfers = new ArrayList<>();
+        transfers.add(newUpload(file, "/file.txt"));
+
+        SftpBulkTransfer bulk = new SftpBulkTransfer(worker -> { throw new JSchException("Connection refused"); },
+                                                     channel -> { },
+                                                     2,
+                                                     false);
+        List<Result> results = bulk.upload(transfers);
+        Assert.assertEquals(1, results.size());
+        Assert.assertFalse(results.get(0).isSuccess());
+        Assert.assertEquals("Unable to connect: Connection refused", results.get(0).getError());
+    }
+
+    @Test
+    public void oneUnableToConnect() throws Exception {
+        List<FileTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            transfers.add(newUpload(newFile(new File(localDir, "file" + i + ".txt"), i), "/file" + i + ".txt"));
+        }
+
+        // second worker fails to connect only after the first worker is done with all the other files
+        SftpBulkTransfer bulk = new SftpBulkTransfer(worker -> {
+            if (worker == 0) { return openChannel(); }
+            waitForRemoteFiles(transfers.size() - 1);
+            throw new JSchException("Connection refused");
+        }, SftpBulkTransferTest::closeChannel, 2, false);
+
+        List<Result> results = bulk.upload(transfers);
+        Assert.assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertTrue(results.get(i).getError(), results.get(i).isSuccess());
+            Assert.assertTrue(new File(remoteDir, "file" + i + ".txt").isFile());
+        }
+    }
+
+    private SftpBulkTransfer newBulkTransfer(int parallel, boolean resume) {
+        return new SftpBulkTransfer(worker -> {
+            workerThreads.add(Thread.currentThread().getName());
+            return openChannel();
+        }, SftpBulkTransferTest::closeChannel, parallel, resume);
+    }
+
+    private ChannelSftp openChannel() throws JSchException {
+        Session session = new JSch().getSession(USER, "localhost", server.getPort());
+        Properties config = new Properties();
+        config.setProperty("StrictHostKeyChecking", "no");
+        session.setConfig(config);
+        session.setPassword(PASSWORD);
+        session.setDaemonThread(true);
+        session.connect();
+
+        ChannelSftp channel = (ChannelSftp) session.openChannel("sftp");
+        channel.connect();
+        return channel;
+    }
+
+    private static void closeChannel(ChannelSftp channel) {
+        channel.exit();
+        try {
+            channel.getSession().disconnect();
+        } catch (JSchException e) {
+            // ignore
+        }
+    }
+
+    private void waitForRemoteFiles(int count) {
+        long deadline = System.currentTimeMillis() + 10000;
+        try {
+            while (ArrayUtils.getLength(remoteDir.list()) < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            // last file might still be in transfer
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FileTransfer newUpload(File source, String target) {
+        return new FileTransfer(source.getAbsolutePath(), target, source.length(), source.lastModified() / 1000);
+    }
+
+    private static File newFile(File file, int seed) throws IOException {
+        FileUtils.writeStringToFile(file, StringUtils.repeat("line " + seed + " of some content\n", 500), UTF_8);
+        return file;
+    }
+}
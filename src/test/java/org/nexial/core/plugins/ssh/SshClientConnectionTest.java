@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.model.MockExecutionContext;
+
+import static org.nexial.core.NexialConst.Data.*;
+
+public class SshClientConnectionTest {
+    private MockExecutionContext context;
+
+    @Before
+    public void setUp() { context = new MockExecutionContext(); }
+
+    @After
+    public void tearDown() {
+        if (context != null) { context.cleanProject(); }
+    }
+
+    @Test
+    public void toSessionKey() throws Exception {
+        String key = newConnection("profile1", "secret", "false").toSessionKey();
+        // opaque: neither the credential, the user nor the server can be derived from the key
+        Assert.assertFalse(key.contains("secret"));
+        Assert.assertFalse(key.contains("tester"));
+        Assert.assertFalse(key.contains("localhost"));
+        Assert.assertFalse(key.contains(DigestUtils.sha256Hex("secret")));
+
+        // same settings via different profile
+        Assert.assertEquals(key, newConnection("profile2", "secret", "false").toSessionKey());
+
+        // different credential or host key settings
+        Assert.assertNotEquals(key, newConnection("profile3", "another secret", "false").toSessionKey());
+        Assert.assertNotEquals(key, newConnection("profile4", "secret", "true").toSessionKey());
+    }
+
+    private SshClientConnection newConnection(String profile, String password, String strictHostKeyChecking)
+        throws Exception {
+        context.setData(profile + "." + SSH_USERNAME, "tester");
+        context.setData(profile + "." + SSH_PASSWORD, password);
+        context.setData(profile + "." + SSH_HOST, "localhost");
+        context.setData(profile + "." + SSH_PORT, "2222");
+        context.setData(profile + "." + SSH_HOST_KEY_CHECK, strictHostKeyChecking);
+        return SshClientConnection.resolveFrom(context, profile);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ssh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.subsystem.sftp.SftpSubsystemFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class SshSessionPoolTest {
+    private static final String USER = "tester";
+    private static final String PASSWORD = "secret";
+
+    private File workDir;
+    private File remoteDir;
+    private SshServer server;
+    private SshSessionPool pool;
+
+    @Before
+    public void setUp() throws IOException {
+        workDir = new File(SystemUtils.getJavaIoTmpDir(), "SshSessionPoolTest-" + System.nanoTime());
+        remoteDir = new File(workDir, "remote");
+        FileUtils.forceMkdir(remoteDir);
+
+        server = SshServer.setUpDefaultServer();
+        server.setHost("localhost");
+        server.setPort(0);
+        server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(new File(workDir, "hostkey.ser").toPath()));
+        server.setPasswordAuthenticator((username, password, session) -> USER.equals(username) &&
+                                                                         PASSWORD.equals(password));
+        server.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(remoteDir.toPath()));
+        server.start();
+
+        pool = new SshSessionPool(30000);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (pool != null) { pool.close(); }
+        if (server != null) { server.stop(true); }
+        FileUtils.deleteQuietly(workDir);
+    }
+
+    @Test
+    public void reuseSessionAndChannel() throws Exception {
+        File local = new File(workDir, "local");
+        FileUtils.forceMkdir(local);
+
+        Session first = null;
+        ChannelSftp firstChannel = null;
+        for (int i = 0; i < 20; i++) {
+            File file = new File(local, "file" + i + ".txt");
+            FileUtils.writeStringToFile(file, "content " + i, UTF_8);
+
+            Session session = pool.getSession(key(), this::connect);
+            ChannelSftp channel = pool.getSftpChannel(session);
+            channel.put(file.getAbsolutePath(), "/file" + i + ".txt");
+
+            if (first == null) {
+                first = session;
+                firstChannel = channel;
+            }
+            Assert.assertSame(first, session);
+            Assert.assertSame(firstChannel, channel);
+        }
+
+        Assert.assertEquals(1, pool.getConnects());
+        Assert.assertEquals(1, pool.size());
+        Assert.assertEquals(30000, first.getServerAliveInterval());
+        Assert.assertEquals("content 19", FileUtils.readFileToString(new File(remoteDir, "file19.txt"), UTF_8));
+        Assert.assertEquals(20, StringUtils.countMatches(list(pool.getSftpChannel(first)), "file"));
+    }
+
+    @Test
+    public void reconnectWhenBroken() throws Exception {
+        Session session = pool.getSession(key(), this::connect);
+        Assert.assertTrue(pool.contains(session));
+
+        // connection dropped (e.g. server restart, network blip)
+        session.disconnect();
+
+        Session reconnected = pool.getSession(key(), this::connect);
+        Assert.assertNotSame(session, reconnected);
+        Assert.assertTrue(reconnected.isConnected());
+        Assert.assertFalse(pool.contains(session));
+        Assert.assertEquals(2, pool.getConnects());
+        Assert.assertEquals(1, pool.size());
+
+        pool.invalidate(reconnected);
+        Assert.assertFalse(reconnected.isConnected());
+        Assert.assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void verifyIdleSession() throws Exception {
+        // every use is considered "idle", hence verified
+        pool = new SshSessionPool(0);
+        Session session = pool.getSession(key(), this::connect);
+        Assert.assertSame(session, pool.getSession(key(), this::connect));
+        Assert.assertEquals(1, pool.getConnects());
+    }
+
+    @Test
+    public void close() throws Exception {
+        Session session1 = pool.getSession(key(), this::connect);
+        Session session2 = pool.getSession("another", this::connect);
+        ChannelSftp channel = pool.getSftpChannel(session2);
+        Assert.assertEquals(2, pool.size());
+
+        pool.close();
+        Assert.assertEquals(0, pool.size());
+        Assert.assertFalse(session1.isConnected());
+        Assert.assertFalse(session2.isConnected());
+        Assert.assertFalse(channel.isConnected());
+    }
+
+    private String key() { return USER + "@localhost:" + server.getPort(); }
+
+    private Session connect() throws JSchException {
+        Session session = new JSch().getSession(USER, "localhost", server.getPort());
+        Properties config = new Properties();
+        config.setProperty("StrictHostKeyChecking", "no");
+        session.setConfig(config);
+        session.setPassword(PASSWORD);
+        session.setDaemonThread(true);
+        session.connect();
+        return session;
+    }
+
+    private static String list(ChannelSftp channel) throws Exception { return channel.ls("/").toString(); }
+}
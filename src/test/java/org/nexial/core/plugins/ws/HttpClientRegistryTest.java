@@ -0,0 +1,149 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.ws;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * compares the throughput of a new http client per request (previous behavior) against the pooled http client
+ * from {@link HttpClientRegistry}, using an embedded http server.
+ */
+public class HttpClientRegistryTest {
+    private static final int REQUESTS = 300;
+
+    private HttpServer server;
+    private String url;
+    // remote port of each client connection, as seen by the server
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "pong".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) { out.write(body); }
+        });
+        server.createContext("/login", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "session=12345; Path=/");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/cookie", exchange -> {
+            byte[] body = String.valueOf(exchange.getRequestHeaders().getFirst("Cookie")).getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) { out.write(body); }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/ping";
+    }
+
+    @After
+    public void tearDown() {
+        HttpClientRegistry.close(null);
+        if (server != null) { server.stop(0); }
+    }
+
+    @Test
+    public void reuseClient() throws Exception {
+        WebServiceClient client = new WebServiceClient(null);
+        client.setVerbose(false);
+
+        for (int i = 0; i < 5; i++) {
+            Response response = client.get(url, null);
+            Assert.assertEquals(200, response.getReturnCode());
+            Assert.assertEquals("pong", response.getBody());
+        }
+
+        HttpClientRegistry registry = HttpClientRegistry.get(null);
+        Assert.assertEquals(1, registry.size());
+        Assert.assertEquals(1, registry.getMisses());
+        Assert.assertEquals(4, registry.getHits());
+        // same connection throughout
+        Assert.assertEquals(1, clientPorts.size());
+
+        // different timeout, different client
+        GetRequest request = client.toGetRequest(url, null);
+        request.setSocketTimeout(1234);
+        client.invokeRequest(request);
+        Assert.assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void cookiesNotShared() throws Exception {
+        WebServiceClient client = new WebServiceClient(null);
+        client.setVerbose(false);
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        Response login = client.get(baseUrl + "/login", null);
+        Assert.assertEquals(204, login.getReturnCode());
+
+        // same (pooled) client, but without the cookie of the previous request
+        Response response = client.get(baseUrl + "/cookie", null);
+        Assert.assertEquals(200, response.getReturnCode());
+        Assert.assertEquals("null", response.getBody());
+        Assert.assertEquals(1, HttpClientRegistry.get(null).size());
+    }
+
+    @Test
+    public void throughput() throws Exception {
+        WebServiceClient client = new WebServiceClient(null);
+        client.setVerbose(false);
+
+        // warm up
+        client.get(url, null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            GetRequest request = client.toGetRequest(url, null);
+            RequestConfig requestConfig = client.prepRequestConfig(request, null, null);
+            try (CloseableHttpClient httpClient = client.newHttpClient(request, requestConfig, null, null);
+                 CloseableHttpResponse response = httpClient.execute(request.prepRequest(requestConfig))) {
+                EntityUtils.consume(response.getEntity());
+            }
+        }
+        double unpooledPerSec = REQUESTS / ((System.nanoTime() - start) / 1_000_000_000d);
+
+        clientPorts.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) { client.get(url, null); }
+        double pooledPerSec = REQUESTS / ((System.nanoTime() - start) / 1_000_000_000d);
+
+        System.out.println(String.format("throughput over %d requests: new client %.1f req/sec, pooled %.1f req/sec",
+                                         REQUESTS, unpooledPerSec, pooledPerSec));
+
+        // all requests over the same kept-alive connection
+        Assert.assertEquals(1, clientPorts.size());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+
+import static org.nexial.core.NexialConst.Data.JSON_CACHE_SIZE_MB;
+
+public class JsonDocumentCacheTest {
+    private static final int ASSERTIONS = 50;
+
+    @Before
+    public void setUp() {
+        JsonDocumentCache.clear();
+        JSONPath.clearCache();
+    }
+
+    @Test
+    public void parseOnce() {
+        String json = "{ \"a\": { \"b\": \"1234\" }, \"c\": [ 1, 2, 3 ] }";
+
+        JSONObject document = JsonDocumentCache.toJSONObject(json);
+        Assert.assertEquals("1234", JSONPath.find(document, "a.b"));
+
+        // same text, different instance (as with ${response}.body resolved for each step)
+        long misses = JsonDocumentCache.getMisses();
+        Assert.assertSame(document, JsonDocumentCache.toJSONObject(new String(json)));
+        Assert.assertEquals(misses, JsonDocumentCache.getMisses());
+        Assert.assertEquals(1, JsonDocumentCache.size());
+
+        JSONArray array = JsonDocumentCache.toJSONArray("[ { \"id\": 5 }, { \"id\": 6 } ]");
+        Assert.assertSame(array, JsonDocumentCache.toJSONArray("[ { \"id\": 5 }, { \"id\": 6 } ]"));
+        Assert.assertEquals("[5,6]", JSONPath.find(array, "id"));
+        Assert.assertEquals(2, JsonDocumentCache.size());
+    }
+
+    @Test
+    public void cacheSizeOfExecution() {
+        String json = "{ \"a\": 1 }";
+
+        // cache size resolved via the execution context of the current thread
+        MockExecutionContext context = new MockExecutionContext();
+        context.setData(JSON_CACHE_SIZE_MB, 0);
+        ExecutionThread.set(context);
+        try {
+            Assert.assertNotSame(JsonDocumentCache.toJSONObject(json), JsonDocumentCache.toJSONObject(json));
+            Assert.assertEquals(0, JsonDocumentCache.size());
+        } finally {
+            ExecutionThread.unset();
+            context.cleanProject();
+        }
+
+        // default cache size outside of an execution
+        Assert.assertSame(JsonDocumentCache.toJSONObject(json), JsonDocumentCache.toJSONObject(json));
+        Assert.assertEquals(1, JsonDocumentCache.size());
+    }
+
+    @Test
+    public void malformed() {
+        try {
+            JsonDocumentCache.toJSONObject("{ \"a\": ");
+            Assert.fail("EXPECTED JSONException not thrown");
+        } catch (JSONException e) {
+            // expected
+        }
+        Assert.assertEquals(0, JsonDocumentCache.size());
+    }
+
+    @Test
+    public void parsedPaths() {
+        JSONObject json = new JSONObject("{ \"h\": { \"i.j\": \"yoyoma\" }, " +
+                                         "  \"items\": [ { \"name\": \"SIT\", \"id\": \"5\" }, " +
+                                         "               { \"name\": \"SUI\", \"id\": \"6\" } ] }");
+
+        // same outcome whether the path is parsed or reused
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("yoyoma", JSONPath.find(json, "h[i.j]"));
+            Assert.assertEquals("6", JSONPath.find(json, "items[name=SUI].id"));
+            Assert.assertEquals("[\"SIT\",\"SUI\"]", JSONPath.find(json, "items.name"));
+            Assert.assertEquals(2, new JSONPath(json, "items").count());
+        }
+        Assert.assertTrue(JSONPath.cacheSize() > 0);
+    }
+
+    /**
+     * micro-benchmark of 50 lookups against a 2MB payload: parsing the payload for each lookup (previous behavior)
+     * against the cached document and paths.
+     */
+    @Test
+    public void assertValue_throughput() {
+        String payload = newPayload();
+        Assert.assertTrue(payload.length() > 2 * 1024 * 1024);
+
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < ASSERTIONS; i++) { paths.add("accounts[id=acct" + (i * 97) + "].balance"); }
+
+        // warm up
+        JSONPath.find(new JSONObject(payload), paths.get(0));
+
+        long start = System.nanoTime();
+        List<String> expected = new ArrayList<>();
+        for (String path : paths) { expected.add(JSONPath.find(new JSONObject(new String(payload)), path)); }
+        long parseEachMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        List<String> actual = new ArrayList<>();
+        for (String path : paths) {
+            actual.add(JSONPath.find(JsonDocumentCache.toJSONObject(new String(payload)), path));
+        }
+        long cachedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("%d lookups on %d KB payload: parse each time %d ms, cached %d ms",
+                                         ASSERTIONS, payload.length() / 1024, parseEachMs, cachedMs));
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals("9700.5", actual.get(10));
+        Assert.assertEquals(1, JsonDocumentCache.size());
+    }
+
+    private static String newPayload() {
+        StringBuilder json = new StringBuilder("{ \"requestId\": \"abc\", \"accounts\": [");
+        for (int i = 0; i < 25000; i++) {
+            if (i > 0) { json.append(","); }
+            json.append("{ \"id\": \"acct").append(i).append("\", ")
+                .append("\"balance\": ").append(i * 10).append(".5, ")
+                .append("\"owner\": { \"name\": \"owner ").append(i).append("\", ")
+                .append("\"tier\": ").append(i % 5).append(" }, ")
+                .append("\"tags\": [ \"retail\", \"t").append(i % 7).append("\" ] }");
+        }
+        return json.append("] }").toString();
+    }
+}
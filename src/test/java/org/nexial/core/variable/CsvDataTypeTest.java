@@ -19,11 +19,16 @@ package org.nexial.core.variable;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.univocity.parsers.common.record.Record;
+import com.univocity.parsers.common.record.RecordMetaData;
+import com.univocity.parsers.conversions.Conversions;
 
 public class CsvDataTypeTest {
 
@@ -218,4 +223,127 @@ public class CsvDataTypeTest {
                             "1^14^000003868^CN,000003868,769.5800,114.8000",
                             fixture.getTextValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void removeColumns_renameColumn_as_projection() throws Exception {
+        CsvDataType fixture = new CsvDataType("Column A,Column B,Column C,Column D\n" +
+                                              "a1,b1,c1,d1\n" +
+                                              "a2,b2,c2,d2");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setIndices(Arrays.asList("Column C", "Column D"));
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        Record first = fixture.getValue().get(0);
+
+        fixture.removeColumns(new TreeSet<>(Arrays.asList(0, 3)));
+        fixture.renameColumn("Column C", "C");
+        // text is not created until requested
+        Assert.assertNull(fixture.textValue);
+
+        Assert.assertEquals(2, fixture.getColumnCount());
+        Assert.assertEquals(Arrays.asList("Column B", "C"), fixture.getHeaders());
+
+        Record record = fixture.getValue().get(1);
+        Assert.assertArrayEquals(new String[]{"b2", "c2"}, record.getValues());
+        Assert.assertEquals("c2", record.getString("C"));
+        Assert.assertEquals("b2", record.getString(0));
+        try {
+            record.getString("Column D");
+            Assert.fail("expected removed column to be inaccessible");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        // the original record is left as is
+        Assert.assertArrayEquals(new String[]{"a1", "b1", "c1", "d1"}, first.getValues());
+
+        // index on removed column is dropped; index on renamed column is not rebuilt under its old name
+        Assert.assertFalse(fixture.isIndexed("Column D"));
+
+        Assert.assertEquals("Column B,C\nb1,c1\nb2,c2", fixture.getTextValue());
+    }
+
+    @Test
+    public void projection_hides_removed_columns() throws Exception {
+        CsvDataType fixture = new CsvDataType("Column A,Column B,Column C,Column D\n" +
+                                              "a1,b1,1,d1\n" +
+                                              "a2,b2,2,d2");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        fixture.removeColumns(new TreeSet<>(Arrays.asList(0, 3)));
+        fixture.renameColumn("Column C", "C");
+
+        Record record = fixture.getValue().get(1);
+        Map<String, String> expected = new HashMap<>();
+        expected.put("Column B", "b2");
+        expected.put("C", "2");
+        Assert.assertEquals(expected, record.toFieldMap());
+        Assert.assertEquals("b2", record.toIndexMap().get(0));
+        Assert.assertEquals(2, record.toIndexMap().size());
+        Assert.assertEquals(Integer.valueOf(2), record.getInt("C"));
+
+        RecordMetaData metaData = record.getMetaData();
+        Assert.assertArrayEquals(new String[]{"Column B", "C"}, metaData.headers());
+        Assert.assertEquals(1, metaData.indexOf("C"));
+        Assert.assertFalse(metaData.containsColumn("Column A"));
+        Assert.assertFalse(metaData.containsColumn("Column C"));
+
+        // conversions apply to the remaining columns
+        metaData.convertFields(Conversions.toUpperCase()).set("Column B");
+        Assert.assertEquals("B2", record.getString("Column B"));
+
+        fixture.removeColumns(Collections.singleton(0));
+        record = fixture.getValue().get(0);
+        Assert.assertEquals(Collections.singletonMap("C", "1"), record.toFieldMap());
+        Assert.assertArrayEquals(new String[]{"C"}, record.getMetaData().headers());
+    }
+
+    @Test
+    public void retrieveFromCache_last_match() throws Exception {
+        CsvDataType fixture = new CsvDataType("id,name\n" +
+                                              "1,apple\n" +
+                                              "2,banana\n" +
+                                              "3,apple");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setIndices(Collections.singletonList("name"));
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        Assert.assertEquals("3", fixture.retrieveFromCache("name", "apple").getString("id"));
+
+        Assert.assertEquals("3", fixture.remove("name", "apple").getString("id"));
+        Assert.assertEquals("1", fixture.retrieveFromCache("name", "apple").getString("id"));
+    }
+
+    @Test
+    public void parse_after_change() throws Exception {
+        CsvDataType fixture = new CsvDataType("Column A,Column B\n" +
+                                              "a1,b1\n" +
+                                              "a2,b2");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        fixture.removeColumns(Collections.singleton(0));
+        Assert.assertNull(fixture.textValue);
+
+        // re-parse from the textual form of the changed records
+        fixture.setHeader(false);
+        fixture.parse();
+        Assert.assertEquals(3, fixture.getRowCount());
+        Assert.assertEquals(1, fixture.getColumnCount());
+        Assert.assertArrayEquals(new String[]{"Column B"}, fixture.getValue().get(0).getValues());
+        Assert.assertEquals("Column B\nb1\nb2", fixture.getTextValue());
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.NexialFilter;
+
+import com.univocity.parsers.common.record.Record;
+
+public class CsvTransformerTest {
+    private static final int BENCHMARK_ROWS = 250_000;
+
+    @Test
+    public void filter_fetch_removeRows() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        String csv = "id,name,amount\n" +
+                     "1,apple,15.50\n" +
+                     "2,banana,3\n" +
+                     "3,cherry,120\n" +
+                     "4,apricot,$42.00\n";
+
+        CsvDataType filtered = transformer.filter(newCsv(csv), "name start with a|amount > 20");
+        Assert.assertEquals(1, filtered.getRowCount());
+        Assert.assertEquals("4", filtered.getValue().get(0).getString("id"));
+
+        Assert.assertEquals("3|cherry|120", transformer.fetch(newCsv(csv), "name match ch.*").getTextValue());
+        Assert.assertEquals("1|apple|15.50", transformer.fetch(newCsv(csv), "amount < 100").getTextValue());
+        Assert.assertNull(transformer.fetch(newCsv(csv), "id > 4"));
+
+        CsvDataType remained = transformer.removeRows(newCsv(csv), "amount >= 10|amount <= 50");
+        Assert.assertEquals(2, remained.getRowCount());
+        Assert.assertEquals("2", remained.getValue().get(0).getString("id"));
+        Assert.assertEquals("3", remained.getValue().get(1).getString("id"));
+    }
+
+    @Test
+    public void filter_fetch_removeRows_via_index() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        String csv = "id,region,name,amount\n" +
+                     "1,west,apple,15.50\n" +
+                     "2,east,banana,3\n" +
+                     "3,west,cherry,120\n" +
+                     "4,east,apple,42\n" +
+                     "5,west,apple,7\n";
+        List<String> indices = Arrays.asList("name", "region+name");
+
+        CsvDataType data = newCsv(csv, indices);
+        Assert.assertNotNull(data.getIndex(Arrays.asList("region", "name")));
+        Assert.assertTrue(data.isIndexed("name"));
+        Assert.assertFalse(data.isIndexed("region"));
+
+        CsvDataType filtered = transformer.filter(data, "region = west|name in [apple]|amount > 10");
+        Assert.assertEquals(1, filtered.getRowCount());
+        Assert.assertEquals("1", filtered.getValue().get(0).getString("id"));
+        // index rebuilt over the remaining rows
+        Assert.assertEquals("1", filtered.retrieveFromCache("name", "apple").getString("id"));
+        Assert.assertNull(filtered.retrieveFromCache("name", "cherry"));
+
+        Assert.assertEquals("4|east|apple|42",
+                            transformer.fetch(newCsv(csv, indices), "name = apple|region = east").getTextValue());
+        Assert.assertNull(transformer.fetch(newCsv(csv, indices), "name = durian"));
+
+        CsvDataType remained = transformer.removeRows(newCsv(csv, indices), "name = apple");
+        Assert.assertEquals(2, remained.getRowCount());
+        Assert.assertEquals("2", remained.getValue().get(0).getString("id"));
+        Assert.assertEquals("3", remained.getValue().get(1).getString("id"));
+
+        // same outcome with or without index
+        String quoted = "id,name\n1, apple\n2,apple\n3,\"apple\"\n4,banana";
+        Assert.assertEquals(transformer.filter(newCsv(quoted), "name = apple").getTextValue(),
+                            transformer.filter(newCsv(quoted, indices), "name = apple").getTextValue());
+    }
+
+    @Test
+    public void groupCount_groupSum_via_index() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        String csv = "region,name,amount\n" +
+                     "west,apple,1\n" +
+                     "east,apple,2\n" +
+                     "west,apple,3\n" +
+                     "west,cherry,4.5\n";
+
+        String expectedCount = "region,name,Count\n" +
+                               "east,,1\n" +
+                               "east,apple,1\n" +
+                               "west,,3\n" +
+                               "west,apple,2\n" +
+                               "west,cherry,1";
+        Assert.assertEquals(expectedCount, transformer.groupCount(newCsv(csv), "region", "name").getTextValue());
+        Assert.assertEquals(expectedCount,
+                            transformer.groupCount(newCsv(csv, Collections.singletonList("region+name")),
+                                                   "region", "name").getTextValue());
+
+        Assert.assertEquals("region,name,Sum\n" +
+                            "east,,2\n" +
+                            "east,apple,2\n" +
+                            "west,,8.5\n" +
+                            "west,apple,4\n" +
+                            "west,cherry,4.5",
+                            transformer.groupSum(newCsv(csv), "region", "name", "amount").getTextValue());
+    }
+
+    @Test
+    public void join_records() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        String from = "SSN,Last Name\n" +
+                      "333,Taylor\n" +
+                      "111,Hanson\n" +
+                      "111,Smith";
+        String to = "SSN,First Name\n" +
+                    "111,Jim\n" +
+                    "222,John\n" +
+                    "333,James";
+
+        // joined records are accessible by column without re-parsing
+        CsvDataType joined = transformer.join(newCsv(to), newCsv(from), "csv2", "SSN", "left");
+        Assert.assertEquals(4, joined.getRowCount());
+        Assert.assertEquals(3, joined.getColumnCount());
+        Assert.assertEquals(Arrays.asList("SSN", "First Name", "Last Name"), joined.getHeaders());
+        Assert.assertEquals("Smith", joined.getValue().get(1).getString("Last Name"));
+        Assert.assertEquals("John", joined.getValue().get(2).getString("First Name"));
+        Assert.assertEquals("", joined.getValue().get(2).getString("Last Name"));
+        Assert.assertEquals("SSN,First Name,Last Name\n" +
+                            "111,Jim,Hanson\n" +
+                            "111,Jim,Smith\n" +
+                            "222,John,\n" +
+                            "333,James,Taylor",
+                            joined.getTextValue());
+
+        joined = transformer.join(newCsv(to), newCsv(from), "csv2", "SSN", "inner");
+        Assert.assertEquals(3, joined.getRowCount());
+        Assert.assertEquals("Taylor", joined.getValue().get(2).getString("Last Name"));
+    }
+
+    @Test
+    public void xml() throws Exception {
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        String csv = "id,name\n" +
+                     "1,apple\n" +
+                     "2,banana\n";
+
+        // each conversion starts from its own (empty) root
+        for (int i = 0; i < 2; i++) {
+            XmlDataType xml = transformer.xml(newCsv(csv), "fruits", "fruit", "field");
+            Assert.assertEquals(2, xml.getValue().getChildren("fruit").size());
+            Assert.assertEquals("banana",
+                                xml.getValue().getChildren("fruit").get(1).getChildren("field").get(1).getText());
+        }
+    }
+
+    /**
+     * micro-benchmark of filtering a large CSV: per-row {@link NexialFilter#isMatch(String)} (previous behavior)
+     * against the compiled filters used by {@link CsvTransformer#filter(CsvDataType, String)}.
+     */
+    @Test
+    public void filter_throughput() throws Exception {
+        StringBuilder csv = new StringBuilder("id,name,amount\n");
+        for (int i = 0; i < BENCHMARK_ROWS; i++) {
+            csv.append(i).append(",name").append(i % 1000).append(',').append(i % 500).append(".25\n");
+        }
+        String filterText = "name match name1[0-9]{2}|amount >= 100";
+
+        CsvDataType data = newCsv(csv.toString());
+        List<NexialFilter> filters = Arrays.asList(NexialFilter.newInstance("name match name1[0-9]{2}"),
+                                                   NexialFilter.newInstance("amount >= 100"));
+
+        // warm up
+        filterByRow(data.getValue(), filters);
+        new CsvTransformer<>().filter(newCsv(csv.toString()), filterText);
+
+        long start = System.nanoTime();
+        List<Record> expected = filterByRow(data.getValue(), filters);
+        long perRowMs = (System.nanoTime() - start) / 1_000_000;
+
+        CsvDataType compiled = newCsv(csv.toString());
+        start = System.nanoTime();
+        new CsvTransformer<>().filter(compiled, filterText);
+        long compiledMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("filtering %d rows: per-row filter %d ms, compiled filter %d ms",
+                                         BENCHMARK_ROWS, perRowMs, compiledMs));
+
+        Assert.assertEquals(expected.size(), compiled.getRowCount());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i).getValues(), compiled.getValue().get(i).getValues());
+        }
+    }
+
+    private static List<Record> filterByRow(List<Record> rows, List<NexialFilter> filters) {
+        List<Record> matched = new ArrayList<>();
+        rows.forEach(row -> {
+            for (NexialFilter filter : filters) {
+                if (!filter.isMatch(row.getString(filter.getSubject()))) { return; }
+            }
+            matched.add(row);
+        });
+        return matched;
+    }
+
+    private static CsvDataType newCsv(String text) throws Exception { return newCsv(text, null); }
+
+    private static CsvDataType newCsv(String text, List<String> indices) throws Exception {
+        CsvDataType csv = new CsvDataType(text);
+        if (indices != null) { csv.setIndices(indices); }
+        csv.setDelim(",");
+        csv.setHeader(true);
+        csv.setRecordDelim("\n");
+        csv.setReadyToParse(true);
+        csv.parse();
+        return csv;
+    }
+}
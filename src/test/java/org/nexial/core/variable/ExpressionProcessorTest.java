@@ -1238,6 +1238,37 @@ public class ExpressionProcessorTest {
                             subject.process("[CSV(${csv1}) => parse(header=true) merge(csv2,SSN)]"));
     }
 
+    @Test
+    public void processCSV_merge_join() throws Exception {
+        context.setData("csv1", "SSN,First Name\n" +
+                                "111,Jim\n" +
+                                "222,John\n" +
+                                "333,James\n");
+        context.setData("csv2", "SSN,Last Name\n" +
+                                "333,Taylor\n" +
+                                "111,Hanson\n" +
+                                "444,Smoe\n" +
+                                "111,Smith");
+
+        ExpressionProcessor subject = new ExpressionProcessor(context);
+        subject.process("[CSV(${csv2}) => parse(header=true,indexOn=SSN) store(csv2)]");
+
+        Assert.assertEquals("SSN,First Name,Last Name\n" +
+                            "111,Jim,Hanson\n" +
+                            "111,Jim,Smith\n" +
+                            "333,James,Taylor",
+                            subject.process("[CSV(${csv1}) => parse(header=true) merge(csv2,SSN,inner)]"));
+        Assert.assertEquals("SSN,First Name,Last Name\n" +
+                            "111,Jim,Hanson\n" +
+                            "111,Jim,Smith\n" +
+                            "222,John,\n" +
+                            "333,James,Taylor",
+                            subject.process("[CSV(${csv1}) => parse(header=true) merge(csv2,SSN,left)]"));
+        Assert.assertEquals("SSN,First Name\n" +
+                            "222,John",
+                            subject.process("[CSV(${csv1}) => parse(header=true) merge(csv2,SSN,anti)]"));
+    }
+
     @Test
     public void processCSV_merge_missing_in_target() throws Exception {
         // case 1: missing record found in `from`